@@ -0,0 +1,25 @@
+package com.EduLift.backend.audit;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One audited write to a user: who made it, when, and the audited fields it changed.
+ * Stored in the append-only user_audit collection.
+ */
+public record UserAuditEntry(@Id String id,
+                             String userId,
+                             LocalDateTime at,
+                             String actor,
+                             String source,
+                             String requestId,
+                             List<FieldChange> changes) {
+
+    /**
+     * Old and new value of one field. Encrypted profile fields only record
+     * whether they were set, never their values.
+     */
+    public record FieldChange(String field, Object before, Object after) {}
+}
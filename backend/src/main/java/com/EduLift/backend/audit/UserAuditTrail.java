@@ -0,0 +1,381 @@
+package com.EduLift.backend.audit;
+
+import com.EduLift.backend.crypto.ProfileEncryptionListener;
+import com.EduLift.backend.logging.RequestIdFilter;
+import com.EduLift.backend.model.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of changes to a user's riskFlags, consentFlags and profile.
+ * Write paths snapshot the audited fields before modifying a user and hand the
+ * snapshot and the saved user to record(), which diffs them on the request thread
+ * and puts the entry into a bounded lock-free queue. A single writer thread drains
+ * the queue into the append-only user_audit collection with unordered batch inserts.
+ * When the queue is full, entries are dropped (DROP) or the write waits up to
+ * block-timeout-ms for space first (BLOCK); either way drops are counted.
+ */
+@Component
+public class UserAuditTrail {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAuditTrail.class);
+
+    public static final String AUDIT_COLLECTION = "user_audit";
+
+    /**
+     * Header naming who made a change, set by the calling service or gateway
+     */
+    public static final String ACTOR_HEADER = "X-Actor-Id";
+
+    static final String UNKNOWN_ACTOR = "unknown";
+    static final String ENCRYPTED_VALUE = "[encrypted]";
+    private static final int MAX_ACTOR_LENGTH = 128;
+    private static final int DUPLICATE_KEY = 11000;
+
+    /**
+     * What to do with a new entry when the queue is full
+     */
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    static final List<String> AUDITED_FIELDS = List.of(
+            "riskFlags",
+            "consentFlags.dataProcessingConsent",
+            "consentFlags.communicationConsent",
+            "consentFlags.emergencyContactConsent",
+            "consentFlags.photoVideoConsent",
+            "consentFlags.consentTimestamp",
+            "profile.firstName",
+            "profile.lastName",
+            "profile.phoneNumber",
+            "profile.dateOfBirth",
+            "profile.address",
+            "profile.emergencyContact",
+            "profile.emergencyPhoneNumber",
+            "profile.additionalInfo");
+
+    private static final boolean[] ENCRYPTED = new boolean[AUDITED_FIELDS.size()];
+
+    static {
+        for (int i = 0; i < ENCRYPTED.length; i++) {
+            String field = AUDITED_FIELDS.get(i);
+            ENCRYPTED[i] = field.startsWith("profile.")
+                    && ProfileEncryptionListener.isEncryptedField(field.substring("profile.".length()));
+        }
+    }
+
+    /**
+     * Audited values of a user, taken before the user is modified
+     */
+    public static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(new Object[AUDITED_FIELDS.size()]);
+
+        private final Object[] values;
+
+        private Snapshot(Object[] values) {
+            this.values = values;
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long retryDelayMillis;
+    private final long maxFlushMillis;
+
+    private final Counter enqueued;
+    private final Counter blocked;
+    private final Counter droppedQueueFull;
+    private final Counter droppedWriteFailed;
+    private final Counter written;
+    private final Counter batches;
+
+    private final ConcurrentLinkedQueue<UserAuditEntry> queue = new ConcurrentLinkedQueue<>();
+    // Entries queued or in the batch being written, bounded by capacity
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean running;
+    private volatile boolean writerParked;
+    private Thread writer;
+
+    public UserAuditTrail(MongoTemplate mongoTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${edulift.audit.enabled:true}") boolean enabled,
+                          @Value("${edulift.audit.queue-capacity:65536}") int capacity,
+                          @Value("${edulift.audit.batch-size:500}") int batchSize,
+                          @Value("${edulift.audit.overflow:DROP}") OverflowPolicy overflowPolicy,
+                          @Value("${edulift.audit.block-timeout-ms:50}") long blockTimeoutMillis,
+                          @Value("${edulift.audit.retry-delay-ms:1000}") long retryDelayMillis,
+                          @Value("${edulift.audit.max-flush-ms:5000}") long maxFlushMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMillis);
+        this.retryDelayMillis = retryDelayMillis;
+        this.maxFlushMillis = maxFlushMillis;
+
+        this.enqueued = Counter.builder("edulift.audit.enqueued")
+                .description("Audit entries accepted into the queue")
+                .register(meterRegistry);
+        this.blocked = Counter.builder("edulift.audit.blocked")
+                .description("Audited writes that waited for queue space")
+                .register(meterRegistry);
+        this.droppedQueueFull = Counter.builder("edulift.audit.dropped")
+                .tag("reason", "queue-full")
+                .description("Audit entries lost")
+                .register(meterRegistry);
+        this.droppedWriteFailed = Counter.builder("edulift.audit.dropped")
+                .tag("reason", "write-failed")
+                .description("Audit entries lost")
+                .register(meterRegistry);
+        this.written = Counter.builder("edulift.audit.written")
+                .description("Audit entries inserted into user_audit")
+                .register(meterRegistry);
+        this.batches = Counter.builder("edulift.audit.batches")
+                .description("Batch inserts into user_audit")
+                .register(meterRegistry);
+        Gauge.builder("edulift.audit.queued", size, AtomicInteger::get)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "user-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Audited values of a user that is about to be modified; null for a user being created
+     */
+    public static Snapshot snapshot(User user) {
+        return user == null ? Snapshot.EMPTY : new Snapshot(values(user));
+    }
+
+    /**
+     * Queue an entry for the audited fields that differ between the snapshot and the
+     * saved user. Call only after the write succeeded. Returns false when nothing
+     * changed, auditing is disabled or the entry was dropped.
+     */
+    public boolean record(String userId, Snapshot before, User after, String actor, String source) {
+        if (!enabled) {
+            return false;
+        }
+        Object[] now = values(after);
+        List<UserAuditEntry.FieldChange> changes = null;
+        for (int i = 0; i < now.length; i++) {
+            if (!Objects.equals(before.values[i], now[i])) {
+                if (changes == null) {
+                    changes = new ArrayList<>(4);
+                }
+                changes.add(new UserAuditEntry.FieldChange(AUDITED_FIELDS.get(i),
+                        redact(i, before.values[i]), redact(i, now[i])));
+            }
+        }
+        if (changes == null) {
+            return false;
+        }
+        return enqueue(new UserAuditEntry(null, userId, LocalDateTime.now(), actorOrUnknown(actor), source,
+                MDC.get(RequestIdFilter.REQUEST_ID_KEY), changes));
+    }
+
+    /**
+     * Newest first audit entries of a user. Entries still queued are not included.
+     */
+    public List<UserAuditEntry> history(String userId, int limit) {
+        Query query = Query.query(Criteria.where("userId").is(userId))
+                .with(Sort.by(Sort.Direction.DESC, "at"))
+                .limit(limit);
+        return mongoTemplate.find(query, UserAuditEntry.class, AUDIT_COLLECTION);
+    }
+
+    public int queued() {
+        return size.get();
+    }
+
+    private boolean enqueue(UserAuditEntry entry) {
+        if (!reserve()) {
+            droppedQueueFull.increment();
+            return false;
+        }
+        queue.offer(entry);
+        enqueued.increment();
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private boolean reserve() {
+        if (size.incrementAndGet() <= capacity) {
+            return true;
+        }
+        size.decrementAndGet();
+        if (overflowPolicy != OverflowPolicy.BLOCK || !running) {
+            return false;
+        }
+        blocked.increment();
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            if (size.incrementAndGet() <= capacity) {
+                return true;
+            }
+            size.decrementAndGet();
+        }
+        return false;
+    }
+
+    private void drain() {
+        List<Document> batch = new ArrayList<>(batchSize);
+        boolean failing = false;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            UserAuditEntry entry;
+            while (batch.size() < batchSize && (entry = queue.poll()) != null) {
+                batch.add(toDocument(entry));
+            }
+            if (batch.isEmpty()) {
+                writerParked = true;
+                // Re-check after publishing the flag so a concurrent offer is not missed
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerParked = false;
+                continue;
+            }
+
+            if (write(batch, failing)) {
+                failing = false;
+            } else if (running) {
+                // Keep the batch; documents carry their _id so a retry cannot insert twice
+                failing = true;
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(retryDelayMillis));
+                continue;
+            } else {
+                droppedWriteFailed.increment(batch.size());
+            }
+            size.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private boolean write(List<Document> batch, boolean retry) {
+        try {
+            mongoTemplate.getCollection(AUDIT_COLLECTION).insertMany(batch, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            // Unordered inserts that only collide with entries a failed attempt already wrote
+            if (!retry || e.getWriteErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY)) {
+                log.warn("Could not write {} audit entries: {}", batch.size(), e.getMessage());
+                return false;
+            }
+        } catch (RuntimeException e) {
+            if (!retry) {
+                log.warn("Could not write {} audit entries, retrying: {}", batch.size(), e.getMessage());
+            }
+            return false;
+        }
+        written.increment(batch.size());
+        batches.increment();
+        return true;
+    }
+
+    private Document toDocument(UserAuditEntry entry) {
+        Document document = new Document("_id", new ObjectId());
+        mongoTemplate.getConverter().write(entry, document);
+        return document;
+    }
+
+    private static Object[] values(User user) {
+        Object[] values = new Object[AUDITED_FIELDS.size()];
+        if (user.getRiskFlags() != null) {
+            values[0] = new ArrayList<>(user.getRiskFlags());
+        }
+        User.ConsentFlags consent = user.getConsentFlags();
+        if (consent != null) {
+            values[1] = consent.isDataProcessingConsent();
+            values[2] = consent.isCommunicationConsent();
+            values[3] = consent.isEmergencyContactConsent();
+            values[4] = consent.isPhotoVideoConsent();
+            values[5] = consent.getConsentTimestamp();
+        }
+        User.Profile profile = user.getProfile();
+        if (profile != null) {
+            values[6] = profile.getFirstName();
+            values[7] = profile.getLastName();
+            values[8] = profile.getPhoneNumber();
+            values[9] = profile.getDateOfBirth();
+            values[10] = profile.getAddress();
+            values[11] = profile.getEmergencyContact();
+            values[12] = profile.getEmergencyPhoneNumber();
+            values[13] = profile.getAdditionalInfo() == null ? null : new LinkedHashMap<>(profile.getAdditionalInfo());
+        }
+        return values;
+    }
+
+    private static Object redact(int field, Object value) {
+        return ENCRYPTED[field] && value != null ? ENCRYPTED_VALUE : value;
+    }
+
+    private static String actorOrUnknown(String actor) {
+        if (actor == null || actor.isBlank()) {
+            return UNKNOWN_ACTOR;
+        }
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Gave up flushing {} queued audit entries after {} ms", size.get(), maxFlushMillis);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.EduLift.backend.config;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads the .env file into the environment before any bean is created, so
+ * placeholders such as ${MONGODB_URI} in application.properties resolve from it.
+ * Real environment variables and system properties take precedence.
+ */
+public class DotenvEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String PROPERTY_SOURCE_NAME = "dotenv";
+
+    // Logging is not initialized yet; deferred logs are replayed once it is
+    private final Log log;
+
+    public DotenvEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+        this.log = logFactory.getLog(DotenvEnvironmentPostProcessor.class);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        try {
+            Dotenv dotenv = Dotenv.configure()
+                    .ignoreIfMissing()
+                    .load();
+            for (DotenvEntry entry : dotenv.entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        } catch (Exception e) {
+            log.warn("Could not load .env file: " + e.getMessage());
+        }
+        if (values.isEmpty()) {
+            return;
+        }
+        log.debug("Loaded " + values.size() + " entries from .env");
+
+        MapPropertySource source = new MapPropertySource(PROPERTY_SOURCE_NAME, values);
+        if (environment.getPropertySources().contains(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME)) {
+            environment.getPropertySources().addAfter(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, source);
+        } else {
+            environment.getPropertySources().addLast(source);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.graphql.UserQueryCost;
+import graphql.GraphQLContext;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.CoercedVariables;
+import graphql.language.StringValue;
+import graphql.schema.Coercing;
+import graphql.schema.CoercingParseLiteralException;
+import graphql.schema.CoercingParseValueException;
+import graphql.schema.CoercingSerializeException;
+import graphql.schema.GraphQLScalarType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * GraphQL scalars and query cost limits. Queries deeper than max-depth or
+ * costlier than max-complexity (see UserQueryCost) are rejected before any
+ * data is fetched.
+ */
+@Configuration
+public class GraphQLConfig {
+
+    /**
+     * ISO-8601 local date-time, as stored on User
+     */
+    static final GraphQLScalarType DATE_TIME = GraphQLScalarType.newScalar()
+            .name("DateTime")
+            .description("ISO-8601 local date-time")
+            .coercing(new Coercing<LocalDateTime, String>() {
+                @Override
+                public String serialize(Object result, GraphQLContext context, Locale locale) {
+                    if (result instanceof LocalDateTime dateTime) {
+                        return dateTime.toString();
+                    }
+                    throw new CoercingSerializeException("Expected a LocalDateTime but was " + result);
+                }
+
+                @Override
+                public LocalDateTime parseValue(Object input, GraphQLContext context, Locale locale) {
+                    try {
+                        return LocalDateTime.parse(input.toString());
+                    } catch (DateTimeParseException e) {
+                        throw new CoercingParseValueException("Invalid DateTime: " + input);
+                    }
+                }
+
+                @Override
+                public LocalDateTime parseLiteral(graphql.language.Value<?> input, CoercedVariables variables,
+                                                  GraphQLContext context, Locale locale) {
+                    if (input instanceof StringValue string) {
+                        try {
+                            return LocalDateTime.parse(string.getValue());
+                        } catch (DateTimeParseException e) {
+                            // reported below
+                        }
+                    }
+                    throw new CoercingParseLiteralException("Invalid DateTime: " + input);
+                }
+            })
+            .build();
+
+    @Bean
+    public RuntimeWiringConfigurer scalarWiring() {
+        return wiring -> wiring.scalar(DATE_TIME);
+    }
+
+    @Bean
+    public UserQueryCost userQueryCost(@Value("${edulift.graphql.default-page-size:50}") int defaultPageSize,
+                                       @Value("${edulift.graphql.max-page-size:200}") int maxPageSize,
+                                       @Value("${edulift.graphql.assumed-relations:10}") int assumedRelations) {
+        return new UserQueryCost(defaultPageSize, maxPageSize, assumedRelations);
+    }
+
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexity(UserQueryCost userQueryCost,
+                                                                @Value("${edulift.graphql.max-complexity:2000}") int maxComplexity) {
+        return new MaxQueryComplexityInstrumentation(maxComplexity, userQueryCost);
+    }
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepth(@Value("${edulift.graphql.max-depth:6}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+}
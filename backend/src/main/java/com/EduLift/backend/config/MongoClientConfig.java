@@ -0,0 +1,32 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.monitoring.SlowQueryRecorder;
+import com.EduLift.backend.ratelimit.AdaptiveConcurrencyLimiter;
+import com.EduLift.backend.ratelimit.MongoLatencySampler;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MongoDB driver customizations, registered through Spring Boot's
+ * MongoClientSettings builder so the auto-configured client keeps its defaults
+ */
+@Configuration
+public class MongoClientConfig {
+
+    /**
+     * Feeds the round trip of request-path commands into the adaptive concurrency limit
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer latencyListenerCustomizer(AdaptiveConcurrencyLimiter limiter) {
+        return builder -> builder.addCommandListener(new MongoLatencySampler(limiter));
+    }
+
+    /**
+     * Records commands over the slow query threshold
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowQueryListenerCustomizer(SlowQueryRecorder recorder) {
+        return builder -> builder.addCommandListener(recorder);
+    }
+}
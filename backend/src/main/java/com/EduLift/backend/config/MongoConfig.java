@@ -1,86 +1,227 @@
 package com.EduLift.backend.config;
 
-import io.github.cdimascio.dotenv.Dotenv;
+import com.EduLift.backend.audit.UserAuditTrail;
+import com.EduLift.backend.service.UserArchiveService;
+import com.EduLift.backend.service.UserETagService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 
 import jakarta.annotation.PostConstruct;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 /**
- * MongoDB Configuration class that loads environment variables from .env file
- * and creates indexes for the User collection
+ * MongoDB Configuration class that reconciles the indexes of the users, users_archive and user_audit collections.
+ * Only missing indexes are created. With edulift.mongo.indexes.deferred the work
+ * runs in the background once the application is ready instead of during startup.
+ * The .env file is loaded earlier by DotenvEnvironmentPostProcessor.
  */
 @Configuration
 public class MongoConfig {
     
+    private static final Logger log = LoggerFactory.getLogger(MongoConfig.class);
+    
     @Autowired
     private MongoTemplate mongoTemplate;
 
-    @PostConstruct
-    public void loadEnvironmentVariables() {
-        try {
-            // Load .env file from the root of the classpath or project
-            Dotenv dotenv = Dotenv.configure()
-                    .ignoreIfMissing()
-                    .load();
+    @Value("${edulift.mongo.indexes.deferred:false}")
+    private boolean deferIndexes;
 
-            // Set system properties so Spring can access them
-            dotenv.entries().forEach(entry -> {
-                if (System.getProperty(entry.getKey()) == null) {
-                    System.setProperty(entry.getKey(), entry.getValue());
-                }
-            });
+    @Value("${edulift.audit.retention:P365D}")
+    private Duration auditRetention;
 
-        } catch (Exception e) {
-            System.err.println("Warning: Could not load .env file: " + e.getMessage());
+    @PostConstruct
+    public void reconcileIndexesOnStartup() {
+        if (!deferIndexes) {
+            reconcileUserIndexes();
+            reconcileArchiveIndexes();
+            reconcileAuditIndexes();
         }
-        
-        // Create MongoDB indexes
-        createUserIndexes();
     }
-    
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileIndexesWhenReady() {
+        if (deferIndexes) {
+            Thread thread = new Thread(() -> {
+                reconcileUserIndexes();
+                reconcileArchiveIndexes();
+                reconcileAuditIndexes();
+            }, "mongo-index-reconciliation");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Creates the indexes of the users collection that do not exist yet.
+     * Returns the number of indexes created.
+     */
+    public int reconcileUserIndexes() {
+        return reconcileIndexes("users", userIndexes());
+    }
+
+    /**
+     * Creates the indexes of the archive collection that do not exist yet
+     */
+    public int reconcileArchiveIndexes() {
+        return reconcileIndexes(UserArchiveService.ARCHIVE_COLLECTION, archiveIndexes());
+    }
+
     /**
-     * Creates indexes for the users collection
-     * Indexes: email unique, groupHomeId, roles
+     * Creates the indexes of the audit collection that do not exist yet.
+     * The retention of an existing TTL index is not changed; use collMod for that.
      */
-    private void createUserIndexes() {
+    public int reconcileAuditIndexes() {
+        return reconcileIndexes(UserAuditTrail.AUDIT_COLLECTION, auditIndexes(auditRetention));
+    }
+
+    private int reconcileIndexes(String collection, List<Index> indexes) {
         try {
-            IndexOperations indexOps = mongoTemplate.indexOps("users");
-            
-            // Create unique index on email field
-            Index emailIndex = new Index()
-                    .on("email", org.springframework.data.domain.Sort.Direction.ASC)
-                    .unique();
-            indexOps.createIndex(emailIndex);
-            
-            // Create index on groupHomeId field
-            Index groupHomeIdIndex = new Index()
-                    .on("groupHomeId", org.springframework.data.domain.Sort.Direction.ASC);
-            indexOps.createIndex(groupHomeIdIndex);
+            IndexOperations indexOps = mongoTemplate.indexOps(collection);
+            Set<String> existing = indexOps.getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
             
-            // Create index on roles field (for array queries)
-            Index rolesIndex = new Index()
-                    .on("roles", org.springframework.data.domain.Sort.Direction.ASC);
-            indexOps.createIndex(rolesIndex);
-            
-            // Create compound index for common queries
-            Index compoundIndex = new Index()
-                    .on("roles", org.springframework.data.domain.Sort.Direction.ASC)
-                    .on("groupHomeId", org.springframework.data.domain.Sort.Direction.ASC);
-            indexOps.createIndex(compoundIndex);
-            
-            // Create index on createdAt for sorting and range queries
-            Index createdAtIndex = new Index()
-                    .on("createdAt", org.springframework.data.domain.Sort.Direction.DESC);
-            indexOps.createIndex(createdAtIndex);
+            int created = 0;
+            for (Index index : indexes) {
+                if (!existing.contains(indexName(index))) {
+                    indexOps.createIndex(index);
+                    created++;
+                }
+            }
             
-            System.out.println("MongoDB indexes created successfully for users collection");
+            log.info("MongoDB indexes reconciled for {} collection ({} created)", collection, created);
+            return created;
             
         } catch (Exception e) {
-            System.err.println("Warning: Could not create MongoDB indexes: " + e.getMessage());
+            log.warn("Could not create MongoDB indexes: {}", e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Indexes of the users collection
+     * Indexes: email unique, groupHomeId, roles, createdAt, updatedAt
+     */
+    static List<Index> userIndexes() {
+        List<Index> indexes = new ArrayList<>();
+        
+        // Create unique index on email field
+        Index emailIndex = new Index()
+                .on("email", org.springframework.data.domain.Sort.Direction.ASC)
+                .unique();
+        indexes.add(emailIndex);
+        
+        // Create index on groupHomeId field
+        Index groupHomeIdIndex = new Index()
+                .on("groupHomeId", org.springframework.data.domain.Sort.Direction.ASC);
+        indexes.add(groupHomeIdIndex);
+        
+        // Create index on roles field (for array queries)
+        Index rolesIndex = new Index()
+                .on("roles", org.springframework.data.domain.Sort.Direction.ASC);
+        indexes.add(rolesIndex);
+        
+        // Create compound index for common queries
+        Index compoundIndex = new Index()
+                .on("roles", org.springframework.data.domain.Sort.Direction.ASC)
+                .on("groupHomeId", org.springframework.data.domain.Sort.Direction.ASC);
+        indexes.add(compoundIndex);
+        
+        // Create index on createdAt for sorting and range queries
+        Index createdAtIndex = new Index()
+                .on("createdAt", org.springframework.data.domain.Sort.Direction.DESC);
+        indexes.add(createdAtIndex);
+        
+        // Create sparse index on deletedAt for soft delete archival
+        Index deletedAtIndex = new Index()
+                .on("deletedAt", org.springframework.data.domain.Sort.Direction.ASC)
+                .sparse();
+        indexes.add(deletedAtIndex);
+        
+        // Create compound index for notification segment targeting
+        Index targetingIndex = new Index()
+                .on("consentFlags.communicationConsent", org.springframework.data.domain.Sort.Direction.ASC)
+                .on("groupHomeId", org.springframework.data.domain.Sort.Direction.ASC)
+                .on("preferences.language", org.springframework.data.domain.Sort.Direction.ASC);
+        indexes.add(targetingIndex);
+        
+        // Create compound index on _id and updatedAt so ETag lookups are index-only
+        Index idUpdatedAtIndex = new Index()
+                .on("_id", org.springframework.data.domain.Sort.Direction.ASC)
+                .on("updatedAt", org.springframework.data.domain.Sort.Direction.ASC)
+                .named(UserETagService.ID_UPDATED_AT_INDEX);
+        indexes.add(idUpdatedAtIndex);
+        
+        // Create index on updatedAt for collection-level ETags and change queries
+        Index updatedAtIndex = new Index()
+                .on("updatedAt", org.springframework.data.domain.Sort.Direction.ASC)
+                .on("_id", org.springframework.data.domain.Sort.Direction.ASC);
+        indexes.add(updatedAtIndex);
+        
+        // Create sparse index on profile.phoneNumber for (deterministically encrypted) equality lookups
+        Index phoneNumberIndex = new Index()
+                .on("profile.phoneNumber", org.springframework.data.domain.Sort.Direction.ASC)
+                .sparse();
+        indexes.add(phoneNumberIndex);
+        
+        return indexes;
+    }
+
+    /**
+     * Indexes of the users_archive collection
+     */
+    static List<Index> archiveIndexes() {
+        return List.of(
+                // Create index on archivedAt so the change feed can find removed users
+                new Index()
+                        .on("archivedAt", org.springframework.data.domain.Sort.Direction.ASC)
+                        .on("_id", org.springframework.data.domain.Sort.Direction.ASC),
+                // Create index on createdAt so enrollment buckets can count archived users
+                new Index()
+                        .on("createdAt", org.springframework.data.domain.Sort.Direction.ASC));
+    }
+    
+    /**
+     * Indexes of the user_audit collection
+     */
+    static List<Index> auditIndexes(Duration retention) {
+        return List.of(
+                // Create compound index for history by user, newest first
+                new Index()
+                        .on("userId", org.springframework.data.domain.Sort.Direction.ASC)
+                        .on("at", org.springframework.data.domain.Sort.Direction.DESC),
+                // Create TTL index so entries expire after the retention period
+                new Index()
+                        .on("at", org.springframework.data.domain.Sort.Direction.ASC)
+                        .expire(retention));
+    }
+    
+    /**
+     * Explicit index name, else the name MongoDB generates from the keys (e.g. "createdAt_-1")
+     */
+    static String indexName(Index index) {
+        Object name = index.getIndexOptions().get("name");
+        if (name != null) {
+            return name.toString();
         }
+        Document keys = index.getIndexKeys();
+        return keys.entrySet().stream()
+                .map(key -> key.getKey() + "_" + key.getValue())
+                .collect(Collectors.joining("_"));
     }
 }
@@ -0,0 +1,115 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.audit.UserAuditEntry;
+import com.EduLift.backend.filter.UserFilter;
+import com.EduLift.backend.filter.UserFilterPage;
+import com.EduLift.backend.logging.LockFreeAsyncAppender;
+import com.EduLift.backend.logging.RequestDebugTurboFilter;
+import com.EduLift.backend.matching.MentorMatch;
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.monitoring.SlowQuery;
+import com.EduLift.backend.monitoring.SlowQueryRecorder;
+import com.EduLift.backend.notification.CampaignCheckpoint;
+import com.EduLift.backend.notification.Segment;
+import com.EduLift.backend.service.EnrollmentAnalyticsService;
+import com.EduLift.backend.validation.UserSchemaValidator;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the GraalVM native image (mvn -Pnative native:compile).
+ * Spring AOT covers beans and repositories; these are the types it cannot see.
+ * RoaringBitmap needs none: it uses no reflection, Unsafe or resources.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.EduLiftRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class EduLiftRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * Documents mapped field by field by Spring Data, including nested classes.
+         * CampaignCheckpoint and UserAuditEntry are mapped through MongoTemplate, not a repository.
+         */
+        static final Class<?>[] MAPPED_DOCUMENTS = {
+                User.class,
+                User.Profile.class,
+                User.Preferences.class,
+                User.ConsentFlags.class,
+                CampaignCheckpoint.class,
+                UserAuditEntry.class,
+                UserAuditEntry.FieldChange.class
+        };
+
+        /**
+         * Request and response bodies that are not declared in controller signatures
+         */
+        static final Class<?>[] JSON_BODIES = {
+                Segment.class,
+                SlowQuery.class,
+                SlowQueryRecorder.ShapeStats.class,
+                EnrollmentAnalyticsService.EnrollmentBucket.class,
+                MentorMatch.class,
+                UserFilter.class,
+                UserFilterPage.class
+        };
+
+        /** JNI libraries zstd-jni extracts from its jar for the Arrow snapshot codec */
+        static final String[] ZSTD_LIBRARIES = {
+                "linux/amd64/libzstd-jni-*.so",
+                "linux/aarch64/libzstd-jni-*.so"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            bindings.registerReflectionHints(hints.reflection(), MAPPED_DOCUMENTS);
+            bindings.registerReflectionHints(hints.reflection(), JSON_BODIES);
+            for (Class<?> type : MAPPED_DOCUMENTS) {
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            // Instantiated by class name from logback-spring.xml
+            hints.reflection().registerType(LockFreeAsyncAppender.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(RequestDebugTurboFilter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            registerArrowHints(hints);
+            for (String library : ZSTD_LIBRARIES) {
+                hints.resources().registerPattern(library);
+            }
+
+            // Never .env: a resource hint would bake its secrets into the binary.
+            // The native executable reads .env from its working directory or the real environment.
+            hints.resources().registerPattern(UserSchemaValidator.SCHEMA_RESOURCE);
+        }
+
+        /** Looked up reflectively by arrow-memory-core when the first allocator is created */
+        private static void registerArrowHints(RuntimeHints hints) {
+            hints.reflection().registerType(TypeReference.of("sun.misc.Unsafe"),
+                    hint -> hint.withField("theUnsafe"));
+            hints.reflection().registerType(TypeReference.of("java.nio.Buffer"),
+                    hint -> hint.withField("address"));
+            // MemoryUtil tries (long, long) first and falls back to (long, int) on older JDKs
+            hints.reflection().registerType(TypeReference.of("java.nio.DirectByteBuffer"), hint -> hint
+                    .withConstructor(List.of(TypeReference.of(long.class), TypeReference.of(long.class)),
+                            ExecutableMode.INVOKE)
+                    .withConstructor(List.of(TypeReference.of(long.class), TypeReference.of(int.class)),
+                            ExecutableMode.INVOKE));
+            // arrow-memory-unsafe is a runtime dependency, picked by DefaultAllocationManagerOption
+            hints.reflection().registerType(
+                    TypeReference.of("org.apache.arrow.memory.unsafe.UnsafeAllocationManager"),
+                    hint -> hint.withField("FACTORY"));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.ratelimit.AdaptiveConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiting and load shedding configuration
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${edulift.ratelimit.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${edulift.ratelimit.concurrency.min-limit:4}") int minLimit,
+            @Value("${edulift.ratelimit.concurrency.max-limit:200}") int maxLimit,
+            @Value("${edulift.ratelimit.concurrency.latency-tolerance:2.0}") double tolerance,
+            @Value("${edulift.ratelimit.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                tolerance, backoffRatio, TimeUnit.SECONDS.toNanos(30));
+    }
+}
@@ -0,0 +1,47 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.filter.UserBitmapIndex;
+import com.EduLift.backend.logging.LoggingMetrics;
+import com.EduLift.backend.matching.MentorCandidateIndex;
+import com.EduLift.backend.ratelimit.RateLimitInterceptor;
+import com.EduLift.backend.replica.UserReadReplica;
+import com.EduLift.backend.service.PreferenceWriteBehindBuffer;
+import com.EduLift.backend.service.UserArchiveService;
+import com.EduLift.backend.service.UserChangeTracker;
+import com.EduLift.backend.snapshot.UserSnapshotService;
+import com.mongodb.client.MongoClient;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans that must stay eager when spring.main.lazy-initialization is on
+ * (the fast-startup profile). Everything else is created on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * The write-behind buffer replays its journal on startup, scheduled jobs
+     * (archive, snapshot export, rate limit bucket sweep) only run once their
+     * beans exist, logging metrics register against appenders that already
+     * run, the user change tracker loads the mentor candidate and bitmap filter
+     * indexes in the background, the read replica loads in the background too,
+     * and creating the MongoClient early starts server discovery in the
+     * background instead of on the first request.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                PreferenceWriteBehindBuffer.class,
+                UserArchiveService.class,
+                UserSnapshotService.class,
+                RateLimitInterceptor.class,
+                LoggingMetrics.class,
+                UserChangeTracker.class,
+                MentorCandidateIndex.class,
+                UserBitmapIndex.class,
+                UserReadReplica.class,
+                MongoClient.class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.EduLift.backend.config;
+
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-document transaction support. Transactions need a replica set or
+ * sharded cluster; MongoTemplate only joins one inside TransactionRunner.
+ */
+@Configuration
+public class TransactionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionConfig.class);
+
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory,
+            @Value("${edulift.transactions.max-commit-attempts:3}") int maxCommitAttempts,
+            @Value("${edulift.transactions.commit-retry-delay-ms:100}") long commitRetryDelayMillis) {
+        return new MongoTransactionManager(databaseFactory) {
+            @Override
+            protected void doCommit(MongoTransactionObject transactionObject) throws Exception {
+                commitWithRetry(transactionObject::commitTransaction, maxCommitAttempts, commitRetryDelayMillis);
+            }
+        };
+    }
+
+    /**
+     * Commit, retrying only the commit while the result is unknown. Committing an
+     * already committed transaction again is a no-op on the server, whereas
+     * rerunning the transaction body would apply non-idempotent writes twice.
+     */
+    static void commitWithRetry(Runnable commit, int maxAttempts, long retryDelayMillis) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                commit.run();
+                return;
+            } catch (MongoException e) {
+                if (!e.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL) || attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Retrying commit after unknown commit result (attempt {})", attempt);
+                TimeUnit.MILLISECONDS.sleep(retryDelayMillis);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.EduLift.backend.controller;
+
+import com.EduLift.backend.monitoring.SlowQuery;
+import com.EduLift.backend.monitoring.SlowQueryRecorder;
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import com.EduLift.backend.snapshot.UserSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for operational diagnostics
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private SlowQueryRecorder slowQueryRecorder;
+
+    @Autowired
+    private UserSnapshotService userSnapshotService;
+
+    /**
+     * Recent slow MongoDB commands (newest first) and the slowest query shapes
+     */
+    @GetMapping("/slow-queries")
+    public ResponseEntity<Map<String, Object>> getSlowQueries(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<SlowQuery> recent = slowQueryRecorder.recent(limit);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("recent", recent);
+            body.put("shapes", slowQueryRecorder.topShapes(limit));
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Clear recorded slow queries
+     */
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<HttpStatus> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    /**
+     * Write a user snapshot now, incremental unless full=true or a full is due
+     */
+    @PostMapping("/snapshots")
+    @ExpensiveEndpoint
+    public ResponseEntity<UserSnapshotService.SnapshotResult> exportSnapshot(
+            @RequestParam(defaultValue = "false") boolean full) {
+        try {
+            return new ResponseEntity<>(userSnapshotService.export(full), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
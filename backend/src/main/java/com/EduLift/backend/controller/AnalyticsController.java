@@ -0,0 +1,48 @@
+package com.EduLift.backend.controller;
+
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import com.EduLift.backend.service.EnrollmentAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for reporting endpoints
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    @Autowired
+    private EnrollmentAnalyticsService enrollmentAnalyticsService;
+
+    /**
+     * Enrollment counts per bucket, group home and role,
+     * e.g. GET /api/analytics/enrollments?unit=WEEK&from=2025-01-01&to=2025-03-31
+     */
+    @GetMapping("/enrollments")
+    @ExpensiveEndpoint
+    public ResponseEntity<List<EnrollmentAnalyticsService.EnrollmentBucket>> getEnrollments(
+            @RequestParam(defaultValue = "DAY") EnrollmentAnalyticsService.BucketUnit unit,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String groupHomeId,
+            @RequestParam(required = false) String role) {
+        if (to.isBefore(from)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            List<EnrollmentAnalyticsService.EnrollmentBucket> buckets =
+                    enrollmentAnalyticsService.enrollments(unit, from, to, groupHomeId, role);
+            return new ResponseEntity<>(buckets, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.EduLift.backend.controller;
+
+import com.EduLift.backend.matching.MentorMatch;
+import com.EduLift.backend.matching.MentorMatchingService;
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller for mentor matching
+ */
+@RestController
+@RequestMapping("/api/matching")
+@CrossOrigin(origins = "*")
+public class MatchingController {
+
+    private static final int MAX_COHORT_SIZE = 500;
+
+    @Autowired
+    private MentorMatchingService matchingService;
+
+    /**
+     * Best mentors for one student, e.g. GET /api/matching/students/{id}/mentors?k=5
+     */
+    @GetMapping("/students/{id}/mentors")
+    public ResponseEntity<List<MentorMatch>> getMentorsForStudent(@PathVariable String id,
+                                                                  @RequestParam(defaultValue = "5") int k) {
+        try {
+            Optional<List<MentorMatch>> matches = matchingService.topMentors(id, k);
+            if (matches.isPresent()) {
+                return new ResponseEntity<>(matches.get(), HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Best mentors for a cohort; the body is a JSON array of student ids
+     */
+    @PostMapping("/cohort")
+    @ExpensiveEndpoint
+    public ResponseEntity<Map<String, List<MentorMatch>>> matchCohort(@RequestBody List<String> studentIds,
+                                                                      @RequestParam(defaultValue = "5") int k) {
+        if (studentIds == null || studentIds.isEmpty() || studentIds.size() > MAX_COHORT_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(matchingService.matchCohort(studentIds, k), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
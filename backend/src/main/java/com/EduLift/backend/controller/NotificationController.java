@@ -0,0 +1,58 @@
+package com.EduLift.backend.controller;
+
+import com.EduLift.backend.notification.CampaignCheckpoint;
+import com.EduLift.backend.notification.NotificationCampaignService;
+import com.EduLift.backend.notification.Segment;
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * REST Controller for notification campaigns
+ */
+@RestController
+@RequestMapping("/api/notifications/campaigns")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    @Autowired
+    private NotificationCampaignService campaignService;
+
+    /**
+     * Start or resume a campaign for the given segment
+     */
+    @PostMapping("/{campaignId}")
+    @ExpensiveEndpoint
+    public ResponseEntity<HttpStatus> startCampaign(@PathVariable String campaignId, @RequestBody Segment segment) {
+        try {
+            if (campaignService.start(campaignId, segment)) {
+                return new ResponseEntity<>(HttpStatus.ACCEPTED);
+            } else {
+                return new ResponseEntity<>(HttpStatus.CONFLICT);
+            }
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get campaign progress
+     */
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<CampaignCheckpoint> getCampaign(@PathVariable String campaignId) {
+        try {
+            Optional<CampaignCheckpoint> checkpoint = campaignService.status(campaignId);
+            if (checkpoint.isPresent()) {
+                return new ResponseEntity<>(checkpoint.get(), HttpStatus.OK);
+            } else {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -1,14 +1,37 @@
 package com.EduLift.backend.controller;
 
+import com.EduLift.backend.audit.UserAuditEntry;
+import com.EduLift.backend.audit.UserAuditTrail;
+import com.EduLift.backend.crypto.ProfileEncryptionListener;
+import com.EduLift.backend.filter.UserBitmapIndex;
+import com.EduLift.backend.filter.UserFilter;
+import com.EduLift.backend.filter.UserFilterPage;
 import com.EduLift.backend.model.User;
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import com.EduLift.backend.replica.UserReadReplica;
 import com.EduLift.backend.repository.UserRepository;
+import com.EduLift.backend.service.GroupHomeMembershipService;
+import com.EduLift.backend.service.GroupHomeRosterCache;
+import com.EduLift.backend.service.PreferenceWriteBehindBuffer;
+import com.EduLift.backend.service.UserArchiveService;
+import com.EduLift.backend.service.UserBatchLoader;
+import com.EduLift.backend.service.UserChangeFeedService;
+import com.EduLift.backend.service.UserChangedEvent;
+import com.EduLift.backend.service.UserETagService;
+import com.EduLift.backend.validation.SchemaViolationException;
+import com.EduLift.backend.validation.UserSchemaValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,19 +39,229 @@ import java.util.Optional;
  */
 @RestController
 @RequestMapping("/api/users")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.RETRY_AFTER})
 public class UserController {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserBatchLoader userBatchLoader;
+
+    @Autowired
+    private PreferenceWriteBehindBuffer preferenceWriteBehindBuffer;
+
+    @Autowired
+    private UserETagService userETagService;
+
+    @Autowired
+    private UserArchiveService userArchiveService;
+
+    @Autowired
+    private ProfileEncryptionListener profileEncryptionListener;
+
+    @Autowired
+    private GroupHomeMembershipService groupHomeMembershipService;
+
+    @Autowired
+    private UserChangeFeedService userChangeFeedService;
+
+    @Autowired
+    private UserSchemaValidator userSchemaValidator;
+
+    @Autowired
+    private UserReadReplica userReadReplica;
+
+    @Autowired
+    private UserBitmapIndex userBitmapIndex;
+
+    @Autowired
+    private GroupHomeRosterCache groupHomeRosterCache;
+
+    @Autowired
+    private UserAuditTrail userAuditTrail;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Maximum number of ids accepted by the batch lookup endpoint
+     */
+    private static final int MAX_BATCH_IDS = 500;
+
+    /**
+     * Largest page returned by the filter endpoint
+     */
+    private static final int MAX_FILTER_PAGE_SIZE = 200;
+
+    /**
+     * Most audit entries returned for one user
+     */
+    private static final int MAX_AUDIT_ENTRIES = 1000;
+
     /**
-     * Get all users
+     * Get all users. Answers 304 when the collection-level ETag still matches.
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    @ExpensiveEndpoint
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            UserETagService.Validators validators = userETagService.collectionValidators();
+            if (UserETagService.matches(ifNoneMatch, validators.etag())) {
+                return notModified(validators);
+            }
+            List<User> users = userRepository.findByDeletedAtIsNull();
+            return withValidators(validators).body(users);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Users created, updated or deleted after a watermark, e.g. GET /api/users/changes?since=...&limit=200.
+     * Without since the feed starts from the beginning. Pass the returned watermark on the next call.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangeFeedService.UserChanges> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            return new ResponseEntity<>(userChangeFeedService.changesSince(since, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Users matching an and/or/not filter over role, group home, risk flag, consent and
+     * language, e.g. POST /api/users/filter?page=0&size=50 with
+     * {"and": [{"groupHomeId": "gh_001"}, {"riskFlag": "academic_risk"}, {"consent": "COMMUNICATION"}]}.
+     * The filter runs against the in-memory bitmap index; only the requested page is loaded.
+     */
+    @PostMapping("/filter")
+    public ResponseEntity<UserFilterPage> filterUsers(@RequestBody UserFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_FILTER_PAGE_SIZE) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            filter.validate();
+            UserBitmapIndex.Page matches = userBitmapIndex.page(filter, page, size);
+            // The index can lag a write by a refresh interval
+            List<User> users = userBatchLoader.loadMany(matches.ids()).stream()
+                    .filter(user -> !user.isDeleted())
+                    .toList();
+            return new ResponseEntity<>(new UserFilterPage(matches.total(), page, size, users), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Number of users matching a filter, without loading any of them
+     */
+    @PostMapping("/filter/count")
+    public ResponseEntity<Map<String, Long>> countFilteredUsers(@RequestBody UserFilter filter) {
+        try {
+            filter.validate();
+            return new ResponseEntity<>(Map.of("count", userBitmapIndex.count(filter)), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get several users by ID in one round trip, e.g. GET /api/users?ids=a,b,c
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<User>> getUsersByIds(@RequestParam List<String> ids,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         try {
-            List<User> users = userRepository.findAll();
+            UserETagService.Validators validators = userETagService.listValidators(ids);
+            if (UserETagService.matches(ifNoneMatch, validators.etag())) {
+                return notModified(validators);
+            }
+            List<User> users = userBatchLoader.loadMany(ids).stream()
+                    .filter(user -> !user.isDeleted())
+                    .toList();
+            return withValidators(validators).body(users);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get the active users of a group home, optionally only those with a role,
+     * e.g. GET /api/users?groupHomeId=gh1&role=MENTOR
+     */
+    @GetMapping(params = "groupHomeId", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getUsersByGroupHome(@RequestParam String groupHomeId,
+            @RequestParam(required = false) User.Role role) {
+        try {
+            byte[] json = groupHomeRosterCache.roster(groupHomeId, role, () -> activeMembers(groupHomeId, role));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Same roster for clients that negotiate Smile or CBOR, which the JSON cache cannot serve
+     */
+    @GetMapping(params = "groupHomeId")
+    public ResponseEntity<List<User>> getUsersByGroupHomeBinary(@RequestParam String groupHomeId,
+            @RequestParam(required = false) User.Role role) {
+        try {
+            return new ResponseEntity<>(activeMembers(groupHomeId, role), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private List<User> activeMembers(String groupHomeId, User.Role role) {
+        return userReadReplica.findByGroupHome(groupHomeId, role).stream()
+                .filter(user -> !user.isDeleted())
+                .toList();
+    }
+
+    /**
+     * Get an active user by exact email, e.g. GET /api/users?email=a@example.com
+     */
+    @GetMapping(params = "email")
+    public ResponseEntity<User> getUserByEmail(@RequestParam String email) {
+        try {
+            return userReadReplica.findByEmail(email)
+                    .filter(user -> !user.isDeleted())
+                    .map(user -> new ResponseEntity<>(user, HttpStatus.OK))
+                    .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Find users by exact phone number. Works on encrypted data because phone
+     * numbers are encrypted deterministically.
+     */
+    @GetMapping(params = "phoneNumber")
+    public ResponseEntity<List<User>> getUsersByPhoneNumber(@RequestParam String phoneNumber) {
+        try {
+            List<User> users = userRepository
+                    .findByProfilePhoneNumber(profileEncryptionListener.phoneNumberQueryValue(phoneNumber))
+                    .stream()
+                    .filter(user -> !user.isDeleted())
+                    .toList();
             return new ResponseEntity<>(users, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -36,14 +269,36 @@ public class UserController {
     }
 
     /**
-     * Get user by ID
+     * Get user by ID. With If-None-Match the current version is read from an
+     * index-only projection and 304 is returned without loading the document.
+     * With includeArchived=true, soft-deleted and archived users are returned too.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable String id) {
+    public ResponseEntity<User> getUserById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
-            Optional<User> userData = userRepository.findById(id);
+            if (ifNoneMatch != null) {
+                Optional<UserETagService.Validators> validators = userETagService.findValidators(id);
+                if (validators.isPresent() && UserETagService.matches(ifNoneMatch, validators.get().etag())) {
+                    return notModified(validators.get());
+                }
+            }
+
+            Optional<User> userData = userReadReplica.isServing()
+                    ? userReadReplica.findById(id)
+                    : userBatchLoader.load(id).join();
+            if (includeArchived && userData.isEmpty()) {
+                userData = userArchiveService.findArchived(id);
+            } else if (!includeArchived) {
+                userData = userData.filter(user -> !user.isDeleted());
+            }
             if (userData.isPresent()) {
-                return new ResponseEntity<>(userData.get(), HttpStatus.OK);
+                UserETagService.Validators validators = userETagService.validatorsFor(userData.get());
+                if (validators == null) {
+                    return new ResponseEntity<>(userData.get(), HttpStatus.OK);
+                }
+                return withValidators(validators).body(userData.get());
             } else {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
@@ -52,11 +307,29 @@ public class UserController {
         }
     }
 
+    /**
+     * Audit history of a user's riskFlags, consentFlags and profile, newest first,
+     * e.g. GET /api/users/{id}/audit?limit=50
+     */
+    @GetMapping("/{id}/audit")
+    public ResponseEntity<List<UserAuditEntry>> getUserAudit(@PathVariable String id,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_AUDIT_ENTRIES) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(userAuditTrail.history(id, limit), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Create a new user
      */
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public ResponseEntity<User> createUser(@RequestBody User user,
+            @RequestHeader(value = UserAuditTrail.ACTOR_HEADER, required = false) String actor) {
         try {
             // Check if username or email already exists
             if (userRepository.existsByUsername(user.getUsername())) {
@@ -66,46 +339,138 @@ public class UserController {
                 return new ResponseEntity<>(HttpStatus.CONFLICT);
             }
 
+            // createdAt is the server's: enrollment buckets of the past are cached as final
+            LocalDateTime now = LocalDateTime.now();
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
             User newUser = userRepository.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.of(newUser.getId()));
+            userAuditTrail.record(newUser.getId(), UserAuditTrail.snapshot(null), newUser, actor, "create");
             return new ResponseEntity<>(newUser, HttpStatus.CREATED);
+        } catch (SchemaViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     /**
-     * Update user
+     * Update user. riskFlags, consentFlags and profile are replaced when present in the body.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable String id, @RequestBody User user) {
+    public ResponseEntity<User> updateUser(@PathVariable String id, @RequestBody User user,
+            @RequestHeader(value = UserAuditTrail.ACTOR_HEADER, required = false) String actor) {
         try {
-            Optional<User> userData = userRepository.findById(id);
+            Optional<User> userData = userRepository.findById(id).filter(existing -> !existing.isDeleted());
             if (userData.isPresent()) {
                 User existingUser = userData.get();
+                UserAuditTrail.Snapshot before = UserAuditTrail.snapshot(existingUser);
                 existingUser.setUsername(user.getUsername());
                 existingUser.setEmail(user.getEmail());
                 existingUser.setFirstName(user.getFirstName());
                 existingUser.setLastName(user.getLastName());
+                if (user.getRiskFlags() != null) {
+                    existingUser.setRiskFlags(user.getRiskFlags());
+                }
+                if (user.getConsentFlags() != null) {
+                    existingUser.setConsentFlags(user.getConsentFlags());
+                }
+                if (user.getProfile() != null) {
+                    existingUser.setProfile(user.getProfile());
+                }
                 existingUser.setUpdatedAt(LocalDateTime.now());
                 
                 User updatedUser = userRepository.save(existingUser);
+                eventPublisher.publishEvent(UserChangedEvent.of(id));
+                userAuditTrail.record(id, before, updatedUser, actor, "update");
                 return new ResponseEntity<>(updatedUser, HttpStatus.OK);
             } else {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
+        } catch (SchemaViolationException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     /**
-     * Delete user
+     * Partially update user preferences, e.g. {"emailNotifications": false, "language": "es"}.
+     * With write-behind enabled the user is looked up first, then the update is
+     * journaled and acknowledged with 202 and flushed to MongoDB in a coalesced bulk write.
+     */
+    @PatchMapping("/{id}/preferences")
+    public ResponseEntity<HttpStatus> updatePreferences(@PathVariable String id,
+                                                        @RequestBody Map<String, Object> preferences) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : preferences.entrySet()) {
+            String field = "preferences." + entry.getKey();
+            Class<?> type = PreferenceWriteBehindBuffer.WRITABLE_FIELDS.get(field);
+            if (type == null || !type.isInstance(entry.getValue())
+                    || !userSchemaValidator.validateField(field, entry.getValue()).isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            fields.put(field, entry.getValue());
+        }
+        if (fields.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            if (preferenceWriteBehindBuffer.isEnabled()) {
+                // A flush cannot report back, so unknown and deleted users are refused before the 202
+                if (userBatchLoader.load(id).join().filter(user -> !user.isDeleted()).isEmpty()) {
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }
+                preferenceWriteBehindBuffer.submit(id, fields);
+                return new ResponseEntity<>(HttpStatus.ACCEPTED);
+            }
+            if (preferenceWriteBehindBuffer.applyNow(id, fields)) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            } else {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Move a student to another group home, dropping mentor links atomically.
+     * Body: {"groupHomeId": "..."}
+     */
+    @PutMapping("/{id}/group-home")
+    public ResponseEntity<HttpStatus> moveStudent(@PathVariable String id, @RequestBody Map<String, String> body) {
+        String groupHomeId = body.get("groupHomeId");
+        if (groupHomeId == null || groupHomeId.isBlank()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return membershipResponse(groupHomeMembershipService.moveStudent(id, groupHomeId));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Assign a mentor from the same group home to a student
+     */
+    @PutMapping("/{id}/mentors/{mentorId}")
+    public ResponseEntity<HttpStatus> assignMentor(@PathVariable String id, @PathVariable String mentorId) {
+        try {
+            return membershipResponse(groupHomeMembershipService.assignMentor(id, mentorId));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Soft delete user. The document is moved to the archive later by the archival job.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<HttpStatus> deleteUser(@PathVariable String id) {
         try {
-            if (userRepository.existsById(id)) {
-                userRepository.deleteById(id);
+            if (userArchiveService.softDelete(id)) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             } else {
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -115,6 +480,30 @@ public class UserController {
         }
     }
 
+    private static ResponseEntity<HttpStatus> membershipResponse(GroupHomeMembershipService.Result result) {
+        return switch (result) {
+            case UPDATED -> new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            case NOT_FOUND -> new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            case CONFLICT -> new ResponseEntity<>(HttpStatus.CONFLICT);
+        };
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(UserETagService.Validators validators) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(validators.etag());
+        if (validators.lastModified() > 0) {
+            builder.lastModified(validators.lastModified());
+        }
+        return builder;
+    }
+
+    private static <T> ResponseEntity<T> notModified(UserETagService.Validators validators) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(validators.etag());
+        if (validators.lastModified() > 0) {
+            builder.lastModified(validators.lastModified());
+        }
+        return builder.build();
+    }
+
     /**
      * Test MongoDB connection
      */
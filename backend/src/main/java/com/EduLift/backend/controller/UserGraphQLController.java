@@ -0,0 +1,134 @@
+package com.EduLift.backend.controller;
+
+import com.EduLift.backend.graphql.UserProjection;
+import com.EduLift.backend.graphql.UserQueryCost;
+import com.EduLift.backend.model.User;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.dataloader.DataLoader;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GraphQL queries over users (schema in graphql/schema.graphqls).
+ * Every fetch projects only the selected fields. Mentors and mentees of all
+ * users in a response are loaded together, one query per request and level.
+ */
+@Controller
+public class UserGraphQLController {
+
+    /**
+     * Batch loader key: a user id and the paths the requesting field selected
+     */
+    public record UserKey(String id, Set<String> fields) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final UserQueryCost userQueryCost;
+
+    public UserGraphQLController(MongoTemplate mongoTemplate,
+                                 UserQueryCost userQueryCost,
+                                 BatchLoaderRegistry batchLoaderRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.userQueryCost = userQueryCost;
+        batchLoaderRegistry.forTypePair(UserKey.class, User.class)
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromCallable(() -> loadAll(keys)));
+    }
+
+    @QueryMapping
+    public User user(@Argument String id, DataFetchingFieldSelectionSet selectionSet) {
+        Query query = UserProjection.apply(Query.query(active().and("_id").is(id)), UserProjection.of(selectionSet));
+        return mongoTemplate.findOne(query, User.class);
+    }
+
+    @QueryMapping
+    public List<User> users(@Argument List<String> ids,
+                            @Argument String groupHomeId,
+                            @Argument User.Role role,
+                            @Argument Integer limit,
+                            DataFetchingFieldSelectionSet selectionSet) {
+        Criteria criteria = active();
+        if (ids != null) {
+            criteria.and("_id").in(ids);
+        }
+        if (groupHomeId != null) {
+            criteria.and("groupHomeId").is(groupHomeId);
+        }
+        if (role != null) {
+            criteria.and("roles").is(role);
+        }
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put("ids", ids);
+        arguments.put("limit", limit);
+
+        Query query = UserProjection.apply(Query.query(criteria), UserProjection.of(selectionSet))
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(userQueryCost.pageSize(arguments));
+        return mongoTemplate.find(query, User.class);
+    }
+
+    @SchemaMapping(typeName = "User")
+    public CompletableFuture<List<User>> mentors(User user, DataFetchingFieldSelectionSet selectionSet,
+                                                 DataLoader<UserKey, User> loader) {
+        return loadRelated(user.getMentorIds(), selectionSet, loader);
+    }
+
+    @SchemaMapping(typeName = "User")
+    public CompletableFuture<List<User>> mentees(User user, DataFetchingFieldSelectionSet selectionSet,
+                                                 DataLoader<UserKey, User> loader) {
+        return loadRelated(user.getMenteeIds(), selectionSet, loader);
+    }
+
+    private CompletableFuture<List<User>> loadRelated(List<String> ids, DataFetchingFieldSelectionSet selectionSet,
+                                                      DataLoader<UserKey, User> loader) {
+        if (ids == null || ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        Set<String> fields = UserProjection.of(selectionSet);
+        List<UserKey> keys = ids.stream().map(id -> new UserKey(id, fields)).toList();
+        return loader.loadMany(keys).thenApply(users -> users.stream().filter(Objects::nonNull).toList());
+    }
+
+    /**
+     * One query for all keys of a batch, projecting the union of their selections
+     */
+    private Map<UserKey, User> loadAll(Set<UserKey> keys) {
+        Set<String> ids = new LinkedHashSet<>();
+        Set<String> fields = new LinkedHashSet<>();
+        for (UserKey key : keys) {
+            ids.add(key.id());
+            fields.addAll(key.fields());
+        }
+        Query query = UserProjection.apply(Query.query(active().and("_id").in(new ArrayList<>(ids))), fields);
+        Map<String, User> found = new HashMap<>();
+        mongoTemplate.find(query, User.class).forEach(user -> found.put(user.getId(), user));
+
+        Map<UserKey, User> result = new HashMap<>();
+        for (UserKey key : keys) {
+            User user = found.get(key.id());
+            if (user != null) {
+                result.put(key, user);
+            }
+        }
+        return result;
+    }
+
+    private static Criteria active() {
+        return Criteria.where("deletedAt").is(null);
+    }
+}
@@ -0,0 +1,148 @@
+package com.EduLift.backend.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AES-GCM field encryption with a deterministic and a randomized mode.
+ * Deterministic values use a synthetic IV (HMAC of the plaintext), so equal
+ * plaintexts encrypt to equal ciphertexts and stay indexable for equality
+ * lookups. Randomized values use a fresh IV each time.
+ * Decrypted values are kept in a bounded LRU cache keyed by ciphertext.
+ */
+public class FieldEncryptor {
+
+    static final String DETERMINISTIC_PREFIX = "enc:d:";
+    static final String RANDOMIZED_PREFIX = "enc:r:";
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec encryptionKey;
+    private final SecretKeySpec ivKey;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, String> decryptionCache;
+
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * @param masterKey      32 random bytes; encryption and IV keys are derived from it
+     * @param cacheEntries   maximum decrypted values kept in memory, 0 to disable
+     */
+    public FieldEncryptor(byte[] masterKey, int cacheEntries) {
+        if (masterKey.length != 32) {
+            throw new IllegalArgumentException("Field encryption key must be 32 bytes");
+        }
+        this.encryptionKey = new SecretKeySpec(derive(masterKey, "edulift-field-encryption"), "AES");
+        this.ivKey = new SecretKeySpec(derive(masterKey, "edulift-deterministic-iv"), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(ivKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        this.decryptionCache = cacheEntries <= 0 ? null : Collections.synchronizedMap(
+                new LinkedHashMap<>(1024, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                        return size() > cacheEntries;
+                    }
+                });
+    }
+
+    /**
+     * Equal inputs give equal outputs, so the result can be used in equality queries
+     */
+    public String encryptDeterministic(String plaintext) {
+        if (plaintext == null || isEncrypted(plaintext)) {
+            return plaintext;
+        }
+        byte[] bytes = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] iv = Arrays.copyOf(macs.get().doFinal(bytes), IV_BYTES);
+        return DETERMINISTIC_PREFIX + seal(iv, bytes);
+    }
+
+    public String encryptRandomized(String plaintext) {
+        if (plaintext == null || isEncrypted(plaintext)) {
+            return plaintext;
+        }
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        return RANDOMIZED_PREFIX + seal(iv, plaintext.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decrypt a value written by either mode. Values without an encryption
+     * prefix are returned unchanged so plaintext documents keep working.
+     */
+    public String decrypt(String value) {
+        if (value == null || !isEncrypted(value)) {
+            return value;
+        }
+        if (decryptionCache != null) {
+            String cached = decryptionCache.get(value);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] sealed = Base64.getDecoder().decode(value.substring(DETERMINISTIC_PREFIX.length()));
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+            String plaintext = new String(cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES), StandardCharsets.UTF_8);
+            if (decryptionCache != null) {
+                decryptionCache.put(value, plaintext);
+            }
+            return plaintext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decrypt field value", e);
+        }
+    }
+
+    public static boolean isEncrypted(String value) {
+        return value.startsWith(DETERMINISTIC_PREFIX) || value.startsWith(RANDOMIZED_PREFIX);
+    }
+
+    private String seal(byte[] iv, byte[] plaintext) {
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length)
+                    .put(iv).put(ciphertext).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt field value", e);
+        }
+    }
+
+    private static byte[] derive(byte[] masterKey, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(masterKey, "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
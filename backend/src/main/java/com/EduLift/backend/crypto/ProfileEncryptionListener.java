@@ -0,0 +1,134 @@
+package com.EduLift.backend.crypto;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encrypts sensitive profile fields on the way into MongoDB and decrypts them
+ * on the way out. Works on the raw BSON document, so fields left out by a
+ * projection are never decrypted.
+ * Phone numbers are encrypted deterministically to stay indexable for equality
+ * lookups; dateOfBirth and address use randomized encryption.
+ * Disabled when no key file is configured.
+ */
+@Component
+public class ProfileEncryptionListener extends AbstractMongoEventListener<User> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileEncryptionListener.class);
+
+    static final List<String> DETERMINISTIC_FIELDS = List.of("phoneNumber", "emergencyPhoneNumber");
+    static final List<String> RANDOMIZED_FIELDS = List.of("dateOfBirth", "address");
+
+    private final FieldEncryptor encryptor;
+    private final Counter encryptedFields;
+    private final Counter decryptedFields;
+
+    @Autowired
+    public ProfileEncryptionListener(MeterRegistry meterRegistry,
+                                     @Value("${edulift.encryption.key-file:}") String keyFile,
+                                     @Value("${edulift.encryption.cache-entries:10000}") int cacheEntries) throws IOException {
+        this(loadEncryptor(keyFile, cacheEntries), meterRegistry);
+    }
+
+    ProfileEncryptionListener(FieldEncryptor encryptor, MeterRegistry meterRegistry) {
+        this.encryptor = encryptor;
+        this.encryptedFields = Counter.builder("edulift.encryption.encrypted")
+                .description("Profile fields encrypted before save")
+                .register(meterRegistry);
+        this.decryptedFields = Counter.builder("edulift.encryption.decrypted")
+                .description("Profile fields decrypted after load")
+                .register(meterRegistry);
+        if (encryptor == null) {
+            log.info("Profile field encryption is disabled (edulift.encryption.key-file not set)");
+        }
+    }
+
+    public boolean isEnabled() {
+        return encryptor != null;
+    }
+
+    /**
+     * True for profile fields stored encrypted, which must not be copied elsewhere in plain text
+     */
+    public static boolean isEncryptedField(String profileField) {
+        return DETERMINISTIC_FIELDS.contains(profileField) || RANDOMIZED_FIELDS.contains(profileField);
+    }
+
+    /**
+     * Value to use when querying a deterministically encrypted phone number field
+     */
+    public String phoneNumberQueryValue(String phoneNumber) {
+        return encryptor == null ? phoneNumber : encryptor.encryptDeterministic(phoneNumber);
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<User> event) {
+        Document profile = profileOf(event.getDocument());
+        if (profile == null) {
+            return;
+        }
+        for (String field : DETERMINISTIC_FIELDS) {
+            if (profile.get(field) instanceof String value) {
+                profile.put(field, encryptor.encryptDeterministic(value));
+                encryptedFields.increment();
+            }
+        }
+        for (String field : RANDOMIZED_FIELDS) {
+            if (profile.get(field) instanceof String value) {
+                profile.put(field, encryptor.encryptRandomized(value));
+                encryptedFields.increment();
+            }
+        }
+    }
+
+    @Override
+    public void onAfterLoad(AfterLoadEvent<User> event) {
+        Document profile = profileOf(event.getDocument());
+        if (profile == null) {
+            return;
+        }
+        decrypt(profile, DETERMINISTIC_FIELDS);
+        decrypt(profile, RANDOMIZED_FIELDS);
+    }
+
+    private void decrypt(Document profile, List<String> fields) {
+        for (String field : fields) {
+            if (profile.get(field) instanceof String value && FieldEncryptor.isEncrypted(value)) {
+                profile.put(field, encryptor.decrypt(value));
+                decryptedFields.increment();
+            }
+        }
+    }
+
+    private Document profileOf(Document document) {
+        if (encryptor == null || document == null) {
+            return null;
+        }
+        return document.get("profile") instanceof Document profile ? profile : null;
+    }
+
+    private static FieldEncryptor loadEncryptor(String keyFile, int cacheEntries) throws IOException {
+        if (keyFile == null || keyFile.isBlank()) {
+            return null;
+        }
+        String encoded = Files.readString(Path.of(keyFile), StandardCharsets.US_ASCII).trim();
+        return new FieldEncryptor(Base64.getDecoder().decode(encoded), cacheEntries);
+    }
+}
@@ -0,0 +1,348 @@
+package com.EduLift.backend.filter;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.service.UserChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory bitmap index over role, group home, risk flag, consent and language.
+ * Every user gets a dense integer ordinal and each indexed value keeps a Roaring
+ * bitmap of the ordinals that carry it, so any and/or/not combination is answered
+ * with bitmap operations. Maintained like the mentor candidate index: users reported
+ * by the UserChangeTracker are reloaded, and a periodic rebuild drops users archived
+ * elsewhere.
+ */
+@Component
+public class UserBitmapIndex implements UserChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBitmapIndex.class);
+
+    /**
+     * Ordinals of one page of matches, plus the total number of matches
+     */
+    public record Page(long total, List<String> ids) {}
+
+    enum Dimension { ROLE, GROUP_HOME, RISK_FLAG, CONSENT, LANGUAGE }
+
+    /**
+     * Ordinal assignments and bitmaps. Mutated only by the refresh thread, under the write lock.
+     */
+    static final class Postings {
+        final Map<String, Integer> ordinals = new HashMap<>();
+        final List<String> ids = new ArrayList<>();
+        final Map<Dimension, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(Dimension.class);
+        // Bitmaps each ordinal is filed under, so an update can clear exactly those bits
+        final List<List<RoaringBitmap>> filedUnder = new ArrayList<>();
+        final RoaringBitmap free = new RoaringBitmap();
+        // Users present and not soft-deleted; the universe for not
+        final RoaringBitmap active = new RoaringBitmap();
+
+        Postings() {
+            for (Dimension dimension : Dimension.values()) {
+                bitmaps.put(dimension, new HashMap<>());
+            }
+        }
+
+        int ordinalFor(String id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            int assigned;
+            if (free.isEmpty()) {
+                assigned = ids.size();
+                ids.add(id);
+                filedUnder.add(null);
+            } else {
+                assigned = free.first();
+                free.remove(assigned);
+                ids.set(assigned, id);
+            }
+            ordinals.put(id, assigned);
+            return assigned;
+        }
+
+        void put(int ordinal, User user) {
+            clear(ordinal);
+            List<RoaringBitmap> filed = new ArrayList<>(6);
+            if (user.getRoles() != null) {
+                user.getRoles().forEach(role -> file(filed, ordinal, Dimension.ROLE, role.name()));
+            }
+            file(filed, ordinal, Dimension.GROUP_HOME, user.getGroupHomeId());
+            if (user.getRiskFlags() != null) {
+                user.getRiskFlags().forEach(flag -> file(filed, ordinal, Dimension.RISK_FLAG, flag));
+            }
+            User.ConsentFlags consent = user.getConsentFlags();
+            if (consent != null && consent.isDataProcessingConsent()) {
+                file(filed, ordinal, Dimension.CONSENT, UserFilter.Consent.DATA_PROCESSING.name());
+            }
+            if (consent != null && consent.isCommunicationConsent()) {
+                file(filed, ordinal, Dimension.CONSENT, UserFilter.Consent.COMMUNICATION.name());
+            }
+            if (user.getPreferences() != null) {
+                file(filed, ordinal, Dimension.LANGUAGE, user.getPreferences().getLanguage());
+            }
+            filedUnder.set(ordinal, filed);
+            if (user.isDeleted()) {
+                active.remove(ordinal);
+            } else {
+                active.add(ordinal);
+            }
+        }
+
+        void remove(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                clear(ordinal);
+                active.remove(ordinal);
+                ids.set(ordinal, null);
+                free.add(ordinal);
+            }
+        }
+
+        RoaringBitmap bitmap(Dimension dimension, String value) {
+            RoaringBitmap bitmap = value == null ? null : bitmaps.get(dimension).get(value);
+            return bitmap == null ? new RoaringBitmap() : bitmap;
+        }
+
+        private void file(List<RoaringBitmap> filed, int ordinal, Dimension dimension, String value) {
+            if (value == null) {
+                return;
+            }
+            RoaringBitmap bitmap = bitmaps.get(dimension).computeIfAbsent(value, key -> new RoaringBitmap());
+            bitmap.add(ordinal);
+            filed.add(bitmap);
+        }
+
+        private void clear(int ordinal) {
+            List<RoaringBitmap> filed = filedUnder.get(ordinal);
+            if (filed != null) {
+                filed.forEach(bitmap -> bitmap.remove(ordinal));
+                filedUnder.set(ordinal, null);
+            }
+        }
+
+        void optimize() {
+            bitmaps.values().forEach(values -> {
+                values.values().removeIf(RoaringBitmap::isEmpty);
+                values.values().forEach(RoaringBitmap::runOptimize);
+            });
+            active.runOptimize();
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final long rebuildIntervalMillis;
+
+    private final Counter reloadedUsers;
+    private final Counter rebuilds;
+    private final Timer evaluations;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Replaced by rebuilds, mutated in place by refreshes; both hold the write lock while doing so
+    private Postings postings = new Postings();
+    private long lastRebuildNanos;
+    private volatile boolean loaded;
+
+    public UserBitmapIndex(MongoTemplate mongoTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${edulift.filter.rebuild-interval-ms:600000}") long rebuildIntervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+
+        this.reloadedUsers = Counter.builder("edulift.filter.index.reloaded")
+                .description("Users reloaded into the bitmap index by incremental refreshes")
+                .register(meterRegistry);
+        this.rebuilds = Counter.builder("edulift.filter.index.rebuilds")
+                .description("Full rebuilds of the bitmap index")
+                .register(meterRegistry);
+        this.evaluations = Timer.builder("edulift.filter.evaluations")
+                .description("Time to evaluate a filter against the bitmap index")
+                .register(meterRegistry);
+        Gauge.builder("edulift.filter.index.users", this, UserBitmapIndex::size)
+                .description("Active users in the bitmap index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Number of active users matching the filter
+     */
+    public long count(UserFilter filter) {
+        return read(() -> evaluate(filter).getLongCardinality());
+    }
+
+    /**
+     * Ids of one page of active users matching the filter, in ordinal order
+     */
+    public Page page(UserFilter filter, int page, int size) {
+        return read(() -> {
+            RoaringBitmap matches = evaluate(filter);
+            long total = matches.getLongCardinality();
+            List<String> ids = new ArrayList<>(size);
+            long from = (long) page * size;
+            for (long rank = from; rank < Math.min(total, from + size); rank++) {
+                ids.add(postings.ids.get(matches.select((int) rank)));
+            }
+            return new Page(total, ids);
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return postings.active.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reload changed users, or rebuild everything when due
+     */
+    @Override
+    public synchronized void onUsersChanged(Set<String> ids) {
+        if (!loaded || System.nanoTime() - lastRebuildNanos >= TimeUnit.MILLISECONDS.toNanos(rebuildIntervalMillis)) {
+            rebuild();
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<User> users = mongoTemplate.find(project(Query.query(Criteria.where("_id").in(ids))), User.class);
+
+        Set<String> missing = new HashSet<>(ids);
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                missing.remove(user.getId());
+                postings.put(postings.ordinalFor(user.getId()), user);
+            }
+            // Changed but gone from the collection (archived)
+            missing.forEach(postings::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reloadedUsers.increment(users.size());
+    }
+
+    /**
+     * Load every user into fresh postings off-lock, keeping the ordinals of users
+     * already indexed so pages stay in the same order, then swap them in
+     */
+    private void rebuild() {
+        Postings previous = postings;
+        Postings next = new Postings();
+        // Reserve the known ordinals; users that are gone leave theirs free for new users
+        int reserved = previous.ids.size();
+        for (int ordinal = 0; ordinal < reserved; ordinal++) {
+            next.ids.add(null);
+            next.filedUnder.add(null);
+        }
+        next.free.add(0L, reserved);
+
+        List<User> unseen = new ArrayList<>();
+        try (Stream<User> users = mongoTemplate.stream(project(new Query()), User.class)) {
+            users.forEach(user -> {
+                Integer known = previous.ordinals.get(user.getId());
+                if (known == null) {
+                    unseen.add(user);
+                    return;
+                }
+                next.free.remove(known);
+                next.ids.set(known, user.getId());
+                next.ordinals.put(user.getId(), known);
+                next.put(known, user);
+            });
+        }
+        for (User user : unseen) {
+            next.put(next.ordinalFor(user.getId()), user);
+        }
+        next.optimize();
+
+        lock.writeLock().lock();
+        try {
+            postings = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lastRebuildNanos = System.nanoTime();
+        loaded = true;
+        rebuilds.increment();
+        log.info("User bitmap index rebuilt with {} users", next.active.getCardinality());
+    }
+
+    private RoaringBitmap evaluate(UserFilter filter) {
+        long started = System.nanoTime();
+        RoaringBitmap result = RoaringBitmap.and(evaluateNode(filter), postings.active);
+        evaluations.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private RoaringBitmap evaluateNode(UserFilter filter) {
+        if (filter.and() != null) {
+            return FastAggregation.and(filter.and().stream().map(this::evaluateNode).toArray(RoaringBitmap[]::new));
+        }
+        if (filter.or() != null) {
+            return FastAggregation.or(filter.or().stream().map(this::evaluateNode).toArray(RoaringBitmap[]::new));
+        }
+        if (filter.not() != null) {
+            return RoaringBitmap.andNot(postings.active, evaluateNode(filter.not()));
+        }
+        if (filter.role() != null) {
+            return postings.bitmap(Dimension.ROLE, filter.role().name());
+        }
+        if (filter.groupHomeId() != null) {
+            return postings.bitmap(Dimension.GROUP_HOME, filter.groupHomeId());
+        }
+        if (filter.riskFlag() != null) {
+            return postings.bitmap(Dimension.RISK_FLAG, filter.riskFlag());
+        }
+        if (filter.consent() != null) {
+            return postings.bitmap(Dimension.CONSENT, filter.consent().name());
+        }
+        return postings.bitmap(Dimension.LANGUAGE, filter.language());
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        if (!loaded) {
+            onUsersChanged(Set.of());
+        }
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Query project(Query query) {
+        query.fields().include("roles", "groupHomeId", "riskFlags", "consentFlags.dataProcessingConsent",
+                "consentFlags.communicationConsent", "preferences.language", "deletedAt");
+        return query;
+    }
+}
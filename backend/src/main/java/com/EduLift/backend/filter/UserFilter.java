@@ -0,0 +1,107 @@
+package com.EduLift.backend.filter;
+
+import com.EduLift.backend.model.User;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boolean filter over indexed user attributes. Exactly one member is set per node:
+ * a combinator (and, or, not) or a single term, e.g.
+ * {"and": [{"groupHomeId": "gh_001"}, {"role": "STUDENT"}, {"riskFlag": "academic_risk"},
+ * {"consent": "COMMUNICATION"}, {"language": "es"}]}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserFilter(List<UserFilter> and,
+                         List<UserFilter> or,
+                         UserFilter not,
+                         User.Role role,
+                         String groupHomeId,
+                         String riskFlag,
+                         Consent consent,
+                         String language) {
+
+    public enum Consent { DATA_PROCESSING, COMMUNICATION }
+
+    /**
+     * Limits that keep a single filter cheap to evaluate
+     */
+    public static final int MAX_DEPTH = 8;
+    public static final int MAX_TERMS = 64;
+
+    public static UserFilter and(UserFilter... filters) {
+        return new UserFilter(List.of(filters), null, null, null, null, null, null, null);
+    }
+
+    public static UserFilter or(UserFilter... filters) {
+        return new UserFilter(null, List.of(filters), null, null, null, null, null, null);
+    }
+
+    public static UserFilter not(UserFilter filter) {
+        return new UserFilter(null, null, filter, null, null, null, null, null);
+    }
+
+    public static UserFilter role(User.Role role) {
+        return new UserFilter(null, null, null, role, null, null, null, null);
+    }
+
+    public static UserFilter groupHome(String groupHomeId) {
+        return new UserFilter(null, null, null, null, groupHomeId, null, null, null);
+    }
+
+    public static UserFilter riskFlag(String riskFlag) {
+        return new UserFilter(null, null, null, null, null, riskFlag, null, null);
+    }
+
+    public static UserFilter consent(Consent consent) {
+        return new UserFilter(null, null, null, null, null, null, consent, null);
+    }
+
+    public static UserFilter language(String language) {
+        return new UserFilter(null, null, null, null, null, null, null, language);
+    }
+
+    /**
+     * Check the whole tree is well formed and within MAX_DEPTH and MAX_TERMS.
+     * @throws IllegalArgumentException naming the first problem found
+     */
+    public void validate() {
+        int terms = validate(this, 1, MAX_DEPTH);
+        if (terms > MAX_TERMS) {
+            throw new IllegalArgumentException("Filter has " + terms + " terms, at most " + MAX_TERMS + " are allowed");
+        }
+    }
+
+    private static int validate(UserFilter filter, int depth, int maxDepth) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter node is missing");
+        }
+        if (depth > maxDepth) {
+            throw new IllegalArgumentException("Filter is nested deeper than " + maxDepth);
+        }
+        List<Object> members = new ArrayList<>(8);
+        for (Object member : new Object[] {filter.and, filter.or, filter.not, filter.role, filter.groupHomeId,
+                filter.riskFlag, filter.consent, filter.language}) {
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        if (members.size() != 1) {
+            throw new IllegalArgumentException("Each filter node needs exactly one of and, or, not, role, "
+                    + "groupHomeId, riskFlag, consent, language");
+        }
+        List<UserFilter> children = filter.and != null ? filter.and : filter.or;
+        if (children != null) {
+            if (children.isEmpty()) {
+                throw new IllegalArgumentException("and/or need at least one filter");
+            }
+            int terms = 0;
+            for (UserFilter child : children) {
+                terms += validate(child, depth + 1, maxDepth);
+            }
+            return terms;
+        }
+        return filter.not != null ? validate(filter.not, depth + 1, maxDepth) : 1;
+    }
+}
@@ -0,0 +1,10 @@
+package com.EduLift.backend.filter;
+
+import com.EduLift.backend.model.User;
+
+import java.util.List;
+
+/**
+ * One page of users matching a filter. total counts every match, not just this page.
+ */
+public record UserFilterPage(long total, int page, int size, List<User> users) {}
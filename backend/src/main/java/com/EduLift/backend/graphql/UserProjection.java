@@ -0,0 +1,70 @@
+package com.EduLift.backend.graphql;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Translates a GraphQL selection set on User into the MongoDB paths to project.
+ * Only leaf selections become paths. mentors and mentees project the id array
+ * they are resolved from; their own selections are projected by the batched fetch.
+ */
+public final class UserProjection {
+
+    private static final Map<String, String> RELATIONS = Map.of(
+            "mentors", "mentorIds",
+            "mentees", "menteeIds"
+    );
+
+    private UserProjection() {
+    }
+
+    public static Set<String> of(DataFetchingFieldSelectionSet selectionSet) {
+        return paths(selectionSet.getFields().stream()
+                .map(SelectedField::getQualifiedName)
+                .toList());
+    }
+
+    /**
+     * Mongo paths for qualified GraphQL field names such as "profile/phoneNumber"
+     */
+    static Set<String> paths(Collection<String> qualifiedNames) {
+        Set<String> paths = new TreeSet<>();
+        for (String name : qualifiedNames) {
+            int slash = name.indexOf('/');
+            String root = slash < 0 ? name : name.substring(0, slash);
+            if (RELATIONS.containsKey(root)) {
+                paths.add(RELATIONS.get(root));
+            } else if (!name.equals("id") && !name.contains("__") && !hasChildren(name, qualifiedNames)) {
+                paths.add(name.replace('/', '.'));
+            }
+        }
+        return Collections.unmodifiableSet(paths);
+    }
+
+    /**
+     * Restrict the query to the given paths. _id is always returned, and an
+     * empty projection must not fall back to returning the whole document.
+     */
+    public static Query apply(Query query, Set<String> paths) {
+        query.fields().include("_id");
+        paths.forEach(path -> query.fields().include(path));
+        return query;
+    }
+
+    private static boolean hasChildren(String name, Collection<String> qualifiedNames) {
+        String prefix = name + "/";
+        for (String other : qualifiedNames) {
+            if (other.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,48 @@
+package com.EduLift.backend.graphql;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Query cost used by MaxQueryComplexityInstrumentation. Every field costs 1;
+ * list fields multiply the cost of their selection by the number of users they
+ * can return, so a nested roster is priced by the documents it can touch.
+ */
+public class UserQueryCost implements FieldComplexityCalculator {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int assumedRelations;
+
+    public UserQueryCost(int defaultPageSize, int maxPageSize, int assumedRelations) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.assumedRelations = assumedRelations;
+    }
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        long fanOut = switch (environment.getField().getName()) {
+            case "users" -> pageSize(environment.getArguments());
+            case "mentors", "mentees" -> assumedRelations;
+            default -> 1;
+        };
+        return (int) Math.min(Integer.MAX_VALUE, 1 + childComplexity * fanOut);
+    }
+
+    /**
+     * Users a users(...) query can return: the ids given, else the effective limit
+     */
+    public int pageSize(Map<String, Object> arguments) {
+        Object ids = arguments.get("ids");
+        if (ids instanceof Collection<?> collection) {
+            return Math.min(collection.size(), maxPageSize);
+        }
+        Object limit = arguments.get("limit");
+        int requested = limit instanceof Number number ? number.intValue() : defaultPageSize;
+        return Math.max(1, Math.min(requested, maxPageSize));
+    }
+}
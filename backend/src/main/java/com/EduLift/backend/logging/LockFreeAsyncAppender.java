@@ -0,0 +1,199 @@
+package com.EduLift.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous logback appender that never blocks the logging thread.
+ * Events go into a bounded lock-free queue drained by a single writer thread
+ * into the attached appenders. Once the queue is more than discardingThreshold
+ * percent full, events below WARN are dropped; when it is full, everything is
+ * dropped. Dropped events are counted per level group.
+ */
+public class LockFreeAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final ConcurrentLinkedQueue<ILoggingEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder droppedBelowWarn = new LongAdder();
+    private final LongAdder droppedWarnAndAbove = new LongAdder();
+
+    private int queueSize = 8192;
+    private int discardingThreshold = 80;
+    private boolean includeCallerData = false;
+    private long maxFlushTimeMillis = 1000;
+
+    private volatile boolean writerParked;
+    private Thread writer;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("queueSize must be positive");
+            return;
+        }
+        writer = new Thread(this::drain, "async-log-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int queued = size.get();
+        boolean important = event.getLevel().isGreaterOrEqual(Level.WARN);
+        if (!important && queued * 100L >= (long) queueSize * discardingThreshold) {
+            droppedBelowWarn.increment();
+            return;
+        }
+        if (size.incrementAndGet() > queueSize) {
+            size.decrementAndGet();
+            (important ? droppedWarnAndAbove : droppedBelowWarn).increment();
+            return;
+        }
+        try {
+            // Capture thread-bound data (MDC, formatted message) before handing off
+            event.prepareForDeferredProcessing();
+            if (includeCallerData) {
+                event.getCallerData();
+            }
+        } catch (RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+        }
+        queue.offer(event);
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        while (isStarted() || !queue.isEmpty()) {
+            ILoggingEvent event = queue.poll();
+            if (event == null) {
+                writerParked = true;
+                // Re-check after publishing the flag so a concurrent offer is not missed
+                if (queue.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                writerParked = false;
+                continue;
+            }
+            size.decrementAndGet();
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Attached appender failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(maxFlushTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Gave up flushing " + size.get() + " queued log events after " + maxFlushTimeMillis + " ms");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    /**
+     * Events below WARN dropped because the queue was over the discarding threshold or full
+     */
+    public long getDroppedBelowWarn() {
+        return droppedBelowWarn.sum();
+    }
+
+    /**
+     * WARN and ERROR events dropped because the queue was full
+     */
+    public long getDroppedWarnAndAbove() {
+        return droppedWarnAndAbove.sum();
+    }
+
+    public int getQueuedEvents() {
+        return size.get();
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Percentage of queueSize above which events below WARN are dropped
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setMaxFlushTimeMillis(long maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
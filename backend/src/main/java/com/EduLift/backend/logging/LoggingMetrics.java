@@ -0,0 +1,52 @@
+package com.EduLift.backend.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import java.util.Iterator;
+
+/**
+ * Exposes dropped and queued event counts of the async log appenders
+ */
+@Component
+public class LoggingMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void register() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof LockFreeAsyncAppender appender) {
+                FunctionCounter.builder("edulift.logging.dropped", appender, LockFreeAsyncAppender::getDroppedBelowWarn)
+                        .description("Log events dropped by the async appender")
+                        .tags("appender", appender.getName(), "level", "below-warn")
+                        .register(meterRegistry);
+                FunctionCounter.builder("edulift.logging.dropped", appender, LockFreeAsyncAppender::getDroppedWarnAndAbove)
+                        .description("Log events dropped by the async appender")
+                        .tags("appender", appender.getName(), "level", "warn-and-above")
+                        .register(meterRegistry);
+                Gauge.builder("edulift.logging.queued", appender, LockFreeAsyncAppender::getQueuedEvents)
+                        .description("Log events waiting to be written")
+                        .tags("appender", appender.getName())
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
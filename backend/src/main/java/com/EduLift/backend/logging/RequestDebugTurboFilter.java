@@ -0,0 +1,38 @@
+package com.EduLift.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets DEBUG and above through for requests that RequestIdFilter marked with
+ * X-Debug-Log, whatever the logger levels say. TRACE stays governed by the levels.
+ * Configured from edulift.logging.request-debug.enabled in logback-spring.xml;
+ * when that is off the filter stays stopped and answers NEUTRAL without reading the MDC.
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    private boolean enabled;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            super.start();
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || !level.isGreaterOrEqual(Level.DEBUG)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(RequestIdFilter.DEBUG_KEY)) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,64 @@
+package com.EduLift.backend.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Puts a request id into the MDC for every request so all log lines of a
+ * request can be correlated. An incoming X-Request-Id is reused, otherwise
+ * one is generated; it is echoed back in the response.
+ * When edulift.logging.request-debug.enabled is set (off by default), a request
+ * with X-Debug-Log: true is logged at DEBUG regardless of the configured levels
+ * (see RequestDebugTurboFilter).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String DEBUG_HEADER = "X-Debug-Log";
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String DEBUG_KEY = "debug";
+
+    private static final Pattern SAFE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    private final boolean requestDebugEnabled;
+
+    public RequestIdFilter(@Value("${edulift.logging.request-debug.enabled:false}") boolean requestDebugEnabled) {
+        this.requestDebugEnabled = requestDebugEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !SAFE_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        boolean debug = requestDebugEnabled && "true".equalsIgnoreCase(request.getHeader(DEBUG_HEADER));
+
+        MDC.put(REQUEST_ID_KEY, requestId);
+        if (debug) {
+            MDC.put(DEBUG_KEY, "true");
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(DEBUG_KEY);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.EduLift.backend.matching;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Immutable candidates of one group home, bucketed by language and then by UTC offset.
+ * Ranking scans the student's language bucket outwards from the student's offset
+ * and stops as soon as no remaining candidate can beat the current top-k.
+ * Score = 0.5 for a language match + 0.3 scaled by timezone distance
+ * + 0.2 scaled by free mentee capacity.
+ */
+public final class GroupHomeCandidates {
+
+    static final double LANGUAGE_WEIGHT = 0.5;
+    static final double TIMEZONE_WEIGHT = 0.3;
+    static final double LOAD_WEIGHT = 0.2;
+    static final int MAX_OFFSET_DIFFERENCE_MINUTES = 12 * 60;
+
+    static final GroupHomeCandidates EMPTY = new GroupHomeCandidates(List.of());
+
+    private static final Comparator<MentorMatch> WORST_FIRST = Comparator.comparingDouble(MentorMatch::score)
+            .thenComparing(MentorMatch::mentorId, Comparator.reverseOrder());
+
+    private final Map<String, NavigableMap<Integer, List<MentorCandidate>>> byLanguage = new HashMap<>();
+    private final int size;
+
+    GroupHomeCandidates(Collection<MentorCandidate> candidates) {
+        for (MentorCandidate candidate : candidates) {
+            byLanguage.computeIfAbsent(candidate.language(), language -> new TreeMap<>())
+                    .computeIfAbsent(candidate.utcOffsetMinutes(), offset -> new ArrayList<>())
+                    .add(candidate);
+        }
+        this.size = candidates.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Best k candidates for the subject, best first. Candidates at maxMentees,
+     * already mentoring the subject, or the subject itself are skipped.
+     */
+    public List<MentorMatch> rank(MatchSubject subject, int k, int maxMentees) {
+        if (k <= 0 || size == 0) {
+            return List.of();
+        }
+        PriorityQueue<MentorMatch> top = new PriorityQueue<>(k + 1, WORST_FIRST);
+        NavigableMap<Integer, List<MentorCandidate>> sameLanguage = byLanguage.get(subject.language());
+        if (sameLanguage != null) {
+            scan(sameLanguage, true, subject, k, maxMentees, top);
+        }
+        for (Map.Entry<String, NavigableMap<Integer, List<MentorCandidate>>> bucket : byLanguage.entrySet()) {
+            if (bucket.getValue() != sameLanguage) {
+                if (top.size() == k && top.peek().score() > TIMEZONE_WEIGHT + LOAD_WEIGHT) {
+                    break;
+                }
+                scan(bucket.getValue(), false, subject, k, maxMentees, top);
+            }
+        }
+
+        List<MentorMatch> ranked = new ArrayList<>(top);
+        ranked.sort(WORST_FIRST.reversed());
+        return ranked;
+    }
+
+    private static void scan(NavigableMap<Integer, List<MentorCandidate>> bucket, boolean languageMatch,
+                             MatchSubject subject, int k, int maxMentees, PriorityQueue<MentorMatch> top) {
+        int offset = subject.utcOffsetMinutes();
+        Iterator<Map.Entry<Integer, List<MentorCandidate>>> up = bucket.tailMap(offset, true).entrySet().iterator();
+        Iterator<Map.Entry<Integer, List<MentorCandidate>>> down = bucket.headMap(offset, false).descendingMap().entrySet().iterator();
+        Map.Entry<Integer, List<MentorCandidate>> nextUp = up.hasNext() ? up.next() : null;
+        Map.Entry<Integer, List<MentorCandidate>> nextDown = down.hasNext() ? down.next() : null;
+        double languageScore = languageMatch ? LANGUAGE_WEIGHT : 0;
+
+        while (nextUp != null || nextDown != null) {
+            Map.Entry<Integer, List<MentorCandidate>> entry;
+            if (nextDown == null || (nextUp != null && nextUp.getKey() - offset <= offset - nextDown.getKey())) {
+                entry = nextUp;
+                nextUp = up.hasNext() ? up.next() : null;
+            } else {
+                entry = nextDown;
+                nextDown = down.hasNext() ? down.next() : null;
+            }
+
+            int difference = Math.abs(entry.getKey() - offset);
+            double bound = languageScore + timezoneScore(difference) + LOAD_WEIGHT;
+            if (top.size() == k && top.peek().score() > bound) {
+                return;
+            }
+            for (MentorCandidate candidate : entry.getValue()) {
+                if (candidate.menteeCount() >= maxMentees || candidate.id().equals(subject.id())
+                        || subject.currentMentorIds().contains(candidate.id())) {
+                    continue;
+                }
+                double load = LOAD_WEIGHT * (1.0 - (double) candidate.menteeCount() / maxMentees);
+                MentorMatch match = new MentorMatch(candidate.id(), languageScore + timezoneScore(difference) + load,
+                        languageMatch, difference, candidate.menteeCount());
+                top.offer(match);
+                if (top.size() > k) {
+                    top.poll();
+                }
+            }
+        }
+    }
+
+    static double timezoneScore(int differenceMinutes) {
+        int capped = Math.min(differenceMinutes, MAX_OFFSET_DIFFERENCE_MINUTES);
+        return TIMEZONE_WEIGHT * (1.0 - (double) capped / MAX_OFFSET_DIFFERENCE_MINUTES);
+    }
+}
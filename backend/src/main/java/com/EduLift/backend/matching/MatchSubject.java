@@ -0,0 +1,21 @@
+package com.EduLift.backend.matching;
+
+import com.EduLift.backend.model.User;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * The student side of a match
+ */
+public record MatchSubject(String id, String groupHomeId, String language, int utcOffsetMinutes,
+                           Set<String> currentMentorIds) {
+
+    static MatchSubject from(User student, Instant now) {
+        User.Preferences preferences = student.getPreferences();
+        return new MatchSubject(student.getId(), student.getGroupHomeId(),
+                MentorCandidate.language(preferences),
+                MentorCandidate.utcOffsetMinutes(preferences == null ? null : preferences.getTimezone(), now),
+                student.getMentorIds() == null ? Set.of() : Set.copyOf(student.getMentorIds()));
+    }
+}
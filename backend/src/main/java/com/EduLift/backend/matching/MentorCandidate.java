@@ -0,0 +1,53 @@
+package com.EduLift.backend.matching;
+
+import com.EduLift.backend.model.User;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * What the matcher needs to know about a mentor or counselor
+ */
+public record MentorCandidate(String id, String groupHomeId, String language, int utcOffsetMinutes, int menteeCount) {
+
+    static final String UNKNOWN_LANGUAGE = "";
+
+    /**
+     * Roles that can be matched to students
+     */
+    static final List<User.Role> ROLES = List.of(User.Role.MENTOR, User.Role.COUNSELOR);
+
+    static boolean isCandidate(User user) {
+        return !user.isDeleted() && user.getGroupHomeId() != null && user.getRoles() != null
+                && user.getRoles().stream().anyMatch(ROLES::contains);
+    }
+
+    static MentorCandidate from(User user, Instant now) {
+        User.Preferences preferences = user.getPreferences();
+        return new MentorCandidate(user.getId(), user.getGroupHomeId(),
+                language(preferences),
+                utcOffsetMinutes(preferences == null ? null : preferences.getTimezone(), now),
+                user.getMenteeIds() == null ? 0 : user.getMenteeIds().size());
+    }
+
+    static String language(User.Preferences preferences) {
+        return preferences == null || preferences.getLanguage() == null ? UNKNOWN_LANGUAGE : preferences.getLanguage();
+    }
+
+    /**
+     * Current UTC offset of a zone id such as "America/New_York" or "EST";
+     * unknown or missing zones count as UTC
+     */
+    static int utcOffsetMinutes(String timezone, Instant now) {
+        if (timezone == null || timezone.isBlank()) {
+            return 0;
+        }
+        try {
+            return ZoneId.of(timezone, ZoneId.SHORT_IDS).getRules().getOffset(now).getTotalSeconds() / 60;
+        } catch (DateTimeException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.EduLift.backend.matching;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.service.UserChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index of MENTOR and COUNSELOR users per group home, used by the matcher
+ * so ranking never goes to MongoDB per candidate. Readers see immutable per-home
+ * snapshots. Users reported by the UserChangeTracker are reloaded, and a periodic
+ * full rebuild catches archives the tracker did not name.
+ */
+@Component
+public class MentorCandidateIndex implements UserChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(MentorCandidateIndex.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final long rebuildIntervalMillis;
+
+    private final Counter reloadedUsers;
+    private final Counter rebuilds;
+
+    // Guarded by this; only the refresh and rebuild paths mutate them
+    private final Map<String, MentorCandidate> candidates = new HashMap<>();
+    private long lastRebuildNanos;
+
+    private volatile Map<String, GroupHomeCandidates> byGroupHome = Map.of();
+    private volatile boolean loaded;
+
+    public MentorCandidateIndex(MongoTemplate mongoTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${edulift.matching.rebuild-interval-ms:600000}") long rebuildIntervalMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+
+        this.reloadedUsers = Counter.builder("edulift.matching.index.reloaded")
+                .description("Users reloaded into the mentor candidate index by incremental refreshes")
+                .register(meterRegistry);
+        this.rebuilds = Counter.builder("edulift.matching.index.rebuilds")
+                .description("Full rebuilds of the mentor candidate index")
+                .register(meterRegistry);
+        Gauge.builder("edulift.matching.index.candidates", this, MentorCandidateIndex::size)
+                .description("Mentors and counselors in the candidate index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Candidates of one group home. Loads the index first if it has never been built.
+     */
+    public GroupHomeCandidates candidatesFor(String groupHomeId) {
+        if (!loaded) {
+            onUsersChanged(Set.of());
+        }
+        return groupHomeId == null ? GroupHomeCandidates.EMPTY
+                : byGroupHome.getOrDefault(groupHomeId, GroupHomeCandidates.EMPTY);
+    }
+
+    public int size() {
+        return byGroupHome.values().stream().mapToInt(GroupHomeCandidates::size).sum();
+    }
+
+    /**
+     * Reload changed users, or rebuild everything when due
+     */
+    @Override
+    public synchronized void onUsersChanged(Set<String> ids) {
+        if (!loaded || System.nanoTime() - lastRebuildNanos >= TimeUnit.MILLISECONDS.toNanos(rebuildIntervalMillis)) {
+            rebuild();
+            return;
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<User> users = mongoTemplate.find(project(Query.query(Criteria.where("_id").in(ids))), User.class);
+
+        Instant now = Instant.now();
+        Set<String> touchedHomes = new HashSet<>();
+        Set<String> missing = new HashSet<>(ids);
+        for (User user : users) {
+            missing.remove(user.getId());
+            MentorCandidate previous = candidates.remove(user.getId());
+            if (previous != null) {
+                touchedHomes.add(previous.groupHomeId());
+            }
+            if (MentorCandidate.isCandidate(user)) {
+                MentorCandidate candidate = MentorCandidate.from(user, now);
+                candidates.put(candidate.id(), candidate);
+                touchedHomes.add(candidate.groupHomeId());
+            }
+        }
+        // Changed but gone from the collection (archived)
+        for (String id : missing) {
+            MentorCandidate previous = candidates.remove(id);
+            if (previous != null) {
+                touchedHomes.add(previous.groupHomeId());
+            }
+        }
+        reloadedUsers.increment(users.size());
+        if (!touchedHomes.isEmpty()) {
+            publish(touchedHomes);
+        }
+    }
+
+    private void rebuild() {
+        Query query = Query.query(Criteria.where("roles").in(MentorCandidate.ROLES).and("deletedAt").is(null));
+        List<User> users = mongoTemplate.find(project(query), User.class);
+
+        Instant now = Instant.now();
+        candidates.clear();
+        for (User user : users) {
+            if (MentorCandidate.isCandidate(user)) {
+                candidates.put(user.getId(), MentorCandidate.from(user, now));
+            }
+        }
+        lastRebuildNanos = System.nanoTime();
+        publish(null);
+        loaded = true;
+        rebuilds.increment();
+        log.info("Mentor candidate index rebuilt with {} candidates", candidates.size());
+    }
+
+    /**
+     * Swap in new snapshots for the given homes, or for all homes when null
+     */
+    private void publish(Set<String> homes) {
+        Map<String, List<MentorCandidate>> grouped = new HashMap<>();
+        for (MentorCandidate candidate : candidates.values()) {
+            if (homes == null || homes.contains(candidate.groupHomeId())) {
+                grouped.computeIfAbsent(candidate.groupHomeId(), home -> new ArrayList<>()).add(candidate);
+            }
+        }
+        Map<String, GroupHomeCandidates> next = homes == null ? new HashMap<>() : new HashMap<>(byGroupHome);
+        if (homes != null) {
+            homes.forEach(next::remove);
+        }
+        grouped.forEach((home, list) -> next.put(home, new GroupHomeCandidates(list)));
+        byGroupHome = Map.copyOf(next);
+    }
+
+    private static Query project(Query query) {
+        query.fields().include("roles", "groupHomeId", "preferences.language", "preferences.timezone",
+                "menteeIds", "deletedAt");
+        return query;
+    }
+}
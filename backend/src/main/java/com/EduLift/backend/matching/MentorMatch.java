@@ -0,0 +1,7 @@
+package com.EduLift.backend.matching;
+
+/**
+ * A ranked mentor suggestion for a student
+ */
+public record MentorMatch(String mentorId, double score, boolean languageMatch, int offsetDifferenceMinutes,
+                          int menteeCount) {}
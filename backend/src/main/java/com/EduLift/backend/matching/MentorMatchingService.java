@@ -0,0 +1,159 @@
+package com.EduLift.backend.matching;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Suggests mentors for students from the in-memory candidate index.
+ * Only the students are read from MongoDB; a cohort is loaded with one $in query
+ * and ranked in parallel on a dedicated fork-join pool so matching never competes
+ * with the common pool used by request handling.
+ */
+@Service
+public class MentorMatchingService {
+
+    /**
+     * Students ranked by one fork-join leaf task
+     */
+    static final int COHORT_SPLIT_THRESHOLD = 32;
+
+    private final MongoTemplate mongoTemplate;
+    private final MentorCandidateIndex candidateIndex;
+    private final int maxMentees;
+    private final int maxResults;
+    private final ForkJoinPool pool;
+    private final Timer cohortTimer;
+
+    public MentorMatchingService(MongoTemplate mongoTemplate,
+                                 MentorCandidateIndex candidateIndex,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${edulift.matching.max-mentees:5}") int maxMentees,
+                                 @Value("${edulift.matching.max-results:20}") int maxResults,
+                                 @Value("${edulift.matching.parallelism:0}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.candidateIndex = candidateIndex;
+        this.maxMentees = Math.max(1, maxMentees);
+        this.maxResults = Math.max(1, maxResults);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.cohortTimer = Timer.builder("edulift.matching.cohort")
+                .description("Time to rank mentors for a cohort of students")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Best k mentors for one student, or empty when the id is not an active student
+     */
+    public Optional<List<MentorMatch>> topMentors(String studentId, int k) {
+        List<User> students = loadStudents(List.of(studentId));
+        if (students.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(rank(MatchSubject.from(students.get(0), Instant.now()), clamp(k)));
+    }
+
+    /**
+     * Best k mentors for every student in the cohort, keyed by student id in request order.
+     * Ids that are not active students are left out. Each student is ranked on its own,
+     * so the same mentor may be suggested to several students.
+     */
+    public Map<String, List<MentorMatch>> matchCohort(Collection<String> studentIds, int k) {
+        return cohortTimer.record(() -> {
+            List<String> ids = new ArrayList<>(new LinkedHashSet<>(studentIds));
+            Map<String, User> found = new HashMap<>();
+            loadStudents(ids).forEach(student -> found.put(student.getId(), student));
+
+            Instant now = Instant.now();
+            List<MatchSubject> subjects = new ArrayList<>(found.size());
+            for (String id : ids) {
+                User student = found.get(id);
+                if (student != null) {
+                    subjects.add(MatchSubject.from(student, now));
+                }
+            }
+
+            List<List<MentorMatch>> results = new ArrayList<>(subjects.size());
+            subjects.forEach(subject -> results.add(null));
+            pool.invoke(new RankTask(subjects, results, clamp(k), 0, subjects.size()));
+
+            Map<String, List<MentorMatch>> matches = new LinkedHashMap<>();
+            for (int i = 0; i < subjects.size(); i++) {
+                matches.put(subjects.get(i).id(), results.get(i));
+            }
+            return matches;
+        });
+    }
+
+    private List<MentorMatch> rank(MatchSubject subject, int k) {
+        return candidateIndex.candidatesFor(subject.groupHomeId()).rank(subject, k, maxMentees);
+    }
+
+    private int clamp(int k) {
+        return Math.max(1, Math.min(k, maxResults));
+    }
+
+    private List<User> loadStudents(List<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids)
+                .and("roles").is(User.Role.STUDENT)
+                .and("deletedAt").is(null));
+        query.fields().include("groupHomeId", "preferences.language", "preferences.timezone", "mentorIds");
+        return mongoTemplate.find(query, User.class);
+    }
+
+    /**
+     * Splits the cohort in halves until a slice is small enough to rank directly
+     */
+    private class RankTask extends RecursiveAction {
+
+        private final List<MatchSubject> subjects;
+        private final List<List<MentorMatch>> results;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        RankTask(List<MatchSubject> subjects, List<List<MentorMatch>> results, int k, int from, int to) {
+            this.subjects = subjects;
+            this.results = results;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= COHORT_SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results.set(i, rank(subjects.get(i), k));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RankTask(subjects, results, k, from, middle),
+                    new RankTask(subjects, results, k, middle, to));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
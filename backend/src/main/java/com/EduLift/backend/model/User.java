@@ -5,6 +5,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -16,7 +17,7 @@ import java.util.Map;
 
 /**
  * User model for EduLift application
- * Fields: id, roles [student|mentor|counselor|admin], groupHomeId, profile, consentFlags,
+ * Fields: id, roles [STUDENT|MENTOR|COUNSELOR|ADMIN], groupHomeId, profile, consentFlags,
  * preferences, riskFlags[], createdAt.
  */
 @Document(collection = "users")
@@ -46,6 +47,13 @@ public class User {
     @Field("riskFlags")
     private List<String> riskFlags;
     
+    // Mentorship links within a group home: mentors of a student, students of a mentor
+    @Field("mentorIds")
+    private List<String> mentorIds;
+    
+    @Field("menteeIds")
+    private List<String> menteeIds;
+    
     @NotNull
     @Field("createdAt")
     private LocalDateTime createdAt;
@@ -62,6 +70,10 @@ public class User {
     private String lastName;
     private LocalDateTime updatedAt;
     
+    // Soft delete marker; set instead of removing the document
+    @Field("deletedAt")
+    private LocalDateTime deletedAt;
+    
     /**
      * User roles enum
      */
@@ -280,6 +292,22 @@ public class User {
         this.riskFlags = riskFlags;
     }
     
+    public List<String> getMentorIds() {
+        return mentorIds;
+    }
+    
+    public void setMentorIds(List<String> mentorIds) {
+        this.mentorIds = mentorIds;
+    }
+    
+    public List<String> getMenteeIds() {
+        return menteeIds;
+    }
+    
+    public void setMenteeIds(List<String> menteeIds) {
+        this.menteeIds = menteeIds;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -329,6 +357,22 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    /**
+     * True once the user has been soft deleted
+     */
+    @JsonIgnore
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+    
     @Override
     public String toString() {
         return "User{" +
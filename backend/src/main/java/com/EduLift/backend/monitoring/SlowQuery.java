@@ -0,0 +1,21 @@
+package com.EduLift.backend.monitoring;
+
+import java.time.Instant;
+
+/**
+ * A MongoDB command that took longer than the slow query threshold.
+ * The shape is the command with every literal value replaced by "?".
+ * docsReturned is the size of the first batch for reads and "n" for writes;
+ * docsExamined is only available from explain/the server profiler and is not recorded.
+ */
+public record SlowQuery(
+        Instant timestamp,
+        String database,
+        String collection,
+        String commandName,
+        String shape,
+        double durationMillis,
+        Integer docsReturned,
+        String repositoryMethod,
+        String caller,
+        String error) {}
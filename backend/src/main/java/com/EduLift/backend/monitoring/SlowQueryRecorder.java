@@ -0,0 +1,300 @@
+package com.EduLift.backend.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MongoDB command listener that keeps only slow commands.
+ * For a sampled share of commands the normalized query shape is captured when
+ * the command starts; if it finishes over the threshold it is stored in a ring
+ * buffer together with the repository method and application frame that issued
+ * it, and aggregated per shape. Replaces DEBUG driver logging for finding outliers.
+ * getMores on change streams and tailable cursors wait out their await time on an
+ * idle server, so they are never recorded.
+ */
+@Component
+public class SlowQueryRecorder implements CommandListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final Set<String> TRACKED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "getMore", "insert", "update", "delete", "findAndModify");
+    private static final String APPLICATION_PACKAGE = "com.EduLift.backend.";
+    private static final String REPOSITORY_PACKAGE = "com.EduLift.backend.repository.";
+    private static final int MAX_SHAPES = 500;
+
+    /**
+     * Totals for one query shape
+     */
+    public record ShapeStats(String shape, long count, double totalMillis, double maxMillis) {}
+
+    private record Pending(String collection, String shape) {}
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Counter slowQueries;
+
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<SlowQuery> ring;
+    private final AtomicLong written = new AtomicLong();
+    private final Map<String, ShapeAccumulator> shapes = new ConcurrentHashMap<>();
+    private final TailingCursors tailingCursors = new TailingCursors();
+
+    public SlowQueryRecorder(MeterRegistry meterRegistry,
+                             @Value("${edulift.mongo.slow-query.enabled:true}") boolean enabled,
+                             @Value("${edulift.mongo.slow-query.threshold-ms:100}") long thresholdMillis,
+                             @Value("${edulift.mongo.slow-query.sample-rate:1.0}") double sampleRate,
+                             @Value("${edulift.mongo.slow-query.capacity:200}") int capacity) {
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, capacity));
+        this.slowQueries = Counter.builder("edulift.mongo.slow-queries")
+                .description("MongoDB commands slower than the slow query threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!enabled || tailingCursors.started(event) || !TRACKED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(event.getCommandName());
+        pending.put(event.getRequestId(), new Pending(
+                collection != null && collection.isString() ? collection.asString().getValue() : null,
+                shapeOf(event.getCommandName(), command)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        tailingCursors.succeeded(event);
+        Pending started = pending.remove(event.getRequestId());
+        if (started != null && event.getElapsedTime(TimeUnit.NANOSECONDS) >= thresholdNanos) {
+            record(event.getDatabaseName(), event.getCommandName(), started,
+                    event.getElapsedTime(TimeUnit.NANOSECONDS), docsReturned(event.getResponse()), null);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        tailingCursors.failed(event);
+        Pending started = pending.remove(event.getRequestId());
+        if (started != null && event.getElapsedTime(TimeUnit.NANOSECONDS) >= thresholdNanos) {
+            record(event.getDatabaseName(), event.getCommandName(), started,
+                    event.getElapsedTime(TimeUnit.NANOSECONDS), null, event.getThrowable().getMessage());
+        }
+    }
+
+    /**
+     * Most recent slow queries, newest first
+     */
+    public List<SlowQuery> recent(int limit) {
+        List<SlowQuery> queries = new ArrayList<>();
+        long newest = written.get() - 1;
+        for (long i = newest; i >= 0 && i > newest - ring.length() && queries.size() < limit; i--) {
+            SlowQuery query = ring.get((int) (i % ring.length()));
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Slow query shapes ordered by total time spent
+     */
+    public List<ShapeStats> topShapes(int limit) {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(ShapeStats::totalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        shapes.clear();
+    }
+
+    private void record(String database, String commandName, Pending started, long elapsedNanos,
+                        Integer docsReturned, String error) {
+        String[] callers = callers();
+        double millis = elapsedNanos / 1_000_000.0;
+        SlowQuery query = new SlowQuery(Instant.now(), database, started.collection(), commandName,
+                started.shape(), millis, docsReturned, callers[0], callers[1], error);
+
+        ring.set((int) (written.getAndIncrement() % ring.length()), query);
+        slowQueries.increment();
+        if (shapes.size() < MAX_SHAPES || shapes.containsKey(started.shape())) {
+            shapes.computeIfAbsent(started.shape(), shape -> new ShapeAccumulator()).add(elapsedNanos);
+        }
+        log.warn("Slow MongoDB {} on {} took {} ms ({}): {}", commandName, started.collection(),
+                String.format("%.1f", millis), callers[0] != null ? callers[0] : callers[1], started.shape());
+    }
+
+    /**
+     * The repository method and the first application frame on the calling thread.
+     * The synchronous driver fires command events on the thread that issued the command.
+     */
+    static String[] callers() {
+        String[] callers = new String[2];
+        StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).forEach(frame -> {
+            Class<?> type = frame.getDeclaringClass();
+            if (callers[0] == null && Proxy.isProxyClass(type)) {
+                for (Class<?> contract : type.getInterfaces()) {
+                    if (contract.getName().startsWith(REPOSITORY_PACKAGE)) {
+                        callers[0] = contract.getSimpleName() + "." + frame.getMethodName();
+                    }
+                }
+            } else if (callers[1] == null && type.getName().startsWith(APPLICATION_PACKAGE)
+                    && type != SlowQueryRecorder.class
+                    && !type.getName().contains("$$")) {
+                callers[1] = type.getSimpleName() + "." + frame.getMethodName();
+            }
+        });
+        return callers;
+    }
+
+    /**
+     * Normalize a command to its shape: operators, field names and sort/projection
+     * specs are kept, every literal value becomes "?"
+     */
+    static String shapeOf(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find", "count", "distinct" -> {
+                copyNormalized(command, "filter", shape);
+                copyNormalized(command, "query", shape);
+                copyAsIs(command, "sort", shape);
+                copyAsIs(command, "projection", shape);
+                copyAsIs(command, "key", shape);
+                copyAsIs(command, "hint", shape);
+            }
+            case "aggregate" -> {
+                BsonValue pipeline = command.get("pipeline");
+                if (pipeline != null) {
+                    shape.put("pipeline", normalize(pipeline));
+                }
+            }
+            case "update", "delete" -> {
+                BsonValue statements = command.get(commandName.equals("update") ? "updates" : "deletes");
+                if (statements != null && statements.isArray() && !statements.asArray().isEmpty()) {
+                    // Bulk writes repeat one statement shape; keep the first
+                    BsonDocument first = statements.asArray().get(0).asDocument();
+                    copyNormalized(first, "q", shape);
+                    if (first.containsKey("u") && first.get("u").isDocument()) {
+                        shape.put("u", normalize(first.get("u")));
+                    }
+                    shape.put("statements", new BsonString(statements.asArray().size() > 1 ? "many" : "one"));
+                }
+            }
+            case "findAndModify" -> {
+                copyNormalized(command, "query", shape);
+                copyAsIs(command, "sort", shape);
+                copyNormalized(command, "update", shape);
+            }
+            default -> {
+                // insert and getMore have no filter worth normalizing
+            }
+        }
+        return commandName + " " + shape.toJson();
+    }
+
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> normalized.put(key, normalize(nested)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Arrays of documents ($and, $or, pipelines) keep their structure; literal lists collapse
+            if (!array.isEmpty() && array.stream().allMatch(BsonValue::isDocument)) {
+                BsonArray normalized = new BsonArray();
+                array.forEach(element -> normalized.add(normalize(element)));
+                return normalized;
+            }
+            return new BsonString("?");
+        }
+        if (value.isString() && value.asString().getValue().startsWith("$")) {
+            // Field paths such as "$createdAt" are structure, not data
+            return value;
+        }
+        return new BsonString("?");
+    }
+
+    private static void copyNormalized(BsonDocument source, String key, BsonDocument target) {
+        BsonValue value = source.get(key);
+        if (value != null) {
+            target.put(key, normalize(value));
+        }
+    }
+
+    private static void copyAsIs(BsonDocument source, String key, BsonDocument target) {
+        BsonValue value = source.get(key);
+        if (value != null) {
+            target.put(key, value.isDocument() ? value.asDocument().clone() : value);
+        }
+    }
+
+    private static Integer docsReturned(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (cursor != null && cursor.isDocument()) {
+            BsonDocument batch = cursor.asDocument();
+            BsonValue documents = Optional.ofNullable(batch.get("firstBatch")).orElse(batch.get("nextBatch"));
+            return documents != null && documents.isArray() ? documents.asArray().size() : null;
+        }
+        BsonValue n = response.get("n");
+        return n != null && n.isNumber() ? n.asNumber().intValue() : null;
+    }
+
+    private static final class ShapeAccumulator {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        ShapeStats snapshot(String shape) {
+            return new ShapeStats(shape, count.sum(), totalNanos.sum() / 1_000_000.0, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
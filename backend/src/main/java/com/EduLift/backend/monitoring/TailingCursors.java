@@ -0,0 +1,102 @@
+package com.EduLift.backend.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks cursors that wait on the server for new data: change streams and
+ * tailable finds. A getMore on one of them takes the full await time even when
+ * the server is idle, so latency listeners must not read it as a slow command.
+ * A listener feeds every command event through here.
+ */
+public class TailingCursors {
+
+    private final Set<Integer> opening = ConcurrentHashMap.newKeySet();
+    private final Set<Long> open = ConcurrentHashMap.newKeySet();
+    // getMore request id -> tailing cursor it polls
+    private final Map<Integer, Long> polling = new ConcurrentHashMap<>();
+
+    /**
+     * Note a started command. Returns true for a getMore on a tailing cursor.
+     */
+    public boolean started(CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        switch (event.getCommandName()) {
+            case "find" -> {
+                if (command.getBoolean("tailable", BsonBoolean.FALSE).getValue()) {
+                    opening.add(event.getRequestId());
+                }
+            }
+            case "aggregate" -> {
+                if (isChangeStream(command)) {
+                    opening.add(event.getRequestId());
+                }
+            }
+            case "getMore" -> {
+                Long cursorId = cursorId(command.get("getMore"));
+                // The driver only sends maxTimeMS on a getMore of an awaitData cursor
+                if (cursorId != null && open.contains(cursorId)) {
+                    polling.put(event.getRequestId(), cursorId);
+                    return true;
+                }
+                return command.containsKey("maxTimeMS");
+            }
+            case "killCursors" -> command.getArray("cursors", new BsonArray())
+                    .forEach(id -> open.remove(cursorId(id)));
+            default -> {
+                // Nothing to track
+            }
+        }
+        return false;
+    }
+
+    public void succeeded(CommandSucceededEvent event) {
+        Long opened = opening.remove(event.getRequestId()) ? replyCursorId(event.getResponse()) : null;
+        if (opened != null && opened != 0) {
+            open.add(opened);
+        }
+        Long polled = polling.remove(event.getRequestId());
+        if (polled != null && Long.valueOf(0).equals(replyCursorId(event.getResponse()))) {
+            open.remove(polled);
+        }
+    }
+
+    public void failed(CommandFailedEvent event) {
+        opening.remove(event.getRequestId());
+        Long polled = polling.remove(event.getRequestId());
+        if (polled != null) {
+            open.remove(polled);
+        }
+    }
+
+    int openCursors() {
+        return open.size();
+    }
+
+    private static boolean isChangeStream(BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline == null || !pipeline.isArray() || pipeline.asArray().isEmpty()) {
+            return false;
+        }
+        BsonValue first = pipeline.asArray().get(0);
+        return first.isDocument() && first.asDocument().containsKey("$changeStream");
+    }
+
+    private static Long replyCursorId(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        return cursor != null && cursor.isDocument() ? cursorId(cursor.asDocument().get("id")) : null;
+    }
+
+    private static Long cursorId(BsonValue value) {
+        return value != null && value.isNumber() ? value.asNumber().longValue() : null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.EduLift.backend.notification;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a notification campaign, persisted so it can resume mid-way
+ */
+@Document(collection = "notification_checkpoints")
+public class CampaignCheckpoint {
+
+    /**
+     * Campaign lifecycle states
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    private String campaignId;
+    private String lastUserId;
+    private long delivered;
+    private Status status;
+    private String error;
+    private LocalDateTime updatedAt;
+
+    public CampaignCheckpoint() {}
+
+    public CampaignCheckpoint(String campaignId) {
+        this.campaignId = campaignId;
+        this.status = Status.RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getCampaignId() { return campaignId; }
+    public void setCampaignId(String campaignId) { this.campaignId = campaignId; }
+
+    public String getLastUserId() { return lastUserId; }
+    public void setLastUserId(String lastUserId) { this.lastUserId = lastUserId; }
+
+    public long getDelivered() { return delivered; }
+    public void setDelivered(long delivered) { this.delivered = delivered; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,20 @@
+package com.EduLift.backend.notification;
+
+/**
+ * Delivery channels, each backed by a preference toggle on the user
+ */
+public enum Channel {
+    EMAIL("preferences.emailNotifications"),
+    SMS("preferences.smsNotifications"),
+    PUSH("preferences.pushNotifications");
+
+    private final String preferenceField;
+
+    Channel(String preferenceField) {
+        this.preferenceField = preferenceField;
+    }
+
+    public String getPreferenceField() {
+        return preferenceField;
+    }
+}
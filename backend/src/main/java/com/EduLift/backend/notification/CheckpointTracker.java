@@ -0,0 +1,48 @@
+package com.EduLift.backend.notification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tracks batches that complete out of order and exposes the last user id
+ * below which every batch has been delivered. Only that contiguous prefix is
+ * safe to persist as a checkpoint.
+ */
+class CheckpointTracker {
+
+    private record CompletedBatch(String lastUserId, int size) {}
+
+    private final Map<Long, CompletedBatch> completed = new HashMap<>();
+    private long nextToCommit;
+    private String committedLastId;
+    private long committedRecipients;
+
+    CheckpointTracker(String resumeAfterId, long alreadyDelivered) {
+        this.committedLastId = resumeAfterId;
+        this.committedRecipients = alreadyDelivered;
+    }
+
+    /**
+     * Record a finished batch. Returns true if the committed checkpoint advanced.
+     */
+    synchronized boolean complete(long sequence, String lastUserId, int size) {
+        completed.put(sequence, new CompletedBatch(lastUserId, size));
+        boolean advanced = false;
+        CompletedBatch batch;
+        while ((batch = completed.remove(nextToCommit)) != null) {
+            committedLastId = batch.lastUserId();
+            committedRecipients += batch.size();
+            nextToCommit++;
+            advanced = true;
+        }
+        return advanced;
+    }
+
+    synchronized String committedLastId() {
+        return committedLastId;
+    }
+
+    synchronized long committedRecipients() {
+        return committedRecipients;
+    }
+}
@@ -0,0 +1,22 @@
+package com.EduLift.backend.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Local stand-in sender that only logs batches.
+ * Mark a real NotificationSender @Primary to replace it.
+ */
+@Component
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(String campaignId, List<Recipient> batch) {
+        log.info("Campaign {}: would notify {} recipients", campaignId, batch.size());
+    }
+}
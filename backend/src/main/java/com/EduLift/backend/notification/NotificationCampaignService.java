@@ -0,0 +1,191 @@
+package com.EduLift.backend.notification;
+
+import com.EduLift.backend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Streams the recipients of a segment from MongoDB and fans them out to the
+ * NotificationSender in batches, with at most maxConcurrency batches in flight.
+ * Progress is checkpointed after every contiguous run of delivered batches so a
+ * stopped or failed campaign resumes where it left off.
+ */
+@Service
+public class NotificationCampaignService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCampaignService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final NotificationSender sender;
+    private final int batchSize;
+    private final int maxConcurrency;
+
+    private final ExecutorService campaignRunner = Executors.newCachedThreadPool(daemonThreads("notification-campaign-"));
+    /** Shared by all campaigns; each campaign keeps at most maxConcurrency batches in it */
+    private final ExecutorService senders;
+    private final ConcurrentMap<String, Boolean> running = new ConcurrentHashMap<>();
+
+    public NotificationCampaignService(MongoTemplate mongoTemplate,
+                                       NotificationSender sender,
+                                       @Value("${edulift.notifications.batch-size:500}") int batchSize,
+                                       @Value("${edulift.notifications.max-concurrency:4}") int maxConcurrency) {
+        this.mongoTemplate = mongoTemplate;
+        this.sender = sender;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.senders = Executors.newFixedThreadPool(this.maxConcurrency, daemonThreads("notification-sender-"));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Start (or resume) a campaign in the background. Returns false if it is already running.
+     */
+    public boolean start(String campaignId, Segment segment) {
+        if (running.putIfAbsent(campaignId, Boolean.TRUE) != null) {
+            return false;
+        }
+        campaignRunner.execute(() -> {
+            try {
+                run(campaignId, segment);
+            } catch (Exception e) {
+                log.error("Campaign {} failed: {}", campaignId, e.getMessage());
+            } finally {
+                running.remove(campaignId);
+            }
+        });
+        return true;
+    }
+
+    public Optional<CampaignCheckpoint> status(String campaignId) {
+        return Optional.ofNullable(mongoTemplate.findById(campaignId, CampaignCheckpoint.class));
+    }
+
+    /**
+     * Run a campaign to completion on the calling thread, resuming from its checkpoint
+     */
+    public CampaignCheckpoint run(String campaignId, Segment segment) throws InterruptedException {
+        CampaignCheckpoint checkpoint = status(campaignId).orElseGet(() -> new CampaignCheckpoint(campaignId));
+        if (checkpoint.getStatus() == CampaignCheckpoint.Status.COMPLETED) {
+            return checkpoint;
+        }
+        checkpoint.setStatus(CampaignCheckpoint.Status.RUNNING);
+        checkpoint.setError(null);
+        save(checkpoint);
+
+        CheckpointTracker tracker = new CheckpointTracker(checkpoint.getLastUserId(), checkpoint.getDelivered());
+        Query query = SegmentQueryCompiler.compile(segment, checkpoint.getLastUserId())
+                .cursorBatchSize(batchSize)
+                .noCursorTimeout();
+
+        Semaphore inFlight = new Semaphore(maxConcurrency);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            Iterator<User> iterator = users.iterator();
+            List<Recipient> batch = new ArrayList<>(batchSize);
+            long sequence = 0;
+            while (iterator.hasNext() && failure.get() == null) {
+                Recipient recipient = Recipient.from(iterator.next(), segment.getChannels());
+                if (!recipient.channels().isEmpty()) {
+                    batch.add(recipient);
+                }
+                if (batch.size() == batchSize) {
+                    dispatch(campaignId, sequence++, batch, checkpoint, tracker, inFlight, failure);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                dispatch(campaignId, sequence, batch, checkpoint, tracker, inFlight, failure);
+            }
+        } finally {
+            // Wait for every in-flight batch before deciding the outcome
+            inFlight.acquire(maxConcurrency);
+        }
+
+        synchronized (checkpoint) {
+            if (failure.get() != null) {
+                checkpoint.setStatus(CampaignCheckpoint.Status.FAILED);
+                checkpoint.setError(failure.get().getMessage());
+            } else {
+                checkpoint.setStatus(CampaignCheckpoint.Status.COMPLETED);
+            }
+            checkpoint.setLastUserId(tracker.committedLastId());
+            checkpoint.setDelivered(tracker.committedRecipients());
+            save(checkpoint);
+        }
+        return checkpoint;
+    }
+
+    private void dispatch(String campaignId, long sequence, List<Recipient> batch,
+                          CampaignCheckpoint checkpoint, CheckpointTracker tracker,
+                          Semaphore inFlight, AtomicReference<Exception> failure) throws InterruptedException {
+        inFlight.acquire();
+        String lastUserId = batch.get(batch.size() - 1).userId();
+        try {
+            senders.execute(() -> send(campaignId, sequence, batch, lastUserId, checkpoint, tracker, inFlight, failure));
+        } catch (RejectedExecutionException e) {
+            // Shutting down: give the permit back so run() does not wait for a batch that never started
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void send(String campaignId, long sequence, List<Recipient> batch, String lastUserId,
+                      CampaignCheckpoint checkpoint, CheckpointTracker tracker,
+                      Semaphore inFlight, AtomicReference<Exception> failure) {
+        try {
+            sender.send(campaignId, batch);
+            if (tracker.complete(sequence, lastUserId, batch.size())) {
+                synchronized (checkpoint) {
+                    checkpoint.setLastUserId(tracker.committedLastId());
+                    checkpoint.setDelivered(tracker.committedRecipients());
+                    save(checkpoint);
+                }
+            }
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void save(CampaignCheckpoint checkpoint) {
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        mongoTemplate.save(checkpoint);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        campaignRunner.shutdownNow();
+        senders.shutdownNow();
+    }
+}
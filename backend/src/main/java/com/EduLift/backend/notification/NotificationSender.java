@@ -0,0 +1,13 @@
+package com.EduLift.backend.notification;
+
+import java.util.List;
+
+/**
+ * Delivers one batch of a campaign. Implementations must be thread-safe:
+ * batches are sent concurrently, up to the configured campaign concurrency.
+ * Throwing fails the batch and stops the campaign at the last checkpoint.
+ */
+public interface NotificationSender {
+
+    void send(String campaignId, List<Recipient> batch) throws Exception;
+}
@@ -0,0 +1,38 @@
+package com.EduLift.backend.notification;
+
+import com.EduLift.backend.model.User;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The slice of a user a sender needs to deliver a notification
+ */
+public record Recipient(String userId, String email, String phoneNumber, String language, Set<Channel> channels) {
+
+    /**
+     * Build a recipient from a user loaded with the segment projection,
+     * keeping only the channels that are both requested and enabled
+     */
+    public static Recipient from(User user, Set<Channel> requested) {
+        Set<Channel> enabled = EnumSet.noneOf(Channel.class);
+        User.Preferences preferences = user.getPreferences();
+        if (preferences != null) {
+            if (preferences.isEmailNotifications()) {
+                enabled.add(Channel.EMAIL);
+            }
+            if (preferences.isSmsNotifications()) {
+                enabled.add(Channel.SMS);
+            }
+            if (preferences.isPushNotifications()) {
+                enabled.add(Channel.PUSH);
+            }
+        }
+        if (requested != null && !requested.isEmpty()) {
+            enabled.retainAll(requested);
+        }
+        String phoneNumber = user.getProfile() == null ? null : user.getProfile().getPhoneNumber();
+        String language = preferences == null ? null : preferences.getLanguage();
+        return new Recipient(user.getId(), user.getEmail(), phoneNumber, language, enabled);
+    }
+}
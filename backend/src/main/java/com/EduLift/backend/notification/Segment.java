@@ -0,0 +1,37 @@
+package com.EduLift.backend.notification;
+
+import com.EduLift.backend.model.User;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Targeting definition for a notification campaign.
+ * Empty or null lists mean "no restriction" on that dimension; channels match
+ * users who enabled at least one of them.
+ */
+public class Segment {
+
+    private List<User.Role> roles;
+    private List<String> groupHomeIds;
+    private List<String> languages;
+    private Set<Channel> channels;
+    private boolean requireCommunicationConsent = true;
+
+    public Segment() {}
+
+    public List<User.Role> getRoles() { return roles; }
+    public void setRoles(List<User.Role> roles) { this.roles = roles; }
+
+    public List<String> getGroupHomeIds() { return groupHomeIds; }
+    public void setGroupHomeIds(List<String> groupHomeIds) { this.groupHomeIds = groupHomeIds; }
+
+    public List<String> getLanguages() { return languages; }
+    public void setLanguages(List<String> languages) { this.languages = languages; }
+
+    public Set<Channel> getChannels() { return channels; }
+    public void setChannels(Set<Channel> channels) { this.channels = channels; }
+
+    public boolean isRequireCommunicationConsent() { return requireCommunicationConsent; }
+    public void setRequireCommunicationConsent(boolean requireCommunicationConsent) { this.requireCommunicationConsent = requireCommunicationConsent; }
+}
@@ -0,0 +1,54 @@
+package com.EduLift.backend.notification;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a Segment into a single MongoDB query over active (not soft-deleted) users.
+ * Results are ordered by _id so a campaign can resume after its last checkpoint,
+ * and only the fields a sender needs are projected.
+ */
+public final class SegmentQueryCompiler {
+
+    private SegmentQueryCompiler() {}
+
+    /**
+     * @param resumeAfterId last user id already delivered, or null to start from the beginning
+     */
+    public static Query compile(Segment segment, String resumeAfterId) {
+        List<Criteria> criteria = new ArrayList<>();
+        // Soft-deleted users are never targeted
+        criteria.add(Criteria.where("deletedAt").isNull());
+
+        if (segment.isRequireCommunicationConsent()) {
+            criteria.add(Criteria.where("consentFlags.communicationConsent").is(true));
+        }
+        if (segment.getGroupHomeIds() != null && !segment.getGroupHomeIds().isEmpty()) {
+            criteria.add(Criteria.where("groupHomeId").in(segment.getGroupHomeIds()));
+        }
+        if (segment.getRoles() != null && !segment.getRoles().isEmpty()) {
+            criteria.add(Criteria.where("roles").in(segment.getRoles()));
+        }
+        if (segment.getLanguages() != null && !segment.getLanguages().isEmpty()) {
+            criteria.add(Criteria.where("preferences.language").in(segment.getLanguages()));
+        }
+        if (segment.getChannels() != null && !segment.getChannels().isEmpty()) {
+            List<Criteria> anyChannel = segment.getChannels().stream()
+                    .map(channel -> Criteria.where(channel.getPreferenceField()).is(true))
+                    .toList();
+            criteria.add(anyChannel.size() == 1 ? anyChannel.get(0) : new Criteria().orOperator(anyChannel));
+        }
+        if (resumeAfterId != null) {
+            criteria.add(Criteria.where("_id").gt(resumeAfterId));
+        }
+
+        Query query = new Query(new Criteria().andOperator(criteria));
+        query.with(Sort.by(Sort.Direction.ASC, "_id"));
+        query.fields().include("email", "profile.phoneNumber", "preferences");
+        return query;
+    }
+}
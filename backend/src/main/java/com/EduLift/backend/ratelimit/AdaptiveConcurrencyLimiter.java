@@ -0,0 +1,125 @@
+package com.EduLift.backend.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limit driven by observed MongoDB latency.
+ * The limit grows by one while command latency stays within tolerance of the
+ * best recent latency and shrinks multiplicatively once commands start queueing,
+ * so requests are shed before the connection pool saturates. The limit backs off
+ * at most once per round trip: commands that were already in flight when it last
+ * shrank measure the old limit, so their slow samples are not counted again.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final long NEVER = Long.MIN_VALUE;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long minRttWindowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong minRttNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong minRttResetAt = new AtomicLong();
+    private final AtomicLong lastBackoffAt = new AtomicLong(NEVER);
+
+    /**
+     * @param tolerance    latency above tolerance * minRtt counts as congestion
+     * @param backoffRatio multiplier applied to the limit on congestion
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, long minRttWindowNanos) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.minRttWindowNanos = minRttWindowNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(clamp(initialLimit)));
+    }
+
+    /**
+     * Reserve a slot. Callers that get true must call release().
+     */
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Feed one MongoDB command round trip into the limit
+     */
+    public void onSample(long rttNanos, long nowNanos) {
+        long resetAt = minRttResetAt.get();
+        if (nowNanos - resetAt > minRttWindowNanos && minRttResetAt.compareAndSet(resetAt, nowNanos)) {
+            // Periodically forget the baseline so the limit can follow a slower but healthy server
+            minRttNanos.set(rttNanos);
+        } else {
+            minRttNanos.accumulateAndGet(rttNanos, Math::min);
+        }
+
+        boolean congested = rttNanos > minRttNanos.get() * tolerance;
+        if (congested && !claimBackoff(nowNanos - rttNanos, nowNanos)) {
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (congested) {
+                next = clamp(limit * backoffRatio);
+            } else if (inFlight.get() * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                next = clamp(limit + 1.0 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * True if this sample opens a new backoff window, i.e. its command started
+     * after the previous backoff and no other thread has claimed it meanwhile
+     */
+    private boolean claimBackoff(long startedNanos, long nowNanos) {
+        while (true) {
+            long last = lastBackoffAt.get();
+            if (last != NEVER && startedNanos - last < 0) {
+                return false;
+            }
+            if (lastBackoffAt.compareAndSet(last, nowNanos)) {
+                return true;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
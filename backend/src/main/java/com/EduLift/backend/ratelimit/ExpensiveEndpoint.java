@@ -0,0 +1,18 @@
+package com.EduLift.backend.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method as an expensive list/export endpoint.
+ * Expensive endpoints draw from a separate, much smaller token bucket
+ * than cheap single-document lookups.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExpensiveEndpoint {
+}
@@ -0,0 +1,51 @@
+package com.EduLift.backend.ratelimit;
+
+import com.EduLift.backend.monitoring.TailingCursors;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds the round trip of MongoDB commands issued on the request path into the
+ * adaptive concurrency limit. Background commands are skipped because their
+ * latency says nothing about request queueing, and getMores on change streams
+ * and tailable cursors are always skipped because they wait out the await time.
+ * The synchronous driver fires command events on the thread that issued the command.
+ */
+public class MongoLatencySampler implements CommandListener {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final TailingCursors tailingCursors = new TailingCursors();
+    private final Set<Integer> sampled = ConcurrentHashMap.newKeySet();
+
+    public MongoLatencySampler(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        boolean tailing = tailingCursors.started(event);
+        if (!tailing && RequestPath.isActive()) {
+            sampled.add(event.getRequestId());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        tailingCursors.succeeded(event);
+        if (sampled.remove(event.getRequestId())) {
+            limiter.onSample(event.getElapsedTime(TimeUnit.NANOSECONDS), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        tailingCursors.failed(event);
+        sampled.remove(event.getRequestId());
+    }
+}
@@ -0,0 +1,175 @@
+package com.EduLift.backend.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting and adaptive load shedding for the REST API.
+ * Each client (X-API-Key header, or remote address) gets one token bucket per
+ * endpoint class and is answered with 429 once it is exhausted. Requests that
+ * pass the bucket must also fit under the adaptive concurrency limit, otherwise
+ * they are shed with 503. Both responses carry Retry-After. Buckets of idle
+ * clients are swept on a schedule, never on the request path.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String ACQUIRED_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".acquired";
+
+    /**
+     * Endpoint classes with independent budgets
+     */
+    public enum EndpointClass {
+        LOOKUP,
+        EXPENSIVE
+    }
+
+    private final boolean enabled;
+    private final double lookupRate;
+    private final int lookupBurst;
+    private final double expensiveRate;
+    private final int expensiveBurst;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter throttled;
+    private final Counter shed;
+    private final Counter evicted;
+
+    public RateLimitInterceptor(AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                MeterRegistry meterRegistry,
+                                @Value("${edulift.ratelimit.enabled:true}") boolean enabled,
+                                @Value("${edulift.ratelimit.lookup.rate-per-second:50}") double lookupRate,
+                                @Value("${edulift.ratelimit.lookup.burst:100}") int lookupBurst,
+                                @Value("${edulift.ratelimit.expensive.rate-per-second:2}") double expensiveRate,
+                                @Value("${edulift.ratelimit.expensive.burst:5}") int expensiveBurst) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.enabled = enabled;
+        this.lookupRate = lookupRate;
+        this.lookupBurst = lookupBurst;
+        this.expensiveRate = expensiveRate;
+        this.expensiveBurst = expensiveBurst;
+
+        this.throttled = Counter.builder("edulift.ratelimit.throttled")
+                .description("Requests rejected with 429 by a client token bucket")
+                .register(meterRegistry);
+        this.shed = Counter.builder("edulift.ratelimit.shed")
+                .description("Requests rejected with 503 by the adaptive concurrency limit")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("edulift.ratelimit.evicted")
+                .description("Idle client buckets dropped by the eviction sweep")
+                .register(meterRegistry);
+        Gauge.builder("edulift.ratelimit.clients", buckets, ConcurrentMap::size)
+                .description("Client buckets currently tracked")
+                .register(meterRegistry);
+        Gauge.builder("edulift.ratelimit.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("edulift.ratelimit.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        EndpointClass endpointClass = classify(handler);
+        long waitNanos = bucketFor(clientKey(request), endpointClass, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            throttled.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return false;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return false;
+        }
+        request.setAttribute(ACQUIRED_ATTRIBUTE, Boolean.TRUE);
+        RequestPath.enter();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ACQUIRED_ATTRIBUTE) != null) {
+            request.removeAttribute(ACQUIRED_ATTRIBUTE);
+            concurrencyLimiter.release();
+            RequestPath.exit();
+        }
+    }
+
+    static String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    static EndpointClass classify(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.hasMethodAnnotation(ExpensiveEndpoint.class)) {
+            return EndpointClass.EXPENSIVE;
+        }
+        return EndpointClass.LOOKUP;
+    }
+
+    /**
+     * Drop the buckets of clients that have been idle long enough to refill.
+     * A full bucket carries no state, so dropping it never grants extra tokens.
+     */
+    @Scheduled(fixedDelayString = "${edulift.ratelimit.eviction-interval-ms:10000}")
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    int evictIdleBuckets(long now) {
+        int removed = 0;
+        for (Iterator<TokenBucket> it = buckets.values().iterator(); it.hasNext(); ) {
+            if (it.next().isFull(now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        evicted.increment(removed);
+        return removed;
+    }
+
+    int trackedClients() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketFor(String client, EndpointClass endpointClass, long now) {
+        return buckets.computeIfAbsent(endpointClass + "|" + client, key -> endpointClass == EndpointClass.EXPENSIVE
+                ? new TokenBucket(expensiveRate, expensiveBurst, now)
+                : new TokenBucket(lookupRate, lookupBurst, now));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+}
@@ -0,0 +1,26 @@
+package com.EduLift.backend.ratelimit;
+
+/**
+ * Marks the threads working on an admitted API request, so only their MongoDB
+ * commands feed the adaptive concurrency limit. Scheduled jobs, change
+ * streams and background writers run unmarked.
+ */
+public final class RequestPath {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private RequestPath() {
+    }
+
+    public static void enter() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    public static void exit() {
+        ACTIVE.remove();
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
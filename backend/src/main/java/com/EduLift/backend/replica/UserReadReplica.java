@@ -0,0 +1,344 @@
+package com.EduLift.backend.replica;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.repository.UserRepository;
+import com.EduLift.backend.service.UserChangedEvent;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in read model of the users collection held in a memory-mapped
+ * UserRecordStore. The collection is loaded at startup and kept current by a
+ * change stream; findById, findByEmail and group home queries are answered
+ * from it without a MongoDB round trip. Until the replica has caught up, or
+ * when the change stream fails, every read falls back to MongoDB.
+ * With READ_YOUR_WRITES consistency, users written by this instance are read
+ * from MongoDB until the change stream has been observed past the write.
+ */
+@Component
+public class UserReadReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(UserReadReplica.class);
+
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    /**
+     * Returned by servers that cannot open change streams (standalone mongod)
+     */
+    private static final int CHANGE_STREAM_UNSUPPORTED = 40573;
+
+    public enum Consistency { EVENTUAL, READ_YOUR_WRITES }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Path path;
+    private final int capacityBytes;
+    private final Consistency consistency;
+    private final long maxAwaitMillis;
+    private final long resyncDelayMillis;
+
+    private final Counter replicaReads;
+    private final Counter mongoReads;
+    private final Counter appliedChanges;
+    private final Counter resyncs;
+
+    // User id -> wall clock time this instance finished writing it
+    private final Map<String, Long> pendingWrites = new ConcurrentHashMap<>();
+    private volatile long lastLocalWriteMillis;
+    private volatile long caughtUpMillis;
+    private volatile boolean serving;
+    private volatile boolean running;
+    private UserRecordStore store;
+    private Thread syncThread;
+
+    public UserReadReplica(MongoTemplate mongoTemplate,
+                           UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry,
+                           @Value("${edulift.replica.enabled:false}") boolean enabled,
+                           @Value("${edulift.replica.path:data/users-replica.dat}") String path,
+                           @Value("${edulift.replica.capacity-bytes:268435456}") int capacityBytes,
+                           @Value("${edulift.replica.consistency:eventual}") String consistency,
+                           @Value("${edulift.replica.max-await-ms:500}") long maxAwaitMillis,
+                           @Value("${edulift.replica.resync-delay-ms:30000}") long resyncDelayMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.capacityBytes = capacityBytes;
+        this.consistency = Consistency.valueOf(consistency.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.maxAwaitMillis = maxAwaitMillis;
+        this.resyncDelayMillis = resyncDelayMillis;
+
+        this.replicaReads = Counter.builder("edulift.replica.reads")
+                .tag("source", "replica")
+                .description("User reads answered by the read replica")
+                .register(meterRegistry);
+        this.mongoReads = Counter.builder("edulift.replica.reads")
+                .tag("source", "mongo")
+                .description("User reads that fell back to MongoDB")
+                .register(meterRegistry);
+        this.appliedChanges = Counter.builder("edulift.replica.changes")
+                .description("Change stream events applied to the read replica")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("edulift.replica.resyncs")
+                .description("Full reloads of the read replica after a change stream failure")
+                .register(meterRegistry);
+        Gauge.builder("edulift.replica.users", this, replica -> replica.store == null ? 0 : replica.store.size())
+                .description("Users held by the read replica")
+                .register(meterRegistry);
+        Gauge.builder("edulift.replica.bytes", this, replica -> replica.store == null ? 0 : replica.store.usedBytes())
+                .description("Bytes used in the read replica file, including superseded records")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        openStore();
+        running = true;
+        syncThread = new Thread(this::syncLoop, "user-read-replica");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether reads can currently be answered from the replica
+     */
+    public boolean isServing() {
+        return serving;
+    }
+
+    public Consistency getConsistency() {
+        return consistency;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (consistency != Consistency.READ_YOUR_WRITES) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        event.userIds().forEach(id -> pendingWrites.put(id, now));
+        lastLocalWriteMillis = now;
+    }
+
+    public Optional<User> findById(String id) {
+        if (canServe(id)) {
+            replicaReads.increment();
+            return Optional.ofNullable(toUser(store.get(id)));
+        }
+        mongoReads.increment();
+        return userRepository.findById(id);
+    }
+
+    /**
+     * Find a user by exact email. Under READ_YOUR_WRITES any unobserved local
+     * write sends this to MongoDB, since the write may have changed an email.
+     */
+    public Optional<User> findByEmail(String email) {
+        if (canServeAll()) {
+            replicaReads.increment();
+            return Optional.ofNullable(toUser(store.getByEmail(email)));
+        }
+        mongoReads.increment();
+        return userRepository.findByEmail(email);
+    }
+
+    /**
+     * Users of a group home, optionally only those holding a role
+     */
+    public List<User> findByGroupHome(String groupHomeId, User.Role role) {
+        if (canServeAll()) {
+            replicaReads.increment();
+            return store.findByGroupHome(groupHomeId, role).stream().map(this::toUser).toList();
+        }
+        mongoReads.increment();
+        return role == null ? userRepository.findByGroupHomeId(groupHomeId)
+                : userRepository.findByGroupHomeIdAndRolesContaining(groupHomeId, role);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        serving = false;
+        syncThread.interrupt();
+        syncThread.join(maxAwaitMillis * 2 + 1000);
+        store.close();
+    }
+
+    void openStore() throws IOException {
+        store = new UserRecordStore(path, capacityBytes);
+    }
+
+    UserRecordStore store() {
+        return store;
+    }
+
+    /**
+     * Record that the change stream was drained by a poll started at polledAtMillis,
+     * so every write acknowledged before then has been applied
+     */
+    void markCaughtUp(long polledAtMillis) {
+        caughtUpMillis = polledAtMillis;
+        if (!pendingWrites.isEmpty()) {
+            pendingWrites.values().removeIf(writtenAt -> writtenAt < polledAtMillis);
+        }
+        if (!serving) {
+            serving = true;
+            log.info("User read replica is serving {} users ({} bytes mapped)", store.size(), store.usedBytes());
+        }
+    }
+
+    private boolean canServe(String id) {
+        if (!serving) {
+            return false;
+        }
+        if (consistency == Consistency.EVENTUAL) {
+            return true;
+        }
+        Long writtenAt = pendingWrites.get(id);
+        return writtenAt == null || writtenAt < caughtUpMillis;
+    }
+
+    private boolean canServeAll() {
+        return serving && (consistency == Consistency.EVENTUAL || lastLocalWriteMillis < caughtUpMillis);
+    }
+
+    private User toUser(RawBsonDocument raw) {
+        if (raw == null) {
+            return null;
+        }
+        Document document = raw.decode(DOCUMENT_CODEC);
+        // Same event MongoTemplate emits, so listeners such as profile decryption still run
+        eventPublisher.publishEvent(new AfterLoadEvent<>(document, User.class, mongoTemplate.getCollectionName(User.class)));
+        return mongoTemplate.getConverter().read(User.class, document);
+    }
+
+    private void syncLoop() {
+        while (running) {
+            try {
+                sync();
+            } catch (MongoCommandException e) {
+                serving = false;
+                if (e.getErrorCode() == CHANGE_STREAM_UNSUPPORTED) {
+                    log.error("User read replica needs a replica set for change streams; reads stay on MongoDB");
+                    return;
+                }
+                waitBeforeResync(e);
+            } catch (Exception e) {
+                serving = false;
+                waitBeforeResync(e);
+            }
+        }
+    }
+
+    private void waitBeforeResync(Exception e) {
+        if (!running) {
+            return;
+        }
+        resyncs.increment();
+        log.warn("User read replica stopped following changes, reads fall back to MongoDB until it resyncs: {}",
+                e.getMessage());
+        try {
+            Thread.sleep(resyncDelayMillis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Load the whole collection, then follow its change stream until stopped or it fails
+     */
+    private void sync() throws IOException {
+        MongoCollection<RawBsonDocument> users = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .withDocumentClass(RawBsonDocument.class);
+        // Open the stream before loading so changes made during the load are replayed afterwards
+        try (MongoChangeStreamCursor<ChangeStreamDocument<RawBsonDocument>> changes = users.watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(maxAwaitMillis, TimeUnit.MILLISECONDS)
+                .cursor()) {
+            long started = System.nanoTime();
+            store.clear();
+            for (RawBsonDocument document : users.find()) {
+                store.put(document);
+            }
+            log.info("User read replica loaded {} users in {} ms", store.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            while (running) {
+                long polledAt = System.currentTimeMillis();
+                ChangeStreamDocument<RawBsonDocument> change = changes.tryNext();
+                if (change == null) {
+                    markCaughtUp(polledAt);
+                } else {
+                    apply(change);
+                }
+            }
+        }
+    }
+
+    private void apply(ChangeStreamDocument<RawBsonDocument> change) throws IOException {
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                RawBsonDocument document = change.getFullDocument();
+                if (document != null) {
+                    store.put(document);
+                } else {
+                    // Deleted again before the update could be looked up
+                    store.remove(UserRecordStore.idOf(change.getDocumentKey().get("_id")));
+                }
+            }
+            case DELETE -> store.remove(UserRecordStore.idOf(change.getDocumentKey().get("_id")));
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE ->
+                    throw new IllegalStateException("users collection was invalidated (" + change.getOperationType() + ")");
+            default -> {
+                return;
+            }
+        }
+        appliedChanges.increment();
+    }
+}
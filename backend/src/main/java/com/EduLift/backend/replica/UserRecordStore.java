@@ -0,0 +1,291 @@
+package com.EduLift.backend.replica;
+
+import com.EduLift.backend.model.User;
+import org.bson.BsonArray;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memory-mapped store of raw user documents.
+ * Each record is a fixed header [length][roleMask][updatedAt] followed by the
+ * document's BSON bytes. Updates append a new record and leave the old one as
+ * garbage; when the file is full the live records are copied into a fresh file.
+ * Only small per-user index entries live on the heap. One writer at a time
+ * (methods that mutate are synchronized); reads are lock-free.
+ */
+public class UserRecordStore implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+
+    /**
+     * Where a user's current record lives, plus the indexed values it was filed under
+     */
+    private record Slot(int offset, int length, String email, String groupHomeId) {}
+
+    /**
+     * One mapped file and the slots pointing into it. Replaced as a whole on compaction
+     * so readers never pair a slot with the wrong buffer.
+     */
+    private static final class Segment {
+        final MappedByteBuffer buffer;
+        final Map<String, Slot> slots;
+        int writePosition;
+
+        Segment(MappedByteBuffer buffer, Map<String, Slot> slots) {
+            this.buffer = buffer;
+            this.slots = slots;
+        }
+    }
+
+    private final Path path;
+    private final int initialCapacityBytes;
+
+    private final Map<String, String> idsByEmail = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> idsByGroupHome = new ConcurrentHashMap<>();
+    private volatile Segment segment;
+    private long liveBytes;
+
+    public UserRecordStore(Path path, int initialCapacityBytes) throws IOException {
+        this.path = path;
+        this.initialCapacityBytes = initialCapacityBytes;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.segment = new Segment(map(path, initialCapacityBytes), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Insert or replace the record of the document's _id
+     */
+    public synchronized void put(RawBsonDocument document) throws IOException {
+        String id = idOf(document.get("_id"));
+        if (id == null) {
+            return;
+        }
+        ByteBuffer bytes = document.getByteBuffer().asNIO();
+        int length = bytes.remaining();
+        if (segment.buffer.capacity() - segment.writePosition < HEADER_BYTES + length) {
+            compact(HEADER_BYTES + length);
+        }
+
+        Segment current = segment;
+        int offset = current.writePosition;
+        current.buffer.putInt(offset, length);
+        current.buffer.putInt(offset + 4, roleMask(document.get("roles")));
+        BsonValue updatedAt = document.get("updatedAt");
+        current.buffer.putLong(offset + 8, updatedAt != null && updatedAt.isDateTime()
+                ? updatedAt.asDateTime().getValue() : 0L);
+        current.buffer.put(offset + HEADER_BYTES, bytes, bytes.position(), length);
+        current.writePosition = offset + HEADER_BYTES + length;
+
+        Slot slot = new Slot(offset, length, stringOf(document.get("email")), stringOf(document.get("groupHomeId")));
+        Slot previous = current.slots.put(id, slot);
+        liveBytes += HEADER_BYTES + length;
+        if (previous != null) {
+            liveBytes -= HEADER_BYTES + previous.length();
+            unindex(id, previous);
+        }
+        index(id, slot);
+    }
+
+    /**
+     * Drop the record of a user. Returns false when it was not stored.
+     */
+    public synchronized boolean remove(String id) {
+        Slot previous = segment.slots.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        liveBytes -= HEADER_BYTES + previous.length();
+        unindex(id, previous);
+        return true;
+    }
+
+    /**
+     * Forget every record, e.g. before a full reload
+     */
+    public synchronized void clear() throws IOException {
+        idsByEmail.clear();
+        idsByGroupHome.clear();
+        liveBytes = 0;
+        segment = freshSegment(initialCapacityBytes, 0);
+    }
+
+    public RawBsonDocument get(String id) {
+        Segment current = segment;
+        Slot slot = id == null ? null : current.slots.get(id);
+        return slot == null ? null : read(current, slot);
+    }
+
+    public RawBsonDocument getByEmail(String email) {
+        String id = email == null ? null : idsByEmail.get(email);
+        return id == null ? null : get(id);
+    }
+
+    /**
+     * Users of a group home, optionally only those holding a role. The role is
+     * checked against the record header so other users are never copied on-heap.
+     */
+    public List<RawBsonDocument> findByGroupHome(String groupHomeId, User.Role role) {
+        Set<String> ids = groupHomeId == null ? null : idsByGroupHome.get(groupHomeId);
+        if (ids == null) {
+            return List.of();
+        }
+        Segment current = segment;
+        int wanted = role == null ? 0 : 1 << role.ordinal();
+        List<RawBsonDocument> documents = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Slot slot = current.slots.get(id);
+            if (slot != null && (wanted == 0 || (current.buffer.getInt(slot.offset() + 4) & wanted) != 0)) {
+                documents.add(read(current, slot));
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * updatedAt of a stored user in epoch millis, 0 when unknown or not stored
+     */
+    public long updatedAtMillis(String id) {
+        Segment current = segment;
+        Slot slot = current.slots.get(id);
+        return slot == null ? 0L : current.buffer.getLong(slot.offset() + 8);
+    }
+
+    public int size() {
+        return segment.slots.size();
+    }
+
+    /**
+     * Bytes written to the current file, including superseded records
+     */
+    public long usedBytes() {
+        return segment.writePosition;
+    }
+
+    public synchronized long liveBytes() {
+        return liveBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        // The file is rebuilt from MongoDB on every start, nothing to keep
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Copy the live records into a fresh file with room for at least extraBytes more,
+     * then swap it in atomically for readers
+     */
+    private void compact(int extraBytes) throws IOException {
+        long needed = (liveBytes + extraBytes) * 2;
+        if (needed > Integer.MAX_VALUE) {
+            throw new IOException("User replica would exceed 2GB; live records use " + liveBytes + " bytes");
+        }
+        int capacity = (int) Math.max(initialCapacityBytes, needed);
+
+        Segment old = segment;
+        Segment compacted = freshSegment(capacity, old.slots.size());
+        for (Map.Entry<String, Slot> entry : old.slots.entrySet()) {
+            Slot slot = entry.getValue();
+            int recordBytes = HEADER_BYTES + slot.length();
+            int offset = compacted.writePosition;
+            compacted.buffer.put(offset, old.buffer, slot.offset(), recordBytes);
+            compacted.slots.put(entry.getKey(), new Slot(offset, slot.length(), slot.email(), slot.groupHomeId()));
+            compacted.writePosition = offset + recordBytes;
+        }
+        segment = compacted;
+    }
+
+    /**
+     * Map a new file and move it over the current one. The old file is never
+     * truncated, so its mapping stays valid for readers still holding it.
+     */
+    private Segment freshSegment(int capacityBytes, int expectedUsers) throws IOException {
+        Path next = path.resolveSibling(path.getFileName() + ".next");
+        MappedByteBuffer buffer = map(next, capacityBytes);
+        Files.move(next, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Segment(buffer, new ConcurrentHashMap<>(Math.max(16, expectedUsers * 4 / 3 + 1)));
+    }
+
+    private void index(String id, Slot slot) {
+        if (slot.email() != null) {
+            idsByEmail.put(slot.email(), id);
+        }
+        if (slot.groupHomeId() != null) {
+            idsByGroupHome.computeIfAbsent(slot.groupHomeId(), home -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unindex(String id, Slot slot) {
+        if (slot.email() != null) {
+            idsByEmail.remove(slot.email(), id);
+        }
+        if (slot.groupHomeId() != null) {
+            Set<String> ids = idsByGroupHome.get(slot.groupHomeId());
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+    }
+
+    private static RawBsonDocument read(Segment segment, Slot slot) {
+        byte[] bytes = new byte[slot.length()];
+        segment.buffer.get(slot.offset() + HEADER_BYTES, bytes);
+        return new RawBsonDocument(bytes);
+    }
+
+    private static MappedByteBuffer map(Path path, int capacityBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The mapping outlives the channel
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        }
+    }
+
+    static String idOf(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : null;
+    }
+
+    private static String stringOf(BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    private static int roleMask(BsonValue roles) {
+        if (roles == null || !roles.isArray()) {
+            return 0;
+        }
+        int mask = 0;
+        for (BsonValue role : (BsonArray) roles) {
+            if (role.isString()) {
+                try {
+                    mask |= 1 << User.Role.valueOf(role.asString().getValue()).ordinal();
+                } catch (IllegalArgumentException e) {
+                    // Unknown roles cannot match a role filter
+                }
+            }
+        }
+        return mask;
+    }
+}
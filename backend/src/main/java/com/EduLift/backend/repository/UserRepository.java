@@ -5,6 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -101,4 +102,33 @@ public interface UserRepository extends MongoRepository<User, String> {
      */
     @Query("{'preferences.emailNotifications': true}")
     List<User> findUsersWithEmailNotificationsEnabled();
+    
+    /**
+     * Find users that have not been soft deleted
+     */
+    List<User> findByDeletedAtIsNull();
+    
+    /**
+     * Find users created in [from, to)
+     */
+    @Query("{'createdAt': { $gte: ?0, $lt: ?1 }}")
+    List<User> findByCreatedAtRange(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Count users created in [from, to)
+     */
+    @Query(value = "{'createdAt': { $gte: ?0, $lt: ?1 }}", count = true)
+    long countByCreatedAtRange(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Find users of a group home created in [from, to)
+     */
+    @Query("{'groupHomeId': ?0, 'createdAt': { $gte: ?1, $lt: ?2 }}")
+    List<User> findByGroupHomeIdAndCreatedAtRange(String groupHomeId, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Find users by phone number. Pass the deterministically encrypted value
+     * when field encryption is enabled.
+     */
+    List<User> findByProfilePhoneNumber(String phoneNumber);
 }
@@ -0,0 +1,220 @@
+package com.EduLift.backend.service;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enrollment counts bucketed by day, week or month per group home and role.
+ * Buckets are computed with a $dateTrunc aggregation over the createdAt indexes
+ * of users and users_archive, so archiving alumni does not change history.
+ * createdAt is set by the server on create, which makes closed buckets
+ * immutable: they are cached, and only the bucket containing "now" and buckets
+ * not seen before are recomputed. While an archive run has copied a user but
+ * not yet removed it the user is counted twice, so the buckets a run touched are
+ * evicted once it ends.
+ */
+@Service
+public class EnrollmentAnalyticsService {
+
+    /**
+     * Supported bucket sizes, always aligned in UTC (weeks start on Monday)
+     */
+    public enum BucketUnit {
+        DAY("day"),
+        WEEK("week"),
+        MONTH("month");
+
+        private final String mongoUnit;
+
+        BucketUnit(String mongoUnit) {
+            this.mongoUnit = mongoUnit;
+        }
+
+        Instant floor(Instant instant) {
+            ZonedDateTime day = instant.atZone(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS);
+            return switch (this) {
+                case DAY -> day.toInstant();
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toInstant();
+                case MONTH -> day.withDayOfMonth(1).toInstant();
+            };
+        }
+
+        Instant next(Instant bucketStart) {
+            ZonedDateTime start = bucketStart.atZone(ZoneOffset.UTC);
+            return switch (this) {
+                case DAY -> start.plusDays(1).toInstant();
+                case WEEK -> start.plusWeeks(1).toInstant();
+                case MONTH -> start.plusMonths(1).toInstant();
+            };
+        }
+    }
+
+    /**
+     * Number of users created in one bucket for a group home and role
+     */
+    public record EnrollmentBucket(Instant bucketStart, String groupHomeId, String role, long count) {}
+
+    private record BucketKey(BucketUnit unit, Instant bucketStart) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final Map<BucketKey, List<EnrollmentBucket>> closedBuckets;
+
+    @Autowired
+    public EnrollmentAnalyticsService(MongoTemplate mongoTemplate,
+                                      @Value("${edulift.analytics.max-cached-buckets:5000}") int maxCachedBuckets) {
+        this(mongoTemplate, maxCachedBuckets, Clock.systemUTC());
+    }
+
+    EnrollmentAnalyticsService(MongoTemplate mongoTemplate, int maxCachedBuckets, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.closedBuckets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BucketKey, List<EnrollmentBucket>> eldest) {
+                return size() > maxCachedBuckets;
+            }
+        });
+    }
+
+    /**
+     * Enrollment counts for every bucket overlapping [from, to], expanded to whole buckets.
+     * groupHomeId and role are optional filters.
+     */
+    public List<EnrollmentBucket> enrollments(BucketUnit unit, LocalDate from, LocalDate to,
+                                              String groupHomeId, String role) {
+        Instant openBucket = unit.floor(clock.instant());
+        List<Instant> starts = new ArrayList<>();
+        Instant end = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        for (Instant start = unit.floor(from.atStartOfDay(ZoneOffset.UTC).toInstant()); start.isBefore(end); start = unit.next(start)) {
+            starts.add(start);
+        }
+
+        // Everything not cached, plus the open bucket, is recomputed in one aggregation
+        List<Instant> missing = new ArrayList<>();
+        for (Instant start : starts) {
+            if (!start.isBefore(openBucket) || !closedBuckets.containsKey(new BucketKey(unit, start))) {
+                missing.add(start);
+            }
+        }
+        Map<Instant, List<EnrollmentBucket>> computed = Map.of();
+        if (!missing.isEmpty()) {
+            computed = aggregate(unit, missing.get(0), unit.next(missing.get(missing.size() - 1)));
+            for (Instant start : missing) {
+                if (start.isBefore(openBucket)) {
+                    closedBuckets.put(new BucketKey(unit, start), computed.getOrDefault(start, List.of()));
+                }
+            }
+        }
+        return collect(unit, starts, computed, groupHomeId, role);
+    }
+
+    /**
+     * Number of buckets currently cached
+     */
+    public int cachedBuckets() {
+        return closedBuckets.size();
+    }
+
+    /**
+     * Drop cached buckets, e.g. after a backfill that rewrote historical createdAt values
+     */
+    public void evictAll() {
+        closedBuckets.clear();
+    }
+
+    /**
+     * Drop the cached buckets, of every unit, that contain any of the given createdAt values
+     */
+    public void evict(Collection<Instant> createdAt) {
+        for (Instant instant : createdAt) {
+            for (BucketUnit unit : BucketUnit.values()) {
+                closedBuckets.remove(new BucketKey(unit, unit.floor(instant)));
+            }
+        }
+    }
+
+    @EventListener
+    public void onUsersArchived(UsersArchivedEvent event) {
+        evict(event.createdAt());
+    }
+
+    private List<EnrollmentBucket> collect(BucketUnit unit, List<Instant> starts,
+                                           Map<Instant, List<EnrollmentBucket>> computed,
+                                           String groupHomeId, String role) {
+        List<EnrollmentBucket> result = new ArrayList<>();
+        for (Instant start : starts) {
+            List<EnrollmentBucket> rows = computed.containsKey(start)
+                    ? computed.get(start)
+                    : closedBuckets.getOrDefault(new BucketKey(unit, start), List.of());
+            for (EnrollmentBucket row : rows) {
+                if ((groupHomeId == null || groupHomeId.equals(row.groupHomeId()))
+                        && (role == null || role.equalsIgnoreCase(row.role()))) {
+                    result.add(row);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<Instant, List<EnrollmentBucket>> aggregate(BucketUnit unit, Instant from, Instant to) {
+        Document dateTrunc = new Document("date", "$createdAt")
+                .append("unit", unit.mongoUnit)
+                .append("timezone", "UTC");
+        if (unit == BucketUnit.WEEK) {
+            dateTrunc.append("startOfWeek", "monday");
+        }
+        AggregationOperation group = context -> new Document("$group", new Document("_id",
+                new Document("bucket", new Document("$dateTrunc", dateTrunc))
+                        .append("groupHomeId", "$groupHomeId")
+                        .append("role", "$roles"))
+                .append("count", new Document("$sum", 1)));
+
+        Criteria window = Criteria.where("createdAt").gte(Date.from(from)).lt(Date.from(to));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(window),
+                UnionWithOperation.unionWith(UserArchiveService.ARCHIVE_COLLECTION).pipeline(Aggregation.match(window)),
+                Aggregation.unwind("roles"),
+                group);
+
+        Map<Instant, List<EnrollmentBucket>> buckets = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, "users", Document.class)) {
+            Document id = row.get("_id", Document.class);
+            Instant bucketStart = id.getDate("bucket").toInstant();
+            buckets.computeIfAbsent(bucketStart, start -> new ArrayList<>()).add(new EnrollmentBucket(
+                    bucketStart, id.getString("groupHomeId"), id.getString("role"),
+                    ((Number) row.get("count")).longValue()));
+        }
+        Comparator<EnrollmentBucket> order = Comparator
+                .comparing(EnrollmentBucket::groupHomeId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(EnrollmentBucket::role, Comparator.nullsFirst(Comparator.naturalOrder()));
+        buckets.values().forEach(rows -> rows.sort(order));
+        return buckets;
+    }
+}
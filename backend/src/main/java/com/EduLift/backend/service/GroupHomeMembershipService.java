@@ -0,0 +1,224 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.client.result.UpdateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Group home membership changes that touch several users at once.
+ * Preconditions are checked with plain reads first; the transaction then only
+ * contains conditional writes that re-assert those preconditions in their
+ * filters, so a concurrent change aborts it instead of being overwritten.
+ * With transactions disabled each write that a later failure would leave
+ * half-applied registers a compensating write, which is run instead of a rollback.
+ */
+@Service
+public class GroupHomeMembershipService {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupHomeMembershipService.class);
+
+    /**
+     * Outcome of a membership change
+     */
+    public enum Result {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionRunner transactionRunner;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public GroupHomeMembershipService(MongoTemplate mongoTemplate, TransactionRunner transactionRunner,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionRunner = transactionRunner;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Move a student to another group home. Mentorships are scoped to a home,
+     * so the student's mentor links are removed on both sides.
+     */
+    public Result moveStudent(String studentId, String groupHomeId) {
+        User student = findActive(studentId);
+        if (student == null) {
+            return Result.NOT_FOUND;
+        }
+        if (!hasRole(student, User.Role.STUDENT)) {
+            return Result.CONFLICT;
+        }
+        if (Objects.equals(student.getGroupHomeId(), groupHomeId)) {
+            return Result.UPDATED;
+        }
+        List<String> mentorIds = student.getMentorIds() == null ? List.of() : student.getMentorIds();
+        List<String> changed = new ArrayList<>(mentorIds);
+        changed.add(studentId);
+
+        return run("moveStudent", changed, writes -> {
+            LocalDateTime now = LocalDateTime.now();
+            Query studentQuery = Query.query(active(studentId)
+                    .and("groupHomeId").is(student.getGroupHomeId()));
+            if (mongoTemplate.updateFirst(studentQuery, new Update()
+                    .set("groupHomeId", groupHomeId)
+                    .unset("mentorIds")
+                    .set("updatedAt", now), User.class).getMatchedCount() == 0) {
+                throw new PreconditionFailed();
+            }
+            writes.applied(() -> mongoTemplate.updateFirst(Query.query(active(studentId)
+                    .and("groupHomeId").is(groupHomeId)
+                    .and("mentorIds").exists(false)), new Update()
+                    .set("groupHomeId", student.getGroupHomeId())
+                    .set("mentorIds", mentorIds)
+                    .set("updatedAt", LocalDateTime.now()), User.class));
+            if (!mentorIds.isEmpty()) {
+                mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(mentorIds)), new Update()
+                        .pull("menteeIds", studentId)
+                        .set("updatedAt", now), User.class);
+            }
+            return Result.UPDATED;
+        });
+    }
+
+    /**
+     * Assign a mentor to a student. Both must be active, hold the matching
+     * role and belong to the same group home.
+     */
+    public Result assignMentor(String studentId, String mentorId) {
+        User student = findActive(studentId);
+        User mentor = findActive(mentorId);
+        if (student == null || mentor == null) {
+            return Result.NOT_FOUND;
+        }
+        String groupHomeId = student.getGroupHomeId();
+        if (!hasRole(student, User.Role.STUDENT) || !hasRole(mentor, User.Role.MENTOR)
+                || groupHomeId == null || !groupHomeId.equals(mentor.getGroupHomeId())) {
+            return Result.CONFLICT;
+        }
+        if (student.getMentorIds() != null && student.getMentorIds().contains(mentorId)) {
+            return Result.UPDATED;
+        }
+
+        return run("assignMentor", List.of(studentId, mentorId), writes -> {
+            LocalDateTime now = LocalDateTime.now();
+            link(writes, studentId, User.Role.STUDENT, groupHomeId, "mentorIds", mentorId, now);
+            link(writes, mentorId, User.Role.MENTOR, groupHomeId, "menteeIds", studentId, now);
+            return Result.UPDATED;
+        });
+    }
+
+    private void link(AppliedWrites writes, String userId, User.Role role, String groupHomeId, String field,
+                      String otherId, LocalDateTime now) {
+        Query query = Query.query(active(userId)
+                .and("roles").is(role)
+                .and("groupHomeId").is(groupHomeId));
+        Update update = new Update().addToSet(field, otherId).set("updatedAt", now);
+        UpdateResult result = mongoTemplate.updateFirst(query, update, User.class);
+        if (result.getMatchedCount() == 0) {
+            throw new PreconditionFailed();
+        }
+        if (result.getModifiedCount() > 0) {
+            // Only undo a link this call added, not one a concurrent request made
+            writes.applied(() -> mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                    new Update().pull(field, otherId).set("updatedAt", LocalDateTime.now()), User.class));
+        }
+    }
+
+    /**
+     * Run the writes, in a transaction when enabled. Without one, a failure
+     * reverts the writes already applied. Listeners hear about the users
+     * whenever anything was written, even if it was reverted again.
+     */
+    private Result run(String name, List<String> changedIds, Function<AppliedWrites, Result> work) {
+        AppliedWrites writes = new AppliedWrites();
+        boolean committed = false;
+        try {
+            Result result = transactionRunner.execute(name, () -> {
+                writes.clear();
+                return work.apply(writes);
+            });
+            committed = true;
+            return result;
+        } catch (PreconditionFailed e) {
+            return Result.CONFLICT;
+        } finally {
+            boolean partial = !committed && !transactionRunner.isEnabled() && writes.any();
+            if (partial) {
+                writes.revert(name);
+            }
+            if (committed || partial) {
+                eventPublisher.publishEvent(new UserChangedEvent(changedIds));
+            }
+        }
+    }
+
+    private User findActive(String id) {
+        User user = mongoTemplate.findById(id, User.class);
+        return user == null || user.isDeleted() ? null : user;
+    }
+
+    private static Criteria active(String id) {
+        return Criteria.where("_id").is(id).and("deletedAt").isNull();
+    }
+
+    private static boolean hasRole(User user, User.Role role) {
+        return user.getRoles() != null && user.getRoles().contains(role);
+    }
+
+    /**
+     * Compensating writes for the writes applied so far, newest first
+     */
+    private static final class AppliedWrites {
+        private final Deque<Runnable> compensations = new ArrayDeque<>();
+        private boolean any;
+
+        void applied(Runnable compensation) {
+            any = true;
+            compensations.push(compensation);
+        }
+
+        boolean any() {
+            return any;
+        }
+
+        void clear() {
+            any = false;
+            compensations.clear();
+        }
+
+        void revert(String name) {
+            while (!compensations.isEmpty()) {
+                try {
+                    compensations.pop().run();
+                } catch (RuntimeException e) {
+                    log.warn("Could not revert a partial {}: {}", name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Thrown inside a transaction to roll it back when a conditional write matched nothing
+     */
+    private static final class PreconditionFailed extends RuntimeException {
+        PreconditionFailed() {
+            super(null, null, false, false);
+        }
+    }
+}
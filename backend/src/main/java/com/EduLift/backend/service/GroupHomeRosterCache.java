@@ -0,0 +1,216 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches group home rosters as ready-to-send JSON, so a hit skips both MongoDB and Jackson.
+ * Each home has a version that is bumped by any write to one of its members; a cached
+ * roster is only served while its version is current. A write bumps the home the user was
+ * cached in and the home it is in now (so moves invalidate both). Local writes are applied
+ * on the writing thread through UserChangedEvent, so this instance reads its own writes;
+ * writes from other instances arrive through the UserChangeTracker, and max-age bounds how
+ * long a roster can miss a user archived elsewhere.
+ */
+@Component
+public class GroupHomeRosterCache implements UserChangeListener {
+
+    private record Key(String groupHomeId, User.Role role) {}
+
+    private record Entry(long version, byte[] json, long createdNanos) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long maxAgeNanos;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter evictions;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Home each user was last seen in, so a move out of a home also invalidates it
+    private final Map<String, String> homeByUser = new ConcurrentHashMap<>();
+    // Guarded by itself; access order makes the eldest entry the least recently used
+    private final LinkedHashMap<Key, Entry> rosters = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    public GroupHomeRosterCache(MongoTemplate mongoTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${edulift.roster-cache.enabled:true}") boolean enabled,
+                                @Value("${edulift.roster-cache.max-bytes:67108864}") long maxBytes,
+                                @Value("${edulift.roster-cache.max-age-ms:60000}") long maxAgeMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+
+        this.hits = Counter.builder("edulift.roster-cache.requests")
+                .tag("result", "hit")
+                .description("Roster requests answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("edulift.roster-cache.requests")
+                .tag("result", "miss")
+                .description("Roster requests that loaded the roster from MongoDB")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("edulift.roster-cache.invalidations")
+                .description("Group home version bumps caused by writes to members")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("edulift.roster-cache.evictions")
+                .description("Rosters evicted to stay within max-bytes")
+                .register(meterRegistry);
+        Gauge.builder("edulift.roster-cache.bytes", this, GroupHomeRosterCache::cachedBytes)
+                .description("JSON bytes held by cached rosters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("edulift.roster-cache.entries", this, GroupHomeRosterCache::size)
+                .description("Rosters currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * JSON of a group home roster, optionally only users with a role. On a miss the
+     * loader runs and its result is cached under the version read before loading,
+     * so a write that lands during the load leaves the entry already stale.
+     */
+    public byte[] roster(String groupHomeId, User.Role role, Supplier<List<User>> loader) throws JsonProcessingException {
+        if (!enabled) {
+            return objectMapper.writeValueAsBytes(loader.get());
+        }
+        Key key = new Key(groupHomeId, role);
+        long version = version(groupHomeId);
+        Entry entry;
+        synchronized (rosters) {
+            entry = rosters.get(key);
+        }
+        if (entry != null && entry.version() == version && System.nanoTime() - entry.createdNanos() < maxAgeNanos) {
+            hits.increment();
+            return entry.json();
+        }
+
+        misses.increment();
+        List<User> users = loader.get();
+        users.forEach(user -> homeByUser.put(user.getId(), groupHomeId));
+        byte[] json = objectMapper.writeValueAsBytes(users);
+        store(key, new Entry(version, json, System.nanoTime()));
+        return json;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        invalidateHomesOf(event.userIds());
+    }
+
+    /**
+     * Invalidate the homes of users changed by other instances
+     */
+    @Override
+    public void onUsersChanged(Set<String> userIds) {
+        invalidateHomesOf(userIds);
+    }
+
+    /**
+     * Bump a home's version so every roster cached for it is stale
+     */
+    public void invalidate(String groupHomeId) {
+        versions.computeIfAbsent(groupHomeId, home -> new AtomicLong()).incrementAndGet();
+        invalidations.increment();
+    }
+
+    public int size() {
+        synchronized (rosters) {
+            return rosters.size();
+        }
+    }
+
+    public long cachedBytes() {
+        synchronized (rosters) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Fraction of roster requests answered from the cache
+     */
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    /**
+     * Bump the home each user was cached in and the home it is in now
+     */
+    private void invalidateHomesOf(Collection<String> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        Set<String> homes = new HashSet<>();
+        Set<String> missing = new HashSet<>(userIds);
+        // The home a user is in now may not be cached under them yet (created or moved in)
+        Query query = Query.query(Criteria.where("_id").in(userIds));
+        query.fields().include("groupHomeId");
+        for (User user : mongoTemplate.find(query, User.class)) {
+            missing.remove(user.getId());
+            String previous = user.getGroupHomeId() == null ? homeByUser.remove(user.getId())
+                    : homeByUser.put(user.getId(), user.getGroupHomeId());
+            if (previous != null) {
+                homes.add(previous);
+            }
+            if (user.getGroupHomeId() != null) {
+                homes.add(user.getGroupHomeId());
+            }
+        }
+        // Changed but gone from the collection (archived)
+        for (String id : missing) {
+            String previous = homeByUser.remove(id);
+            if (previous != null) {
+                homes.add(previous);
+            }
+        }
+        homes.forEach(this::invalidate);
+    }
+
+    private long version(String groupHomeId) {
+        AtomicLong version = versions.get(groupHomeId);
+        return version == null ? 0L : version.get();
+    }
+
+    private void store(Key key, Entry entry) {
+        synchronized (rosters) {
+            Entry replaced = rosters.put(key, entry);
+            cachedBytes += entry.json().length - (replaced == null ? 0 : replaced.json().length);
+            Iterator<Entry> eldest = rosters.values().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                cachedBytes -= eldest.next().json().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in write-behind queue for high-frequency preference updates.
+ * Pending updates for the same user are coalesced and flushed as one unordered
+ * bulk of $set operations, either on a timer or once maxPendingUsers is reached.
+ * Every accepted update is journaled first so it survives a crash and is
+ * replayed on the next startup.
+ */
+@Component
+public class PreferenceWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(PreferenceWriteBehindBuffer.class);
+
+    /**
+     * Fields that may be updated through the buffer, with their expected value type
+     */
+    public static final Map<String, Class<?>> WRITABLE_FIELDS = Map.of(
+            "preferences.language", String.class,
+            "preferences.timezone", String.class,
+            "preferences.emailNotifications", Boolean.class,
+            "preferences.smsNotifications", Boolean.class,
+            "preferences.pushNotifications", Boolean.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final int maxPendingUsers;
+    private final Path journalPath;
+    private final int journalSizeBytes;
+    private final boolean forceOnAppend;
+
+    private final Counter acceptedUpdates;
+    private final Counter coalescedUpdates;
+    private final Counter flushedDocuments;
+    private final Counter bulkWrites;
+    private final Counter unmatchedDocuments;
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private Map<String, Map<String, Object>> pending = new LinkedHashMap<>();
+    private WriteBehindJournal journal;
+    private ScheduledExecutorService scheduler;
+
+    public PreferenceWriteBehindBuffer(MongoTemplate mongoTemplate,
+                                       ApplicationEventPublisher eventPublisher,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${edulift.users.write-behind.enabled:false}") boolean enabled,
+                                       @Value("${edulift.users.write-behind.flush-interval-ms:1000}") long flushIntervalMillis,
+                                       @Value("${edulift.users.write-behind.max-pending-users:500}") int maxPendingUsers,
+                                       @Value("${edulift.users.write-behind.journal-path:data/write-behind.journal}") String journalPath,
+                                       @Value("${edulift.users.write-behind.journal-size-bytes:16777216}") int journalSizeBytes,
+                                       @Value("${edulift.users.write-behind.force-on-append:false}") boolean forceOnAppend) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPendingUsers = Math.max(1, maxPendingUsers);
+        this.journalPath = Path.of(journalPath);
+        this.journalSizeBytes = journalSizeBytes;
+        this.forceOnAppend = forceOnAppend;
+
+        this.acceptedUpdates = Counter.builder("edulift.users.write-behind.accepted")
+                .description("Field updates accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.coalescedUpdates = Counter.builder("edulift.users.write-behind.coalesced")
+                .description("Field updates absorbed by a pending update for the same user")
+                .register(meterRegistry);
+        this.flushedDocuments = Counter.builder("edulift.users.write-behind.documents")
+                .description("User documents written by write-behind flushes")
+                .register(meterRegistry);
+        this.bulkWrites = Counter.builder("edulift.users.write-behind.bulk-writes")
+                .description("Unordered bulk writes issued by write-behind flushes")
+                .register(meterRegistry);
+        this.unmatchedDocuments = Counter.builder("edulift.users.write-behind.unmatched")
+                .description("Flushed users that no longer existed or were soft deleted")
+                .register(meterRegistry);
+        Gauge.builder("edulift.users.write-behind.pending", this, PreferenceWriteBehindBuffer::pendingUsers)
+                .description("Users with updates waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new WriteBehindJournal(journalPath, journalSizeBytes, forceOnAppend);
+        List<WriteBehindJournal.Entry> replayed = journal.replay();
+        synchronized (lock) {
+            replayed.forEach(entry -> pending.computeIfAbsent(entry.userId(), id -> new LinkedHashMap<>())
+                    .put(entry.field(), entry.value()));
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} journaled preference updates for {} users", replayed.size(), pendingUsers());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preference-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accept updates for one user. Field names must be keys of WRITABLE_FIELDS.
+     * The update is acknowledged before it is written, so callers check that the
+     * user exists and is not deleted first.
+     * When the journal is full the buffer flushes synchronously; if it still
+     * cannot journal the update it is written through immediately.
+     */
+    public void submit(String userId, Map<String, Object> fields) throws IOException {
+        if (!enabled) {
+            applyNow(userId, fields);
+            return;
+        }
+
+        boolean full;
+        synchronized (lock) {
+            full = !journal.appendAll(userId, fields);
+            if (!full) {
+                Map<String, Object> userUpdates = pending.get(userId);
+                if (userUpdates == null) {
+                    pending.put(userId, new LinkedHashMap<>(fields));
+                } else {
+                    userUpdates.putAll(fields);
+                    coalescedUpdates.increment(fields.size());
+                }
+                acceptedUpdates.increment(fields.size());
+            }
+        }
+
+        if (full) {
+            flush();
+            synchronized (lock) {
+                full = !journal.appendAll(userId, fields);
+                if (!full) {
+                    pending.computeIfAbsent(userId, id -> new LinkedHashMap<>()).putAll(fields);
+                    acceptedUpdates.increment(fields.size());
+                }
+            }
+            if (full) {
+                applyNow(userId, fields);
+            }
+        } else if (pendingUsers() >= maxPendingUsers) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Write updates for one user straight to MongoDB.
+     * Returns false when the user does not exist or is soft deleted.
+     */
+    public boolean applyNow(String userId, Map<String, Object> fields) {
+        if (mongoTemplate.updateFirst(byId(userId), toUpdate(fields), User.class).getMatchedCount() == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(UserChangedEvent.of(userId));
+        return true;
+    }
+
+    /**
+     * Flush all pending updates as a single unordered bulk write.
+     * Returns the number of user documents the writes matched.
+     */
+    public int flush() throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        synchronized (flushLock) {
+            Map<String, Map<String, Object>> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+
+            int matched;
+            try {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+                batch.forEach((userId, fields) -> bulk.updateOne(byId(userId), toUpdate(fields)));
+                BulkWriteResult result = bulk.execute();
+                bulkWrites.increment();
+                matched = result.getMatchedCount();
+                flushedDocuments.increment(matched);
+                int unmatched = batch.size() - matched;
+                if (unmatched > 0) {
+                    // Deleted or archived after their updates were accepted
+                    unmatchedDocuments.increment(unmatched);
+                    log.warn("Write-behind flush dropped updates for {} users that no longer exist", unmatched);
+                }
+                eventPublisher.publishEvent(new UserChangedEvent(List.copyOf(batch.keySet())));
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    // Updates submitted during the failed flush are newer and win
+                    batch.forEach((userId, fields) -> {
+                        Map<String, Object> current = pending.computeIfAbsent(userId, id -> new LinkedHashMap<>());
+                        fields.forEach(current::putIfAbsent);
+                    });
+                }
+                throw e;
+            }
+
+            synchronized (lock) {
+                journal.reset(pendingEntries());
+            }
+            return matched;
+        }
+    }
+
+    public int pendingUsers() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Write-behind flush failed, updates will be retried: {}", e.getMessage());
+        }
+    }
+
+    private List<WriteBehindJournal.Entry> pendingEntries() {
+        List<WriteBehindJournal.Entry> entries = new ArrayList<>();
+        pending.forEach((userId, fields) -> fields.forEach((field, value) ->
+                entries.add(new WriteBehindJournal.Entry(userId, field, value))));
+        return entries;
+    }
+
+    /**
+     * Filter for an active user; updates for soft-deleted users match nothing
+     */
+    private static Query byId(String userId) {
+        return Query.query(Criteria.where("_id").is(userId).and("deletedAt").isNull());
+    }
+
+    private static Update toUpdate(Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.set("updatedAt", LocalDateTime.now());
+        return update;
+    }
+}
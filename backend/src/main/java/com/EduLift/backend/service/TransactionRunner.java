@@ -0,0 +1,118 @@
+package com.EduLift.backend.service;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in a MongoDB multi-document transaction and reruns it
+ * when the server labels the failure TransientTransactionError, i.e. the
+ * transaction was aborted and none of its writes applied. Work should contain
+ * only the writes; do reads and validation before calling execute.
+ * UnknownTransactionCommitResult is not rerun here: the commit itself is retried
+ * by the transaction manager (see TransactionConfig), because the first commit
+ * may have landed. With transactions disabled (standalone mongod) the work runs directly.
+ */
+@Component
+public class TransactionRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRunner.class);
+
+    static final String TRANSIENT_TRANSACTION_ERROR = "TransientTransactionError";
+    static final String UNKNOWN_COMMIT_RESULT = "UnknownTransactionCommitResult";
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final Counter retries;
+    private final Counter failures;
+
+    public TransactionRunner(PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${edulift.transactions.enabled:false}") boolean enabled,
+                             @Value("${edulift.transactions.max-attempts:5}") int maxAttempts,
+                             @Value("${edulift.transactions.initial-backoff-ms:10}") long initialBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout(5);
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.retries = Counter.builder("edulift.transactions.retries")
+                .description("Transactions rerun after a transient error")
+                .register(meterRegistry);
+        this.failures = Counter.builder("edulift.transactions.failures")
+                .description("Transactions that failed after all attempts")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(String name, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException e) {
+                String label = retryableLabel(e);
+                if (!TRANSIENT_TRANSACTION_ERROR.equals(label) || attempt >= maxAttempts) {
+                    if (label != null) {
+                        failures.increment();
+                    }
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Retrying transaction {} after {} (attempt {})", name, label, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The retryable error label of the first MongoException in the cause chain, or null
+     */
+    static String retryableLabel(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException) {
+                if (mongoException.hasErrorLabel(TRANSIENT_TRANSACTION_ERROR)) {
+                    return TRANSIENT_TRANSACTION_ERROR;
+                }
+                if (mongoException.hasErrorLabel(UNKNOWN_COMMIT_RESULT)) {
+                    return UNKNOWN_COMMIT_RESULT;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private void backoff(int attempt) {
+        if (initialBackoffMillis <= 0) {
+            return;
+        }
+        long ceiling = initialBackoffMillis << Math.min(attempt - 1, 6);
+        try {
+            // Full jitter keeps retrying writers from colliding again
+            TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying transaction", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Soft delete and archival tiering for users.
+ * Deleting a user only stamps deletedAt. A background job later moves
+ * soft-deleted users and users inactive past the configured threshold from
+ * the hot users collection to users_archive in batches, keeping the hot
+ * working set and its indexes small.
+ */
+@Service
+public class UserArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserArchiveService.class);
+
+    public static final String ARCHIVE_COLLECTION = "users_archive";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration inactiveAfter;
+    private final Duration deletedRetention;
+    private final int batchSize;
+
+    public UserArchiveService(MongoTemplate mongoTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${edulift.archive.enabled:false}") boolean enabled,
+                              @Value("${edulift.archive.inactive-after:P365D}") Duration inactiveAfter,
+                              @Value("${edulift.archive.deleted-retention:P30D}") Duration deletedRetention,
+                              @Value("${edulift.archive.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.inactiveAfter = inactiveAfter;
+        this.deletedRetention = deletedRetention;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Soft delete a user in a single findAndModify round trip.
+     * Returns false if the user does not exist or is already deleted.
+     */
+    public boolean softDelete(String id) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(id).and("deletedAt").is(null));
+        query.fields().include("_id");
+        User deleted = mongoTemplate.findAndModify(query,
+                new Update().set("deletedAt", now).set("updatedAt", now),
+                FindAndModifyOptions.options().returnNew(false),
+                User.class);
+        if (deleted == null) {
+            return false;
+        }
+        eventPublisher.publishEvent(UserChangedEvent.of(id));
+        return true;
+    }
+
+    /**
+     * Look a user up in the archive collection
+     */
+    public Optional<User> findArchived(String id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, User.class, ARCHIVE_COLLECTION));
+    }
+
+    @Scheduled(cron = "${edulift.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long moved = archive();
+            if (moved > 0) {
+                log.info("Archived {} users to {}", moved, ARCHIVE_COLLECTION);
+            }
+        } catch (Exception e) {
+            log.warn("User archival failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Move every eligible user to the archive, one batch at a time.
+     * Returns the number of users removed from the hot collection.
+     * Ends with a UsersArchivedEvent when anything was copied, even if a later batch failed.
+     */
+    public long archive() {
+        Set<Instant> archivedCreatedAt = new HashSet<>();
+        try {
+            return archive(archivedCreatedAt);
+        } finally {
+            if (!archivedCreatedAt.isEmpty()) {
+                eventPublisher.publishEvent(new UsersArchivedEvent(archivedCreatedAt));
+            }
+        }
+    }
+
+    private long archive(Set<Instant> archivedCreatedAt) {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria eligible = eligibleCriteria(now);
+        long moved = 0;
+        while (true) {
+            Query batchQuery = Query.query(eligible).with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            List<Document> batch = mongoTemplate.find(batchQuery, Document.class, mongoTemplate.getCollectionName(User.class));
+            if (batch.isEmpty()) {
+                return moved;
+            }
+
+            // Copy first with idempotent upserts so an interrupted run can simply be repeated
+            BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ARCHIVE_COLLECTION);
+            List<Object> ids = batch.stream().map(document -> document.get("_id")).toList();
+            for (Document document : batch) {
+                document.put("archivedAt", new Date());
+                copy.replaceOne(Query.query(Criteria.where("_id").is(document.get("_id"))), document,
+                        FindAndReplaceOptions.options().upsert());
+            }
+            copy.execute();
+            for (Document document : batch) {
+                if (document.get("createdAt") instanceof Date createdAt) {
+                    archivedCreatedAt.add(createdAt.toInstant());
+                }
+            }
+
+            // Re-check eligibility so a user touched since the copy stays in the hot collection
+            Query remove = Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), eligible));
+            long removed = mongoTemplate.remove(remove, mongoTemplate.getCollectionName(User.class)).getDeletedCount();
+            moved += removed;
+            Set<Object> removedIds = removed == ids.size() ? new HashSet<>(ids) : goneFromUsers(ids);
+            if (removedIds.size() < ids.size()) {
+                // Users touched since the copy stay live; drop their copies so no user is in both collections
+                List<Object> kept = ids.stream().filter(id -> !removedIds.contains(id)).toList();
+                mongoTemplate.remove(Query.query(Criteria.where("_id").in(kept)), ARCHIVE_COLLECTION);
+            }
+            if (!removedIds.isEmpty()) {
+                // Re-stamp archivedAt now that the users are gone. The copy's stamp can be older than the
+                // change feed's settle window by the time the remove commits, so a client could already be
+                // past it and never receive the tombstone.
+                mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(removedIds)),
+                        Update.update("archivedAt", new Date()), ARCHIVE_COLLECTION);
+            }
+            eventPublisher.publishEvent(new UserChangedEvent(ids.stream().map(String::valueOf).toList()));
+            if (batch.size() < batchSize) {
+                return moved;
+            }
+        }
+    }
+
+    /**
+     * Ids of the batch no longer in the hot collection
+     */
+    private Set<Object> goneFromUsers(List<Object> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+        Set<Object> gone = new HashSet<>(ids);
+        mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(User.class))
+                .forEach(document -> gone.remove(document.get("_id")));
+        return gone;
+    }
+
+    private Criteria eligibleCriteria(LocalDateTime now) {
+        Date inactiveBefore = toDate(now.minus(inactiveAfter));
+        return new Criteria().orOperator(
+                Criteria.where("deletedAt").lt(toDate(now.minus(deletedRetention))),
+                Criteria.where("updatedAt").lt(inactiveBefore),
+                // Legacy documents written before updatedAt was maintained: fall back to createdAt
+                Criteria.where("updatedAt").exists(false).orOperator(
+                        Criteria.where("createdAt").lt(inactiveBefore),
+                        Criteria.where("createdAt").exists(false)));
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
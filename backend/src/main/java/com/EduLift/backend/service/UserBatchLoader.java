@@ -0,0 +1,188 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.ratelimit.RequestPath;
+import com.EduLift.backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent findById lookups into a single $in query.
+ * Lookups arriving within the batch window (or until the batch is full) are
+ * merged, de-duplicated and fanned back out to the waiting callers.
+ */
+@Component
+public class UserBatchLoader {
+
+    private final UserRepository userRepository;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter lookups;
+    private final Counter batchedIds;
+    private final Counter queries;
+
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<Optional<User>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public UserBatchLoader(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${edulift.users.batch.window-ms:2}") long windowMillis,
+                           @Value("${edulift.users.batch.max-size:100}") int maxBatchSize,
+                           @Value("${edulift.users.batch.threads:2}") int threads) {
+        this.userRepository = userRepository;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-loader-" + threadSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.lookups = Counter.builder("edulift.users.batch.lookups")
+                .description("findById lookups requested by callers")
+                .register(meterRegistry);
+        this.batchedIds = Counter.builder("edulift.users.batch.ids")
+                .description("Distinct ids sent to MongoDB after de-duplication")
+                .register(meterRegistry);
+        this.queries = Counter.builder("edulift.users.batch.queries")
+                .description("$in queries issued to MongoDB")
+                .register(meterRegistry);
+        Gauge.builder("edulift.users.batch.ratio", this, UserBatchLoader::batchingRatio)
+                .description("Average number of lookups answered per MongoDB query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load a single user, sharing the MongoDB round trip with concurrent callers
+     */
+    public CompletableFuture<Optional<User>> load(String id) {
+        lookups.increment();
+        if (windowMillis <= 0) {
+            queries.increment();
+            batchedIds.increment();
+            return CompletableFuture.completedFuture(userRepository.findById(id));
+        }
+
+        Map<String, CompletableFuture<Optional<User>>> fullBatch = null;
+        CompletableFuture<Optional<User>> future;
+        synchronized (lock) {
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(id, future);
+            }
+            if (pending.size() >= maxBatchSize) {
+                fullBatch = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (fullBatch != null) {
+            Map<String, CompletableFuture<Optional<User>>> batch = fullBatch;
+            scheduler.execute(() -> dispatch(batch));
+        }
+        return future;
+    }
+
+    /**
+     * Load several users with one query per batch, preserving the requested order.
+     * Unknown ids are omitted from the result.
+     */
+    public List<User> loadMany(Collection<String> ids) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        lookups.increment(ids.size());
+
+        Map<String, User> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += maxBatchSize) {
+            List<String> chunk = distinctIds.subList(from, Math.min(from + maxBatchSize, distinctIds.size()));
+            queries.increment();
+            batchedIds.increment(chunk.size());
+            userRepository.findAllById(chunk).forEach(user -> found.put(user.getId(), user));
+        }
+
+        List<User> users = new ArrayList<>(distinctIds.size());
+        for (String id : distinctIds) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Average number of caller lookups served by each MongoDB query
+     */
+    public double batchingRatio() {
+        double issued = queries.count();
+        return issued == 0 ? 0.0 : lookups.count() / issued;
+    }
+
+    private void flush() {
+        Map<String, CompletableFuture<Optional<User>>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private Map<String, CompletableFuture<Optional<User>>> takePending() {
+        Map<String, CompletableFuture<Optional<User>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<Optional<User>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Every caller is an API request, so the query counts towards the concurrency limit
+        RequestPath.enter();
+        try {
+            queries.increment();
+            batchedIds.increment(batch.size());
+            Map<String, User> found = new HashMap<>();
+            userRepository.findAllById(batch.keySet()).forEach(user -> found.put(user.getId(), user));
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        } finally {
+            RequestPath.exit();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+}
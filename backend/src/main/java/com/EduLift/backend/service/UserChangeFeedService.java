@@ -0,0 +1,160 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incremental sync for offline-capable clients. A watermark is the (updatedAt, _id)
+ * of the last change a client has seen; each page walks the {updatedAt, _id} index
+ * forward from it. Soft-deleted users are returned as tombstones, and users the
+ * archival job removed are found through archivedAt in users_archive, which the
+ * job stamps again once the remove has committed.
+ * Changes younger than the settle window are held back so a write that is still
+ * in flight with an earlier updatedAt cannot be skipped.
+ */
+@Service
+public class UserChangeFeedService {
+
+    static final ChangeToken START = new ChangeToken(0, "");
+
+    private final MongoTemplate mongoTemplate;
+    private final long settleMillis;
+    private final int maxPageSize;
+
+    public UserChangeFeedService(MongoTemplate mongoTemplate,
+                                 @Value("${edulift.users.changes.settle-ms:2000}") long settleMillis,
+                                 @Value("${edulift.users.changes.max-page-size:1000}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.settleMillis = settleMillis;
+        this.maxPageSize = Math.max(1, maxPageSize);
+    }
+
+    /**
+     * Position in the change feed, serialized as an opaque URL-safe token
+     */
+    public record ChangeToken(long updatedAtMillis, String id) {
+
+        public String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((updatedAtMillis + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Parse a token; throws IllegalArgumentException when it is malformed
+         */
+        public static ChangeToken decode(String token) {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed change token");
+            }
+            return new ChangeToken(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+        }
+    }
+
+    /**
+     * One page of changes. Clients upsert changed users, drop deletedIds,
+     * store watermark and ask again right away while hasMore is true.
+     */
+    public record UserChanges(List<User> changed, List<String> deletedIds, String watermark, boolean hasMore) {}
+
+    private record Change(long millis, String id, User user) {}
+
+    private static final Comparator<Change> FEED_ORDER = Comparator.comparingLong(Change::millis)
+            .thenComparing(Change::id);
+
+    /**
+     * Changes after the given watermark, or from the beginning when it is null
+     */
+    public UserChanges changesSince(String watermark, int limit) {
+        ChangeToken since = watermark == null || watermark.isBlank() ? START : ChangeToken.decode(watermark);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        Date until = new Date(System.currentTimeMillis() - settleMillis);
+
+        List<Change> changes = new ArrayList<>();
+        Query users = Query.query(after("updatedAt", since, until))
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt", "_id"))
+                .limit(pageSize + 1);
+        for (User user : mongoTemplate.find(users, User.class)) {
+            changes.add(new Change(toMillis(user), user.getId(), user));
+        }
+
+        Query archived = Query.query(after("archivedAt", since, until))
+                .with(Sort.by(Sort.Direction.ASC, "archivedAt", "_id"))
+                .limit(pageSize + 1);
+        archived.fields().include("archivedAt");
+        List<Document> removed = mongoTemplate.find(archived, Document.class, UserArchiveService.ARCHIVE_COLLECTION);
+        Set<String> stillLive = stillLive(removed);
+        for (Document document : removed) {
+            String id = String.valueOf(document.get("_id"));
+            if (!stillLive.contains(id)) {
+                changes.add(new Change(document.getDate("archivedAt").getTime(), id, null));
+            }
+        }
+
+        changes.sort(FEED_ORDER);
+        boolean hasMore = changes.size() > pageSize;
+        List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+        List<User> changed = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        for (Change change : page) {
+            if (change.user() == null || change.user().isDeleted()) {
+                deletedIds.add(change.id());
+            } else {
+                changed.add(change.user());
+            }
+        }
+        ChangeToken next = page.isEmpty() ? since
+                : new ChangeToken(page.get(page.size() - 1).millis(), page.get(page.size() - 1).id());
+        return new UserChanges(changed, deletedIds, next.encode(), hasMore);
+    }
+
+    /**
+     * Keyset condition: strictly after (millis, id) and older than the settle window
+     */
+    private static Criteria after(String field, ChangeToken since, Date until) {
+        Date sinceDate = new Date(since.updatedAtMillis());
+        return new Criteria().andOperator(
+                Criteria.where(field).lt(until),
+                new Criteria().orOperator(
+                        Criteria.where(field).gt(sinceDate),
+                        Criteria.where(field).is(sinceDate).and("_id").gt(since.id())));
+    }
+
+    /**
+     * The archival job copies before it removes and keeps users touched in between,
+     * so an archive copy is only a tombstone once the user is gone from users
+     */
+    private Set<String> stillLive(List<Document> archived) {
+        if (archived.isEmpty()) {
+            return Set.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(archived.stream().map(document -> document.get("_id")).toList()));
+        query.fields().include("_id");
+        Set<String> live = new HashSet<>();
+        mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(User.class))
+                .forEach(document -> live.add(String.valueOf(document.get("_id"))));
+        return live;
+    }
+
+    private static long toMillis(User user) {
+        return user.getUpdatedAt() == null ? 0 : user.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
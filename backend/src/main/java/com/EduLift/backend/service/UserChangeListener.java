@@ -0,0 +1,17 @@
+package com.EduLift.backend.service;
+
+import java.util.Set;
+
+/**
+ * An in-memory view of users kept current by the UserChangeTracker.
+ * Called on the tracker thread once per poll, with an empty set when nothing
+ * changed, so a view can also use the call for periodic work such as rebuilds.
+ */
+public interface UserChangeListener {
+
+    /**
+     * Users written since the previous call, by this or any other instance.
+     * Ids that are no longer in the collection were archived.
+     */
+    void onUsersChanged(Set<String> userIds);
+}
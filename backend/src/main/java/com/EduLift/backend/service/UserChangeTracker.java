@@ -0,0 +1,145 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds changed users once for every in-memory view (mentor candidates, bitmap
+ * filters, roster cache) and hands their ids to each UserChangeListener.
+ * Users named in a UserChangedEvent are published right away; writes by other
+ * instances are found by one updatedAt poll, which re-reads an overlap window
+ * so clock skew between writers cannot hide an update, and publishes each
+ * update only once.
+ */
+@Component
+public class UserChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeTracker.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final List<UserChangeListener> listeners;
+    private final long refreshIntervalMillis;
+    private final long watermarkOverlapMillis;
+
+    private final Counter published;
+
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // Guarded by this; only the poll mutates them
+    private final Map<String, LocalDateTime> seenUpdates = new HashMap<>();
+    private LocalDateTime watermark = LocalDateTime.now();
+    private ScheduledExecutorService executor;
+
+    public UserChangeTracker(MongoTemplate mongoTemplate,
+                             MeterRegistry meterRegistry,
+                             List<UserChangeListener> listeners,
+                             @Value("${edulift.user-changes.refresh-interval-ms:1000}") long refreshIntervalMillis,
+                             @Value("${edulift.user-changes.watermark-overlap-ms:5000}") long watermarkOverlapMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.listeners = List.copyOf(listeners);
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.watermarkOverlapMillis = watermarkOverlapMillis;
+
+        this.published = Counter.builder("edulift.user-changes.published")
+                .description("Changed user ids handed to in-memory views")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-change-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollQuietly, 0, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        dirty.addAll(event.userIds());
+        if (executor != null) {
+            executor.execute(this::pollQuietly);
+        }
+    }
+
+    /**
+     * Collect users changed since the last poll and publish them to every listener
+     */
+    public synchronized void poll() {
+        LocalDateTime since = watermark.minusNanos(watermarkOverlapMillis * 1_000_000);
+        Query query = Query.query(Criteria.where("updatedAt").gte(since));
+        query.fields().include("updatedAt");
+        List<User> updated = mongoTemplate.find(query, User.class);
+
+        // Drained only once the poll succeeded, so a failed poll keeps them for the next one
+        List<String> named = new ArrayList<>(dirty);
+        dirty.removeAll(named);
+        Set<String> changed = new HashSet<>(named);
+        for (User user : updated) {
+            // The overlap returns the same update on several polls; publish it once
+            if (Objects.equals(seenUpdates.put(user.getId(), user.getUpdatedAt()), user.getUpdatedAt())) {
+                continue;
+            }
+            changed.add(user.getId());
+            if (user.getUpdatedAt() != null && user.getUpdatedAt().isAfter(watermark)) {
+                watermark = user.getUpdatedAt();
+            }
+        }
+        LocalDateTime forgetBefore = watermark.minusNanos(watermarkOverlapMillis * 1_000_000);
+        seenUpdates.values().removeIf(updatedAt -> updatedAt == null || updatedAt.isBefore(forgetBefore));
+
+        published.increment(changed.size());
+        Set<String> ids = Collections.unmodifiableSet(changed);
+        for (UserChangeListener listener : listeners) {
+            try {
+                listener.onUsersChanged(ids);
+            } catch (Exception e) {
+                log.warn("{} failed to apply user changes: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("User change poll failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.EduLift.backend.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published after users were created, updated, moved, deleted or archived, so
+ * in-memory views such as the mentor candidate index can reload them.
+ * Writes made by other instances are not published here.
+ */
+public record UserChangedEvent(Collection<String> userIds) {
+
+    public static UserChangedEvent of(String... userIds) {
+        return new UserChangedEvent(List.of(userIds));
+    }
+}
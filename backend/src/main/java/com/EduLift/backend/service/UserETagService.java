@@ -0,0 +1,196 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.MongoServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Computes HTTP validators (ETag / Last-Modified) for users from updatedAt.
+ * Validators are read through updatedAt-only projections hinted to the
+ * {_id, updatedAt} index, so a conditional GET is answered with 304 from the
+ * index alone. Without the hint the planner picks IDHACK or _id_ and fetches
+ * the whole document. If the server rejects the hint because the index is
+ * missing, lookups run unhinted (and uncovered) for a while before trying again.
+ */
+@Service
+public class UserETagService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserETagService.class);
+
+    private static final int BAD_VALUE = 2;
+    private static final long HINT_RETRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Compound index used to cover version lookups
+     */
+    public static final String ID_UPDATED_AT_INDEX = "_id_updatedAt";
+
+    private final MongoTemplate mongoTemplate;
+    private volatile boolean hintRejected;
+    private volatile long hintRetryAt;
+
+    public UserETagService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Only the id and version of a user, as returned by the covered projection
+     */
+    public record UserVersion(String id, LocalDateTime updatedAt) {}
+
+    /**
+     * Validators for a response: strong ETag and Last-Modified in epoch millis
+     */
+    public record Validators(String etag, long lastModified) {}
+
+    /**
+     * Read the version of one user using only the {_id, updatedAt} index
+     */
+    public Optional<Validators> findValidators(String id) {
+        UserVersion version = covered(() -> {
+            Query query = Query.query(Criteria.where("_id").is(id));
+            query.fields().include("updatedAt");
+            return query;
+        }, query -> mongoTemplate.query(User.class).as(UserVersion.class).matching(query).oneValue());
+        if (version == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(validatorsFor(version.id(), version.updatedAt()));
+    }
+
+    /**
+     * Validators for an already loaded user, or null if it has never been stamped
+     */
+    public Validators validatorsFor(User user) {
+        return validatorsFor(user.getId(), user.getUpdatedAt());
+    }
+
+    /**
+     * Collection-level validators: document count plus the newest updatedAt.
+     * Any insert, update or delete changes one of the two.
+     */
+    public Validators collectionValidators() {
+        long count = mongoTemplate.estimatedCount(User.class);
+        Query newest = new Query().with(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(1);
+        newest.fields().include("updatedAt");
+        UserVersion version = mongoTemplate.query(User.class).as(UserVersion.class).matching(newest).firstValue();
+        long lastModified = version == null || version.updatedAt() == null ? 0 : toMillis(version.updatedAt());
+        return new Validators("\"c-" + Long.toHexString(count) + "-" + Long.toHexString(lastModified) + "\"", lastModified);
+    }
+
+    /**
+     * Validators for an explicit list of ids, in the requested order
+     */
+    public Validators listValidators(Collection<String> ids) {
+        List<UserVersion> versions = covered(() -> {
+            Query query = Query.query(Criteria.where("_id").in(ids));
+            query.fields().include("updatedAt");
+            return query;
+        }, query -> mongoTemplate.query(User.class).as(UserVersion.class).matching(query).all());
+
+        Map<String, Long> versionById = new HashMap<>();
+        long lastModified = 0;
+        for (UserVersion version : versions) {
+            long millis = version.updatedAt() == null ? 0 : toMillis(version.updatedAt());
+            versionById.put(version.id(), millis);
+            lastModified = Math.max(lastModified, millis);
+        }
+
+        CRC32 crc = new CRC32();
+        for (String id : ids) {
+            Long millis = versionById.get(id);
+            crc.update((id + ":" + (millis == null ? "-" : Long.toHexString(millis)) + ";").getBytes(StandardCharsets.UTF_8));
+        }
+        return new Validators("\"l-" + Integer.toHexString(ids.size()) + "-" + Long.toHexString(crc.getValue()) + "\"", lastModified);
+    }
+
+    /**
+     * True if the If-None-Match header value matches the current ETag
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run a version lookup hinted to the covering index, or unhinted while the
+     * server rejects the hint
+     */
+    private <T> T covered(Supplier<Query> query, Function<Query, T> lookup) {
+        if (!hintRejected || System.nanoTime() - hintRetryAt >= 0) {
+            try {
+                T result = lookup.apply(query.get().withHint(ID_UPDATED_AT_INDEX));
+                hintRejected = false;
+                return result;
+            } catch (DataAccessException e) {
+                if (!isBadHint(e)) {
+                    throw e;
+                }
+                log.warn("Index {} is missing, ETag lookups are not covered: {}", ID_UPDATED_AT_INDEX, e.getMessage());
+                hintRetryAt = System.nanoTime() + HINT_RETRY_NANOS;
+                hintRejected = true;
+            }
+        }
+        return lookup.apply(query.get());
+    }
+
+    /**
+     * True if the server refused the query because the hinted index does not exist
+     */
+    static boolean isBadHint(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException serverError && serverError.getCode() == BAD_VALUE
+                    && String.valueOf(serverError.getMessage()).contains("hint")) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static Validators validatorsFor(String id, LocalDateTime updatedAt) {
+        if (id == null || updatedAt == null) {
+            return null;
+        }
+        long millis = toMillis(updatedAt);
+        return new Validators("\"" + id + "-" + Long.toHexString(millis) + "\"", millis);
+    }
+
+    /**
+     * MongoDB stores dates with millisecond precision in the JVM default zone,
+     * so in-memory timestamps are truncated the same way before hashing
+     */
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
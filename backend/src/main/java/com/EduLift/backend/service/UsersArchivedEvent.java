@@ -0,0 +1,12 @@
+package com.EduLift.backend.service;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Published once an archive run has copied users to users_archive, with the
+ * createdAt of every user it copied, so views computed over both collections
+ * (such as cached enrollment buckets) can drop what they counted while a user
+ * was in both.
+ */
+public record UsersArchivedEvent(Set<Instant> createdAt) {}
@@ -0,0 +1,224 @@
+package com.EduLift.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped append log backing the write-behind buffer.
+ * Each record is [length][crc32][payload]; a zero length marks the end of the log.
+ * Records survive a process crash because they live in the OS page cache as soon
+ * as they are written; set forceOnAppend to also survive power loss.
+ * A reset writes the surviving records to a new file and renames it over the
+ * journal, so a crash during the reset leaves either the old or the new log.
+ */
+public class WriteBehindJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_STRING = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DATE = 4;
+
+    /**
+     * A single journaled field update
+     */
+    public record Entry(String userId, String field, Object value) {}
+
+    private final Path path;
+    private final int capacityBytes;
+    private final boolean forceOnAppend;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public WriteBehindJournal(Path path, int capacityBytes, boolean forceOnAppend) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.path = path;
+        this.capacityBytes = capacityBytes;
+        this.forceOnAppend = forceOnAppend;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+    }
+
+    /**
+     * Read every intact record from the start of the log and position the
+     * write cursor after the last one. A torn or corrupt record ends the replay.
+     */
+    public synchronized List<Entry> replay() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            entries.add(decode(payload));
+            position += HEADER_BYTES + length;
+        }
+        buffer.position(position);
+        markEnd(buffer);
+        return entries;
+    }
+
+    /**
+     * Append a record. Returns false when the journal is full.
+     */
+    public synchronized boolean append(String userId, String field, Object value) throws IOException {
+        return append(buffer, userId, field, value);
+    }
+
+    /**
+     * Append one record per field, or none of them: returns false and leaves
+     * the log as it was when the journal is full.
+     */
+    public synchronized boolean appendAll(String userId, Map<String, Object> fields) throws IOException {
+        int start = buffer.position();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            if (!append(buffer, userId, field.getKey(), field.getValue())) {
+                buffer.position(start);
+                markEnd(buffer);
+                if (forceOnAppend) {
+                    buffer.force();
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace all records with the entries that are still pending.
+     * If they do not fit, the journal is left unchanged.
+     */
+    public synchronized void reset(Collection<Entry> survivors) throws IOException {
+        Path next = path.resolveSibling(path.getFileName() + ".next");
+        Files.deleteIfExists(next);
+        FileChannel nextChannel = FileChannel.open(next, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer nextBuffer = nextChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+            markEnd(nextBuffer);
+            for (Entry entry : survivors) {
+                if (!append(nextBuffer, entry.userId(), entry.field(), entry.value())) {
+                    throw new IOException("Write-behind journal is too small for pending updates");
+                }
+            }
+            // The rename is the commit point, so the new log must be complete first
+            nextBuffer.force();
+            Files.move(next, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel.close();
+            channel = nextChannel;
+            buffer = nextBuffer;
+        } catch (IOException | RuntimeException e) {
+            nextChannel.close();
+            Files.deleteIfExists(next);
+            throw e;
+        }
+    }
+
+    public synchronized int size() {
+        return buffer.position();
+    }
+
+    private boolean append(MappedByteBuffer target, String userId, String field, Object value) throws IOException {
+        byte[] payload = encode(userId, field, value);
+        if (target.remaining() < HEADER_BYTES + payload.length + 4) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = target.position();
+        target.position(start + HEADER_BYTES);
+        target.put(payload);
+        int end = target.position();
+        markEnd(target);
+        target.putInt(start + 4, (int) crc.getValue());
+        // Publish the length last so a torn write is never replayed
+        target.putInt(start, payload.length);
+        if (forceOnAppend) {
+            target.force();
+        }
+        target.position(end);
+        return true;
+    }
+
+    private static void markEnd(MappedByteBuffer target) {
+        if (target.remaining() >= 4) {
+            target.putInt(target.position(), 0);
+        }
+    }
+
+    private static byte[] encode(String userId, String field, Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(userId);
+        out.writeUTF(field);
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof String s) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF(s);
+        } else if (value instanceof Number n) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(n.longValue());
+        } else if (value instanceof Date d) {
+            out.writeByte(TYPE_DATE);
+            out.writeLong(d.getTime());
+        } else {
+            throw new IllegalArgumentException("Unsupported journal value type: " + value.getClass());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String userId = in.readUTF();
+        String field = in.readUTF();
+        byte type = in.readByte();
+        Object value = switch (type) {
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_STRING -> in.readUTF();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_DATE -> new Date(in.readLong());
+            default -> null;
+        };
+        return new Entry(userId, field, value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
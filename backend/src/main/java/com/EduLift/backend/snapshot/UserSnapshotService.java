@@ -0,0 +1,217 @@
+package com.EduLift.backend.snapshot;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Exports the users collection to columnar Arrow files on local disk so reports
+ * run against snapshots instead of production MongoDB. A full snapshot streams
+ * the whole collection through one cursor; between fulls, incremental snapshots
+ * hold only users whose updatedAt moved past the previous watermark (soft deletes
+ * included, via deletedAt). Readers take the newest row per id across the latest
+ * full and the deltas after it.
+ */
+@Service
+public class UserSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSnapshotService.class);
+
+    static final String STATE_FILE = "snapshot.state";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration fullInterval;
+    private final int batchRows;
+    private final int retainFull;
+    private final long settleMillis;
+    private final BufferAllocator allocator = new RootAllocator();
+
+    private final Timer exportTimer;
+    private final Counter exportedRows;
+
+    /**
+     * Outcome of one export
+     */
+    public record SnapshotResult(String file, boolean full, long rows, long bytes, long watermark) {}
+
+    public UserSnapshotService(MongoTemplate mongoTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${edulift.snapshot.enabled:false}") boolean enabled,
+                               @Value("${edulift.snapshot.directory:data/snapshots}") String directory,
+                               @Value("${edulift.snapshot.full-interval:P1D}") Duration fullInterval,
+                               @Value("${edulift.snapshot.batch-rows:16384}") int batchRows,
+                               @Value("${edulift.snapshot.retain-full:2}") int retainFull,
+                               @Value("${edulift.snapshot.settle-ms:2000}") long settleMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.fullInterval = fullInterval;
+        this.batchRows = batchRows;
+        this.retainFull = Math.max(1, retainFull);
+        this.settleMillis = settleMillis;
+
+        this.exportTimer = Timer.builder("edulift.snapshot.export")
+                .description("Time to write a user snapshot")
+                .register(meterRegistry);
+        this.exportedRows = Counter.builder("edulift.snapshot.rows")
+                .description("User rows written to snapshots")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${edulift.snapshot.cron:0 15 * * * *}")
+    public void scheduledExport() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            SnapshotResult result = export(false);
+            log.info("Wrote {} snapshot {} with {} users ({} bytes)",
+                    result.full() ? "full" : "incremental", result.file(), result.rows(), result.bytes());
+        } catch (Exception e) {
+            log.warn("User snapshot export failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write a snapshot. It is full when forced, when there is no previous full
+     * or when the last full is older than the full interval; otherwise incremental.
+     */
+    public synchronized SnapshotResult export(boolean forceFull) throws IOException {
+        Files.createDirectories(directory);
+        Properties state = readState();
+        long now = System.currentTimeMillis();
+        long lastFull = Long.parseLong(state.getProperty("lastFull", "0"));
+        long watermark = Long.parseLong(state.getProperty("watermark", "0"));
+        boolean full = forceFull || lastFull == 0 || now - lastFull >= fullInterval.toMillis();
+
+        // Writes younger than the settle window may still land with an earlier updatedAt
+        long until = now - settleMillis;
+        Query query = full ? new Query()
+                : Query.query(Criteria.where("updatedAt").gte(new Date(watermark)).lt(new Date(until)));
+        query.fields().include(UserSnapshotWriter.PROJECTED_FIELDS.toArray(String[]::new));
+        query.cursorBatchSize(Math.min(batchRows, 10_000));
+
+        String name = "users-" + (full ? "full-" : "delta-") + FILE_TIME.format(Instant.ofEpochMilli(now)) + ".arrow";
+        Path target = directory.resolve(name);
+        Path partial = directory.resolve(name + ".partial");
+
+        Timer.Sample sample = Timer.start();
+        long rows;
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             BufferAllocator exportAllocator = allocator.newChildAllocator(name, 0, Long.MAX_VALUE);
+             UserSnapshotWriter writer = new UserSnapshotWriter(exportAllocator, channel, batchRows);
+             Stream<Document> users = mongoTemplate.stream(query, Document.class,
+                     mongoTemplate.getCollectionName(User.class))) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                writer.write(user);
+            }
+            rows = writer.rows();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        sample.stop(exportTimer);
+        exportedRows.increment(rows);
+
+        if (full) {
+            state.setProperty("lastFull", Long.toString(now));
+        }
+        state.setProperty("watermark", Long.toString(until));
+        writeState(state);
+        if (full) {
+            prune();
+        }
+        return new SnapshotResult(target.toString(), full, rows, Files.size(target), until);
+    }
+
+    /**
+     * Drop fulls beyond retainFull, and deltas older than the oldest full kept
+     */
+    private void prune() throws IOException {
+        List<Path> fulls;
+        try (Stream<Path> files = Files.list(directory)) {
+            fulls = files.filter(file -> file.getFileName().toString().startsWith("users-full-")
+                            && file.getFileName().toString().endsWith(".arrow"))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList();
+        }
+        if (fulls.size() <= retainFull) {
+            return;
+        }
+        String oldestKept = fulls.get(retainFull - 1).getFileName().toString().substring("users-full-".length());
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String fileName = file.getFileName().toString();
+                String stamp = fileName.startsWith("users-full-") ? fileName.substring("users-full-".length())
+                        : fileName.startsWith("users-delta-") ? fileName.substring("users-delta-".length()) : null;
+                if (stamp != null && stamp.endsWith(".arrow") && stamp.compareTo(oldestKept) < 0) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Properties readState() throws IOException {
+        Properties state = new Properties();
+        Path file = directory.resolve(STATE_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                state.load(in);
+            }
+        }
+        return state;
+    }
+
+    private void writeState(Properties state) throws IOException {
+        Path partial = directory.resolve(STATE_FILE + ".partial");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            state.store(out, "User snapshot watermark (epoch millis)");
+        }
+        Files.move(partial, directory.resolve(STATE_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        allocator.close();
+    }
+}
@@ -0,0 +1,242 @@
+package com.EduLift.backend.snapshot;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.bson.Document;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes raw user documents as a ZSTD-compressed Arrow IPC file, one record batch
+ * per batchRows documents. Profile, preferences and consent flags are flattened
+ * into columns, roles and riskFlags become list&lt;utf8&gt; columns and mentor links
+ * are reduced to counts. Profile fields that are encrypted at rest are not exported.
+ */
+public class UserSnapshotWriter implements Closeable {
+
+    private static final ArrowType UTF8 = new ArrowType.Utf8();
+    private static final ArrowType BOOL = new ArrowType.Bool();
+    private static final ArrowType INT = new ArrowType.Int(32, true);
+    private static final ArrowType TIMESTAMP = new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+
+    /**
+     * Column name to the document path it is read from
+     */
+    static final Map<String, String> SCALAR_PATHS = Map.ofEntries(
+            Map.entry("id", "_id"),
+            Map.entry("email", "email"),
+            Map.entry("groupHomeId", "groupHomeId"),
+            Map.entry("profileFirstName", "profile.firstName"),
+            Map.entry("profileLastName", "profile.lastName"),
+            Map.entry("preferencesLanguage", "preferences.language"),
+            Map.entry("preferencesTimezone", "preferences.timezone"),
+            Map.entry("preferencesEmailNotifications", "preferences.emailNotifications"),
+            Map.entry("preferencesSmsNotifications", "preferences.smsNotifications"),
+            Map.entry("preferencesPushNotifications", "preferences.pushNotifications"),
+            Map.entry("consentDataProcessing", "consentFlags.dataProcessingConsent"),
+            Map.entry("consentCommunication", "consentFlags.communicationConsent"),
+            Map.entry("consentEmergencyContact", "consentFlags.emergencyContactConsent"),
+            Map.entry("consentPhotoVideo", "consentFlags.photoVideoConsent"),
+            Map.entry("consentTimestamp", "consentFlags.consentTimestamp"),
+            Map.entry("createdAt", "createdAt"),
+            Map.entry("updatedAt", "updatedAt"),
+            Map.entry("deletedAt", "deletedAt"));
+
+    /**
+     * Document fields read by the writer, for the export projection
+     */
+    static final List<String> PROJECTED_FIELDS = List.of("email", "groupHomeId", "roles", "riskFlags",
+            "mentorIds", "menteeIds", "profile.firstName", "profile.lastName", "preferences", "consentFlags",
+            "createdAt", "updatedAt", "deletedAt");
+
+    static final Schema SCHEMA = new Schema(List.of(
+            scalar("id", UTF8),
+            scalar("email", UTF8),
+            scalar("groupHomeId", UTF8),
+            list("roles"),
+            list("riskFlags"),
+            scalar("mentorCount", INT),
+            scalar("menteeCount", INT),
+            scalar("profileFirstName", UTF8),
+            scalar("profileLastName", UTF8),
+            scalar("preferencesLanguage", UTF8),
+            scalar("preferencesTimezone", UTF8),
+            scalar("preferencesEmailNotifications", BOOL),
+            scalar("preferencesSmsNotifications", BOOL),
+            scalar("preferencesPushNotifications", BOOL),
+            scalar("consentDataProcessing", BOOL),
+            scalar("consentCommunication", BOOL),
+            scalar("consentEmergencyContact", BOOL),
+            scalar("consentPhotoVideo", BOOL),
+            scalar("consentTimestamp", TIMESTAMP),
+            scalar("createdAt", TIMESTAMP),
+            scalar("updatedAt", TIMESTAMP),
+            scalar("deletedAt", TIMESTAMP)));
+
+    /**
+     * Copies one value of a document into the current row of a vector
+     */
+    private interface ColumnSetter {
+        void set(Document user, int row);
+    }
+
+    private final VectorSchemaRoot root;
+    private final ArrowFileWriter writer;
+    private final List<ColumnSetter> setters = new ArrayList<>();
+    private final int batchRows;
+    private int row;
+    private long rows;
+
+    public UserSnapshotWriter(BufferAllocator allocator, WritableByteChannel channel, int batchRows) throws IOException {
+        this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+        this.writer = new ArrowFileWriter(root, null, channel, Map.of("source", "users"), IpcOption.DEFAULT,
+                CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.ZSTD);
+        this.batchRows = Math.max(1, batchRows);
+        for (FieldVector vector : root.getFieldVectors()) {
+            setters.add(setterFor(vector));
+        }
+        writer.start();
+        root.allocateNew();
+    }
+
+    /**
+     * Append one document; a record batch is written every batchRows rows
+     */
+    public void write(Document user) throws IOException {
+        for (ColumnSetter setter : setters) {
+            setter.set(user, row);
+        }
+        row++;
+        rows++;
+        if (row == batchRows) {
+            flushBatch();
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (row > 0) {
+                flushBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        root.setRowCount(row);
+        writer.writeBatch();
+        root.allocateNew();
+        row = 0;
+    }
+
+    private static ColumnSetter setterFor(FieldVector vector) {
+        String column = vector.getName();
+        if (vector instanceof ListVector list) {
+            return (user, row) -> setList(list, row, user.get(column));
+        }
+        if (column.equals("mentorCount") || column.equals("menteeCount")) {
+            String field = column.equals("mentorCount") ? "mentorIds" : "menteeIds";
+            IntVector counts = (IntVector) vector;
+            return (user, row) -> {
+                if (user.get(field) instanceof Collection<?> items) {
+                    counts.setSafe(row, items.size());
+                } else {
+                    counts.setNull(row);
+                }
+            };
+        }
+        String[] path = SCALAR_PATHS.get(column).split("\\.");
+        if (vector instanceof VarCharVector text) {
+            return (user, row) -> {
+                Object value = valueAt(user, path);
+                if (value == null) {
+                    text.setNull(row);
+                } else {
+                    text.setSafe(row, value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            };
+        }
+        if (vector instanceof BitVector bit) {
+            return (user, row) -> {
+                if (valueAt(user, path) instanceof Boolean value) {
+                    bit.setSafe(row, value ? 1 : 0);
+                } else {
+                    bit.setNull(row);
+                }
+            };
+        }
+        TimeStampMilliTZVector timestamp = (TimeStampMilliTZVector) vector;
+        return (user, row) -> {
+            if (valueAt(user, path) instanceof Date value) {
+                timestamp.setSafe(row, value.getTime());
+            } else {
+                timestamp.setNull(row);
+            }
+        };
+    }
+
+    private static void setList(ListVector vector, int row, Object value) {
+        if (!(value instanceof Collection<?> items)) {
+            vector.setNull(row);
+            return;
+        }
+        int start = vector.startNewValue(row);
+        VarCharVector data = (VarCharVector) vector.getDataVector();
+        int index = 0;
+        for (Object item : items) {
+            data.setSafe(start + index++, String.valueOf(item).getBytes(StandardCharsets.UTF_8));
+        }
+        vector.endValue(row, index);
+    }
+
+    private static Object valueAt(Document document, String[] path) {
+        Object value = document;
+        for (String segment : path) {
+            if (!(value instanceof Document current)) {
+                return null;
+            }
+            value = current.get(segment);
+        }
+        return value;
+    }
+
+    private static Field scalar(String name, ArrowType type) {
+        return new Field(name, FieldType.nullable(type), null);
+    }
+
+    private static Field list(String name) {
+        return new Field(name, FieldType.nullable(new ArrowType.List()),
+                new ArrayList<>(List.of(scalar("item", UTF8))));
+    }
+}
@@ -0,0 +1,172 @@
+package com.EduLift.backend.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * One node of a MongoDB $jsonSchema, compiled once: patterns are precompiled and
+ * enums are hash sets, so validating a document is a single walk without parsing.
+ * Supports the keywords used by mongodb-schema-validation.json (bsonType, required,
+ * properties, enum, pattern, minLength, maxLength, minItems, uniqueItems, items);
+ * annotations such as title, description and default are ignored, as on the server.
+ */
+final class CompiledSchema {
+
+    private final Set<String> bsonTypes;
+    private final Set<Object> allowed;
+    private final Pattern pattern;
+    private final int minLength;
+    private final int maxLength;
+    private final int minItems;
+    private final boolean uniqueItems;
+    private final CompiledSchema items;
+    private final List<String> required;
+    private final Map<String, CompiledSchema> properties;
+
+    private CompiledSchema(JsonNode node) {
+        this.bsonTypes = strings(node.get("bsonType"));
+        this.allowed = node.has("enum") ? new HashSet<>(values(node.get("enum"))) : null;
+        this.pattern = node.has("pattern") ? Pattern.compile(node.get("pattern").asText()) : null;
+        this.minLength = node.path("minLength").asInt(0);
+        this.maxLength = node.path("maxLength").asInt(Integer.MAX_VALUE);
+        this.minItems = node.path("minItems").asInt(0);
+        this.uniqueItems = node.path("uniqueItems").asBoolean(false);
+        this.items = node.has("items") ? new CompiledSchema(node.get("items")) : null;
+        this.required = List.copyOf(strings(node.get("required")));
+        Map<String, CompiledSchema> compiled = new LinkedHashMap<>();
+        node.path("properties").properties().forEach(field ->
+                compiled.put(field.getKey(), new CompiledSchema(field.getValue())));
+        this.properties = Map.copyOf(compiled);
+    }
+
+    static CompiledSchema compile(JsonNode schema) {
+        return new CompiledSchema(schema);
+    }
+
+    /**
+     * Schema of a nested property such as "preferences.language", or null if not constrained
+     */
+    CompiledSchema at(String dottedPath) {
+        CompiledSchema schema = this;
+        for (String segment : dottedPath.split("\\.")) {
+            schema = schema.properties.get(segment);
+            if (schema == null) {
+                return null;
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Append a message for every rule the value breaks
+     */
+    void validate(Object value, String path, List<String> violations) {
+        if (!bsonTypes.isEmpty() && !bsonTypes.contains(bsonType(value))) {
+            violations.add(path + ": expected " + String.join("|", bsonTypes) + " but was " + bsonType(value));
+            return;
+        }
+        if (allowed != null && !allowed.contains(value)) {
+            violations.add(path + ": " + value + " is not an allowed value");
+        }
+        if (value instanceof String text) {
+            int length = text.codePointCount(0, text.length());
+            if (length < minLength || length > maxLength) {
+                violations.add(path + ": length " + length + " is outside " + minLength + ".." + maxLength);
+            }
+            if (pattern != null && !pattern.matcher(text).find()) {
+                violations.add(path + ": does not match " + pattern.pattern());
+            }
+        } else if (value instanceof Collection<?> list) {
+            if (list.size() < minItems) {
+                violations.add(path + ": needs at least " + minItems + " items");
+            }
+            if (uniqueItems && new HashSet<>(list).size() != list.size()) {
+                violations.add(path + ": items must be unique");
+            }
+            if (items != null) {
+                int index = 0;
+                for (Object item : list) {
+                    items.validate(item, path + "." + index++, violations);
+                }
+            }
+        } else if (value instanceof Map<?, ?> document) {
+            for (String field : required) {
+                if (!document.containsKey(field)) {
+                    violations.add(child(path, field) + ": is required");
+                }
+            }
+            for (Map.Entry<String, CompiledSchema> property : properties.entrySet()) {
+                if (document.containsKey(property.getKey())) {
+                    property.getValue().validate(document.get(property.getKey()), child(path, property.getKey()), violations);
+                }
+            }
+        }
+    }
+
+    /**
+     * BSON type alias of a value as produced by the mapping converter
+     */
+    static String bsonType(Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof String) {
+            return "string";
+        } else if (value instanceof Boolean) {
+            return "bool";
+        } else if (value instanceof Integer) {
+            return "int";
+        } else if (value instanceof Long) {
+            return "long";
+        } else if (value instanceof Double) {
+            return "double";
+        } else if (value instanceof Decimal128) {
+            return "decimal";
+        } else if (value instanceof Date) {
+            return "date";
+        } else if (value instanceof ObjectId) {
+            return "objectId";
+        } else if (value instanceof Map<?, ?>) {
+            return "object";
+        } else if (value instanceof Collection<?>) {
+            return "array";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static String child(String path, String field) {
+        return path.isEmpty() ? field : path + "." + field;
+    }
+
+    private static Set<String> strings(JsonNode node) {
+        Set<String> result = new LinkedHashSet<>();
+        if (node != null) {
+            if (node.isArray()) {
+                node.forEach(element -> result.add(element.asText()));
+            } else {
+                result.add(node.asText());
+            }
+        }
+        return result;
+    }
+
+    private static List<Object> values(JsonNode node) {
+        List<Object> result = new ArrayList<>();
+        node.forEach(element -> result.add(element.isTextual() ? element.asText()
+                : element.isBoolean() ? element.asBoolean()
+                : element.isIntegralNumber() ? (Object) element.asInt()
+                : element.asDouble()));
+        return result;
+    }
+}
@@ -0,0 +1,20 @@
+package com.EduLift.backend.validation;
+
+import java.util.List;
+
+/**
+ * Thrown before a write when a user document breaks the users collection schema
+ */
+public class SchemaViolationException extends RuntimeException {
+
+    private final List<String> violations;
+
+    public SchemaViolationException(List<String> violations) {
+        super("User document violates the users schema: " + String.join("; ", violations));
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+}
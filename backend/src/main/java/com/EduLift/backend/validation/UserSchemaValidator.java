@@ -0,0 +1,100 @@
+package com.EduLift.backend.validation;
+
+import com.EduLift.backend.model.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process copy of the server-side validator of the users collection.
+ * mongodb-schema-validation.json is compiled once at startup and every user
+ * document is checked right before it is sent, so a bad document fails in
+ * microseconds instead of after a round trip (or halfway through a bulk insert).
+ * Runs ahead of profile encryption, so patterns are checked against plaintext.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserSchemaValidator extends AbstractMongoEventListener<User> {
+
+    public static final String SCHEMA_RESOURCE = "mongodb-schema-validation.json";
+
+    private final CompiledSchema schema;
+    private final boolean enabled;
+    private final Counter rejected;
+
+    @Autowired
+    public UserSchemaValidator(MeterRegistry meterRegistry,
+                               @Value("${edulift.users.schema-validation.enabled:true}") boolean enabled) throws IOException {
+        this(loadSchema(), meterRegistry, enabled);
+    }
+
+    UserSchemaValidator(JsonNode jsonSchema, MeterRegistry meterRegistry, boolean enabled) {
+        this.schema = CompiledSchema.compile(jsonSchema);
+        this.enabled = enabled;
+        this.rejected = Counter.builder("edulift.users.schema-validation.rejected")
+                .description("User writes rejected by the in-process schema validator")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The users $jsonSchema from the classpath, as used for the collection validator
+     */
+    public static JsonNode loadSchema() throws IOException {
+        try (InputStream in = new ClassPathResource(SCHEMA_RESOURCE).getInputStream()) {
+            return new ObjectMapper().readTree(in).path("users_collection_validation").path("$jsonSchema");
+        }
+    }
+
+    /**
+     * Violations of a mapped user document; empty when MongoDB would accept it
+     * or validation is disabled
+     */
+    public List<String> validate(Document document) {
+        if (!enabled) {
+            return List.of();
+        }
+        List<String> violations = new ArrayList<>();
+        schema.validate(document, "", violations);
+        return violations;
+    }
+
+    /**
+     * Violations of a single value written with $set, e.g. "preferences.language"
+     */
+    public List<String> validateField(String dottedPath, Object value) {
+        CompiledSchema field = schema.at(dottedPath);
+        if (!enabled || field == null) {
+            return List.of();
+        }
+        List<String> violations = new ArrayList<>();
+        field.validate(value, dottedPath, violations);
+        return violations;
+    }
+
+    @Override
+    public void onBeforeSave(BeforeSaveEvent<User> event) {
+        if (event.getDocument() == null) {
+            return;
+        }
+        List<String> violations = validate(event.getDocument());
+        if (!violations.isEmpty()) {
+            rejected.increment();
+            throw new SchemaViolationException(violations);
+        }
+    }
+}
@@ -116,6 +116,16 @@ db.createCollection("users", {
             }
           }
         },
+        mentorIds: {
+          bsonType: "array",
+          description: "Mentors assigned to a student (same group home)",
+          items: { bsonType: "string" }
+        },
+        menteeIds: {
+          bsonType: "array",
+          description: "Students assigned to a mentor (same group home)",
+          items: { bsonType: "string" }
+        },
         riskFlags: {
           bsonType: "array",
           description: "Array of risk indicators",
@@ -162,6 +172,10 @@ db.createCollection("users", {
         updatedAt: {
           bsonType: "date",
           description: "Last update timestamp"
+        },
+        deletedAt: {
+          bsonType: "date",
+          description: "Soft delete timestamp"
         }
       }
     }
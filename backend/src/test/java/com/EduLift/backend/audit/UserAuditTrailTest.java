@@ -0,0 +1,228 @@
+package com.EduLift.backend.audit;
+
+import com.EduLift.backend.logging.RequestIdFilter;
+import com.EduLift.backend.model.User;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Audit Trail Tests")
+class UserAuditTrailTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+    private final List<List<Document>> inserted = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MappingMongoConverter converter;
+    private UserAuditTrail trail;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollection(UserAuditTrail.AUDIT_COLLECTION)).thenReturn(collection);
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(invocation -> {
+            inserted.add(new ArrayList<>((List<Document>) invocation.getArgument(0)));
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (trail != null) {
+            trail.stop();
+        }
+        MDC.remove(RequestIdFilter.REQUEST_ID_KEY);
+    }
+
+    private UserAuditTrail trail(int capacity, int batchSize, UserAuditTrail.OverflowPolicy overflow) {
+        return new UserAuditTrail(mongoTemplate, meterRegistry, true, capacity, batchSize, overflow, 50, 10, 2000);
+    }
+
+    private static User student(String id) {
+        User user = new User(List.of(User.Role.STUDENT), id + "@example.com");
+        user.setId(id);
+        user.setRiskFlags(new ArrayList<>(List.of("academic_risk")));
+        user.setProfile(new User.Profile("Ada", "Lovelace"));
+        user.getProfile().setPhoneNumber("+15550100");
+        return user;
+    }
+
+    private List<Document> allInserted() {
+        return inserted.stream().flatMap(List::stream).toList();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("edulift.audit.dropped").tag("reason", reason).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should record only changed audited fields and never plain text of encrypted ones")
+    void shouldRecordFieldLevelDiffs() throws Exception {
+        trail = trail(100, 500, UserAuditTrail.OverflowPolicy.DROP);
+        trail.start();
+        User user = student("u1");
+        UserAuditTrail.Snapshot before = UserAuditTrail.snapshot(user);
+
+        // Not audited, so nothing to record
+        user.setEmail("other@example.com");
+        assertFalse(trail.record("u1", before, user, "counselor-7", "update"));
+
+        user.getRiskFlags().add("attendance_risk");
+        user.getProfile().setPhoneNumber("+15550199");
+        MDC.put(RequestIdFilter.REQUEST_ID_KEY, "req-1");
+        assertTrue(trail.record("u1", before, user, null, "update"));
+        await(() -> allInserted().size() == 1);
+
+        UserAuditEntry entry = converter.read(UserAuditEntry.class, allInserted().get(0));
+        assertNotNull(entry.id());
+        assertEquals("u1", entry.userId());
+        assertEquals(UserAuditTrail.UNKNOWN_ACTOR, entry.actor());
+        assertEquals("update", entry.source());
+        assertEquals("req-1", entry.requestId());
+        assertNotNull(entry.at());
+        assertEquals(List.of(
+                new UserAuditEntry.FieldChange("riskFlags", List.of("academic_risk"),
+                        List.of("academic_risk", "attendance_risk")),
+                new UserAuditEntry.FieldChange("profile.phoneNumber",
+                        UserAuditTrail.ENCRYPTED_VALUE, UserAuditTrail.ENCRYPTED_VALUE)), entry.changes());
+        assertFalse(allInserted().get(0).toJson().contains("555"));
+    }
+
+    @Test
+    @DisplayName("Should record every set field of a created user")
+    void shouldRecordCreatedUser() throws Exception {
+        trail = trail(100, 500, UserAuditTrail.OverflowPolicy.DROP);
+        trail.start();
+        User user = student("u1");
+        user.setConsentFlags(new User.ConsentFlags());
+        user.getConsentFlags().setCommunicationConsent(true);
+
+        assertTrue(trail.record("u1", UserAuditTrail.snapshot(null), user, "admin", "create"));
+        await(() -> allInserted().size() == 1);
+
+        List<String> fields = converter.read(UserAuditEntry.class, allInserted().get(0)).changes().stream()
+                .map(UserAuditEntry.FieldChange::field)
+                .toList();
+        assertEquals(List.of("riskFlags", "consentFlags.dataProcessingConsent", "consentFlags.communicationConsent",
+                "consentFlags.emergencyContactConsent", "consentFlags.photoVideoConsent",
+                "profile.firstName", "profile.lastName", "profile.phoneNumber"), fields);
+    }
+
+    @Test
+    @DisplayName("Should write queued entries in batches of at most batch-size")
+    void shouldWriteInBatches() throws Exception {
+        trail = trail(2000, 500, UserAuditTrail.OverflowPolicy.DROP);
+        for (int i = 0; i < 1200; i++) {
+            assertTrue(trail.record("u" + i, UserAuditTrail.snapshot(null), student("u" + i), "admin", "create"));
+        }
+        assertEquals(1200, trail.queued());
+        trail.start();
+        await(() -> trail.queued() == 0);
+
+        assertEquals(List.of(500, 500, 200), inserted.stream().map(List::size).toList());
+        assertEquals(1200, meterRegistry.get("edulift.audit.written").counter().count());
+        assertEquals(3, meterRegistry.get("edulift.audit.batches").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop and count entries when the queue is full")
+    void shouldDropWhenFull() {
+        trail = trail(2, 500, UserAuditTrail.OverflowPolicy.DROP);
+        for (int i = 0; i < 3; i++) {
+            trail.record("u" + i, UserAuditTrail.snapshot(null), student("u" + i), "admin", "create");
+        }
+        assertEquals(2, trail.queued());
+        assertEquals(1, dropped("queue-full"));
+    }
+
+    @Test
+    @DisplayName("Should wait for space up to the block timeout before dropping")
+    void shouldBlockThenDrop() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        trail = trail(1, 500, UserAuditTrail.OverflowPolicy.BLOCK);
+        trail.start();
+
+        assertTrue(trail.record("u1", UserAuditTrail.snapshot(null), student("u1"), "admin", "create"));
+        long start = System.nanoTime();
+        assertFalse(trail.record("u2", UserAuditTrail.snapshot(null), student("u2"), "admin", "create"));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, meterRegistry.get("edulift.audit.blocked").counter().count());
+        assertEquals(1, dropped("queue-full"));
+
+        release.countDown();
+        await(() -> trail.queued() == 0);
+        assertTrue(trail.record("u3", UserAuditTrail.snapshot(null), student("u3"), "admin", "create"));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch with the same ids")
+    @SuppressWarnings("unchecked")
+    void shouldRetryFailedBatch() throws Exception {
+        List<Object> attemptedIds = new CopyOnWriteArrayList<>();
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenAnswer(invocation -> {
+            List<Document> batch = invocation.getArgument(0);
+            attemptedIds.add(batch.get(0).get("_id"));
+            if (attemptedIds.size() == 1) {
+                throw new MongoException("not primary");
+            }
+            inserted.add(new ArrayList<>(batch));
+            return null;
+        });
+        trail = trail(100, 500, UserAuditTrail.OverflowPolicy.DROP);
+        trail.start();
+
+        trail.record("u1", UserAuditTrail.snapshot(null), student("u1"), "admin", "create");
+        await(() -> trail.queued() == 0);
+
+        assertEquals(2, attemptedIds.size());
+        assertEquals(attemptedIds.get(0), attemptedIds.get(1));
+        assertEquals(1, allInserted().size());
+        assertEquals(0, dropped("write-failed"));
+    }
+}
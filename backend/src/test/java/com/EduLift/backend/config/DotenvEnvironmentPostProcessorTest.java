@@ -0,0 +1,26 @@
+package com.EduLift.backend.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.EnvironmentPostProcessorsFactory;
+import org.springframework.boot.logging.DeferredLogs;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dotenv Environment Post Processor Tests")
+class DotenvEnvironmentPostProcessorTest {
+
+    @Test
+    @DisplayName("Should be created by Spring Boot with a deferred log")
+    void shouldBeCreatedFromSpringFactories() {
+        List<EnvironmentPostProcessor> processors = EnvironmentPostProcessorsFactory
+                .fromSpringFactories(getClass().getClassLoader())
+                .getEnvironmentPostProcessors(new DeferredLogs(), new DefaultBootstrapContext());
+
+        assertTrue(processors.stream().anyMatch(DotenvEnvironmentPostProcessor.class::isInstance));
+    }
+}
@@ -0,0 +1,91 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.audit.UserAuditTrail;
+import com.EduLift.backend.service.UserETagService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Mongo Config Tests")
+class MongoConfigTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final IndexOperations indexOps = mock(IndexOperations.class);
+
+    private static IndexInfo existing(String name) {
+        return new IndexInfo(List.of(IndexField.create("ignored", Sort.Direction.ASC)), name, false, false, "");
+    }
+
+    @Test
+    @DisplayName("Should derive the index names MongoDB generates")
+    void shouldDeriveIndexNames() {
+        assertEquals("createdAt_-1", MongoConfig.indexName(new Index().on("createdAt", Sort.Direction.DESC)));
+        assertEquals("roles_1_groupHomeId_1", MongoConfig.indexName(new Index()
+                .on("roles", Sort.Direction.ASC)
+                .on("groupHomeId", Sort.Direction.ASC)));
+        assertEquals("custom", MongoConfig.indexName(new Index().on("email", Sort.Direction.ASC).named("custom")));
+    }
+
+    @Test
+    @DisplayName("Should create only the indexes that are missing")
+    void shouldCreateOnlyMissingIndexes() {
+        List<IndexInfo> present = MongoConfig.userIndexes().stream()
+                .map(MongoConfig::indexName)
+                .filter(name -> !name.equals("email_1") && !name.equals(UserETagService.ID_UPDATED_AT_INDEX))
+                .map(MongoConfigTest::existing)
+                .collect(Collectors.toList());
+        when(mongoTemplate.indexOps("users")).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(present);
+
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "mongoTemplate", mongoTemplate);
+
+        assertEquals(2, config.reconcileUserIndexes());
+        verify(indexOps, times(2)).createIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    @DisplayName("Should skip index work on startup when deferred")
+    void shouldSkipStartupWorkWhenDeferred() {
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(config, "deferIndexes", true);
+
+        config.reconcileIndexesOnStartup();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should create the audit history and TTL indexes")
+    void shouldCreateAuditIndexes() {
+        when(mongoTemplate.indexOps(UserAuditTrail.AUDIT_COLLECTION)).thenReturn(indexOps);
+        when(indexOps.getIndexInfo()).thenReturn(List.of(existing("_id_")));
+
+        MongoConfig config = new MongoConfig();
+        ReflectionTestUtils.setField(config, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(config, "auditRetention", Duration.ofDays(30));
+
+        assertEquals(2, config.reconcileAuditIndexes());
+        List<Index> indexes = MongoConfig.auditIndexes(Duration.ofDays(30));
+        assertEquals("userId_1_at_-1", MongoConfig.indexName(indexes.get(0)));
+        assertEquals(30L * 24 * 60 * 60, indexes.get(1).getIndexOptions().get("expireAfterSeconds"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.logging.LockFreeAsyncAppender;
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.monitoring.SlowQuery;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.nio.Buffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Native Hints Config Tests")
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsConfigTest() {
+        new NativeHintsConfig.EduLiftRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Should register nested User classes for field mapping and binding")
+    void shouldRegisterUserMapping() throws NoSuchMethodException {
+        for (Class<?> type : new Class<?>[] {User.class, User.Profile.class, User.Preferences.class, User.ConsentFlags.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                    .test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(User.Profile.class.getMethod("getPhoneNumber")).test(hints));
+    }
+
+    @Test
+    @DisplayName("Should register JSON bodies, logback classes and classpath resources")
+    void shouldRegisterBodiesLoggingAndResources() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SlowQuery.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LockFreeAsyncAppender.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("mongodb-schema-validation.json").test(hints));
+    }
+
+    @Test
+    @DisplayName("Should register what Arrow reflects on and the zstd JNI library")
+    void shouldRegisterArrowAndZstd() throws ReflectiveOperationException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onField(Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Buffer.class.getDeclaredField("address")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onConstructor(Class.forName("java.nio.DirectByteBuffer")
+                .getDeclaredConstructor(long.class, int.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("org.apache.arrow.memory.unsafe.UnsafeAllocationManager")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("linux/amd64/libzstd-jni-1.5.6-6.so").test(hints));
+    }
+
+    @Test
+    @DisplayName("Should never embed the .env file in the native image")
+    void shouldNotRegisterDotenv() {
+        assertFalse(RuntimeHintsPredicates.resource().forResource(".env").test(hints));
+    }
+}
@@ -0,0 +1,60 @@
+package com.EduLift.backend.config;
+
+import com.EduLift.backend.service.UserBatchLoader;
+import com.EduLift.backend.service.UserETagService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("jvm-only")
+@DisplayName("Startup Config Tests")
+class StartupConfigTest {
+
+    private final LazyInitializationExcludeFilter filter = StartupConfig.eagerStartupBeans();
+
+    private boolean isEager(Class<?> type) {
+        return filter.isExcluded("bean", null, type);
+    }
+
+    @Test
+    @DisplayName("Should keep every bean with a @Scheduled method eager")
+    void shouldKeepScheduledBeansEager() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(true);
+        List<String> lazyScheduled = new ArrayList<>();
+        int scheduled = 0;
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.EduLift.backend")) {
+            Class<?> type = ClassUtils.forName(candidate.getBeanClassName(), getClass().getClassLoader());
+            boolean hasSchedule = false;
+            for (var method : ReflectionUtils.getUniqueDeclaredMethods(type)) {
+                hasSchedule |= method.isAnnotationPresent(Scheduled.class);
+            }
+            if (hasSchedule) {
+                scheduled++;
+                if (!isEager(type)) {
+                    lazyScheduled.add(type.getSimpleName());
+                }
+            }
+        }
+
+        assertTrue(scheduled >= 3, "expected the archive, snapshot and rate limit sweep jobs");
+        assertEquals(List.of(), lazyScheduled);
+    }
+
+    @Test
+    @DisplayName("Should leave request-path services lazy")
+    void shouldLeaveRequestPathServicesLazy() {
+        assertFalse(isEager(UserBatchLoader.class));
+        assertFalse(isEager(UserETagService.class));
+    }
+}
@@ -0,0 +1,49 @@
+package com.EduLift.backend.config;
+
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Transaction Config Tests")
+class TransactionConfigTest {
+
+    private static MongoException labelled(String label) {
+        MongoException error = new MongoException(91, "ShutdownInProgress");
+        error.addLabel(label);
+        return error;
+    }
+
+    @Test
+    @DisplayName("Should retry only the commit while its result is unknown")
+    void shouldRetryCommitOnUnknownResult() throws Exception {
+        AtomicInteger commits = new AtomicInteger();
+        TransactionConfig.commitWithRetry(() -> {
+            if (commits.incrementAndGet() < 3) {
+                throw labelled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+            }
+        }, 3, 0);
+        assertEquals(3, commits.get());
+
+        commits.set(0);
+        assertThrows(MongoException.class, () -> TransactionConfig.commitWithRetry(() -> {
+            commits.incrementAndGet();
+            throw labelled(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL);
+        }, 3, 0));
+        assertEquals(3, commits.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry commits that failed for other reasons")
+    void shouldNotRetryOtherCommitErrors() {
+        AtomicInteger commits = new AtomicInteger();
+        assertThrows(MongoException.class, () -> TransactionConfig.commitWithRetry(() -> {
+            commits.incrementAndGet();
+            throw labelled(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        }, 3, 0));
+        assertEquals(1, commits.get());
+    }
+}
@@ -0,0 +1,104 @@
+package com.EduLift.backend.crypto;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Profile Encryption Listener Tests")
+class ProfileEncryptionListenerTest {
+
+    private static final byte[] KEY = new byte[32];
+
+    static {
+        Arrays.fill(KEY, (byte) 7);
+    }
+
+    private final ProfileEncryptionListener listener =
+            new ProfileEncryptionListener(new FieldEncryptor(KEY, 100), new SimpleMeterRegistry());
+
+    private Document userDocument() {
+        return new Document("_id", "u1").append("profile", new Document()
+                .append("firstName", "Ada")
+                .append("phoneNumber", "+15551234567")
+                .append("emergencyPhoneNumber", "+15557654321")
+                .append("dateOfBirth", "2008-04-12")
+                .append("address", "1 Main Street"));
+    }
+
+    private Document save(Document document) {
+        listener.onBeforeSave(new BeforeSaveEvent<>(new User(), document, "users"));
+        return document;
+    }
+
+    @Test
+    @DisplayName("Should encrypt sensitive fields and leave others untouched")
+    void shouldEncryptSensitiveFields() {
+        Document profile = save(userDocument()).get("profile", Document.class);
+
+        assertEquals("Ada", profile.getString("firstName"));
+        assertTrue(profile.getString("phoneNumber").startsWith(FieldEncryptor.DETERMINISTIC_PREFIX));
+        assertTrue(profile.getString("emergencyPhoneNumber").startsWith(FieldEncryptor.DETERMINISTIC_PREFIX));
+        assertTrue(profile.getString("dateOfBirth").startsWith(FieldEncryptor.RANDOMIZED_PREFIX));
+        assertTrue(profile.getString("address").startsWith(FieldEncryptor.RANDOMIZED_PREFIX));
+        assertFalse(profile.toJson().contains("1 Main Street"));
+    }
+
+    @Test
+    @DisplayName("Should make phone numbers queryable and randomize other fields")
+    void shouldKeepPhoneNumbersQueryable() {
+        Document first = save(userDocument()).get("profile", Document.class);
+        Document second = save(userDocument()).get("profile", Document.class);
+
+        assertEquals(first.getString("phoneNumber"), second.getString("phoneNumber"));
+        assertEquals(first.getString("phoneNumber"), listener.phoneNumberQueryValue("+15551234567"));
+        assertNotEquals(first.getString("address"), second.getString("address"));
+    }
+
+    @Test
+    @DisplayName("Should decrypt fields after load")
+    void shouldDecryptAfterLoad() {
+        Document document = save(userDocument());
+        listener.onAfterLoad(new AfterLoadEvent<>(document, User.class, "users"));
+
+        assertEquals(userDocument(), document);
+    }
+
+    @Test
+    @DisplayName("Should pass plaintext documents through unchanged")
+    void shouldPassPlaintextThrough() {
+        Document document = userDocument();
+        listener.onAfterLoad(new AfterLoadEvent<>(document, User.class, "users"));
+
+        assertEquals(userDocument(), document);
+    }
+
+    @Test
+    @DisplayName("Should reject values encrypted under a different key")
+    void shouldRejectForeignKey() {
+        byte[] otherKey = new byte[32];
+        FieldEncryptor other = new FieldEncryptor(otherKey, 0);
+        String foreign = other.encryptRandomized("2008-04-12");
+
+        assertThrows(IllegalStateException.class, () -> new FieldEncryptor(KEY, 0).decrypt(foreign));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when encryption is disabled")
+    void shouldDoNothingWhenDisabled() {
+        ProfileEncryptionListener disabled = new ProfileEncryptionListener(null, new SimpleMeterRegistry());
+        Document document = userDocument();
+        disabled.onBeforeSave(new BeforeSaveEvent<>(new User(), document, "users"));
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(userDocument(), document);
+        assertEquals("+15551234567", disabled.phoneNumberQueryValue("+15551234567"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.EduLift.backend.datagen;
+
+import com.EduLift.backend.BackendApplication;
+import com.EduLift.backend.crypto.ProfileEncryptionListener;
+import com.EduLift.backend.model.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads a synthetic dataset into the users collection using the application's
+ * own MongoDB configuration, indexes and mapping (including field encryption).
+ * Batches are generated and written in parallel with unordered insertMany.
+ *
+ *   mvn -Pdatagen test-compile exec:java -Dexec.args="--edulift.datagen.users=1000000"
+ *
+ * Settings (as --key=value arguments or properties):
+ *   edulift.datagen.users        number of users (default 100000)
+ *   edulift.datagen.seed         dataset seed (default 1)
+ *   edulift.datagen.group-homes  number of group homes (default 2000)
+ *   edulift.datagen.batch-size   documents per insertMany (default 1000)
+ *   edulift.datagen.threads      parallel writers (default: available processors)
+ *   edulift.datagen.clear        drop existing users first (default false)
+ */
+public class SyntheticDataLoader {
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            Environment environment = context.getEnvironment();
+            long users = environment.getProperty("edulift.datagen.users", Long.class, 100_000L);
+            long seed = environment.getProperty("edulift.datagen.seed", Long.class, 1L);
+            int groupHomes = environment.getProperty("edulift.datagen.group-homes", Integer.class, 2_000);
+            int batchSize = environment.getProperty("edulift.datagen.batch-size", Integer.class, 1_000);
+            int threads = environment.getProperty("edulift.datagen.threads", Integer.class,
+                    Runtime.getRuntime().availableProcessors());
+            boolean clear = environment.getProperty("edulift.datagen.clear", Boolean.class, false);
+
+            MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+            if (clear) {
+                mongoTemplate.remove(new Query(), User.class);
+            }
+            // Fixed epoch keeps timestamps reproducible for a given seed
+            LocalDateTime epoch = LocalDateTime.of(2025, 1, 1, 0, 0);
+            SyntheticUserGenerator generator = new SyntheticUserGenerator(seed, groupHomes, epoch);
+
+            long started = System.nanoTime();
+            long inserted = load(mongoTemplate, context.getBean(ProfileEncryptionListener.class),
+                    generator, users, batchSize, threads);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("Inserted %d users in %.1f s (%.0f docs/s)%n", inserted, seconds, inserted / seconds);
+        }
+    }
+
+    static long load(MongoTemplate mongoTemplate, ProfileEncryptionListener encryption,
+                     SyntheticUserGenerator generator, long users, int batchSize, int threads) throws Exception {
+        MongoConverter converter = mongoTemplate.getConverter();
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class));
+        InsertManyOptions options = new InsertManyOptions().ordered(false);
+        AtomicLong inserted = new AtomicLong();
+        long reportEvery = Math.max(batchSize, users / 20);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<?>> batches = new ArrayList<>();
+            for (long from = 0; from < users; from += batchSize) {
+                long start = from;
+                long end = Math.min(users, from + batchSize);
+                batches.add(executor.submit(() -> {
+                    List<Document> documents = new ArrayList<>((int) (end - start));
+                    for (long index = start; index < end; index++) {
+                        User user = generator.generate(index);
+                        Document document = new Document();
+                        converter.write(user, document);
+                        encryption.onBeforeSave(new BeforeSaveEvent<>(user, document, "users"));
+                        documents.add(document);
+                    }
+                    collection.insertMany(documents, options);
+                    long total = inserted.addAndGet(documents.size());
+                    if (total / reportEvery != (total - documents.size()) / reportEvery) {
+                        System.out.printf("  %d / %d%n", total, users);
+                    }
+                }));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return inserted.get();
+    }
+}
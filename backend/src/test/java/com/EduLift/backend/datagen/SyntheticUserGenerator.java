@@ -0,0 +1,204 @@
+package com.EduLift.backend.datagen;
+
+import com.EduLift.backend.model.User;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates realistic User documents for performance work.
+ * Each user depends only on the seed and its index, so any slice of the
+ * dataset can be generated independently (and in parallel) and the same
+ * seed always reproduces the same dataset.
+ *
+ * Shape of the data:
+ * - roles: mostly students, some mentors and counselors, a share of multi-role staff
+ * - group homes: Zipf-sized, so a few homes are very large and most are small
+ * - risk flags: Zipf over the documented flags, with most students carrying none or one
+ * - profile additionalInfo and customPreferences populated with mixed value types
+ */
+public class SyntheticUserGenerator {
+
+    static final List<String> RISK_FLAGS = List.of(
+            "academic_risk", "attendance_risk", "behavioral_risk", "emotional_risk", "family_risk",
+            "social_risk", "housing_risk", "financial_risk", "health_risk", "substance_risk");
+
+    private static final String[] LANGUAGES = {"en", "es", "fr", "pt", "zh", "ar", "de", "it", "ja", "ko"};
+    private static final String[] TIMEZONES = {
+            "America/New_York", "America/Chicago", "America/Denver", "America/Los_Angeles", "UTC"};
+    private static final String[] FIRST_NAMES = {
+            "Aaliyah", "Amir", "Ana", "Ben", "Carlos", "Chloe", "Daniel", "Destiny", "Elijah", "Emma",
+            "Fatima", "Gabriel", "Hannah", "Isaiah", "Jada", "Jamal", "Jasmine", "Jose", "Kayla", "Liam",
+            "Lucia", "Malik", "Maya", "Mei", "Noah", "Olivia", "Omar", "Priya", "Sofia", "Tyler"};
+    private static final String[] LAST_NAMES = {
+            "Adams", "Brown", "Chen", "Davis", "Garcia", "Harris", "Jackson", "Johnson", "Kim", "Lee",
+            "Lopez", "Martinez", "Miller", "Nguyen", "Patel", "Robinson", "Rodriguez", "Smith", "Thomas",
+            "Walker", "White", "Williams", "Wilson", "Young"};
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Park Blvd", "Elm St"};
+    private static final String[] INTERESTS = {
+            "basketball", "coding", "music", "art", "reading", "soccer", "robotics", "cooking", "dance", "chess"};
+    private static final String[] SCHOOLS = {
+            "Lincoln High", "Roosevelt Middle", "Washington High", "Jefferson Academy", "Kennedy Prep"};
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final int groupHomes;
+    private final ZipfDistribution groupHomeSizes;
+    private final ZipfDistribution riskFlags = new ZipfDistribution(RISK_FLAGS.size(), 1.2);
+    private final ZipfDistribution languages = new ZipfDistribution(LANGUAGES.length, 2.0);
+    private final LocalDateTime epoch;
+    private final long historySeconds;
+
+    /**
+     * @param seed       dataset seed
+     * @param groupHomes number of distinct group homes
+     * @param epoch      latest createdAt; users are spread over the five years before it
+     */
+    public SyntheticUserGenerator(long seed, int groupHomes, LocalDateTime epoch) {
+        this.seed = seed;
+        this.groupHomes = groupHomes;
+        this.groupHomeSizes = new ZipfDistribution(groupHomes, 1.05);
+        this.epoch = epoch;
+        this.historySeconds = Duration.ofDays(5 * 365).toSeconds();
+    }
+
+    public static String groupHomeId(int rank) {
+        return String.format("gh_%05d", rank);
+    }
+
+    /**
+     * Generate the user with the given index
+     */
+    public User generate(long index) {
+        SplittableRandom random = new SplittableRandom(seed * GOLDEN_GAMMA + index);
+
+        LocalDateTime createdAt = epoch.minusSeconds(random.nextLong(historySeconds));
+        LocalDateTime updatedAt = random.nextDouble() < 0.6
+                ? createdAt.plusSeconds(random.nextLong(Math.max(1, Duration.between(createdAt, epoch).toSeconds())))
+                : createdAt;
+
+        List<User.Role> roles = roles(random);
+        boolean student = roles.contains(User.Role.STUDENT);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = String.format("%s.%s.%d@example.org", firstName, lastName, index).toLowerCase();
+
+        User user = new User(roles, email);
+        // 24 hex characters (creation seconds + index) so the id maps to an ObjectId in creation order
+        user.setId(String.format("%08x%016x", createdAt.toEpochSecond(ZoneOffset.UTC), index));
+        user.setUsername(email.substring(0, email.indexOf('@')));
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setCreatedAt(createdAt);
+        user.setUpdatedAt(updatedAt);
+        if (!roles.equals(List.of(User.Role.ADMIN))) {
+            user.setGroupHomeId(groupHomeId(groupHomeSizes.sample(random)));
+        }
+        user.setRiskFlags(student ? riskFlags(random) : new ArrayList<>());
+        user.setProfile(profile(random, firstName, lastName, student, createdAt));
+        user.setConsentFlags(consentFlags(random, createdAt));
+        user.setPreferences(preferences(random));
+        return user;
+    }
+
+    private List<User.Role> roles(SplittableRandom random) {
+        double roll = random.nextDouble();
+        Set<User.Role> roles = EnumSet.noneOf(User.Role.class);
+        if (roll < 0.82) {
+            roles.add(User.Role.STUDENT);
+        } else if (roll < 0.92) {
+            roles.add(User.Role.MENTOR);
+        } else if (roll < 0.97) {
+            roles.add(User.Role.COUNSELOR);
+        } else {
+            roles.add(User.Role.ADMIN);
+        }
+        // A share of staff hold several roles
+        if (!roles.contains(User.Role.STUDENT) && random.nextDouble() < 0.25) {
+            roles.add(random.nextBoolean() ? User.Role.MENTOR : User.Role.COUNSELOR);
+        }
+        return new ArrayList<>(roles);
+    }
+
+    private List<String> riskFlags(SplittableRandom random) {
+        // Geometric count: ~45% none, ~25% one, then a long tail
+        Set<String> flags = new LinkedHashSet<>();
+        while (random.nextDouble() < 0.55 && flags.size() < RISK_FLAGS.size()) {
+            flags.add(RISK_FLAGS.get(riskFlags.sample(random)));
+        }
+        return new ArrayList<>(flags);
+    }
+
+    private User.Profile profile(SplittableRandom random, String firstName, String lastName,
+                                 boolean student, LocalDateTime createdAt) {
+        User.Profile profile = new User.Profile(firstName, lastName);
+        profile.setPhoneNumber(String.format("+1%03d%07d", 200 + random.nextInt(800), random.nextInt(10_000_000)));
+        int age = student ? 12 + random.nextInt(7) : 22 + random.nextInt(40);
+        LocalDate born = createdAt.toLocalDate().minusYears(age).minusDays(random.nextInt(365));
+        profile.setDateOfBirth(born.toString());
+        profile.setAddress(String.format("%d %s, Springfield", 1 + random.nextInt(9999), STREETS[random.nextInt(STREETS.length)]));
+        if (student) {
+            profile.setEmergencyContact(LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " (case worker)");
+            profile.setEmergencyPhoneNumber(String.format("+1%03d%07d", 200 + random.nextInt(800), random.nextInt(10_000_000)));
+        }
+
+        Map<String, Object> info = new LinkedHashMap<>();
+        if (student) {
+            info.put("school", SCHOOLS[random.nextInt(SCHOOLS.length)]);
+            info.put("grade", 6 + random.nextInt(7));
+            info.put("gpa", Math.round((1.5 + random.nextDouble() * 2.5) * 100) / 100.0);
+            info.put("iep", random.nextDouble() < 0.18);
+        } else {
+            info.put("yearsExperience", random.nextInt(30));
+            info.put("backgroundCheckCleared", random.nextDouble() < 0.97);
+        }
+        List<String> interests = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            interests.add(INTERESTS[random.nextInt(INTERESTS.length)]);
+        }
+        info.put("interests", interests);
+        profile.setAdditionalInfo(info);
+        return profile;
+    }
+
+    private User.ConsentFlags consentFlags(SplittableRandom random, LocalDateTime createdAt) {
+        User.ConsentFlags flags = new User.ConsentFlags();
+        flags.setDataProcessingConsent(random.nextDouble() < 0.98);
+        flags.setCommunicationConsent(random.nextDouble() < 0.75);
+        flags.setEmergencyContactConsent(random.nextDouble() < 0.9);
+        flags.setPhotoVideoConsent(random.nextDouble() < 0.45);
+        flags.setConsentTimestamp(createdAt.plusMinutes(random.nextInt(60 * 24 * 14)));
+        return flags;
+    }
+
+    private User.Preferences preferences(SplittableRandom random) {
+        User.Preferences preferences = new User.Preferences();
+        preferences.setLanguage(LANGUAGES[languages.sample(random)]);
+        preferences.setTimezone(TIMEZONES[random.nextInt(TIMEZONES.length)]);
+        preferences.setEmailNotifications(random.nextDouble() < 0.85);
+        preferences.setSmsNotifications(random.nextDouble() < 0.3);
+        preferences.setPushNotifications(random.nextDouble() < 0.6);
+        if (random.nextDouble() < 0.3) {
+            Map<String, Object> custom = new LinkedHashMap<>();
+            custom.put("theme", random.nextBoolean() ? "dark" : "light");
+            custom.put("digest", random.nextBoolean() ? "daily" : "weekly");
+            preferences.setCustomPreferences(custom);
+        }
+        return preferences;
+    }
+
+    public int groupHomes() {
+        return groupHomes;
+    }
+}
@@ -0,0 +1,69 @@
+package com.EduLift.backend.datagen;
+
+import com.EduLift.backend.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Synthetic User Generator Tests")
+class SyntheticUserGeneratorTest {
+
+    private final SyntheticUserGenerator generator =
+            new SyntheticUserGenerator(7, 500, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+    @Test
+    @DisplayName("Should generate the same user for the same seed and index")
+    void shouldBeDeterministic() {
+        User first = generator.generate(12_345);
+        User second = new SyntheticUserGenerator(7, 500, LocalDateTime.of(2025, 1, 1, 0, 0)).generate(12_345);
+
+        assertEquals(first.getId(), second.getId());
+        assertEquals(first.getEmail(), second.getEmail());
+        assertEquals(first.getRoles(), second.getRoles());
+        assertEquals(first.getGroupHomeId(), second.getGroupHomeId());
+        assertEquals(first.getRiskFlags(), second.getRiskFlags());
+        assertEquals(first.getProfile().getAdditionalInfo(), second.getProfile().getAdditionalInfo());
+        assertNotEquals(first.getEmail(), generator.generate(12_346).getEmail());
+    }
+
+    @Test
+    @DisplayName("Should produce valid users with skewed group homes and risk flags")
+    void shouldProduceSkewedValidUsers() {
+        Map<String, Integer> groupHomeSizes = new HashMap<>();
+        Map<String, Integer> flagCounts = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            User user = generator.generate(i);
+            assertFalse(user.getRoles().isEmpty());
+            assertEquals(24, user.getId().length());
+            assertTrue(user.getProfile().getDateOfBirth().matches("^[0-9]{4}-[0-9]{2}-[0-9]{2}$"));
+            assertFalse(user.getUpdatedAt().isBefore(user.getCreatedAt()));
+            if (user.getGroupHomeId() != null) {
+                groupHomeSizes.merge(user.getGroupHomeId(), 1, Integer::sum);
+            }
+            user.getRiskFlags().forEach(flag -> flagCounts.merge(flag, 1, Integer::sum));
+        }
+
+        int largest = groupHomeSizes.values().stream().max(Integer::compare).orElseThrow();
+        double average = groupHomeSizes.values().stream().mapToInt(Integer::intValue).average().orElseThrow();
+        assertTrue(largest > 10 * average, "largest group home should dwarf the average");
+        assertTrue(flagCounts.get("academic_risk") > 5 * flagCounts.getOrDefault("substance_risk", 1));
+    }
+
+    @Test
+    @DisplayName("Should sample Zipf ranks in decreasing frequency")
+    void shouldSampleZipf() {
+        ZipfDistribution zipf = new ZipfDistribution(10, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[zipf.size()];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[4] && counts[4] > counts[9]);
+    }
+}
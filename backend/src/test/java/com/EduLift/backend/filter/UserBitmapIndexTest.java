@@ -0,0 +1,183 @@
+package com.EduLift.backend.filter;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Bitmap Index Tests")
+class UserBitmapIndexTest {
+
+    private static final String[] RISK_FLAGS = {"academic_risk", "attendance_risk", "behavioral_risk"};
+    private static final String[] LANGUAGES = {"en", "es", "fr"};
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private UserBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserBitmapIndex(mongoTemplate, new SimpleMeterRegistry(), 600_000);
+    }
+
+    private void stubStream(List<User> users) {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> users.stream());
+    }
+
+    private static User user(String id, String groupHomeId, User.Role role) {
+        User user = new User(List.of(role), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId(groupHomeId);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force scan for random and/or/not filters")
+    void shouldMatchBruteForce() {
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(11, 12, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<User> users = new ArrayList<>();
+        for (long i = 0; i < 3000; i++) {
+            User user = generator.generate(i);
+            if (i % 17 == 0) {
+                user.setDeletedAt(LocalDateTime.of(2024, 6, 1, 0, 0));
+            }
+            users.add(user);
+        }
+        stubStream(users);
+
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            UserFilter filter = randomFilter(random, 3);
+            long expected = users.stream().filter(user -> !user.isDeleted() && matches(filter, user)).count();
+            assertEquals(expected, index.count(filter), filter.toString());
+        }
+
+        UserFilter studentsAtRisk = UserFilter.and(UserFilter.groupHome(SyntheticUserGenerator.groupHomeId(1)),
+                UserFilter.role(User.Role.STUDENT), UserFilter.riskFlag("academic_risk"),
+                UserFilter.consent(UserFilter.Consent.COMMUNICATION), UserFilter.language("es"));
+        List<String> expectedIds = users.stream()
+                .filter(user -> !user.isDeleted() && matches(studentsAtRisk, user))
+                .map(User::getId)
+                .toList();
+        UserBitmapIndex.Page first = index.page(studentsAtRisk, 0, 2);
+        assertEquals(expectedIds.size(), first.total());
+        assertEquals(expectedIds.subList(0, Math.min(2, expectedIds.size())), first.ids());
+        verify(mongoTemplate, times(1)).stream(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    @DisplayName("Should apply changed, deleted and archived users")
+    void shouldApplyChangesOnRefresh() {
+        stubStream(List.of(user("u1", "gh1", User.Role.STUDENT), user("u2", "gh1", User.Role.STUDENT),
+                user("u3", "gh1", User.Role.MENTOR)));
+        index.onUsersChanged(Set.of());
+        assertEquals(2, index.count(UserFilter.and(UserFilter.groupHome("gh1"), UserFilter.role(User.Role.STUDENT))));
+
+        User moved = user("u1", "gh2", User.Role.STUDENT);
+        User deleted = user("u2", "gh1", User.Role.STUDENT);
+        deleted.setDeletedAt(LocalDateTime.now());
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(moved, deleted));
+        index.onUsersChanged(Set.of("u1", "u2", "u3"));
+
+        assertEquals(0, index.count(UserFilter.and(UserFilter.groupHome("gh1"), UserFilter.role(User.Role.STUDENT))));
+        assertEquals(List.of("u1"), index.page(UserFilter.groupHome("gh2"), 0, 10).ids());
+        // u2 is soft-deleted and u3 was archived, so neither is left for not to match
+        assertEquals(0, index.count(UserFilter.not(UserFilter.groupHome("gh2"))));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep ordinals of known users across rebuilds")
+    void shouldKeepOrdinalsAcrossRebuilds() {
+        index = new UserBitmapIndex(mongoTemplate, new SimpleMeterRegistry(), 0);
+        stubStream(List.of(user("b", "gh1", User.Role.STUDENT), user("a", "gh1", User.Role.STUDENT)));
+        index.onUsersChanged(Set.of());
+        assertEquals(List.of("b", "a"), index.page(UserFilter.groupHome("gh1"), 0, 10).ids());
+
+        // A rebuild that sees the users in another order, minus one, plus a newcomer
+        stubStream(List.of(user("c", "gh1", User.Role.STUDENT), user("a", "gh1", User.Role.STUDENT)));
+        index.onUsersChanged(Set.of());
+        assertEquals(List.of("c", "a"), index.page(UserFilter.groupHome("gh1"), 0, 10).ids());
+        assertEquals(List.of("a"), index.page(UserFilter.groupHome("gh1"), 1, 1).ids());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed or oversized filters")
+    void shouldValidateFilters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserFilter(null, null, null, User.Role.STUDENT, "gh1", null, null, null).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserFilter(List.of(), null, null, null, null, null, null, null).validate());
+        assertThrows(IllegalArgumentException.class,
+                () -> new UserFilter(null, null, null, null, null, null, null, null).validate());
+
+        UserFilter deep = UserFilter.role(User.Role.STUDENT);
+        for (int i = 0; i < UserFilter.MAX_DEPTH; i++) {
+            deep = UserFilter.not(deep);
+        }
+        assertThrows(IllegalArgumentException.class, deep::validate);
+
+        UserFilter[] terms = Stream.generate(() -> UserFilter.language("en"))
+                .limit(UserFilter.MAX_TERMS + 1).toArray(UserFilter[]::new);
+        assertThrows(IllegalArgumentException.class, () -> UserFilter.or(terms).validate());
+        UserFilter.and(UserFilter.role(User.Role.MENTOR), UserFilter.not(UserFilter.language("en"))).validate();
+    }
+
+    private static UserFilter randomFilter(Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 8 : 5);
+        return switch (kind) {
+            case 0 -> UserFilter.role(User.Role.values()[random.nextInt(User.Role.values().length)]);
+            case 1 -> UserFilter.groupHome(SyntheticUserGenerator.groupHomeId(1 + random.nextInt(4)));
+            case 2 -> UserFilter.riskFlag(RISK_FLAGS[random.nextInt(RISK_FLAGS.length)]);
+            case 3 -> UserFilter.consent(UserFilter.Consent.values()[random.nextInt(2)]);
+            case 4 -> UserFilter.language(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+            case 5 -> UserFilter.and(randomFilter(random, depth - 1), randomFilter(random, depth - 1));
+            case 6 -> UserFilter.or(randomFilter(random, depth - 1), randomFilter(random, depth - 1));
+            default -> UserFilter.not(randomFilter(random, depth - 1));
+        };
+    }
+
+    private static boolean matches(UserFilter filter, User user) {
+        if (filter.and() != null) {
+            return filter.and().stream().allMatch(child -> matches(child, user));
+        }
+        if (filter.or() != null) {
+            return filter.or().stream().anyMatch(child -> matches(child, user));
+        }
+        if (filter.not() != null) {
+            return !matches(filter.not(), user);
+        }
+        if (filter.role() != null) {
+            return user.getRoles() != null && user.getRoles().contains(filter.role());
+        }
+        if (filter.groupHomeId() != null) {
+            return filter.groupHomeId().equals(user.getGroupHomeId());
+        }
+        if (filter.riskFlag() != null) {
+            return user.getRiskFlags() != null && user.getRiskFlags().contains(filter.riskFlag());
+        }
+        if (filter.consent() != null) {
+            User.ConsentFlags consent = user.getConsentFlags();
+            return consent != null && (filter.consent() == UserFilter.Consent.COMMUNICATION
+                    ? consent.isCommunicationConsent() : consent.isDataProcessingConsent());
+        }
+        return user.getPreferences() != null && filter.language().equals(user.getPreferences().getLanguage());
+    }
+}
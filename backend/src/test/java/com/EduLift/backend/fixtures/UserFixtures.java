@@ -0,0 +1,37 @@
+package com.EduLift.backend.fixtures;
+
+import com.EduLift.backend.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Builders for test users shared by repository tests and the load-test seeder
+ */
+public final class UserFixtures {
+
+    private UserFixtures() {}
+
+    public static User createTestUser(String email, String username, List<User.Role> roles,
+                                      String groupHomeId, List<String> riskFlags,
+                                      boolean communicationConsent) {
+        User user = new User(roles, email);
+        user.setUsername(username);
+        user.setGroupHomeId(groupHomeId);
+        user.setRiskFlags(riskFlags);
+
+        // Set up profile
+        User.Profile profile = new User.Profile("Test", "User");
+        profile.setPhoneNumber("+1234567890");
+        user.setProfile(profile);
+
+        // Set up consent flags
+        User.ConsentFlags consentFlags = new User.ConsentFlags();
+        consentFlags.setDataProcessingConsent(true);
+        consentFlags.setCommunicationConsent(communicationConsent);
+        consentFlags.setConsentTimestamp(LocalDateTime.now());
+        user.setConsentFlags(consentFlags);
+
+        return user;
+    }
+}
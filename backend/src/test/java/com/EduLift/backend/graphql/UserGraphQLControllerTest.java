@@ -0,0 +1,98 @@
+package com.EduLift.backend.graphql;
+
+import com.EduLift.backend.config.GraphQLConfig;
+import com.EduLift.backend.controller.UserGraphQLController;
+import com.EduLift.backend.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@GraphQlTest(UserGraphQLController.class)
+@Import(GraphQLConfig.class)
+@Tag("jvm-only")
+@DisplayName("User GraphQL Controller Tests")
+class UserGraphQLControllerTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @MockitoBean
+    private MongoTemplate mongoTemplate;
+
+    private static User user(String id, String email, String... mentorIds) {
+        User user = new User(new ArrayList<>(Arrays.asList(User.Role.STUDENT)), email);
+        user.setId(id);
+        user.setMentorIds(Arrays.asList(mentorIds));
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should project the selected fields of a roster query")
+    void shouldProjectRosterSelection() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(user("s1", "s1@example.com")));
+
+        graphQlTester.document("{ users(groupHomeId: \"gh_001\") { id email } }")
+                .execute()
+                .path("users[0].email").entity(String.class).isEqualTo("s1@example.com");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(User.class));
+        assertEquals(new Document("_id", 1).append("email", 1), query.getValue().getFieldsObject());
+        assertEquals("gh_001", query.getValue().getQueryObject().get("groupHomeId"));
+        assertEquals(50, query.getValue().getLimit());
+    }
+
+    @Test
+    @DisplayName("Should load mentors of all users in one batched query")
+    void shouldBatchMentorLookups() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            if (query.getQueryObject().containsKey("groupHomeId")) {
+                return List.of(user("s1", "s1@example.com", "m1", "m2"), user("s2", "s2@example.com", "m2"));
+            }
+            return List.of(user("m1", "m1@example.com"), user("m2", "m2@example.com"));
+        });
+
+        graphQlTester.document("{ users(groupHomeId: \"gh_001\") { email mentors { profile { firstName } } } }")
+                .execute()
+                .path("users[0].mentors").entityList(Object.class).hasSize(2)
+                .path("users[1].mentors").entityList(Object.class).hasSize(1);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(User.class));
+        assertEquals(new Document("_id", 1).append("email", 1).append("mentorIds", 1),
+                queries.getAllValues().get(0).getFieldsObject());
+        Query mentorQuery = queries.getAllValues().get(1);
+        assertEquals(new Document("_id", 1).append("profile.firstName", 1), mentorQuery.getFieldsObject());
+        assertEquals(List.of("m1", "m2"), ((Document) mentorQuery.getQueryObject().get("_id")).get("$in"));
+    }
+
+    @Test
+    @DisplayName("Should reject queries over the cost limit before fetching")
+    void shouldRejectCostlyQueries() {
+        graphQlTester.document("{ users(limit: 200) { email mentors { email mentees { email mentors { email } } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertFalse(errors.isEmpty()));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,41 @@
+package com.EduLift.backend.graphql;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("User Projection Tests")
+class UserProjectionTest {
+
+    @Test
+    @DisplayName("Should project only leaf selections as dotted paths")
+    void shouldProjectLeafSelections() {
+        Set<String> paths = UserProjection.paths(List.of(
+                "id", "email", "profile", "profile/firstName", "profile/phoneNumber", "__typename"));
+
+        assertEquals(Set.of("email", "profile.firstName", "profile.phoneNumber"), paths);
+    }
+
+    @Test
+    @DisplayName("Should project relation id arrays instead of the related selection")
+    void shouldProjectRelationIds() {
+        Set<String> paths = UserProjection.paths(List.of(
+                "firstName", "mentors", "mentors/email", "mentors/mentees", "mentors/mentees/id"));
+
+        assertEquals(Set.of("firstName", "mentorIds"), paths);
+    }
+
+    @Test
+    @DisplayName("Should always include _id and never fall back to the full document")
+    void shouldAlwaysIncludeId() {
+        Document fields = UserProjection.apply(new Query(), UserProjection.paths(List.of("id"))).getFieldsObject();
+
+        assertEquals(new Document("_id", 1), fields);
+    }
+}
@@ -2,6 +2,10 @@ package com.EduLift.backend.integration;
 
 import com.EduLift.backend.model.User;
 import com.EduLift.backend.repository.UserRepository;
+import com.EduLift.backend.validation.UserSchemaCases;
+import com.EduLift.backend.validation.UserSchemaValidator;
+import com.mongodb.MongoWriteException;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,9 +14,11 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.index.IndexInfo;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +35,9 @@ class MongoDBSchemaIntegrationTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private UserSchemaValidator userSchemaValidator;
+
     @Test
     @DisplayName("Should create and verify MongoDB indexes")
     void shouldCreateAndVerifyMongoDBIndexes() {
@@ -162,5 +171,31 @@ class MongoDBSchemaIntegrationTest {
         
         System.out.println("✅ Validation constraints are properly defined in the model");
     }
-}
 
+    @Test
+    @DisplayName("Should reject the same documents in-process as the server-side validator")
+    void shouldMatchServerSideValidation() throws IOException {
+        String collection = "users_schema_parity";
+        if (mongoTemplate.collectionExists(collection)) {
+            mongoTemplate.dropCollection(collection);
+        }
+        mongoTemplate.getDb().runCommand(new Document("create", collection)
+                .append("validator", new Document("$jsonSchema", Document.parse(UserSchemaValidator.loadSchema().toString()))));
+
+        for (Map.Entry<String, UserSchemaCases.Case> entry : UserSchemaCases.all().entrySet()) {
+            Document document = entry.getValue().document();
+            boolean inProcess = userSchemaValidator.validate(document).isEmpty();
+            boolean server;
+            try {
+                mongoTemplate.getCollection(collection).insertOne(document);
+                server = true;
+            } catch (MongoWriteException e) {
+                assertEquals(121, e.getCode(), entry.getKey());
+                server = false;
+            }
+            assertEquals(entry.getValue().accepted(), server, entry.getKey() + " (server)");
+            assertEquals(server, inProcess, entry.getKey() + " (in-process)");
+        }
+        mongoTemplate.dropCollection(collection);
+    }
+}
@@ -0,0 +1,85 @@
+package com.EduLift.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Side-by-side comparison of two load test reports, e.g. the main branch
+ * against a candidate build run with the same settings.
+ * Deltas are relative changes of the candidate against the baseline.
+ */
+public record LoadTestComparison(String baseline, String candidate, Map<String, Delta> operations) {
+
+    public record Delta(double baselineThroughput, double candidateThroughput, double throughputChange,
+                        double baselineP50Ms, double candidateP50Ms, double p50Change,
+                        double baselineP99Ms, double candidateP99Ms, double p99Change,
+                        double baselineErrorRate, double candidateErrorRate) {}
+
+    public static LoadTestComparison of(LoadTestReport baseline, LoadTestReport candidate) {
+        Map<String, Delta> deltas = new LinkedHashMap<>();
+        baseline.operations().forEach((name, before) -> {
+            LoadTestReport.OperationStats after = candidate.operations().get(name);
+            if (after != null) {
+                deltas.put(name, delta(before, after));
+            }
+        });
+        deltas.put("TOTAL", delta(baseline.total(), candidate.total()));
+        return new LoadTestComparison(baseline.label(), candidate.label(), deltas);
+    }
+
+    private static Delta delta(LoadTestReport.OperationStats before, LoadTestReport.OperationStats after) {
+        return new Delta(before.throughput(), after.throughput(), change(before.throughput(), after.throughput()),
+                before.p50Ms(), after.p50Ms(), change(before.p50Ms(), after.p50Ms()),
+                before.p99Ms(), after.p99Ms(), change(before.p99Ms(), after.p99Ms()),
+                errorRate(before), errorRate(after));
+    }
+
+    static double change(double before, double after) {
+        return before == 0 ? 0.0 : (after - before) / before;
+    }
+
+    private static double errorRate(LoadTestReport.OperationStats stats) {
+        return stats.requests() == 0 ? 0.0
+                : (double) (stats.serverErrors() + stats.failures()) / stats.requests();
+    }
+
+    public void writeJson(Path json) throws IOException {
+        Files.createDirectories(json.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), this);
+    }
+
+    public void writeHtml(Path html) throws IOException {
+        StringBuilder rows = new StringBuilder();
+        operations.forEach((name, d) -> rows.append(String.format(
+                "<tr><td>%s</td><td>%.1f</td><td>%.1f</td><td>%+.1f%%</td><td>%.2f</td><td>%.2f</td><td>%+.1f%%</td>"
+                        + "<td>%.2f</td><td>%.2f</td><td>%+.1f%%</td><td>%.2f%%</td><td>%.2f%%</td></tr>%n",
+                name, d.baselineThroughput(), d.candidateThroughput(), d.throughputChange() * 100,
+                d.baselineP50Ms(), d.candidateP50Ms(), d.p50Change() * 100,
+                d.baselineP99Ms(), d.candidateP99Ms(), d.p99Change() * 100,
+                d.baselineErrorRate() * 100, d.candidateErrorRate() * 100)));
+
+        String page = """
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>EduLift load test: %s vs %s</title>
+                <style>body{font-family:sans-serif}table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}td:first-child{text-align:left}</style>
+                </head><body>
+                <h1>EduLift load test: %s vs %s</h1>
+                <table>
+                <tr><th>operation</th><th>req/s before</th><th>req/s after</th><th>change</th>
+                <th>p50 before</th><th>p50 after</th><th>change</th><th>p99 before</th><th>p99 after</th><th>change</th>
+                <th>errors before</th><th>errors after</th></tr>
+                %s</table>
+                </body></html>
+                """.formatted(LoadTestReport.escape(baseline), LoadTestReport.escape(candidate),
+                LoadTestReport.escape(baseline), LoadTestReport.escape(candidate), rows);
+        Files.createDirectories(html.toAbsolutePath().getParent());
+        Files.writeString(html, page, StandardCharsets.UTF_8);
+    }
+}
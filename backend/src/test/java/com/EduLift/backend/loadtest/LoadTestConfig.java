@@ -0,0 +1,73 @@
+package com.EduLift.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from loadtest.* system properties
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        String mongoUri,
+        String database,
+        boolean seed,
+        int users,
+        int groupHomes,
+        long randomSeed,
+        int targetRps,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        int clients,
+        Map<Operation, Integer> mix,
+        String label,
+        Path outputDirectory) {
+
+    /**
+     * Default traffic mix: mostly reads, with a steady trickle of writes
+     */
+    static final String DEFAULT_MIX = "GET_BY_ID=60,LIST_BY_GROUP_HOME=20,CREATE=8,UPDATE=10,DELETE=2";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                System.getProperty("loadtest.mongo-uri", "mongodb://localhost:27017"),
+                System.getProperty("loadtest.database", "edulift"),
+                Boolean.parseBoolean(System.getProperty("loadtest.seed", "true")),
+                Integer.getInteger("loadtest.users", 10_000),
+                Integer.getInteger("loadtest.group-homes", 50),
+                Long.getLong("loadtest.random-seed", 42L),
+                Integer.getInteger("loadtest.rps", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10L)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L)),
+                Integer.getInteger("loadtest.max-in-flight", 1_000),
+                Integer.getInteger("loadtest.clients", 20),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                System.getProperty("loadtest.label", "run"),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest")));
+    }
+
+    /**
+     * Parse a mix such as "GET_BY_ID=60,CREATE=40" into operation weights
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + pair[0]);
+            }
+            weights.put(Operation.valueOf(pair[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain at least one positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,279 @@
+package com.EduLift.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load test for UserController.
+ * Requests are dispatched on a fixed schedule at the target rate regardless
+ * of how fast the server answers, and latency is measured from the scheduled
+ * send time. Results are written to {output}/{label}.json and .html.
+ *
+ * Run a load test (the application must be running):
+ *   mvn -Ploadtest test-compile exec:java -Dloadtest.rps=300 -Dloadtest.label=main
+ * Compare two runs:
+ *   mvn -Ploadtest test-compile exec:java -Dexec.args="compare target/loadtest/main.json target/loadtest/branch.json"
+ */
+public class LoadTestDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Random random;
+    private final List<Operation> weightedOperations = new ArrayList<>();
+    private final List<String> userIds = new ArrayList<>();
+    private final Semaphore inFlight;
+    private Map<Operation, Stats> stats = newStats();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && "compare".equals(args[0])) {
+            LoadTestComparison comparison = LoadTestComparison.of(
+                    LoadTestReport.read(Path.of(args[1])), LoadTestReport.read(Path.of(args[2])));
+            Path output = Path.of(args[2]).toAbsolutePath().getParent();
+            String name = comparison.baseline() + "-vs-" + comparison.candidate();
+            comparison.writeJson(output.resolve(name + ".json"));
+            comparison.writeHtml(output.resolve(name + ".html"));
+            System.out.println("Comparison written to " + output.resolve(name + ".html"));
+            return;
+        }
+
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (config.seed()) {
+            System.out.printf("Seeding %d users across %d group homes...%n", config.users(), config.groupHomes());
+            LoadTestSeeder.seed(config);
+        }
+        LoadTestReport report = new LoadTestDriver(config).run();
+        report.writeJson(config.outputDirectory().resolve(config.label() + ".json"));
+        report.writeHtml(config.outputDirectory().resolve(config.label() + ".html"));
+        System.out.printf("%.1f req/s, p50 %.2f ms, p99 %.2f ms. Report: %s%n",
+                report.total().throughput(), report.total().p50Ms(), report.total().p99Ms(),
+                config.outputDirectory().resolve(config.label() + ".html").toAbsolutePath());
+    }
+
+    public LoadTestDriver(LoadTestConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.random = new Random(config.randomSeed());
+        this.inFlight = new Semaphore(config.maxInFlight());
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weightedOperations.add(operation);
+            }
+        });
+        for (int i = 0; i < config.users(); i++) {
+            userIds.add(LoadTestSeeder.idFor(i));
+        }
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.targetRps());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        boolean measuring = config.warmup().isZero();
+
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * periodNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            if (!measuring && scheduled >= measureFrom) {
+                drain();
+                stats = newStats();
+                measuring = true;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = weightedOperations.get(random.nextInt(weightedOperations.size()));
+            HttpRequest request = request(operation, i);
+            Stats target = stats.get(operation);
+            if (request == null || !inFlight.tryAcquire()) {
+                target.dropped.increment();
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        target.record(scheduled, response, error);
+                        if (operation == Operation.CREATE && response != null && response.statusCode() == 201) {
+                            rememberCreated(response.body());
+                        }
+                    });
+        }
+        drain();
+        return report(config.duration().toNanos() / 1e9);
+    }
+
+    private HttpRequest request(Operation operation, long sequence) {
+        String base = config.baseUrl() + "/api/users";
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .header("X-API-Key", "loadtest-client-" + (sequence % config.clients()));
+
+        switch (operation) {
+            case GET_BY_ID -> {
+                String id = pickUser(false);
+                return id == null ? null : builder.uri(URI.create(base + "/" + id)).GET().build();
+            }
+            case LIST_BY_GROUP_HOME -> {
+                String groupHome = LoadTestSeeder.groupHomeFor(random.nextInt(config.groupHomes()));
+                return builder.uri(URI.create(base + "?groupHomeId="
+                        + URLEncoder.encode(groupHome, StandardCharsets.UTF_8))).GET().build();
+            }
+            case CREATE -> {
+                String name = "lt-new-" + UUID.randomUUID();
+                String body = """
+                        {"roles":["STUDENT"],"email":"%s@example.com","username":"%s","groupHomeId":"%s"}"""
+                        .formatted(name, name, LoadTestSeeder.groupHomeFor(random.nextInt(config.groupHomes())));
+                return builder.uri(URI.create(base)).header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            }
+            case UPDATE -> {
+                String id = pickUser(false);
+                if (id == null) {
+                    return null;
+                }
+                String body = """
+                        {"username":"%s","email":"%s@example.com","firstName":"Load","lastName":"Test %d"}"""
+                        .formatted(id, id, sequence);
+                return builder.uri(URI.create(base + "/" + id)).header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body)).build();
+            }
+            case DELETE -> {
+                String id = pickUser(true);
+                return id == null ? null : builder.uri(URI.create(base + "/" + id)).DELETE().build();
+            }
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private String pickUser(boolean remove) {
+        synchronized (userIds) {
+            if (userIds.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(userIds.size());
+            String id = userIds.get(index);
+            if (remove) {
+                // Swap-remove so deleted users are never picked again
+                userIds.set(index, userIds.get(userIds.size() - 1));
+                userIds.remove(userIds.size() - 1);
+            }
+            return id;
+        }
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            JsonNode id = MAPPER.readTree(body).get("id");
+            if (id != null) {
+                synchronized (userIds) {
+                    userIds.add(id.asText());
+                }
+            }
+        } catch (Exception ignored) {
+            // An unparseable body only means the user is not reused
+        }
+    }
+
+    private void drain() throws InterruptedException {
+        if (inFlight.tryAcquire(config.maxInFlight(), 60, TimeUnit.SECONDS)) {
+            inFlight.release(config.maxInFlight());
+        }
+    }
+
+    private LoadTestReport report(double seconds) {
+        Map<String, LoadTestReport.OperationStats> operations = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        long[] totals = new long[6];
+        stats.forEach((operation, s) -> {
+            if (config.mix().getOrDefault(operation, 0) == 0) {
+                return;
+            }
+            operations.put(operation.name(), s.toOperationStats(seconds));
+            total.add(s.latencyMicros);
+            totals[0] += s.succeeded.sum();
+            totals[1] += s.throttled.sum();
+            totals[2] += s.clientErrors.sum();
+            totals[3] += s.serverErrors.sum();
+            totals[4] += s.failures.sum();
+            totals[5] += s.dropped.sum();
+        });
+        return new LoadTestReport(config.label(), config.baseUrl(), config.targetRps(), seconds, operations,
+                LoadTestReport.OperationStats.of(total, totals[0], totals[1], totals[2], totals[3],
+                        totals[4], totals[5], seconds));
+    }
+
+    private static Map<Operation, Stats> newStats() {
+        Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        return stats;
+    }
+
+    private static final class Stats {
+        final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder throttled = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        void record(long scheduledNanos, HttpResponse<String> response, Throwable error) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos);
+            latencyMicros.recordValue(Math.min(Math.max(micros, 0), HIGHEST_LATENCY_MICROS));
+            if (error != null) {
+                failures.increment();
+                return;
+            }
+            int status = response.statusCode();
+            if (status == 429 || status == 503) {
+                throttled.increment();
+            } else if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            } else {
+                succeeded.increment();
+            }
+        }
+
+        LoadTestReport.OperationStats toOperationStats(double seconds) {
+            return LoadTestReport.OperationStats.of(latencyMicros, succeeded.sum(), throttled.sum(),
+                    clientErrors.sum(), serverErrors.sum(), failures.sum(), dropped.sum(), seconds);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.EduLift.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of one load test run, per operation and in total.
+ * Written as JSON (for comparing builds) and as a standalone HTML page.
+ */
+public record LoadTestReport(
+        String label,
+        String baseUrl,
+        int targetRps,
+        double durationSeconds,
+        Map<String, OperationStats> operations,
+        OperationStats total) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Results for a single operation. Latencies are in milliseconds and are
+     * measured from the scheduled send time, so queueing delay in the driver
+     * is not hidden (no coordinated omission).
+     */
+    public record OperationStats(
+            long requests,
+            long succeeded,
+            long throttled,
+            long clientErrors,
+            long serverErrors,
+            long failures,
+            long dropped,
+            double throughput,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs) {
+
+        /**
+         * @param latencyMicros histogram of latencies in microseconds
+         */
+        public static OperationStats of(Histogram latencyMicros, long succeeded, long throttled,
+                                        long clientErrors, long serverErrors, long failures,
+                                        long dropped, double seconds) {
+            long requests = succeeded + throttled + clientErrors + serverErrors + failures;
+            return new OperationStats(requests, succeeded, throttled, clientErrors, serverErrors,
+                    failures, dropped,
+                    seconds > 0 ? requests / seconds : 0.0,
+                    millis(latencyMicros, 50.0),
+                    millis(latencyMicros, 90.0),
+                    millis(latencyMicros, 99.0),
+                    millis(latencyMicros, 99.9),
+                    latencyMicros.getTotalCount() == 0 ? 0.0 : latencyMicros.getMaxValue() / 1_000.0);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getTotalCount() == 0 ? 0.0 : histogram.getValueAtPercentile(percentile) / 1_000.0;
+        }
+    }
+
+    public static LoadTestReport read(Path json) throws IOException {
+        return MAPPER.readValue(json.toFile(), LoadTestReport.class);
+    }
+
+    public void writeJson(Path json) throws IOException {
+        Files.createDirectories(json.toAbsolutePath().getParent());
+        MAPPER.writeValue(json.toFile(), this);
+    }
+
+    public void writeHtml(Path html) throws IOException {
+        StringBuilder rows = new StringBuilder();
+        Map<String, OperationStats> all = new LinkedHashMap<>(operations);
+        all.put("TOTAL", total);
+        all.forEach((name, stats) -> rows.append(String.format(
+                "<tr><td>%s</td><td>%d</td><td>%d</td><td>%d</td><td>%d</td><td>%d</td><td>%d</td>"
+                        + "<td>%.1f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td><td>%.2f</td></tr>%n",
+                name, stats.requests(), stats.succeeded(), stats.throttled(), stats.clientErrors(),
+                stats.serverErrors() + stats.failures(), stats.dropped(), stats.throughput(),
+                stats.p50Ms(), stats.p90Ms(), stats.p99Ms(), stats.p999Ms(), stats.maxMs())));
+
+        String page = """
+                <!DOCTYPE html>
+                <html><head><meta charset="utf-8"><title>EduLift load test: %s</title>
+                <style>body{font-family:sans-serif}table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}td:first-child{text-align:left}</style>
+                </head><body>
+                <h1>EduLift load test: %s</h1>
+                <p>%s &middot; target %d req/s &middot; %.0f s measured</p>
+                <table>
+                <tr><th>operation</th><th>requests</th><th>ok</th><th>throttled</th><th>4xx</th><th>5xx/failed</th><th>dropped</th>
+                <th>req/s</th><th>p50 ms</th><th>p90 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>max ms</th></tr>
+                %s</table>
+                </body></html>
+                """.formatted(escape(label), escape(label), escape(baseUrl), targetRps, durationSeconds, rows);
+        Files.createDirectories(html.toAbsolutePath().getParent());
+        Files.writeString(html, page, StandardCharsets.UTF_8);
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
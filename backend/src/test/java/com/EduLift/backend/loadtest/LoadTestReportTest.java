@@ -0,0 +1,78 @@
+package com.EduLift.backend.loadtest;
+
+import com.EduLift.backend.model.User;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Load Test Report Tests")
+class LoadTestReportTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LoadTestReport report(String label, long latencyMicros) {
+        Histogram histogram = new Histogram(60_000_000L, 3);
+        for (int i = 0; i < 100; i++) {
+            histogram.recordValue(latencyMicros);
+        }
+        LoadTestReport.OperationStats stats = LoadTestReport.OperationStats.of(histogram, 90, 5, 3, 2, 0, 0, 10.0);
+        return new LoadTestReport(label, "http://localhost:8080", 10, 10.0,
+                Map.of(Operation.GET_BY_ID.name(), stats), stats);
+    }
+
+    @Test
+    @DisplayName("Should compute throughput and percentiles")
+    void shouldComputeStats() {
+        LoadTestReport.OperationStats stats = report("main", 2_000).total();
+
+        assertEquals(100, stats.requests());
+        assertEquals(10.0, stats.throughput());
+        assertEquals(2.0, stats.p50Ms(), 0.01);
+        assertEquals(2.0, stats.p99Ms(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should round-trip reports and compare two builds")
+    void shouldCompareReports() throws Exception {
+        Path baseline = tempDir.resolve("main.json");
+        Path candidate = tempDir.resolve("branch.json");
+        report("main", 4_000).writeJson(baseline);
+        report("branch", 2_000).writeJson(candidate);
+
+        LoadTestComparison comparison = LoadTestComparison.of(LoadTestReport.read(baseline), LoadTestReport.read(candidate));
+        comparison.writeHtml(tempDir.resolve("compare.html"));
+
+        assertEquals(-0.5, comparison.operations().get("TOTAL").p50Change(), 0.01);
+        assertEquals(0.0, comparison.operations().get("GET_BY_ID").throughputChange(), 0.01);
+        assertTrue(Files.readString(tempDir.resolve("compare.html")).contains("main vs branch"));
+    }
+
+    @Test
+    @DisplayName("Should parse the traffic mix and reject bad entries")
+    void shouldParseMix() {
+        assertEquals(60, LoadTestConfig.parseMix(LoadTestConfig.DEFAULT_MIX).get(Operation.GET_BY_ID));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("GET_BY_ID"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestConfig.parseMix("CREATE=0"));
+    }
+
+    @Test
+    @DisplayName("Should generate the same synthetic users for the same seed")
+    void shouldSeedDeterministically() {
+        User first = LoadTestSeeder.syntheticUser(7, 50, new Random(42));
+        User second = LoadTestSeeder.syntheticUser(7, 50, new Random(42));
+
+        assertEquals("loadtest-0000007", first.getId());
+        assertEquals(first.getRoles(), second.getRoles());
+        assertEquals(first.getGroupHomeId(), second.getGroupHomeId());
+        assertEquals(first.getRiskFlags(), second.getRiskFlags());
+    }
+}
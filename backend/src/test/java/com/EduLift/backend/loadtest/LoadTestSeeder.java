@@ -0,0 +1,97 @@
+package com.EduLift.backend.loadtest;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.EduLift.backend.fixtures.UserFixtures.createTestUser;
+
+/**
+ * Seeds a local MongoDB with synthetic users for the load test.
+ * Users get predictable ids (loadtest-0000001 ...) so the driver can address
+ * them without listing the collection first.
+ */
+public class LoadTestSeeder {
+
+    static final String ID_PREFIX = "loadtest-";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] RISK_FLAGS = {
+            "academic_risk", "behavioral_risk", "emotional_risk", "attendance_risk", "social_risk"
+    };
+
+    static String idFor(int index) {
+        return String.format("%s%07d", ID_PREFIX, index);
+    }
+
+    static String groupHomeFor(int groupHome) {
+        return String.format("gh_lt_%03d", groupHome);
+    }
+
+    /**
+     * Build the synthetic user with the given index. The same seed and index
+     * always produce the same user.
+     */
+    static User syntheticUser(int index, int groupHomes, Random random) {
+        List<User.Role> roles = new ArrayList<>();
+        double roll = random.nextDouble();
+        if (roll < 0.80) {
+            roles.add(User.Role.STUDENT);
+        } else if (roll < 0.92) {
+            roles.add(User.Role.MENTOR);
+        } else if (roll < 0.98) {
+            roles.add(User.Role.COUNSELOR);
+            if (random.nextBoolean()) {
+                roles.add(User.Role.MENTOR);
+            }
+        } else {
+            roles.add(User.Role.ADMIN);
+        }
+
+        List<String> riskFlags = new ArrayList<>();
+        for (String flag : RISK_FLAGS) {
+            if (random.nextDouble() < 0.15) {
+                riskFlags.add(flag);
+            }
+        }
+
+        String id = idFor(index);
+        User user = createTestUser(id + "@example.com", id, roles,
+                groupHomeFor(random.nextInt(groupHomes)), riskFlags, random.nextDouble() < 0.7);
+        user.setId(id);
+        user.getConsentFlags().setEmergencyContactConsent(random.nextBoolean());
+        user.getConsentFlags().setPhotoVideoConsent(random.nextDouble() < 0.4);
+        user.getProfile().setPhoneNumber(String.format("+1555%07d", index));
+        return user;
+    }
+
+    /**
+     * Replace any previously seeded load test users with a fresh set
+     */
+    public static void seed(LoadTestConfig config) {
+        try (MongoClient client = MongoClients.create(config.mongoUri())) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, config.database());
+            mongoTemplate.remove(Query.query(Criteria.where("_id").regex("^" + ID_PREFIX)), User.class);
+
+            Random random = new Random(config.randomSeed());
+            List<User> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < config.users(); i++) {
+                batch.add(syntheticUser(i, config.groupHomes(), random));
+                if (batch.size() == BATCH_SIZE) {
+                    mongoTemplate.insert(batch, User.class);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                mongoTemplate.insert(batch, User.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.EduLift.backend.loadtest;
+
+/**
+ * Requests issued by the load test driver
+ */
+public enum Operation {
+    GET_BY_ID,
+    LIST_BY_GROUP_HOME,
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,100 @@
+package com.EduLift.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Lock-Free Async Appender Tests")
+class LockFreeAsyncAppenderTest {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final LockFreeAsyncAppender appender = new LockFreeAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        appender.stop();
+        MDC.clear();
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    private void start(int queueSize, ch.qos.logback.core.Appender<ILoggingEvent> target) {
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setQueueSize(queueSize);
+        appender.addAppender(target);
+        target.start();
+        appender.start();
+    }
+
+    @Test
+    @DisplayName("Should deliver events with the MDC captured on the logging thread")
+    void shouldDeliverEventsWithMdc() throws Exception {
+        ListAppender<ILoggingEvent> target = new ListAppender<>();
+        start(16, target);
+
+        MDC.put(RequestIdFilter.REQUEST_ID_KEY, "req-1");
+        appender.doAppend(event(Level.INFO, "first"));
+        MDC.clear();
+        appender.doAppend(event(Level.WARN, "second"));
+        appender.stop();
+
+        assertEquals(2, target.list.size());
+        assertEquals("req-1", target.list.get(0).getMDCPropertyMap().get(RequestIdFilter.REQUEST_ID_KEY));
+        assertEquals("second", target.list.get(1).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should drop low levels above the threshold and count drops without blocking")
+    void shouldDropWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stalled.setContext(context);
+        start(10, stalled);
+        appender.setDiscardingThreshold(50);
+
+        // The writer takes the first event and stalls on it
+        appender.doAppend(event(Level.INFO, "stall"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.INFO, "info " + i));
+        }
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.ERROR, "error " + i));
+        }
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1), "logging must not block");
+
+        assertEquals(15, appender.getDroppedBelowWarn());
+        assertEquals(15, appender.getDroppedWarnAndAbove());
+        assertEquals(10, appender.getQueuedEvents());
+        release.countDown();
+    }
+}
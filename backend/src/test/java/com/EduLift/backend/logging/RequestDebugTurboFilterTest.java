@@ -0,0 +1,54 @@
+package com.EduLift.backend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request Debug Turbo Filter Tests")
+class RequestDebugTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+        MDC.clear();
+    }
+
+    private Logger logger(boolean enabled) {
+        RequestDebugTurboFilter filter = new RequestDebugTurboFilter();
+        filter.setContext(context);
+        filter.setEnabled(enabled);
+        filter.start();
+        context.addTurboFilter(filter);
+        Logger logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        return logger;
+    }
+
+    @Test
+    @DisplayName("Should raise marked requests to DEBUG but not TRACE")
+    void shouldRaiseMarkedRequestsToDebug() {
+        Logger logger = logger(true);
+        assertFalse(logger.isDebugEnabled());
+
+        MDC.put(RequestIdFilter.DEBUG_KEY, "true");
+        assertTrue(logger.isDebugEnabled());
+        assertFalse(logger.isTraceEnabled());
+    }
+
+    @Test
+    @DisplayName("Should ignore the MDC mark when request debug is switched off")
+    void shouldStayInertWhenDisabled() {
+        Logger logger = logger(false);
+        MDC.put(RequestIdFilter.DEBUG_KEY, "true");
+
+        assertFalse(logger.isDebugEnabled());
+    }
+}
@@ -0,0 +1,53 @@
+package com.EduLift.backend.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Request Id Filter Tests")
+class RequestIdFilterTest {
+
+    private Map<String, String> filter(RequestIdFilter filter, MockHttpServletRequest request,
+                                       MockHttpServletResponse response) throws Exception {
+        Map<String, String> seen = new HashMap<>();
+        filter.doFilter(request, response, (req, res) -> seen.putAll(MDC.getCopyOfContextMap()));
+        return seen;
+    }
+
+    @Test
+    @DisplayName("Should reuse a valid incoming request id and clear the MDC afterwards")
+    void shouldReuseRequestId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Map<String, String> mdc = filter(new RequestIdFilter(true), request, response);
+
+        assertEquals("abc-123", mdc.get(RequestIdFilter.REQUEST_ID_KEY));
+        assertEquals("abc-123", response.getHeader(RequestIdFilter.REQUEST_ID_HEADER));
+        assertNull(mdc.get(RequestIdFilter.DEBUG_KEY));
+        assertNull(MDC.get(RequestIdFilter.REQUEST_ID_KEY));
+    }
+
+    @Test
+    @DisplayName("Should replace unsafe request ids and honour the debug header only when enabled")
+    void shouldHandleDebugHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/1");
+        request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, "bad id\nwith newline");
+        request.addHeader(RequestIdFilter.DEBUG_HEADER, "true");
+
+        Map<String, String> enabled = filter(new RequestIdFilter(true), request, new MockHttpServletResponse());
+        Map<String, String> disabled = filter(new RequestIdFilter(false), request, new MockHttpServletResponse());
+
+        assertEquals(36, enabled.get(RequestIdFilter.REQUEST_ID_KEY).length());
+        assertEquals("true", enabled.get(RequestIdFilter.DEBUG_KEY));
+        assertNull(disabled.get(RequestIdFilter.DEBUG_KEY));
+    }
+}
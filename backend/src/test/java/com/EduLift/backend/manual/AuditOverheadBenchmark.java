@@ -0,0 +1,90 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.audit.UserAuditTrail;
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Times what auditing adds to a user update on the request thread (snapshot, diff
+ * and enqueue) while the writer thread maps and "inserts" the entries into a stubbed
+ * collection, so no MongoDB is needed: java ... AuditOverheadBenchmark [updates]
+ */
+public class AuditOverheadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int updates = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, 200, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<User> users = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            users.add(generator.generate(i));
+        }
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        @SuppressWarnings("unchecked")
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollection(UserAuditTrail.AUDIT_COLLECTION)).thenReturn(collection);
+        when(collection.insertMany(anyList(), any(InsertManyOptions.class))).thenReturn(null);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserAuditTrail trail = new UserAuditTrail(mongoTemplate, meterRegistry, true, 65_536, 500,
+                UserAuditTrail.OverflowPolicy.DROP, 50, 1000, 5000);
+        trail.start();
+
+        long[] nanos = new long[updates];
+        long began = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            User user = users.get(i % users.size());
+            long start = System.nanoTime();
+            UserAuditTrail.Snapshot before = UserAuditTrail.snapshot(user);
+            user.setRiskFlags((i / users.size()) % 2 == 0
+                    ? List.of("academic_risk") : List.of("attendance_risk", "academic_risk"));
+            trail.record(user.getId(), before, user, "counselor-7", "update");
+            nanos[i] = System.nanoTime() - start;
+        }
+        while (trail.queued() > 0) {
+            Thread.sleep(10);
+        }
+        trail.stop();
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        // The first half warms up the JIT
+        long[] measured = Arrays.copyOfRange(nanos, updates / 2, updates);
+        Arrays.sort(measured);
+        double written = meterRegistry.get("edulift.audit.written").counter().count();
+        // Updates are issued back to back, far faster than real writes that each wait for MongoDB,
+        // so the queue fills and drops show the overflow policy at work
+        System.out.printf("audited updates: %,d in %.2f s, written: %,.0f (%,.0f/s), dropped: %,.0f%n", updates,
+                seconds, written, written / seconds,
+                meterRegistry.get("edulift.audit.dropped").tag("reason", "queue-full").counter().count());
+        System.out.printf("request-path overhead: p50 %.2f us, p99 %.2f us, p99.9 %.2f us%n",
+                measured[measured.length / 2] / 1000.0,
+                measured[(int) (measured.length * 0.99)] / 1000.0,
+                measured[(int) (measured.length * 0.999)] / 1000.0);
+    }
+}
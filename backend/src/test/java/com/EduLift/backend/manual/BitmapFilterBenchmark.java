@@ -0,0 +1,113 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.filter.UserBitmapIndex;
+import com.EduLift.backend.filter.UserFilter;
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Times filter counts and first pages on the bitmap index against a linear scan
+ * of the same users held on the heap (a lower bound for any query that has to
+ * look at every candidate document). The users come from the synthetic generator
+ * through a stubbed MongoTemplate, so no MongoDB is needed:
+ * java ... BitmapFilterBenchmark [users]
+ */
+public class BitmapFilterBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 1000;
+
+    public static void main(String[] args) {
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, 200, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<User> users = new ArrayList<>(userCount);
+        for (long i = 0; i < userCount; i++) {
+            users.add(generator.generate(i));
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> users.stream());
+        UserBitmapIndex index = new UserBitmapIndex(mongoTemplate, new SimpleMeterRegistry(), 600_000);
+        long start = System.nanoTime();
+        index.onUsersChanged(Set.of());
+        System.out.printf("indexed %,d users in %d ms%n%n", index.size(), (System.nanoTime() - start) / 1_000_000);
+
+        String largestHome = SyntheticUserGenerator.groupHomeId(1);
+        String smallHome = SyntheticUserGenerator.groupHomeId(150);
+        Map<String, UserFilter> filters = new LinkedHashMap<>();
+        filters.put("students", UserFilter.role(User.Role.STUDENT));
+        filters.put("home+student+risk+consent+es", UserFilter.and(UserFilter.groupHome(largestHome),
+                UserFilter.role(User.Role.STUDENT), UserFilter.riskFlag("academic_risk"),
+                UserFilter.consent(UserFilter.Consent.COMMUNICATION), UserFilter.language("es")));
+        filters.put("small home+student", UserFilter.and(UserFilter.groupHome(smallHome), UserFilter.role(User.Role.STUDENT)));
+        filters.put("(academic|attendance)&!en", UserFilter.and(
+                UserFilter.or(UserFilter.riskFlag("academic_risk"), UserFilter.riskFlag("attendance_risk")),
+                UserFilter.not(UserFilter.language("en"))));
+        filters.put("mentors without consent", UserFilter.and(UserFilter.role(User.Role.MENTOR),
+                UserFilter.not(UserFilter.consent(UserFilter.Consent.COMMUNICATION))));
+
+        System.out.printf("%-30s %10s %12s %12s %12s%n", "filter", "matches", "count us", "page us", "scan us");
+        filters.forEach((label, filter) -> {
+            Predicate<User> predicate = user -> !user.isDeleted() && matches(filter, user);
+            long count = index.count(filter);
+            double countMicros = time(() -> index.count(filter));
+            double pageMicros = time(() -> index.page(filter, 0, 50));
+            double scanMicros = time(() -> users.stream().filter(predicate).count());
+            System.out.printf("%-30s %,10d %12.1f %12.1f %12.1f%n", label, count, countMicros, pageMicros, scanMicros);
+        });
+    }
+
+    private static double time(Runnable operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / MEASURED_ROUNDS;
+    }
+
+    private static boolean matches(UserFilter filter, User user) {
+        if (filter.and() != null) {
+            return filter.and().stream().allMatch(child -> matches(child, user));
+        }
+        if (filter.or() != null) {
+            return filter.or().stream().anyMatch(child -> matches(child, user));
+        }
+        if (filter.not() != null) {
+            return !matches(filter.not(), user);
+        }
+        if (filter.role() != null) {
+            return user.getRoles() != null && user.getRoles().contains(filter.role());
+        }
+        if (filter.groupHomeId() != null) {
+            return filter.groupHomeId().equals(user.getGroupHomeId());
+        }
+        if (filter.riskFlag() != null) {
+            return user.getRiskFlags() != null && user.getRiskFlags().contains(filter.riskFlag());
+        }
+        if (filter.consent() != null) {
+            User.ConsentFlags consent = user.getConsentFlags();
+            return consent != null && (filter.consent() == UserFilter.Consent.COMMUNICATION
+                    ? consent.isCommunicationConsent() : consent.isDataProcessingConsent());
+        }
+        return user.getPreferences() != null && filter.language().equals(user.getPreferences().getLanguage());
+    }
+}
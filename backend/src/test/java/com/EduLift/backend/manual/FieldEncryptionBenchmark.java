@@ -0,0 +1,128 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.crypto.FieldEncryptor;
+import com.EduLift.backend.crypto.ProfileEncryptionListener;
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Measures the per-read cost of profile field encryption: BSON document to
+ * User mapping for plaintext documents, encrypted documents with a cold and a
+ * warm decryption cache, and a projection that leaves the profile out.
+ * Run as a plain Java application; no MongoDB is needed.
+ */
+public class FieldEncryptionBenchmark {
+
+    private static final int DOCUMENTS = 10_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) throws Exception {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        Path keyFile = Files.createTempFile("edulift-field-key", ".b64");
+        Files.writeString(keyFile, Base64.getEncoder().encodeToString(key));
+
+        List<Document> plaintext = new ArrayList<>();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Document document = new Document();
+            converter.write(user(i), document);
+            plaintext.add(document);
+        }
+
+        ProfileEncryptionListener writer = new ProfileEncryptionListener(new SimpleMeterRegistry(), keyFile.toString(), 0);
+        List<Document> encrypted = new ArrayList<>();
+        for (Document document : plaintext) {
+            Document copy = deepCopy(document);
+            writer.onBeforeSave(new BeforeSaveEvent<>(new User(), copy, "users"));
+            encrypted.add(copy);
+        }
+
+        ProfileEncryptionListener uncached = new ProfileEncryptionListener(new SimpleMeterRegistry(), keyFile.toString(), 0);
+        ProfileEncryptionListener cached = new ProfileEncryptionListener(new SimpleMeterRegistry(), keyFile.toString(), DOCUMENTS * 4);
+
+        System.out.printf("%-34s %12s%n", "scenario", "us/read");
+        report("plaintext", measure(converter, plaintext, null, false));
+        report("encrypted, no cache", measure(converter, encrypted, uncached, false));
+        report("encrypted, warm cache", measure(converter, encrypted, cached, false));
+        report("encrypted, profile projected out", measure(converter, encrypted, uncached, true));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < DOCUMENTS; i++) {
+            writer.onBeforeSave(new BeforeSaveEvent<>(new User(), deepCopy(plaintext.get(i)), "users"));
+        }
+        report("encrypt on save (incl. copy)", (System.nanoTime() - start) / 1_000.0 / DOCUMENTS);
+        Files.deleteIfExists(keyFile);
+    }
+
+    private static double measure(MappingMongoConverter converter, List<Document> documents,
+                                  ProfileEncryptionListener listener, boolean withoutProfile) {
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Document> batch = new ArrayList<>(documents.size());
+            for (Document document : documents) {
+                Document copy = deepCopy(document);
+                if (withoutProfile) {
+                    copy.remove("profile");
+                }
+                batch.add(copy);
+            }
+            long start = System.nanoTime();
+            for (Document document : batch) {
+                if (listener != null) {
+                    listener.onAfterLoad(new AfterLoadEvent<>(document, User.class, "users"));
+                }
+                converter.read(User.class, document);
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1_000.0 / documents.size());
+        }
+        return best;
+    }
+
+    private static void report(String scenario, double micros) {
+        System.out.printf("%-34s %12.2f%n", scenario, micros);
+    }
+
+    private static Document deepCopy(Document document) {
+        Document copy = new Document(document);
+        if (document.get("profile") instanceof Document profile) {
+            copy.put("profile", new Document(profile));
+        }
+        return copy;
+    }
+
+    private static User user(int i) {
+        User user = new User(Arrays.asList(User.Role.STUDENT), "student" + i + "@example.com");
+        user.setId("user-" + i);
+        user.setGroupHomeId("gh-" + (i % 40));
+        User.Profile profile = new User.Profile("First" + i, "Last" + i);
+        profile.setPhoneNumber(String.format("+1555%07d", i));
+        profile.setEmergencyPhoneNumber(String.format("+1555%07d", i + 1));
+        profile.setDateOfBirth("2008-0" + (1 + i % 9) + "-1" + (i % 10));
+        profile.setAddress(i + " Main Street, Springfield");
+        user.setProfile(profile);
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.matching.MentorCandidateIndex;
+import com.EduLift.backend.matching.MentorMatchingService;
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures cohort matching throughput against a synthetic mentor population.
+ * MongoDB is replaced by a mock that answers the index rebuild and the student
+ * $in query, so the numbers cover ranking only.
+ * Run as a plain Java application with the test classpath.
+ */
+public class MatchingBenchmark {
+
+    private static final String[] LANGUAGES = {"en", "en", "en", "es", "es", "fr", "pt", "vi"};
+    private static final String[] TIMEZONES = {"America/New_York", "America/Chicago", "America/Denver",
+            "America/Los_Angeles", "Europe/Madrid", "America/Sao_Paulo", "Asia/Ho_Chi_Minh"};
+    private static final int COHORT_SIZE = 500;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        for (int mentorsPerHome : new int[] {50, 500, 5000}) {
+            Random random = new Random(42);
+            List<User> mentors = new ArrayList<>();
+            for (int i = 0; i < mentorsPerHome * 4; i++) {
+                User mentor = user("m" + i, User.Role.MENTOR, "gh_" + (i % 4), random);
+                List<String> mentees = new ArrayList<>();
+                for (int j = random.nextInt(7); j > 0; j--) {
+                    mentees.add("s" + random.nextInt(1000));
+                }
+                mentor.setMenteeIds(mentees);
+                mentors.add(mentor);
+            }
+            List<User> students = new ArrayList<>();
+            List<String> studentIds = new ArrayList<>();
+            for (int i = 0; i < COHORT_SIZE; i++) {
+                students.add(user("s" + i, User.Role.STUDENT, "gh_" + (i % 4), random));
+                studentIds.add("s" + i);
+            }
+
+            MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+            when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(mentors);
+            when(mongoTemplate.find(argThat((Query query) -> query.getQueryObject().containsKey("_id")), eq(User.class)))
+                    .thenReturn(students);
+            MentorCandidateIndex index = new MentorCandidateIndex(mongoTemplate, new SimpleMeterRegistry(), 600_000);
+            MentorMatchingService service = new MentorMatchingService(mongoTemplate, index,
+                    new SimpleMeterRegistry(), 5, 20, 0);
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                service.matchCohort(studentIds, 5);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                service.matchCohort(studentIds, 5);
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+
+            System.out.printf("%5d mentors/home: %6.2f ms per %d-student cohort, %,10.0f students/s%n",
+                    mentorsPerHome, millis, COHORT_SIZE, COHORT_SIZE * 1000 / millis);
+            service.shutdown();
+        }
+    }
+
+    private static User user(String id, User.Role role, String groupHomeId, Random random) {
+        User user = new User(Arrays.asList(role), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId(groupHomeId);
+        user.getPreferences().setLanguage(LANGUAGES[random.nextInt(LANGUAGES.length)]);
+        user.getPreferences().setTimezone(TIMEZONES[random.nextInt(TIMEZONES.length)]);
+        return user;
+    }
+}
@@ -0,0 +1,152 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.ratelimit.AdaptiveConcurrencyLimiter;
+import com.EduLift.backend.ratelimit.ExpensiveEndpoint;
+import com.EduLift.backend.ratelimit.RateLimitInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives the interceptor against a simulated MongoDB connection pool to show that
+ * well-behaved clients keep a flat p99 while a single client floods an expensive
+ * endpoint, with and without limits: java ... RateLimitLoadBenchmark
+ */
+public class RateLimitLoadBenchmark {
+
+    private static final int POOL_SIZE = 4;
+    private static final long SERVICE_MILLIS = 2;
+
+    /**
+     * Stand-in for controller methods so the interceptor can classify them
+     */
+    static class Endpoints {
+        public void lookup() {}
+
+        @ExpensiveEndpoint
+        public void list() {}
+    }
+
+    private static final Semaphore MONGO_POOL = new Semaphore(POOL_SIZE, true);
+
+    private static RateLimitInterceptor interceptor(boolean enabled, AdaptiveConcurrencyLimiter limiter) {
+        return new RateLimitInterceptor(limiter, new SimpleMeterRegistry(), enabled, 500, 50, 5, 5);
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(method));
+    }
+
+    /**
+     * One request through the interceptor and the simulated pool.
+     * Returns the latency in nanoseconds, or -1 when the request was rejected.
+     */
+    private static long call(RateLimitInterceptor interceptor, AdaptiveConcurrencyLimiter limiter,
+                      String apiKey, HandlerMethod handler) throws InterruptedException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RateLimitInterceptor.API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = System.nanoTime();
+        if (!interceptor.preHandle(request, response, handler)) {
+            return -1;
+        }
+        try {
+            MONGO_POOL.acquire();
+            try {
+                TimeUnit.MILLISECONDS.sleep(SERVICE_MILLIS);
+            } finally {
+                MONGO_POOL.release();
+            }
+            long elapsed = System.nanoTime() - start;
+            limiter.onSample(elapsed, System.nanoTime());
+            return elapsed;
+        } finally {
+            interceptor.afterCompletion(request, response, handler, null);
+        }
+    }
+
+    /**
+     * Run well-behaved clients, optionally alongside a flooding client, and return their p99 in nanoseconds
+     */
+    private static long wellBehavedP99(boolean limiting, boolean flood, AtomicInteger floodRejected) throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(POOL_SIZE, 2, 64, 2.0, 0.9,
+                TimeUnit.SECONDS.toNanos(30));
+        RateLimitInterceptor interceptor = interceptor(limiting, limiter);
+        HandlerMethod lookup = handler("lookup");
+        HandlerMethod list = handler("list");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> flooders = new ArrayList<>();
+        if (flood) {
+            for (int t = 0; t < 16; t++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        while (running.get()) {
+                            if (call(interceptor, limiter, "flooder", list) < 0) {
+                                floodRejected.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                flooders.add(thread);
+                thread.start();
+            }
+        }
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> clients = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            String apiKey = "client-" + c;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 150; i++) {
+                        long latency = call(interceptor, limiter, apiKey, lookup);
+                        if (latency >= 0) {
+                            latencies.add(latency);
+                        }
+                        TimeUnit.MILLISECONDS.sleep(5);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            clients.add(thread);
+            thread.start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        running.set(false);
+        for (Thread thread : flooders) {
+            thread.join();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+
+        long baseline = wellBehavedP99(true, false, new AtomicInteger());
+        long protectedP99 = wellBehavedP99(true, true, rejected);
+        long unprotectedP99 = wellBehavedP99(false, true, new AtomicInteger());
+
+        System.out.printf("well-behaved p99: baseline=%.1fms, flood+limits=%.1fms, flood without limits=%.1fms%n",
+                baseline / 1e6, protectedP99 / 1e6, unprotectedP99 / 1e6);
+        System.out.printf("flooding requests rejected: %,d%n", rejected.get());
+    }
+}
@@ -0,0 +1,178 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.replica.UserRecordStore;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Compares user lookups served from the memory-mapped read replica with the
+ * same lookups against MongoDB. The replica side runs without a database; pass
+ * a connection string to also measure MongoDB (the users are seeded into a
+ * scratch database which is dropped afterwards):
+ * java --add-opens=java.base/java.nio=ALL-UNNAMED ... ReadReplicaBenchmark [mongodb://localhost:27017] [users]
+ */
+public class ReadReplicaBenchmark {
+
+    private static final String DATABASE = "edulift_replica_benchmark";
+    private static final int GROUP_HOMES = 200;
+    private static final int LOOKUPS = 20_000;
+    private static final int LIST_LOOKUPS = 2_000;
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    public static void main(String[] args) throws Exception {
+        String uri = args.length > 0 && !args[0].isBlank() ? args[0] : null;
+        int userCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, GROUP_HOMES, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<RawBsonDocument> documents = new ArrayList<>(userCount);
+        List<String> ids = new ArrayList<>(userCount);
+        List<String> emails = new ArrayList<>(userCount);
+        List<String> groupHomes = new ArrayList<>(userCount);
+        for (long i = 0; i < userCount; i++) {
+            User user = generator.generate(i);
+            user.setId(new ObjectId().toHexString());
+            Document document = new Document();
+            converter.write(user, document);
+            documents.add(new RawBsonDocument(document, DOCUMENT_CODEC));
+            ids.add(user.getId());
+            emails.add(user.getEmail());
+            if (user.getGroupHomeId() != null && !groupHomes.contains(user.getGroupHomeId())) {
+                groupHomes.add(user.getGroupHomeId());
+            }
+        }
+
+        Path file = Files.createTempFile("users-replica", ".dat");
+        try (UserRecordStore store = new UserRecordStore(file, 64 << 20)) {
+            long heapBefore = usedHeapAfterGc();
+            long start = System.nanoTime();
+            for (RawBsonDocument document : documents) {
+                store.put(document);
+            }
+            long loadNanos = System.nanoTime() - start;
+            long indexHeap = usedHeapAfterGc() - heapBefore;
+            Reference.reachabilityFence(documents);
+            System.out.printf("loaded %,d users in %d ms, %.1f MB mapped, ~%.1f MB of on-heap index%n",
+                    store.size(), loadNanos / 1_000_000, store.usedBytes() / 1e6, indexHeap / 1e6);
+            documents = null;
+
+            System.out.printf("%n%-30s %10s %10s %10s %14s%n", "lookup", "p50 us", "p99 us", "ops/s", "alloc B/op");
+            run("replica findById", LOOKUPS, ids, id -> toUser(converter, store.get(id)));
+            run("replica findByEmail", LOOKUPS, emails, email -> toUser(converter, store.getByEmail(email)));
+            run("replica groupHome+MENTOR", LIST_LOOKUPS, groupHomes, home ->
+                    store.findByGroupHome(home, User.Role.MENTOR).stream().map(raw -> toUser(converter, raw)).toList());
+            run("replica findById (raw only)", LOOKUPS, ids, store::get);
+
+            if (uri != null) {
+                benchmarkMongo(uri, store, ids, emails, groupHomes);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void benchmarkMongo(String uri, UserRecordStore store, List<String> ids,
+                                       List<String> emails, List<String> groupHomes) {
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoTemplate template = new MongoTemplate(client, DATABASE);
+            template.dropCollection(User.class);
+            MongoCollection<RawBsonDocument> collection = template.getCollection(template.getCollectionName(User.class))
+                    .withDocumentClass(RawBsonDocument.class);
+            List<RawBsonDocument> batch = new ArrayList<>(1000);
+            for (String id : ids) {
+                batch.add(store.get(id));
+                if (batch.size() == 1000) {
+                    collection.insertMany(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                collection.insertMany(batch);
+            }
+            template.indexOps(User.class).createIndex(new Index("email", Sort.Direction.ASC));
+            template.indexOps(User.class).createIndex(new Index("groupHomeId", Sort.Direction.ASC).on("roles", Sort.Direction.ASC));
+
+            run("mongo findById", LOOKUPS, ids, id -> template.findById(id, User.class));
+            run("mongo findByEmail", LOOKUPS, emails, email ->
+                    template.findOne(Query.query(Criteria.where("email").is(email)), User.class));
+            run("mongo groupHome+MENTOR", LIST_LOOKUPS, groupHomes, home -> template.find(Query.query(
+                    Criteria.where("groupHomeId").is(home).and("roles").is(User.Role.MENTOR.name())), User.class));
+            template.getDb().drop();
+        }
+    }
+
+    private static User toUser(MongoConverter converter, RawBsonDocument raw) {
+        return raw == null ? null : converter.read(User.class, raw.decode(DOCUMENT_CODEC));
+    }
+
+    private static <T> void run(String label, int lookups, List<T> keys, Function<T, Object> lookup) {
+        Random random = new Random(7);
+        for (int i = 0; i < lookups; i++) {
+            lookup.apply(keys.get(random.nextInt(keys.size())));
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[lookups];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            T key = keys.get(random.nextInt(keys.size()));
+            long began = System.nanoTime();
+            if (lookup.apply(key) == null) {
+                throw new IllegalStateException("No result for " + key);
+            }
+            latencies[i] = System.nanoTime() - began;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-30s %10.1f %10.1f %,10.0f %,14d%n", label,
+                latencies[lookups / 2] / 1000.0, latencies[lookups * 99 / 100] / 1000.0,
+                lookups / (elapsed / 1e9), allocated / lookups);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
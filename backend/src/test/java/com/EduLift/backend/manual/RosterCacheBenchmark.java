@@ -0,0 +1,69 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.service.GroupHomeRosterCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Times a roster cache hit against serializing the same roster with Jackson (what
+ * every request paid before, on top of the MongoDB query), for the largest and a
+ * mid-sized synthetic group home: java ... RosterCacheBenchmark [users]
+ */
+public class RosterCacheBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int MEASURED_ROUNDS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, 200, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<User> users = new ArrayList<>(userCount);
+        for (long i = 0; i < userCount; i++) {
+            users.add(generator.generate(i));
+        }
+        Map<String, List<User>> byHome = users.stream()
+                .filter(user -> user.getGroupHomeId() != null)
+                .collect(Collectors.groupingBy(User::getGroupHomeId));
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        GroupHomeRosterCache cache = new GroupHomeRosterCache(mock(MongoTemplate.class), objectMapper,
+                new SimpleMeterRegistry(), true, 64L * 1024 * 1024, 60_000);
+
+        System.out.printf("%-10s %8s %10s %12s %12s%n", "home", "members", "KB", "jackson us", "hit us");
+        for (int rank : new int[] {1, 50}) {
+            String home = SyntheticUserGenerator.groupHomeId(rank);
+            List<User> roster = byHome.getOrDefault(home, List.of());
+            int bytes = cache.roster(home, null, () -> roster).length;
+            double jackson = time(() -> objectMapper.writeValueAsBytes(roster));
+            double hit = time(() -> cache.roster(home, null, () -> roster));
+            System.out.printf("%-10s %,8d %10.1f %12.2f %12.2f%n", home, roster.size(), bytes / 1024.0, jackson, hit);
+        }
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    private static double time(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / MEASURED_ROUNDS;
+    }
+}
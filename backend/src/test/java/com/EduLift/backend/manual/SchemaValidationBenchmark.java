@@ -0,0 +1,69 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.validation.UserSchemaValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the in-process schema check on mapped synthetic users, valid and invalid.
+ * Run as a plain Java application; no MongoDB is needed.
+ */
+public class SchemaValidationBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) throws IOException {
+        UserSchemaValidator validator = new UserSchemaValidator(new SimpleMeterRegistry(), true);
+
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, 40, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<Document> valid = new ArrayList<>(USERS);
+        List<Document> invalid = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            Document document = new Document();
+            converter.write(generator.generate(i), document);
+            valid.add(document);
+            Document broken = Document.parse(document.toJson());
+            broken.put("email", "broken-" + i);
+            invalid.add(broken);
+        }
+
+        run("valid", validator, valid);
+        run("invalid", validator, invalid);
+    }
+
+    private static void run(String label, UserSchemaValidator validator, List<Document> documents) {
+        long violations = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (Document document : documents) {
+                violations += validator.validate(document).size();
+            }
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            for (Document document : documents) {
+                violations += validator.validate(document).size();
+            }
+        }
+        double nanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS / documents.size();
+        System.out.printf("%-8s %8.2f us/document (%d violations seen)%n", label, nanos / 1000, violations);
+    }
+}
@@ -0,0 +1,80 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.snapshot.UserSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures full snapshot export speed and file size for synthetic users.
+ * MongoDB is replaced by a mock cursor over pre-mapped documents, so the numbers
+ * cover flattening, compression and file I/O only.
+ * Run with --add-opens=java.base/java.nio=ALL-UNNAMED and the test classpath.
+ */
+public class SnapshotExportBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(42, 40, LocalDateTime.of(2024, 1, 1, 0, 0));
+        List<Document> users = new ArrayList<>(USERS);
+        long bsonBytes = 0;
+        for (int i = 0; i < USERS; i++) {
+            Document document = new Document();
+            converter.write(generator.generate(i), document);
+            users.add(document);
+            bsonBytes += new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users")))
+                .thenAnswer(invocation -> users.stream());
+
+        Path directory = Files.createTempDirectory("edulift-snapshots");
+        UserSnapshotService service = new UserSnapshotService(mongoTemplate, new SimpleMeterRegistry(), true,
+                directory.toString(), Duration.ofDays(1), 16384, 1, 0);
+        service.export(true);
+
+        long start = System.nanoTime();
+        UserSnapshotService.SnapshotResult result = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            result = service.export(true);
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / ROUNDS;
+
+        System.out.printf("%,d users: %.0f ms per full export (%,.0f rows/s)%n", USERS, millis, USERS * 1000 / millis);
+        System.out.printf("BSON %,d bytes, snapshot %,d bytes (%.1f%%)%n",
+                bsonBytes, result.bytes(), 100.0 * result.bytes() / bsonBytes);
+        service.shutdown();
+    }
+}
@@ -0,0 +1,145 @@
+package com.EduLift.backend.manual;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time-to-first-request: from launching the process until the first
+ * HTTP response (any status) to GET /, which goes through the dispatcher
+ * without touching MongoDB. Resident set size is sampled at that moment (Linux).
+ * Needs the output of mvn -Pfast-startup package; the native executable built by
+ * mvn -Pnative native:compile is included when target/backend exists:
+ * java ... StartupBenchmark [runs] [target/cds] [extra -D flags for every variant...]
+ */
+public class StartupBenchmark {
+
+    private record Variant(String name, List<String> command, Path workingDirectory) {}
+
+    private record Sample(long millis, long rssKb) {}
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path cdsDirectory = Path.of(args.length > 1 ? args[1] : "target/cds");
+        List<String> extra = args.length > 2 ? Arrays.asList(args).subList(2, args.length) : List.of();
+
+        Path jar;
+        try (var files = Files.list(cdsDirectory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + cdsDirectory + ", run mvn -Pfast-startup package"));
+        }
+        String archive = cdsDirectory.resolve("application.jsa").toString();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        List<Variant> variants = new ArrayList<>(List.of(
+                jarVariant("default", jar, java, extra),
+                jarVariant("lazy init + deferred indexes", jar, java, extra,
+                        "-Dspring.profiles.active=fast-startup"),
+                jarVariant("+ AOT", jar, java, extra,
+                        "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true"),
+                jarVariant("+ AOT + AppCDS", jar, java, extra,
+                        "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true",
+                        "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off")));
+        Path executable = cdsDirectory.toAbsolutePath().getParent().resolve("backend");
+        if (Files.isExecutable(executable)) {
+            List<String> command = new ArrayList<>();
+            command.add(executable.toString());
+            command.add("-Dspring.profiles.active=fast-startup");
+            command.addAll(extra);
+            variants.add(new Variant("native image", command, executable.getParent()));
+        }
+
+        System.out.printf("%-32s %10s %10s %10s %14s%n", "variant", "min ms", "median ms", "max ms", "median RSS MB");
+        for (Variant variant : variants) {
+            long[] millis = new long[runs];
+            long[] rssKb = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Sample sample = timeToFirstRequest(variant);
+                millis[run] = sample.millis();
+                rssKb[run] = sample.rssKb();
+            }
+            Arrays.sort(millis);
+            Arrays.sort(rssKb);
+            System.out.printf("%-32s %10d %10d %10d %14.1f%n", variant.name(),
+                    millis[0], millis[runs / 2], millis[runs - 1], rssKb[runs / 2] / 1024.0);
+        }
+    }
+
+    private static Variant jarVariant(String name, Path jar, String java, List<String> extra, String... jvmArgs) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(Arrays.asList(jvmArgs));
+        command.addAll(extra);
+        command.add("-jar");
+        command.add(jar.getFileName().toString());
+        return new Variant(name, command, jar.toAbsolutePath().getParent());
+    }
+
+    private static Sample timeToFirstRequest(Variant variant) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command());
+        command.add(1, "-Dserver.port=" + port);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(variant.workingDirectory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.to(new File(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null")))
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new Sample(millis, residentSetKb(process.pid()));
+                } catch (IOException e) {
+                    Thread.sleep(5);
+                }
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * VmRSS from /proc, or 0 where that is not available
+     */
+    private static long residentSetKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return 0;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
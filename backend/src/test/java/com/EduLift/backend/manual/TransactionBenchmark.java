@@ -0,0 +1,109 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.service.GroupHomeMembershipService;
+import com.EduLift.backend.service.TransactionRunner;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares mentor assignment throughput with and without multi-document
+ * transactions, under contention on a small pool of mentors.
+ * Needs a replica set (transactions are not available on a standalone mongod):
+ * java ... TransactionBenchmark mongodb://localhost:27017/?replicaSet=rs0 [threads] [seconds]
+ */
+public class TransactionBenchmark {
+
+    private static final String DATABASE = "edulift_tx_benchmark";
+    private static final int STUDENTS = 2_000;
+    private static final int MENTORS = 20;
+
+    public static void main(String[] args) throws Exception {
+        String uri = args.length > 0 ? args[0] : "mongodb://localhost:27017/?replicaSet=rs0";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            SimpleMongoClientDatabaseFactory factory = new SimpleMongoClientDatabaseFactory(client, DATABASE);
+            MongoTemplate template = new MongoTemplate(factory);
+            MongoTransactionManager transactionManager = new MongoTransactionManager(factory);
+
+            System.out.printf("%-16s %10s %10s %10s %10s%n", "mode", "ops/s", "conflicts", "retries", "failures");
+            for (boolean transactional : new boolean[] {false, true}) {
+                seed(template);
+                SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                TransactionRunner runner = new TransactionRunner(transactionManager, registry, transactional, 5, 10);
+                run(new GroupHomeMembershipService(template, runner, event -> { }), registry, transactional, threads, seconds);
+            }
+            template.getDb().drop();
+        }
+    }
+
+    private static void seed(MongoTemplate template) {
+        template.dropCollection(User.class);
+        List<User> users = new ArrayList<>(STUDENTS + MENTORS);
+        for (int i = 0; i < STUDENTS; i++) {
+            users.add(user("student-" + i, User.Role.STUDENT));
+        }
+        for (int i = 0; i < MENTORS; i++) {
+            users.add(user("mentor-" + i, User.Role.MENTOR));
+        }
+        template.insertAll(users);
+    }
+
+    private static User user(String id, User.Role role) {
+        User user = new User(new ArrayList<>(Arrays.asList(role)), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId("gh_bench");
+        return user;
+    }
+
+    private static void run(GroupHomeMembershipService service, SimpleMeterRegistry registry,
+                            boolean transactional, int threads, int seconds) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    try {
+                        GroupHomeMembershipService.Result result = service.assignMentor(
+                                "student-" + random.nextInt(STUDENTS), "mentor-" + random.nextInt(MENTORS));
+                        if (result == GroupHomeMembershipService.Result.CONFLICT) {
+                            conflicts.incrementAndGet();
+                        }
+                        completed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        System.out.printf("%-16s %10.0f %10d %10.0f %10d%n",
+                transactional ? "transactional" : "plain",
+                completed.get() / (double) seconds,
+                conflicts.get(),
+                registry.counter("edulift.transactions.retries").count(),
+                failures.get());
+    }
+}
@@ -0,0 +1,114 @@
+package com.EduLift.backend.manual;
+
+import com.EduLift.backend.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares payload size and serialization CPU for User lists across
+ * JSON, Smile and CBOR, with and without gzip.
+ * Run as a plain Java application; no MongoDB is needed.
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public static void main(String[] args) throws IOException {
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", Jackson2ObjectMapperBuilder.json().build());
+        formats.put("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+        formats.put("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+
+        for (int size : new int[] {25, 250, 2500}) {
+            List<User> roster = roster(size, new Random(42));
+            System.out.printf("%n=== %d users ===%n", size);
+            System.out.printf("%-6s %12s %12s %14s %14s%n", "format", "bytes", "gzip bytes", "encode us/op", "decode us/op");
+
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                byte[] encoded = mapper.writeValueAsBytes(roster);
+
+                for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                    mapper.writeValueAsBytes(roster);
+                    mapper.readValue(encoded, User[].class);
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                    mapper.writeValueAsBytes(roster);
+                }
+                double encodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+
+                start = System.nanoTime();
+                for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                    mapper.readValue(encoded, User[].class);
+                }
+                double decodeMicros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+
+                System.out.printf("%-6s %12d %12d %14.1f %14.1f%n",
+                        format.getKey(), encoded.length, gzip(encoded).length, encodeMicros, decodeMicros);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Roster of fully populated users, similar to what the roster screen renders
+     */
+    private static List<User> roster(int size, Random random) {
+        String[] riskFlags = {"academic_risk", "behavioral_risk", "attendance_risk", "emotional_risk", "family_risk"};
+        String[] languages = {"en", "es", "fr", "pt"};
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = new User(Arrays.asList(User.Role.STUDENT), "student" + i + "@example.com");
+            user.setId(String.format("%024x", i));
+            user.setUsername("student" + i);
+            user.setGroupHomeId("gh_" + String.format("%03d", random.nextInt(40)));
+            user.setRiskFlags(Arrays.asList(riskFlags[random.nextInt(riskFlags.length)]));
+
+            User.Profile profile = new User.Profile("First" + i, "Last" + i);
+            profile.setPhoneNumber("+1555" + String.format("%07d", random.nextInt(10_000_000)));
+            profile.setDateOfBirth("2008-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+            profile.setAddress(random.nextInt(999) + " Main Street, Springfield, IL");
+            profile.setEmergencyContact("Guardian " + i);
+            profile.setEmergencyPhoneNumber("+1555" + String.format("%07d", random.nextInt(10_000_000)));
+            Map<String, Object> additionalInfo = new HashMap<>();
+            additionalInfo.put("school", "Lincoln High");
+            additionalInfo.put("grade", 9 + random.nextInt(4));
+            profile.setAdditionalInfo(additionalInfo);
+            user.setProfile(profile);
+
+            User.ConsentFlags consentFlags = new User.ConsentFlags();
+            consentFlags.setDataProcessingConsent(true);
+            consentFlags.setCommunicationConsent(random.nextBoolean());
+            consentFlags.setConsentTimestamp(LocalDateTime.now());
+            user.setConsentFlags(consentFlags);
+
+            user.getPreferences().setLanguage(languages[random.nextInt(languages.length)]);
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,107 @@
+package com.EduLift.backend.matching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Group Home Candidates Tests")
+class GroupHomeCandidatesTest {
+
+    private static MentorCandidate mentor(String id, String language, int offset, int mentees) {
+        return new MentorCandidate(id, "gh1", language, offset, mentees);
+    }
+
+    private static MatchSubject student(String language, int offset, String... mentorIds) {
+        return new MatchSubject("s1", "gh1", language, offset, Set.of(mentorIds));
+    }
+
+    @Test
+    @DisplayName("Should rank language first, then timezone, then free capacity")
+    void shouldRankByLanguageTimezoneAndLoad() {
+        GroupHomeCandidates candidates = new GroupHomeCandidates(List.of(
+                mentor("far", "es", 300, 0),
+                mentor("busy", "es", -300, 4),
+                mentor("near", "es", -300, 0),
+                mentor("other-language", "en", -300, 0)));
+
+        List<MentorMatch> matches = candidates.rank(student("es", -300), 4, 5);
+
+        assertEquals(List.of("near", "busy", "far", "other-language"),
+                matches.stream().map(MentorMatch::mentorId).toList());
+        assertEquals(1.0, matches.get(0).score(), 1e-9);
+        assertTrue(matches.get(0).languageMatch());
+        assertEquals(600, matches.get(2).offsetDifferenceMinutes());
+        assertFalse(matches.get(3).languageMatch());
+    }
+
+    @Test
+    @DisplayName("Should skip full mentors, current mentors and the student")
+    void shouldSkipIneligibleCandidates() {
+        GroupHomeCandidates candidates = new GroupHomeCandidates(List.of(
+                mentor("full", "en", 0, 5),
+                mentor("current", "en", 0, 1),
+                mentor("s1", "en", 0, 0),
+                mentor("free", "en", 60, 1)));
+
+        List<MentorMatch> matches = candidates.rank(student("en", 0, "current"), 5, 5);
+
+        assertEquals(List.of("free"), matches.stream().map(MentorMatch::mentorId).toList());
+    }
+
+    @Test
+    @DisplayName("Should break ties by mentor id")
+    void shouldBreakTiesByMentorId() {
+        GroupHomeCandidates candidates = new GroupHomeCandidates(List.of(
+                mentor("m3", "en", 0, 0), mentor("m1", "en", 0, 0), mentor("m2", "en", 0, 0)));
+
+        assertEquals(List.of("m1", "m2"), candidates.rank(student("en", 0), 2, 5).stream()
+                .map(MentorMatch::mentorId).toList());
+    }
+
+    @Test
+    @DisplayName("Should return the same top-k as scoring every candidate")
+    void shouldMatchBruteForce() {
+        Random random = new Random(42);
+        String[] languages = {"en", "es", "fr", ""};
+        List<MentorCandidate> mentors = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            mentors.add(mentor("m" + i, languages[random.nextInt(languages.length)],
+                    (random.nextInt(27) - 12) * 60, random.nextInt(6)));
+        }
+        GroupHomeCandidates candidates = new GroupHomeCandidates(mentors);
+
+        for (int trial = 0; trial < 50; trial++) {
+            MatchSubject subject = student(languages[random.nextInt(languages.length)],
+                    (random.nextInt(27) - 12) * 60);
+            int k = 1 + random.nextInt(10);
+
+            List<MentorMatch> expected = mentors.stream()
+                    .filter(mentor -> mentor.menteeCount() < 5)
+                    .map(mentor -> score(subject, mentor))
+                    .sorted(Comparator.comparingDouble(MentorMatch::score).reversed()
+                            .thenComparing(MentorMatch::mentorId))
+                    .limit(k)
+                    .toList();
+
+            assertEquals(expected, candidates.rank(subject, k, 5));
+        }
+    }
+
+    private static MentorMatch score(MatchSubject subject, MentorCandidate mentor) {
+        boolean sameLanguage = subject.language().equals(mentor.language());
+        int difference = Math.abs(subject.utcOffsetMinutes() - mentor.utcOffsetMinutes());
+        double score = (sameLanguage ? GroupHomeCandidates.LANGUAGE_WEIGHT : 0)
+                + GroupHomeCandidates.TIMEZONE_WEIGHT
+                        * (1 - Math.min(difference, GroupHomeCandidates.MAX_OFFSET_DIFFERENCE_MINUTES)
+                                / (double) GroupHomeCandidates.MAX_OFFSET_DIFFERENCE_MINUTES)
+                + GroupHomeCandidates.LOAD_WEIGHT * (1 - mentor.menteeCount() / 5.0);
+        return new MentorMatch(mentor.id(), score, sameLanguage, difference, mentor.menteeCount());
+    }
+}
@@ -0,0 +1,88 @@
+package com.EduLift.backend.matching;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Mentor Candidate Index Tests")
+class MentorCandidateIndexTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private MentorCandidateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MentorCandidateIndex(mongoTemplate, new SimpleMeterRegistry(), 600_000);
+    }
+
+    private static User user(String id, String groupHomeId, User.Role role) {
+        User user = new User(List.of(role), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId(groupHomeId);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should build per-home snapshots on first use")
+    void shouldBuildOnFirstUse() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                user("m1", "gh1", User.Role.MENTOR),
+                user("c1", "gh1", User.Role.COUNSELOR),
+                user("m2", "gh2", User.Role.MENTOR)));
+
+        assertEquals(2, index.candidatesFor("gh1").size());
+        assertEquals(1, index.candidatesFor("gh2").size());
+        assertEquals(0, index.candidatesFor("gh3").size());
+        assertEquals(3, index.size());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    @DisplayName("Should move, drop and remove changed users")
+    void shouldApplyChangesOnRefresh() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(user("m1", "gh1", User.Role.MENTOR), user("m2", "gh1", User.Role.MENTOR),
+                        user("m3", "gh1", User.Role.MENTOR)));
+        index.onUsersChanged(Set.of());
+
+        User moved = user("m1", "gh2", User.Role.MENTOR);
+        User demoted = user("m2", "gh1", User.Role.STUDENT);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(moved, demoted));
+        index.onUsersChanged(Set.of("m1", "m2", "m3"));
+
+        assertEquals(0, index.candidatesFor("gh1").size());
+        assertEquals(1, index.candidatesFor("gh2").size());
+    }
+
+    @Test
+    @DisplayName("Should ask only for changed users")
+    void shouldQueryChangedUsersOnly() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of());
+        index.onUsersChanged(Set.of());
+        index.onUsersChanged(Set.of());
+        index.onUsersChanged(Set.of("m9"));
+
+        // One rebuild, no query for an empty change set, then only the changed user
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(User.class));
+        verify(mongoTemplate).find(argThat((Query query) -> {
+            Document id = query.getQueryObject().get("_id", Document.class);
+            return id != null && List.copyOf((Collection<?>) id.get("$in")).equals(List.of("m9"));
+        }), eq(User.class));
+    }
+}
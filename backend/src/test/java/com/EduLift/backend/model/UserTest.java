@@ -176,6 +176,17 @@ class UserTest {
         assertNull(user.getRiskFlags());
     }
 
+    @Test
+    @DisplayName("Should report soft deleted state from deletedAt")
+    void shouldReportSoftDeletedState() {
+        assertNull(user.getDeletedAt());
+        assertFalse(user.isDeleted());
+
+        user.setDeletedAt(LocalDateTime.now());
+
+        assertTrue(user.isDeleted());
+    }
+
     @Test
     @DisplayName("Should create profile with empty constructor")
     void shouldCreateProfileWithEmptyConstructor() {
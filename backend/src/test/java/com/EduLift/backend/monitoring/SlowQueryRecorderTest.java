@@ -0,0 +1,123 @@
+package com.EduLift.backend.monitoring;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Slow Query Recorder Tests")
+class SlowQueryRecorderTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private static final String FIND = "{find: 'users', filter: {groupHomeId: 'gh_001', createdAt: {$gte: {$date: 0}},"
+            + " roles: {$in: ['STUDENT', 'MENTOR']}}, sort: {createdAt: -1}, projection: {email: 1}}";
+    private static final String REPLY = "{ok: 1, cursor: {id: 0, ns: 'edulift.users', firstBatch: [{_id: 1}, {_id: 2}]}}";
+
+    private SlowQueryRecorder recorder(double sampleRate, int capacity) {
+        return new SlowQueryRecorder(new SimpleMeterRegistry(), true, 100, sampleRate, capacity);
+    }
+
+    private void run(SlowQueryRecorder recorder, int requestId, String command, long millis) {
+        run(recorder, requestId, command, REPLY, millis);
+    }
+
+    private void run(SlowQueryRecorder recorder, int requestId, String command, String reply, long millis) {
+        BsonDocument document = BsonDocument.parse(command);
+        String name = document.getFirstKey();
+        recorder.commandStarted(new CommandStartedEvent((RequestContext) null, 1L, requestId, CONNECTION,
+                "edulift", name, document));
+        recorder.commandSucceeded(new CommandSucceededEvent((RequestContext) null, 1L, requestId, CONNECTION,
+                "edulift", name, BsonDocument.parse(reply), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Test
+    @DisplayName("Should normalize literals but keep structure")
+    void shouldNormalizeShape() {
+        String shape = SlowQueryRecorder.shapeOf("find", BsonDocument.parse(FIND));
+
+        assertTrue(shape.startsWith("find "));
+        assertFalse(shape.contains("gh_001"));
+        assertFalse(shape.contains("STUDENT"));
+        assertTrue(shape.contains("\"groupHomeId\": \"?\""));
+        assertTrue(shape.contains("\"$gte\": \"?\""));
+        assertTrue(shape.contains("\"sort\": {\"createdAt\": -1}"));
+        assertEquals(shape, SlowQueryRecorder.shapeOf("find", BsonDocument.parse(FIND.replace("gh_001", "gh_999"))));
+    }
+
+    @Test
+    @DisplayName("Should record only commands over the threshold")
+    void shouldRecordSlowCommandsOnly() {
+        SlowQueryRecorder recorder = recorder(1.0, 10);
+        run(recorder, 1, FIND, 5);
+        run(recorder, 2, FIND, 250);
+        run(recorder, 3, "{insert: 'users', documents: []}", 150);
+
+        List<SlowQuery> recent = recorder.recent(10);
+        assertEquals(2, recent.size());
+        assertEquals("insert", recent.get(0).commandName());
+        SlowQuery find = recent.get(1);
+        assertEquals("users", find.collection());
+        assertEquals(2, find.docsReturned());
+        assertEquals(250.0, find.durationMillis(), 0.01);
+        assertEquals("SlowQueryRecorderTest.run", find.caller());
+
+        assertEquals(250.0, recorder.topShapes(1).get(0).totalMillis(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest entries in the ring buffer")
+    void shouldWrapRingBuffer() {
+        SlowQueryRecorder recorder = recorder(1.0, 3);
+        for (int i = 0; i < 5; i++) {
+            run(recorder, i, FIND, 100 + i);
+        }
+
+        List<SlowQuery> recent = recorder.recent(10);
+        assertEquals(3, recent.size());
+        assertEquals(104.0, recent.get(0).durationMillis(), 0.01);
+        assertEquals(102.0, recent.get(2).durationMillis(), 0.01);
+        assertEquals(5, recorder.topShapes(10).get(0).count());
+    }
+
+    @Test
+    @DisplayName("Should skip unsampled commands")
+    void shouldSkipUnsampledCommands() {
+        SlowQueryRecorder recorder = recorder(0.0, 10);
+        run(recorder, 1, FIND, 500);
+
+        assertTrue(recorder.recent(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not record getMores that wait on change streams or awaitData cursors")
+    void shouldSkipTailingGetMores() {
+        SlowQueryRecorder recorder = recorder(1.0, 10);
+        run(recorder, 1, "{aggregate: 'users', pipeline: [{$changeStream: {}}], cursor: {}}",
+                "{ok: 1, cursor: {id: {$numberLong: '42'}, ns: 'edulift.users', firstBatch: []}}", 5);
+        for (int i = 2; i < 10; i++) {
+            run(recorder, i, "{getMore: {$numberLong: '42'}, collection: 'users'}",
+                    "{ok: 1, cursor: {id: {$numberLong: '42'}, ns: 'edulift.users', nextBatch: []}}", 500);
+        }
+        run(recorder, 10, "{getMore: {$numberLong: '7'}, collection: 'users', maxTimeMS: 1000}", 1000);
+        assertTrue(recorder.recent(10).isEmpty());
+        assertTrue(recorder.topShapes(10).isEmpty());
+
+        // An ordinary cursor's getMore is still a query worth seeing
+        run(recorder, 11, "{getMore: {$numberLong: '9'}, collection: 'users'}", 300);
+        assertEquals("getMore", recorder.recent(10).get(0).commandName());
+    }
+}
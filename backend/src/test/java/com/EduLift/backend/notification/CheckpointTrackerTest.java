@@ -0,0 +1,28 @@
+package com.EduLift.backend.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Checkpoint Tracker Tests")
+class CheckpointTrackerTest {
+
+    @Test
+    @DisplayName("Should only advance over a contiguous prefix of batches")
+    void shouldAdvanceOverContiguousPrefix() {
+        CheckpointTracker tracker = new CheckpointTracker("u000", 10);
+
+        assertFalse(tracker.complete(1, "u200", 100));
+        assertEquals("u000", tracker.committedLastId());
+
+        assertTrue(tracker.complete(0, "u100", 100));
+        assertEquals("u200", tracker.committedLastId());
+        assertEquals(210, tracker.committedRecipients());
+
+        assertFalse(tracker.complete(3, "u400", 100));
+        assertTrue(tracker.complete(2, "u300", 50));
+        assertEquals("u400", tracker.committedLastId());
+        assertEquals(360, tracker.committedRecipients());
+    }
+}
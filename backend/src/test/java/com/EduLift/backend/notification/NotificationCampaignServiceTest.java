@@ -0,0 +1,130 @@
+package com.EduLift.backend.notification;
+
+import com.EduLift.backend.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Notification Campaign Service Tests")
+class NotificationCampaignServiceTest {
+
+    /**
+     * Local sender stub that records batches, sending threads and the peak number of concurrent sends
+     */
+    static class RecordingSender implements NotificationSender {
+        final List<Recipient> delivered = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        volatile String failOnUserId;
+
+        @Override
+        public void send(String campaignId, List<Recipient> batch) throws Exception {
+            threads.add(Thread.currentThread().getName());
+            int now = concurrent.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(5);
+                if (batch.stream().anyMatch(recipient -> recipient.userId().equals(failOnUserId))) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+                delivered.addAll(batch);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+    }
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final RecordingSender sender = new RecordingSender();
+
+    private static List<User> users(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            User user = new User(Arrays.asList(User.Role.STUDENT), "u" + i + "@example.com");
+            user.setId(String.format("u%05d", i));
+            return user;
+        }).toList();
+    }
+
+    @Test
+    @DisplayName("Should deliver every recipient in bounded concurrent batches")
+    void shouldDeliverEveryRecipientInBoundedBatches() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> users(1000).stream());
+        NotificationCampaignService service = new NotificationCampaignService(mongoTemplate, sender, 50, 3);
+
+        CampaignCheckpoint checkpoint = service.run("welcome", new Segment());
+
+        assertEquals(CampaignCheckpoint.Status.COMPLETED, checkpoint.getStatus());
+        assertEquals(1000, sender.delivered.size());
+        assertEquals(1000, checkpoint.getDelivered());
+        assertEquals("u00999", checkpoint.getLastUserId());
+        assertTrue(sender.peak.get() <= 3);
+    }
+
+    @Test
+    @DisplayName("Should reuse one pool of named sender threads across runs")
+    void shouldReuseNamedSenderPool() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> users(500).stream());
+        NotificationCampaignService service = new NotificationCampaignService(mongoTemplate, sender, 50, 2);
+
+        service.run("first", new Segment());
+        service.run("second", new Segment());
+        service.shutdown();
+
+        assertTrue(sender.threads.size() <= 2, sender.threads.toString());
+        assertTrue(sender.threads.stream().allMatch(name -> name.matches("notification-sender-\\d+")),
+                sender.threads.toString());
+    }
+
+    @Test
+    @DisplayName("Should stop at the last contiguous checkpoint when a batch fails")
+    void shouldStopAtLastCheckpointOnFailure() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(invocation -> users(1000).stream());
+        sender.failOnUserId = "u00420";
+        NotificationCampaignService service = new NotificationCampaignService(mongoTemplate, sender, 100, 1);
+
+        CampaignCheckpoint checkpoint = service.run("welcome", new Segment());
+
+        assertEquals(CampaignCheckpoint.Status.FAILED, checkpoint.getStatus());
+        assertEquals("u00399", checkpoint.getLastUserId());
+        assertEquals(400, checkpoint.getDelivered());
+    }
+
+    @Test
+    @DisplayName("Should resume from a persisted checkpoint")
+    void shouldResumeFromPersistedCheckpoint() throws Exception {
+        CampaignCheckpoint persisted = new CampaignCheckpoint("welcome");
+        persisted.setStatus(CampaignCheckpoint.Status.FAILED);
+        persisted.setLastUserId("u00399");
+        persisted.setDelivered(400);
+        when(mongoTemplate.findById("welcome", CampaignCheckpoint.class)).thenReturn(persisted);
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenAnswer(invocation -> users(1000).stream().skip(400));
+        NotificationCampaignService service = new NotificationCampaignService(mongoTemplate, sender, 100, 2);
+
+        CampaignCheckpoint checkpoint = service.run("welcome", new Segment());
+
+        assertEquals(CampaignCheckpoint.Status.COMPLETED, checkpoint.getStatus());
+        assertEquals(600, sender.delivered.size());
+        assertEquals(1000, checkpoint.getDelivered());
+        verify(mongoTemplate).stream(argThat((Query query) ->
+                query.getQueryObject().toJson().contains("u00399")), eq(User.class));
+    }
+}
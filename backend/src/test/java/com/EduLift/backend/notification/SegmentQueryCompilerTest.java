@@ -0,0 +1,78 @@
+package com.EduLift.backend.notification;
+
+import com.EduLift.backend.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Segment Query Compiler Tests")
+class SegmentQueryCompilerTest {
+
+    @SuppressWarnings("unchecked")
+    private static List<Document> clauses(Query query) {
+        return (List<Document>) query.getQueryObject().get("$and");
+    }
+
+    @Test
+    @DisplayName("Should compile every dimension into one query")
+    void shouldCompileEveryDimension() {
+        Segment segment = new Segment();
+        segment.setRoles(Arrays.asList(User.Role.STUDENT));
+        segment.setGroupHomeIds(Arrays.asList("gh_001", "gh_002"));
+        segment.setLanguages(Arrays.asList("es"));
+        segment.setChannels(EnumSet.of(Channel.EMAIL, Channel.PUSH));
+
+        Query query = SegmentQueryCompiler.compile(segment, null);
+        String compiled = query.getQueryObject().toString();
+
+        assertEquals(6, clauses(query).size());
+        assertTrue(compiled.contains("consentFlags.communicationConsent"));
+        assertTrue(compiled.contains("gh_002"));
+        assertTrue(compiled.contains("preferences.language"));
+        assertTrue(compiled.contains("preferences.emailNotifications"));
+        assertTrue(compiled.contains("preferences.pushNotifications"));
+        assertEquals(new Document("_id", 1), query.getSortObject());
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed id")
+    void shouldResumeAfterCheckpoint() {
+        Segment segment = new Segment();
+        segment.setRequireCommunicationConsent(false);
+
+        Query query = SegmentQueryCompiler.compile(segment, "64b7f0c2e1a2b3c4d5e6f701");
+
+        assertEquals(new Document("_id", new Document("$gt", "64b7f0c2e1a2b3c4d5e6f701")), clauses(query).get(1));
+    }
+
+    @Test
+    @DisplayName("Should project only the fields a sender needs")
+    void shouldProjectSenderFields() {
+        Query query = SegmentQueryCompiler.compile(new Segment(), null);
+
+        Document fields = query.getFieldsObject();
+        assertTrue(fields.containsKey("email"));
+        assertTrue(fields.containsKey("profile.phoneNumber"));
+        assertFalse(fields.containsKey("riskFlags"));
+    }
+
+    @Test
+    @DisplayName("Should never target soft-deleted users")
+    void shouldExcludeSoftDeletedUsers() {
+        Segment segment = new Segment();
+        segment.setRequireCommunicationConsent(false);
+
+        // Also on resume, where a user deleted mid-campaign must not be picked up
+        for (String resumeAfterId : Arrays.asList(null, "64b7f0c2e1a2b3c4d5e6f701")) {
+            Query query = SegmentQueryCompiler.compile(segment, resumeAfterId);
+            assertEquals(new Document("deletedAt", null), clauses(query).get(0));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.EduLift.backend.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(100, 4, 200, 2.0, 0.9, 30_000 * MILLI);
+
+    @Test
+    @DisplayName("Should back off once for a burst of slow samples from the same window")
+    void shouldBackOffOncePerWindow() {
+        limiter.onSample(1 * MILLI, 1_000 * MILLI);
+
+        // Fifty commands that were all in flight together come back slow
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(20 * MILLI, 1_020 * MILLI + i * MILLI / 10);
+        }
+        assertEquals(90, limiter.getLimit());
+
+        // A command issued after the backoff that is still slow shrinks the limit again
+        limiter.onSample(20 * MILLI, 1_050 * MILLI);
+        assertEquals(81, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not shrink below the minimum limit")
+    void shouldRespectMinimumLimit() {
+        AdaptiveConcurrencyLimiter small = new AdaptiveConcurrencyLimiter(5, 4, 200, 2.0, 0.5, 30_000 * MILLI);
+        small.onSample(1 * MILLI, 1_000 * MILLI);
+        for (int i = 1; i <= 5; i++) {
+            small.onSample(20 * MILLI, 1_000 * MILLI + i * 100 * MILLI);
+        }
+        assertEquals(4, small.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shed once the limit is reached and admit again after release")
+    void shouldShedAtLimit() {
+        AdaptiveConcurrencyLimiter small = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.9, 30_000 * MILLI);
+
+        assertTrue(small.tryAcquire());
+        assertTrue(small.tryAcquire());
+        assertFalse(small.tryAcquire());
+        small.release();
+        assertTrue(small.tryAcquire());
+    }
+}
@@ -0,0 +1,76 @@
+package com.EduLift.backend.ratelimit;
+
+import com.mongodb.RequestContext;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mongo Latency Sampler Tests")
+class MongoLatencySamplerTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+    private static final String FIND = "{find: 'users', filter: {_id: 'u1'}}";
+    private static final String FIND_REPLY = "{ok: 1, cursor: {id: 0, ns: 'edulift.users', firstBatch: []}}";
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(100, 4, 200, 2.0, 0.9, Long.MAX_VALUE);
+    private final MongoLatencySampler sampler = new MongoLatencySampler(limiter);
+    private int requestId;
+
+    @AfterEach
+    void tearDown() {
+        RequestPath.exit();
+    }
+
+    private void run(String command, String reply, long millis) {
+        BsonDocument document = BsonDocument.parse(command);
+        String name = document.getFirstKey();
+        int id = ++requestId;
+        sampler.commandStarted(new CommandStartedEvent((RequestContext) null, 1L, id, CONNECTION,
+                "edulift", name, document));
+        sampler.commandSucceeded(new CommandSucceededEvent((RequestContext) null, 1L, id, CONNECTION,
+                "edulift", name, BsonDocument.parse(reply), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Test
+    @DisplayName("Should not lower the limit for long getMores on a change stream")
+    void shouldSkipAwaitDataGetMore() {
+        RequestPath.enter();
+        run(FIND, FIND_REPLY, 1);
+        run("{aggregate: 'users', pipeline: [{$changeStream: {fullDocument: 'updateLookup'}}], cursor: {}}",
+                "{ok: 1, cursor: {id: {$numberLong: '42'}, ns: 'edulift.users', firstBatch: []}}", 2);
+        for (int i = 0; i < 5; i++) {
+            run("{getMore: {$numberLong: '42'}, collection: 'users'}",
+                    "{ok: 1, cursor: {id: {$numberLong: '42'}, ns: 'edulift.users', nextBatch: []}}", 500);
+            run("{getMore: {$numberLong: '7'}, collection: 'users', maxTimeMS: 500}",
+                    "{ok: 1, cursor: {id: {$numberLong: '7'}, ns: 'edulift.users', nextBatch: []}}", 500);
+        }
+        assertEquals(100, limiter.getLimit());
+
+        run(FIND, FIND_REPLY, 500);
+        assertEquals(90, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should only sample commands issued on the request path")
+    void shouldSkipBackgroundCommands() {
+        RequestPath.enter();
+        run(FIND, FIND_REPLY, 1);
+        RequestPath.exit();
+
+        run("{aggregate: 'users', pipeline: [{$group: {_id: '$groupHomeId'}}], cursor: {}}", FIND_REPLY, 5_000);
+        assertEquals(100, limiter.getLimit());
+    }
+}
@@ -0,0 +1,57 @@
+package com.EduLift.backend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Rate Limit Interceptor Tests")
+class RateLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new AdaptiveConcurrencyLimiter(10, 1, 10, 2.0, 0.9, Long.MAX_VALUE), meterRegistry, true, 1, 2, 1, 1);
+
+    private boolean call(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RateLimitInterceptor.API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean allowed = interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, null, null);
+        return allowed;
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a client's bucket is empty")
+    void shouldThrottleExhaustedClient() {
+        assertTrue(call("a"));
+        assertTrue(call("a"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RateLimitInterceptor.API_KEY_HEADER, "a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+
+        assertTrue(call("b"));
+    }
+
+    @Test
+    @DisplayName("Should keep buckets on the request path and evict only refilled ones in the sweep")
+    void shouldEvictOnlyIdleBuckets() {
+        for (int i = 0; i < 100; i++) {
+            call("client-" + i);
+        }
+        assertEquals(100, interceptor.trackedClients());
+
+        // Each client spent one token at a rate of one per second, so nothing has refilled yet
+        assertEquals(0, interceptor.evictIdleBuckets(System.nanoTime()));
+        assertEquals(100, interceptor.evictIdleBuckets(System.nanoTime() + 2_000_000_000L));
+        assertEquals(0, interceptor.trackedClients());
+        assertEquals(100, meterRegistry.get("edulift.ratelimit.evicted").counter().count());
+    }
+}
@@ -0,0 +1,110 @@
+package com.EduLift.backend.replica;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.repository.UserRepository;
+import com.EduLift.backend.service.UserChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterLoadEvent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Read Replica Tests")
+class UserReadReplicaTest {
+
+    @TempDir
+    Path directory;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private UserReadReplica replica;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (replica != null) {
+            replica.store().close();
+        }
+    }
+
+    private UserReadReplica replica(String consistency) throws IOException {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+
+        replica = new UserReadReplica(mongoTemplate, userRepository, eventPublisher, new SimpleMeterRegistry(),
+                true, directory.resolve("users.dat").toString(), 4096, consistency, 100, 1000);
+        replica.openStore();
+        return replica;
+    }
+
+    @Test
+    @DisplayName("Should read from MongoDB until the replica has caught up")
+    void shouldFallBackUntilCaughtUp() throws IOException {
+        replica("eventual");
+        ObjectId id = new ObjectId();
+        replica.store().put(UserRecordStoreTest.user(id, "s@example.com", "gh1", "STUDENT"));
+        when(userRepository.findById(id.toHexString())).thenReturn(Optional.empty());
+
+        assertTrue(replica.findById(id.toHexString()).isEmpty());
+        verify(userRepository).findById(id.toHexString());
+
+        replica.markCaughtUp(System.currentTimeMillis());
+        User user = replica.findById(id.toHexString()).orElseThrow();
+        assertEquals(id.toHexString(), user.getId());
+        assertEquals(List.of(User.Role.STUDENT), user.getRoles());
+        assertEquals("s@example.com", replica.findByEmail("s@example.com").orElseThrow().getEmail());
+        assertEquals(1, replica.findByGroupHome("gh1", User.Role.STUDENT).size());
+        verify(userRepository, times(1)).findById(any());
+        verify(eventPublisher, atLeastOnce()).publishEvent(any(AfterLoadEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should send reads of locally written users to MongoDB until the change stream passes the write")
+    void shouldReadYourWrites() throws IOException {
+        replica("read-your-writes");
+        ObjectId written = new ObjectId();
+        ObjectId untouched = new ObjectId();
+        replica.store().put(UserRecordStoreTest.user(written, "w@example.com", "gh1", "STUDENT"));
+        replica.store().put(UserRecordStoreTest.user(untouched, "u@example.com", "gh1", "MENTOR"));
+        replica.markCaughtUp(System.currentTimeMillis() - 1000);
+        when(userRepository.findById(written.toHexString())).thenReturn(Optional.empty());
+        when(userRepository.findByGroupHomeId("gh1")).thenReturn(List.of());
+
+        replica.onUserChanged(UserChangedEvent.of(written.toHexString()));
+
+        assertTrue(replica.findById(written.toHexString()).isEmpty());
+        assertTrue(replica.findById(untouched.toHexString()).isPresent());
+        assertEquals(List.of(), replica.findByGroupHome("gh1", null));
+        verify(userRepository).findByGroupHomeId("gh1");
+
+        replica.markCaughtUp(System.currentTimeMillis() + 1);
+        assertTrue(replica.findById(written.toHexString()).isPresent());
+        assertEquals(2, replica.findByGroupHome("gh1", null).size());
+        verify(userRepository, times(1)).findById(any());
+    }
+}
@@ -0,0 +1,120 @@
+package com.EduLift.backend.replica;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.MongoClientSettings;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("User Record Store Tests")
+class UserRecordStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private UserRecordStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    static RawBsonDocument user(ObjectId id, String email, String groupHomeId, String... roles) {
+        Document document = new Document("_id", id)
+                .append("email", email)
+                .append("groupHomeId", groupHomeId)
+                .append("roles", List.of(roles))
+                .append("updatedAt", new Date(1_700_000_000_000L));
+        return new RawBsonDocument(document, MongoClientSettings.getDefaultCodecRegistry().get(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should look users up by id, email and group home")
+    void shouldLookUpUsers() throws IOException {
+        store = new UserRecordStore(directory.resolve("users.dat"), 4096);
+        ObjectId student = new ObjectId();
+        ObjectId mentor = new ObjectId();
+        store.put(user(student, "s@example.com", "gh1", "STUDENT"));
+        store.put(user(mentor, "m@example.com", "gh1", "MENTOR", "COUNSELOR"));
+
+        assertEquals("s@example.com", store.get(student.toHexString()).getString("email").getValue());
+        assertEquals(mentor, store.getByEmail("m@example.com").getObjectId("_id").getValue());
+        assertEquals(2, store.findByGroupHome("gh1", null).size());
+        assertEquals(1, store.findByGroupHome("gh1", User.Role.COUNSELOR).size());
+        assertEquals(List.of(), store.findByGroupHome("gh1", User.Role.ADMIN));
+        assertEquals(1_700_000_000_000L, store.updatedAtMillis(student.toHexString()));
+        assertNull(store.get(new ObjectId().toHexString()));
+    }
+
+    @Test
+    @DisplayName("Should move index entries when a user is replaced or removed")
+    void shouldReindexOnReplace() throws IOException {
+        store = new UserRecordStore(directory.resolve("users.dat"), 4096);
+        ObjectId id = new ObjectId();
+        store.put(user(id, "old@example.com", "gh1", "STUDENT"));
+        store.put(user(id, "new@example.com", "gh2", "STUDENT"));
+
+        assertEquals(1, store.size());
+        assertNull(store.getByEmail("old@example.com"));
+        assertNotNull(store.getByEmail("new@example.com"));
+        assertEquals(List.of(), store.findByGroupHome("gh1", null));
+        assertEquals(1, store.findByGroupHome("gh2", User.Role.STUDENT).size());
+
+        assertTrue(store.remove(id.toHexString()));
+        assertFalse(store.remove(id.toHexString()));
+        assertNull(store.getByEmail("new@example.com"));
+        assertEquals(List.of(), store.findByGroupHome("gh2", null));
+        assertEquals(0, store.liveBytes());
+    }
+
+    @Test
+    @DisplayName("Should compact superseded records and grow when the file is full")
+    void shouldCompactWhenFull() throws IOException {
+        store = new UserRecordStore(directory.resolve("users.dat"), 1024);
+        ObjectId churned = new ObjectId();
+        for (int i = 0; i < 200; i++) {
+            store.put(user(churned, "churn" + i + "@example.com", "gh1", "STUDENT"));
+        }
+        assertEquals(1, store.size());
+        assertTrue(store.usedBytes() < 1024);
+
+        for (int i = 0; i < 100; i++) {
+            store.put(user(new ObjectId(), "user" + i + "@example.com", "gh2", "MENTOR"));
+        }
+        assertEquals(101, store.size());
+        assertEquals(100, store.findByGroupHome("gh2", User.Role.MENTOR).size());
+        assertEquals("churn199@example.com", store.get(churned.toHexString()).getString("email").getValue());
+        assertEquals(store.liveBytes(), store.usedBytes());
+    }
+
+    @Test
+    @DisplayName("Should keep no records after clear and delete its file on close")
+    void shouldClearAndDeleteFile() throws IOException {
+        Path path = directory.resolve("users.dat");
+        store = new UserRecordStore(path, 4096);
+        store.put(user(new ObjectId(), "a@example.com", "gh1", "STUDENT"));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertNull(store.getByEmail("a@example.com"));
+        assertEquals(List.of(), store.findByGroupHome("gh1", null));
+
+        store.close();
+        store = null;
+        assertFalse(Files.exists(path));
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static com.EduLift.backend.fixtures.UserFixtures.createTestUser;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataMongoTest
@@ -40,7 +41,8 @@ class UserRepositoryTest {
             "testuser1",
             Arrays.asList(User.Role.STUDENT),
             "gh_001",
-            Arrays.asList("academic_risk")
+            Arrays.asList("academic_risk"),
+            false
         );
 
         testUser2 = createTestUser(
@@ -48,7 +50,8 @@ class UserRepositoryTest {
             "testuser2",
             Arrays.asList(User.Role.MENTOR, User.Role.COUNSELOR),
             "gh_001",
-            Arrays.asList("behavioral_risk")
+            Arrays.asList("behavioral_risk"),
+            true
         );
 
         testUser3 = createTestUser(
@@ -56,35 +59,14 @@ class UserRepositoryTest {
             "testuser3",
             Arrays.asList(User.Role.ADMIN),
             "gh_002",
-            Arrays.asList("academic_risk", "emotional_risk")
+            Arrays.asList("academic_risk", "emotional_risk"),
+            true
         );
 
         // Save test users
         userRepository.saveAll(Arrays.asList(testUser1, testUser2, testUser3));
     }
 
-    private User createTestUser(String email, String username, List<User.Role> roles, 
-                               String groupHomeId, List<String> riskFlags) {
-        User user = new User(roles, email);
-        user.setUsername(username);
-        user.setGroupHomeId(groupHomeId);
-        user.setRiskFlags(riskFlags);
-
-        // Set up profile
-        User.Profile profile = new User.Profile("Test", "User");
-        profile.setPhoneNumber("+1234567890");
-        user.setProfile(profile);
-
-        // Set up consent flags
-        User.ConsentFlags consentFlags = new User.ConsentFlags();
-        consentFlags.setDataProcessingConsent(true);
-        consentFlags.setCommunicationConsent(email.contains("user1") ? false : true);
-        consentFlags.setConsentTimestamp(LocalDateTime.now());
-        user.setConsentFlags(consentFlags);
-
-        return user;
-    }
-
     @Test
     @DisplayName("Should save and find user by email")
     void shouldSaveAndFindUserByEmail() {
@@ -249,6 +231,36 @@ class UserRepositoryTest {
         assertEquals(3, emailNotificationUsers.size()); // All users have default email notifications enabled
     }
 
+    @Test
+    @DisplayName("Should find and count users by createdAt range")
+    void shouldFindAndCountUsersByCreatedAtRange() {
+        testUser3.setCreatedAt(LocalDateTime.now().minusDays(30));
+        userRepository.save(testUser3);
+
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        List<User> recentUsers = userRepository.findByCreatedAtRange(from, to);
+        List<User> recentInGh001 = userRepository.findByGroupHomeIdAndCreatedAtRange("gh_001", from, to);
+
+        assertEquals(2, recentUsers.size()); // user1 and user2
+        assertEquals(2, userRepository.countByCreatedAtRange(from, to));
+        assertEquals(2, recentInGh001.size());
+        assertEquals(1, userRepository.countByCreatedAtRange(from.minusDays(60), from));
+    }
+
+    @Test
+    @DisplayName("Should exclude soft deleted users")
+    void shouldExcludeSoftDeletedUsers() {
+        testUser2.setDeletedAt(LocalDateTime.now());
+        userRepository.save(testUser2);
+
+        List<User> activeUsers = userRepository.findByDeletedAtIsNull();
+
+        assertEquals(2, activeUsers.size());
+        assertTrue(activeUsers.stream().noneMatch(User::isDeleted));
+    }
+
     @Test
     @DisplayName("Should handle empty results gracefully")
     void shouldHandleEmptyResultsGracefully() {
@@ -0,0 +1,127 @@
+package com.EduLift.backend.service;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Enrollment Analytics Service Tests")
+class EnrollmentAnalyticsServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2025-03-12T15:00:00Z"), ZoneOffset.UTC);
+    private EnrollmentAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EnrollmentAnalyticsService(mongoTemplate, 100, clock);
+        List<Document> rows = new ArrayList<>();
+        rows.add(row("2025-03-10T00:00:00Z", "gh_001", "STUDENT", 4));
+        rows.add(row("2025-03-10T00:00:00Z", "gh_002", "MENTOR", 1));
+        rows.add(row("2025-03-03T00:00:00Z", "gh_001", "STUDENT", 2));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("users"), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(rows, new Document()));
+    }
+
+    private static Document row(String bucket, String groupHomeId, String role, int count) {
+        return new Document("_id", new Document("bucket", Date.from(Instant.parse(bucket)))
+                .append("groupHomeId", groupHomeId)
+                .append("role", role))
+                .append("count", count);
+    }
+
+    @Test
+    @DisplayName("Should align weekly buckets to Mondays and filter rows")
+    void shouldAlignWeeklyBucketsAndFilter() {
+        List<EnrollmentAnalyticsService.EnrollmentBucket> buckets = service.enrollments(
+                EnrollmentAnalyticsService.BucketUnit.WEEK,
+                LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 12), "gh_001", "student");
+
+        assertEquals(2, buckets.size());
+        assertEquals(Instant.parse("2025-03-03T00:00:00Z"), buckets.get(0).bucketStart());
+        assertEquals(2, buckets.get(0).count());
+        assertEquals(4, buckets.get(1).count());
+    }
+
+    @Test
+    @DisplayName("Should cache closed buckets and recompute only the open one")
+    void shouldCacheClosedBuckets() {
+        LocalDate from = LocalDate.of(2025, 3, 3);
+        LocalDate to = LocalDate.of(2025, 3, 12);
+
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.WEEK, from, to, null, null);
+        assertEquals(1, service.cachedBuckets());
+
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.WEEK, from, to, null, null);
+        verify(mongoTemplate, times(2)).aggregate(any(Aggregation.class), eq("users"), eq(Document.class));
+
+        // A range made only of closed, cached buckets needs no aggregation at all
+        List<EnrollmentAnalyticsService.EnrollmentBucket> closed = service.enrollments(
+                EnrollmentAnalyticsService.BucketUnit.WEEK, from, LocalDate.of(2025, 3, 9), null, null);
+        verify(mongoTemplate, times(2)).aggregate(any(Aggregation.class), eq("users"), eq(Document.class));
+        assertEquals(1, closed.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the buckets of archived users in every unit")
+    void shouldEvictBucketsOfArchivedUsers() {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 9);
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.DAY, from, to, null, null);
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.WEEK, from, to, null, null);
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.MONTH, from, to, null, null);
+        int cached = service.cachedBuckets();
+
+        // A user created on Wednesday 2025-03-05 was archived
+        service.onUsersArchived(new UsersArchivedEvent(Set.of(Instant.parse("2025-03-05T09:30:00Z"))));
+
+        // Its day and its week are gone; March is still open and was never cached
+        assertEquals(cached - 2, service.cachedBuckets());
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.DAY, LocalDate.of(2025, 3, 4),
+                LocalDate.of(2025, 3, 6), null, null);
+        verify(mongoTemplate, times(4)).aggregate(any(Aggregation.class), eq("users"), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should cache empty closed buckets too")
+    void shouldCacheEmptyClosedBuckets() {
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.DAY,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), null, null);
+
+        assertEquals(28, service.cachedBuckets());
+    }
+
+    @Test
+    @DisplayName("Should count archived users alongside live ones")
+    void shouldCountArchivedUsers() {
+        service.enrollments(EnrollmentAnalyticsService.BucketUnit.WEEK,
+                LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 9), null, null);
+
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq("users"), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document unionWith = pipeline.get(1).get("$unionWith", Document.class);
+        assertEquals(UserArchiveService.ARCHIVE_COLLECTION, unionWith.getString("coll"));
+        assertEquals(pipeline.get(0), unionWith.getList("pipeline", Document.class).get(0));
+    }
+}
@@ -0,0 +1,130 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Group Home Membership Service Tests")
+class GroupHomeMembershipServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final GroupHomeMembershipService service = new GroupHomeMembershipService(mongoTemplate,
+            new TransactionRunner(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), false, 3, 0),
+            eventPublisher);
+
+    private User user(String id, User.Role role, String groupHomeId) {
+        User user = new User(new ArrayList<>(Arrays.asList(role)), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId(groupHomeId);
+        when(mongoTemplate.findById(id, User.class)).thenReturn(user);
+        return user;
+    }
+
+    private void updatesMatch(long matched) {
+        UpdateResult result = UpdateResult.acknowledged(matched, matched, null);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class))).thenReturn(result);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class))).thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("Should move a student and unlink mentors of the old home")
+    void shouldMoveStudentAndUnlinkMentors() {
+        User student = user("s1", User.Role.STUDENT, "gh_001");
+        student.setMentorIds(List.of("m1", "m2"));
+        updatesMatch(1);
+
+        assertEquals(GroupHomeMembershipService.Result.UPDATED, service.moveStudent("s1", "gh_002"));
+
+        verify(mongoTemplate).updateFirst(argThat((Query query) ->
+                query.getQueryObject().get("groupHomeId").equals("gh_001")), argThat((Update update) ->
+                "gh_002".equals(((Document) update.getUpdateObject().get("$set")).get("groupHomeId"))), eq(User.class));
+        verify(mongoTemplate).updateMulti(any(Query.class), argThat((Update update) ->
+                update.getUpdateObject().containsKey("$pull")), eq(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(List.of("m1", "m2", "s1")));
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the student changed concurrently")
+    void shouldReportConcurrentChangeAsConflict() {
+        user("s1", User.Role.STUDENT, "gh_001");
+        updatesMatch(0);
+
+        assertEquals(GroupHomeMembershipService.Result.CONFLICT, service.moveStudent("s1", "gh_002"));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), eq(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should assign a mentor only with matching roles and group home")
+    void shouldAssignMentorWithMatchingRoles() {
+        user("s1", User.Role.STUDENT, "gh_001");
+        user("m1", User.Role.MENTOR, "gh_001");
+        user("m2", User.Role.MENTOR, "gh_002");
+        user("c1", User.Role.COUNSELOR, "gh_001");
+        updatesMatch(1);
+
+        assertEquals(GroupHomeMembershipService.Result.UPDATED, service.assignMentor("s1", "m1"));
+        assertEquals(GroupHomeMembershipService.Result.CONFLICT, service.assignMentor("s1", "m2"));
+        assertEquals(GroupHomeMembershipService.Result.CONFLICT, service.assignMentor("s1", "c1"));
+        assertEquals(GroupHomeMembershipService.Result.NOT_FOUND, service.assignMentor("s1", "missing"));
+
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(User.class));
+    }
+
+    @Test
+    @DisplayName("Should undo the student side of a half-applied link when transactions are off")
+    void shouldRevertHalfAppliedLink() {
+        user("s1", User.Role.STUDENT, "gh_001");
+        user("m1", User.Role.MENTOR, "gh_001");
+        // The student link lands, then the mentor moved to another home before its side was written
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        assertEquals(GroupHomeMembershipService.Result.CONFLICT, service.assignMentor("s1", "m1"));
+
+        verify(mongoTemplate).updateFirst(argThat((Query query) -> "s1".equals(query.getQueryObject().get("_id"))
+                        && !query.getQueryObject().containsKey("roles")),
+                argThat((Update update) -> new Document("mentorIds", "m1").equals(update.getUpdateObject().get("$pull"))),
+                eq(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(List.of("s1", "m1")));
+    }
+
+    @Test
+    @DisplayName("Should restore a moved student when unlinking its mentors fails")
+    void shouldRestoreStudentWhenMoveFailsHalfway() {
+        User student = user("s1", User.Role.STUDENT, "gh_001");
+        student.setMentorIds(List.of("m1"));
+        updatesMatch(1);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(User.class)))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        assertThrows(IllegalStateException.class, () -> service.moveStudent("s1", "gh_002"));
+
+        verify(mongoTemplate).updateFirst(argThat((Query query) -> "gh_002".equals(query.getQueryObject().get("groupHomeId"))),
+                argThat((Update update) -> "gh_001".equals(((Document) update.getUpdateObject().get("$set")).get("groupHomeId"))),
+                eq(User.class));
+        verify(eventPublisher).publishEvent(new UserChangedEvent(List.of("m1", "s1")));
+    }
+}
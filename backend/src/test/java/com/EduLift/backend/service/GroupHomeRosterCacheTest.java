@@ -0,0 +1,141 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Group Home Roster Cache Tests")
+class GroupHomeRosterCacheTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private GroupHomeRosterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = cache(64 * 1024 * 1024);
+    }
+
+    private GroupHomeRosterCache cache(long maxBytes) {
+        return new GroupHomeRosterCache(mongoTemplate, Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                true, maxBytes, 60_000);
+    }
+
+    private static User user(String id, String groupHomeId) {
+        User user = new User(List.of(User.Role.STUDENT), id + "@example.com");
+        user.setId(id);
+        user.setGroupHomeId(groupHomeId);
+        return user;
+    }
+
+    private Supplier<List<User>> loader(User... users) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(users);
+        };
+    }
+
+    private String roster(String groupHomeId, Supplier<List<User>> loader) throws Exception {
+        return new String(cache.roster(groupHomeId, User.Role.STUDENT, loader), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated requests from cached JSON")
+    void shouldServeHitsFromCache() throws Exception {
+        String first = roster("gh1", loader(user("u1", "gh1")));
+        String second = roster("gh1", loader(user("u1", "gh1")));
+
+        assertEquals(first, second);
+        assertTrue(first.contains("\"u1@example.com\""));
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("edulift.roster-cache.requests").tag("result", "hit").counter().count());
+        assertEquals(0.5, cache.hitRatio());
+        assertEquals(first.length(), cache.cachedBytes());
+    }
+
+    @Test
+    @DisplayName("Should invalidate both homes when a member moves")
+    void shouldInvalidateOnMemberWrite() throws Exception {
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh2", loader(user("u2", "gh2")));
+        roster("gh3", loader(user("u3", "gh3")));
+
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(user("u1", "gh2")));
+        cache.onUserChanged(UserChangedEvent.of("u1"));
+
+        assertFalse(roster("gh1", loader()).contains("u1"));
+        assertTrue(roster("gh2", loader(user("u1", "gh2"), user("u2", "gh2"))).contains("u1"));
+        roster("gh3", loader(user("u3", "gh3")));
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should not serve a roster loaded while a member was being written")
+    void shouldDiscardRosterLoadedDuringWrite() throws Exception {
+        roster("gh1", () -> {
+            loads.incrementAndGet();
+            cache.invalidate("gh1");
+            return List.of(user("u1", "gh1"));
+        });
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh1", loader(user("u1", "gh1")));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should invalidate homes of users changed elsewhere, including archived ones")
+    void shouldInvalidateOnTrackedChanges() throws Exception {
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh2", loader(user("u2", "gh2")));
+        roster("gh3", loader(user("u3", "gh3")));
+
+        // u1 was updated in place, u2 is gone from the collection
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(user("u1", "gh1")));
+        cache.onUsersChanged(Set.of("u1", "u2"));
+        cache.onUsersChanged(Set.of());
+
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh2", loader());
+        roster("gh3", loader(user("u3", "gh3")));
+        assertEquals(5, loads.get());
+        assertEquals(2, meterRegistry.get("edulift.roster-cache.invalidations").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used rosters beyond max bytes")
+    void shouldEvictBeyondMaxBytes() throws Exception {
+        int size = roster("gh1", loader(user("u1", "gh1"))).length();
+        cache = cache(2L * size);
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh2", loader(user("u2", "gh2")));
+        roster("gh1", loader(user("u1", "gh1")));
+        roster("gh3", loader(user("u3", "gh3")));
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.cachedBytes() <= 2L * size);
+        roster("gh1", loader(user("u1", "gh1")));
+        assertEquals(4, loads.get());
+        roster("gh2", loader(user("u2", "gh2")));
+        assertEquals(5, loads.get());
+    }
+}
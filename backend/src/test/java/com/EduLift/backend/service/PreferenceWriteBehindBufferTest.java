@@ -0,0 +1,102 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Preference Write-Behind Buffer Tests")
+class PreferenceWriteBehindBufferTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Users that exist, and those among them that are soft deleted
+    private final Set<String> existing = Set.of("u1", "u2");
+    private final Set<String> deleted = Set.of("u2");
+    private PreferenceWriteBehindBuffer buffer;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    private PreferenceWriteBehindBuffer buffer(boolean enabled) {
+        return new PreferenceWriteBehindBuffer(mongoTemplate, eventPublisher, meterRegistry, enabled,
+                60_000, 500, tempDir.resolve("write-behind.journal").toString(), 1 << 16, false);
+    }
+
+    /**
+     * Whether a filter built by the buffer matches a stored user, honouring deletedAt: null
+     */
+    private boolean matches(Query query) {
+        Document filter = query.getQueryObject();
+        String id = (String) filter.get("_id");
+        boolean activeOnly = filter.containsKey("deletedAt") && filter.get("deletedAt") == null;
+        return existing.contains(id) && !(activeOnly && deleted.contains(id));
+    }
+
+    @Test
+    @DisplayName("Should not apply preferences of a soft-deleted user")
+    void shouldSkipDeletedUserOnApplyNow() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(User.class)))
+                .thenAnswer(invocation -> UpdateResult.acknowledged(matches(invocation.getArgument(0)) ? 1 : 0, 1L, null));
+        buffer = buffer(false);
+
+        assertTrue(buffer.applyNow("u1", Map.of("preferences.language", "es")));
+        assertFalse(buffer.applyNow("u2", Map.of("preferences.language", "es")));
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should flush with filters that skip soft-deleted users")
+    void shouldFilterDeletedUsersOnFlush() throws Exception {
+        BulkOperations bulk = mock(BulkOperations.class);
+        List<Query> filters = new ArrayList<>();
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)).thenReturn(bulk);
+        when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            filters.add(invocation.getArgument(0));
+            return bulk;
+        });
+        when(bulk.execute()).thenAnswer(invocation -> BulkWriteResult.acknowledged(0,
+                (int) filters.stream().filter(this::matches).count(), 0, 0, List.of(), List.of()));
+        buffer = buffer(true);
+        buffer.start();
+
+        buffer.submit("u1", Map.of("preferences.language", "es"));
+        buffer.submit("u2", Map.of("preferences.language", "es"));
+        assertEquals(1, buffer.flush());
+
+        assertEquals(List.of(true, false), filters.stream().map(this::matches).toList());
+        assertEquals(1, meterRegistry.get("edulift.users.write-behind.documents").counter().count());
+        assertEquals(1, meterRegistry.get("edulift.users.write-behind.unmatched").counter().count());
+    }
+}
@@ -0,0 +1,96 @@
+package com.EduLift.backend.service;
+
+import com.mongodb.MongoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("Transaction Runner Tests")
+class TransactionRunnerTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private TransactionRunner runner(boolean enabled) {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        return new TransactionRunner(transactionManager, new SimpleMeterRegistry(), enabled, 3, 0);
+    }
+
+    private static RuntimeException labelled(String label) {
+        MongoException cause = new MongoException(112, "WriteConflict");
+        cause.addLabel(label);
+        return new UncategorizedMongoDbException("write failed", cause);
+    }
+
+    @Test
+    @DisplayName("Should rerun transactions aborted by a transient error")
+    void shouldRetryTransientErrors() {
+        TransactionRunner runner = runner(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = runner.execute("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw labelled(TransactionRunner.TRANSIENT_TRANSACTION_ERROR);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should not rerun the work after an unknown commit result")
+    void shouldNotRerunAfterUnknownCommitResult() {
+        TransactionRunner runner = runner(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // The first commit may have landed, so rerunning a non-idempotent move could report a false conflict
+        assertThrows(UncategorizedMongoDbException.class, () -> runner.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw labelled(TransactionRunner.UNKNOWN_COMMIT_RESULT);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should not retry other errors and give up after max attempts")
+    void shouldStopRetrying() {
+        TransactionRunner runner = runner(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> runner.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("not retryable");
+        }));
+        assertEquals(1, attempts.get());
+
+        attempts.set(0);
+        assertThrows(UncategorizedMongoDbException.class, () -> runner.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw labelled(TransactionRunner.TRANSIENT_TRANSACTION_ERROR);
+        }));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Should run work directly when transactions are disabled")
+    void shouldRunDirectlyWhenDisabled() {
+        TransactionRunner runner = runner(false);
+
+        assertEquals("done", runner.execute("test", () -> "done"));
+        verifyNoInteractions(transactionManager);
+    }
+}
@@ -0,0 +1,164 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Archive Service Tests")
+class UserArchiveServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulkOperations = mock(BulkOperations.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private UserArchiveService service;
+
+    private static final Instant CREATED = Instant.parse("2024-01-01T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserArchiveService.ARCHIVE_COLLECTION))
+                .thenReturn(bulkOperations);
+        service = new UserArchiveService(mongoTemplate, eventPublisher, true, Duration.ofDays(365), Duration.ofDays(30), 2);
+    }
+
+    private static List<Document> documents(int from, int count) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            documents.add(new Document("_id", "u" + i).append("email", "u" + i + "@example.com")
+                    .append("createdAt", Date.from(CREATED.plus(Duration.ofDays(i)))));
+        }
+        return documents;
+    }
+
+    @Test
+    @DisplayName("Should soft delete with a single findAndModify")
+    void shouldSoftDeleteWithSingleFindAndModify() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(User.class)))
+                .thenReturn(new User())
+                .thenReturn(null);
+
+        assertTrue(service.softDelete("u1"));
+        assertFalse(service.softDelete("u1"));
+
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(User.class));
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should copy each batch to the archive before removing it")
+    void shouldCopyBatchesBeforeRemoving() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(documents(0, 2))
+                .thenReturn(documents(2, 1));
+        when(mongoTemplate.remove(any(Query.class), eq("users")))
+                .thenReturn(DeleteResult.acknowledged(2))
+                .thenReturn(DeleteResult.acknowledged(1));
+
+        long moved = service.archive();
+
+        assertEquals(3, moved);
+        verify(bulkOperations, times(3)).replaceOne(any(Query.class), any(Document.class), any(FindAndReplaceOptions.class));
+        verify(bulkOperations, times(2)).execute();
+        var order = inOrder(bulkOperations, mongoTemplate);
+        order.verify(bulkOperations).execute();
+        order.verify(mongoTemplate).remove(any(Query.class), anyString());
+        verify(eventPublisher).publishEvent(new UsersArchivedEvent(Set.of(CREATED,
+                CREATED.plus(Duration.ofDays(1)), CREATED.plus(Duration.ofDays(2)))));
+        // Every batch was fully removed, so there is no need to look up survivors
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class),
+                eq(UserArchiveService.ARCHIVE_COLLECTION));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Document.class), eq("users"));
+    }
+
+    @Test
+    @DisplayName("Should stamp archivedAt after the remove and drop copies of users that stayed")
+    void shouldStampArchivedAtAfterRemove() {
+        // u1 was updated between the copy and the remove, so it stays in users
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(documents(0, 2))
+                .thenReturn(documents(1, 1))
+                .thenReturn(List.of());
+        when(mongoTemplate.remove(any(Query.class), eq("users"))).thenReturn(DeleteResult.acknowledged(1));
+
+        assertEquals(1, service.archive());
+
+        var stamp = ArgumentCaptor.forClass(Query.class);
+        var update = ArgumentCaptor.forClass(Update.class);
+        var order = inOrder(mongoTemplate);
+        order.verify(mongoTemplate).remove(any(Query.class), eq("users"));
+        order.verify(mongoTemplate).updateMulti(stamp.capture(), update.capture(), eq(UserArchiveService.ARCHIVE_COLLECTION));
+        assertEquals(Set.of("u0"), stamp.getValue().getQueryObject().get("_id", Document.class).get("$in", Set.class));
+        assertInstanceOf(Date.class, update.getValue().getUpdateObject().get("$set", Document.class).get("archivedAt"));
+        var dropped = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).remove(dropped.capture(), eq(UserArchiveService.ARCHIVE_COLLECTION));
+        assertEquals(List.of("u1"), dropped.getValue().getQueryObject().get("_id", Document.class).get("$in"));
+        // u1 was in both collections for a moment, so its bucket is evicted too
+        verify(eventPublisher).publishEvent(new UsersArchivedEvent(Set.of(CREATED, CREATED.plus(Duration.ofDays(1)))));
+    }
+
+    @Test
+    @DisplayName("Should report batches removed before a failure")
+    void shouldReportArchivedUsersWhenARunFails() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(documents(0, 2))
+                .thenThrow(new IllegalStateException("primary stepped down"));
+        when(mongoTemplate.remove(any(Query.class), eq("users"))).thenReturn(DeleteResult.acknowledged(2));
+
+        assertThrows(IllegalStateException.class, service::archive);
+        verify(eventPublisher).publishEvent(new UsersArchivedEvent(Set.of(CREATED, CREATED.plus(Duration.ofDays(1)))));
+    }
+
+    @Test
+    @DisplayName("Should stop when nothing is eligible")
+    void shouldStopWhenNothingIsEligible() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+
+        assertEquals(0, service.archive());
+        verify(mongoTemplate, never()).remove(any(Query.class), anyString());
+        verify(eventPublisher, never()).publishEvent(any(UsersArchivedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should treat legacy users without updatedAt as inactive by createdAt")
+    void shouldMatchLegacyUsersWithoutUpdatedAt() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+
+        service.archive();
+
+        var query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Document.class), eq("users"));
+        List<?> eligible = query.getValue().getQueryObject().get("$or", List.class);
+        assertEquals(3, eligible.size());
+        Document legacy = (Document) eligible.get(2);
+        assertEquals(new Document("$exists", false), legacy.get("updatedAt"));
+        assertEquals(2, legacy.get("$or", List.class).size());
+    }
+}
@@ -0,0 +1,127 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.EduLift.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Batch Loader Tests")
+class UserBatchLoaderTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        if (loader != null) {
+            loader.shutdown();
+        }
+    }
+
+    private User user(String id) {
+        User user = new User(Arrays.asList(User.Role.STUDENT), id + "@example.com");
+        user.setId(id);
+        return user;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubFindAllById() {
+        when(userRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> {
+            List<User> users = new ArrayList<>();
+            for (Object id : (Iterable<Object>) invocation.getArgument(0)) {
+                if (!"missing".equals(id)) {
+                    users.add(user((String) id));
+                }
+            }
+            return users;
+        });
+    }
+
+    @Test
+    @DisplayName("Should merge lookups within the window into one de-duplicated query")
+    @SuppressWarnings("unchecked")
+    void shouldMergeLookupsWithinWindow() {
+        stubFindAllById();
+        loader = new UserBatchLoader(userRepository, new SimpleMeterRegistry(), 50, 100, 1);
+
+        CompletableFuture<Optional<User>> first = loader.load("u1");
+        CompletableFuture<Optional<User>> duplicate = loader.load("u1");
+        CompletableFuture<Optional<User>> second = loader.load("u2");
+        CompletableFuture<Optional<User>> missing = loader.load("missing");
+
+        assertEquals("u1", first.join().orElseThrow().getId());
+        assertEquals("u1", duplicate.join().orElseThrow().getId());
+        assertEquals("u2", second.join().orElseThrow().getId());
+        assertTrue(missing.join().isEmpty());
+
+        ArgumentCaptor<Iterable<String>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(userRepository, times(1)).findAllById(captor.capture());
+        assertEquals(3, ((Collection<String>) captor.getValue()).size());
+        assertEquals(4.0, loader.batchingRatio());
+    }
+
+    @Test
+    @DisplayName("Should dispatch immediately when the batch is full")
+    void shouldDispatchWhenBatchIsFull() {
+        stubFindAllById();
+        loader = new UserBatchLoader(userRepository, new SimpleMeterRegistry(), 60_000, 2, 1);
+
+        CompletableFuture<Optional<User>> first = loader.load("u1");
+        CompletableFuture<Optional<User>> second = loader.load("u2");
+
+        assertTrue(first.join().isPresent());
+        assertTrue(second.join().isPresent());
+    }
+
+    @Test
+    @DisplayName("Should fall back to findById when batching is disabled")
+    void shouldFallBackToFindByIdWhenDisabled() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1")));
+        loader = new UserBatchLoader(userRepository, new SimpleMeterRegistry(), 0, 100, 1);
+
+        assertTrue(loader.load("u1").join().isPresent());
+        verify(userRepository).findById("u1");
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should load many users in requested order skipping unknown ids")
+    void shouldLoadManyInRequestedOrder() {
+        stubFindAllById();
+        loader = new UserBatchLoader(userRepository, new SimpleMeterRegistry(), 2, 2, 1);
+
+        List<User> users = loader.loadMany(Arrays.asList("u3", "missing", "u1", "u3", "u2"));
+
+        assertEquals(Arrays.asList("u3", "u1", "u2"), users.stream().map(User::getId).toList());
+        verify(userRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should propagate repository failures to every waiting caller")
+    void shouldPropagateFailures() {
+        when(userRepository.findAllById(any())).thenThrow(new IllegalStateException("boom"));
+        loader = new UserBatchLoader(userRepository, new SimpleMeterRegistry(), 10, 100, 1);
+
+        CompletableFuture<Optional<User>> first = loader.load("u1");
+        CompletableFuture<Optional<User>> second = loader.load("u2");
+
+        assertThrows(Exception.class, first::join);
+        assertThrows(Exception.class, second::join);
+    }
+}
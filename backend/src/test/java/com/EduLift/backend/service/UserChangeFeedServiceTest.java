@@ -0,0 +1,113 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Change Feed Service Tests")
+class UserChangeFeedServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private UserChangeFeedService service;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users"))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(UserArchiveService.ARCHIVE_COLLECTION)))
+                .thenReturn(List.of());
+        service = new UserChangeFeedService(mongoTemplate, 2000, 1000);
+    }
+
+    private static User user(String id, int minute, boolean deleted) {
+        User user = new User(List.of(User.Role.STUDENT), id + "@example.com");
+        user.setId(id);
+        user.setUpdatedAt(BASE.plusMinutes(minute));
+        if (deleted) {
+            user.setDeletedAt(BASE.plusMinutes(minute));
+        }
+        return user;
+    }
+
+    private static Document archived(String id, int minute) {
+        return new Document("_id", id)
+                .append("archivedAt", Date.from(BASE.plusMinutes(minute).atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    private static long millis(int minute) {
+        return BASE.plusMinutes(minute).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    @DisplayName("Should round-trip watermarks and reject malformed ones")
+    void shouldRoundTripTokens() {
+        UserChangeFeedService.ChangeToken token = new UserChangeFeedService.ChangeToken(1234L, "abc");
+
+        assertEquals(token, UserChangeFeedService.ChangeToken.decode(token.encode()));
+        assertThrows(IllegalArgumentException.class, () -> UserChangeFeedService.ChangeToken.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> service.changesSince("bm8tc2VwYXJhdG9y", 10));
+    }
+
+    @Test
+    @DisplayName("Should merge updates, soft deletes and archived users in watermark order")
+    void shouldMergeChangesInOrder() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(user("u1", 1, false), user("u2", 3, true), user("u3", 5, false)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(UserArchiveService.ARCHIVE_COLLECTION)))
+                .thenReturn(List.of(archived("u9", 2), archived("u8", 4)));
+
+        UserChangeFeedService.UserChanges page = service.changesSince(null, 4);
+
+        assertEquals(List.of("u1"), page.changed().stream().map(User::getId).toList());
+        assertEquals(List.of("u9", "u2", "u8"), page.deletedIds());
+        assertTrue(page.hasMore());
+        assertEquals(new UserChangeFeedService.ChangeToken(millis(4), "u8"),
+                UserChangeFeedService.ChangeToken.decode(page.watermark()));
+    }
+
+    @Test
+    @DisplayName("Should not report archive copies of users that are still live")
+    void shouldSkipArchiveCopiesOfLiveUsers() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(UserArchiveService.ARCHIVE_COLLECTION)))
+                .thenReturn(List.of(archived("kept", 1), archived("gone", 2)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", "kept")));
+
+        UserChangeFeedService.UserChanges page = service.changesSince(null, 10);
+
+        assertEquals(List.of("gone"), page.deletedIds());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should keep the watermark when nothing changed")
+    void shouldKeepWatermarkWhenIdle() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of());
+        String since = new UserChangeFeedService.ChangeToken(millis(7), "u7").encode();
+
+        UserChangeFeedService.UserChanges page = service.changesSince(since, 10);
+
+        assertTrue(page.changed().isEmpty());
+        assertTrue(page.deletedIds().isEmpty());
+        assertEquals(since, page.watermark());
+    }
+}
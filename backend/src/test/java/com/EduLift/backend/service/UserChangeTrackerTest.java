@@ -0,0 +1,83 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Change Tracker Tests")
+class UserChangeTrackerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<Set<String>> first = new ArrayList<>();
+    private final List<Set<String>> second = new ArrayList<>();
+
+    // Not started, so polls only happen when the test calls them
+    private final UserChangeTracker tracker = new UserChangeTracker(mongoTemplate, new SimpleMeterRegistry(),
+            List.of(first::add, second::add), 1000, 5000);
+
+    private static User updated(String id, LocalDateTime updatedAt) {
+        User user = new User(List.of(User.Role.STUDENT), id + "@example.com");
+        user.setId(id);
+        user.setUpdatedAt(updatedAt);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should publish each polled update once to every listener")
+    void shouldPublishPolledUpdatesOnce() {
+        LocalDateTime updatedAt = LocalDateTime.now().plusSeconds(1);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(updated("u1", updatedAt)));
+        tracker.poll();
+        // The overlap returns the same update again
+        tracker.poll();
+        when(mongoTemplate.find(any(Query.class), eq(User.class)))
+                .thenReturn(List.of(updated("u1", updatedAt.plusSeconds(1))));
+        tracker.poll();
+
+        assertEquals(List.of(Set.of("u1"), Set.of(), Set.of("u1")), first);
+        assertEquals(first, second);
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    @DisplayName("Should publish users named in events, and keep them when the poll fails")
+    void shouldPublishEventUsers() {
+        tracker.onUserChanged(UserChangedEvent.of("u1", "u2"));
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenThrow(new IllegalStateException("down"));
+        assertThrows(IllegalStateException.class, tracker::poll);
+        assertEquals(List.of(), first);
+
+        doReturn(List.of()).when(mongoTemplate).find(any(Query.class), eq(User.class));
+        tracker.poll();
+        assertEquals(List.of(Set.of("u1", "u2")), first);
+    }
+
+    @Test
+    @DisplayName("Should keep publishing to other listeners when one fails")
+    void shouldIsolateFailingListeners() {
+        List<Set<String>> received = new ArrayList<>();
+        UserChangeTracker isolated = new UserChangeTracker(mongoTemplate, new SimpleMeterRegistry(), List.of(
+                ids -> { throw new IllegalStateException("broken view"); }, received::add), 1000, 5000);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of());
+
+        isolated.onUserChanged(UserChangedEvent.of("u1"));
+        isolated.poll();
+
+        assertEquals(List.of(Set.of("u1")), received);
+    }
+}
@@ -0,0 +1,134 @@
+package com.EduLift.backend.service;
+
+import com.EduLift.backend.model.User;
+import com.mongodb.MongoQueryException;
+import com.mongodb.ServerAddress;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.ExecutableFindOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User ETag Service Tests")
+class UserETagServiceTest {
+
+    private final UserETagService service = new UserETagService(mock(MongoTemplate.class));
+
+    private User user(LocalDateTime updatedAt) {
+        User user = new User(Arrays.asList(User.Role.STUDENT), "etag@example.com");
+        user.setId("64b7f0c2e1a2b3c4d5e6f701");
+        user.setUpdatedAt(updatedAt);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should derive a strong ETag that ignores sub-millisecond precision")
+    void shouldDeriveStrongETagAtMillisecondPrecision() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_000_000);
+
+        UserETagService.Validators stored = service.validatorsFor(user(updatedAt));
+        UserETagService.Validators inMemory = service.validatorsFor(user(updatedAt.plusNanos(456_789)));
+
+        assertTrue(stored.etag().startsWith("\"") && stored.etag().endsWith("\""));
+        assertFalse(stored.etag().startsWith("W/"));
+        assertEquals(stored, inMemory);
+    }
+
+    @Test
+    @DisplayName("Should change the ETag when updatedAt changes")
+    void shouldChangeETagWhenUpdatedAtChanges() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 10, 15, 30);
+
+        assertNotEquals(service.validatorsFor(user(updatedAt)).etag(),
+                service.validatorsFor(user(updatedAt.plusNanos(1_000_000))).etag());
+    }
+
+    @Test
+    @DisplayName("Should not produce validators for users without updatedAt")
+    void shouldSkipUsersWithoutUpdatedAt() {
+        assertNull(service.validatorsFor(user(null)));
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists and wildcards")
+    void shouldMatchIfNoneMatchHeader() {
+        assertTrue(UserETagService.matches("\"a-1\"", "\"a-1\""));
+        assertTrue(UserETagService.matches("\"x\", \"a-1\"", "\"a-1\""));
+        assertTrue(UserETagService.matches("*", "\"a-1\""));
+        assertFalse(UserETagService.matches("\"a-2\"", "\"a-1\""));
+        assertFalse(UserETagService.matches(null, "\"a-1\""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ExecutableFindOperation.ExecutableFind<UserETagService.UserVersion> versions(MongoTemplate mongoTemplate) {
+        ExecutableFindOperation.ExecutableFind<User> find = mock(ExecutableFindOperation.ExecutableFind.class);
+        ExecutableFindOperation.ExecutableFind<UserETagService.UserVersion> versions =
+                mock(ExecutableFindOperation.ExecutableFind.class);
+        when(mongoTemplate.query(User.class)).thenReturn(find);
+        when(find.as(UserETagService.UserVersion.class)).thenReturn(versions);
+        when(versions.matching(any(Query.class))).thenReturn(versions);
+        return versions;
+    }
+
+    @Test
+    @DisplayName("Should hint version lookups to the covering index")
+    void shouldHintVersionLookups() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ExecutableFindOperation.ExecutableFind<UserETagService.UserVersion> versions = versions(mongoTemplate);
+        when(versions.oneValue()).thenReturn(
+                new UserETagService.UserVersion("u1", LocalDateTime.of(2025, 3, 1, 10, 15, 30)));
+        when(versions.all()).thenReturn(List.of());
+        UserETagService lookups = new UserETagService(mongoTemplate);
+
+        assertTrue(lookups.findValidators("u1").isPresent());
+        lookups.listValidators(List.of("u1", "u2"));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(versions, times(2)).matching(queries.capture());
+        for (Query query : queries.getAllValues()) {
+            assertEquals(UserETagService.ID_UPDATED_AT_INDEX, query.getHint());
+            assertEquals(1, query.getFieldsObject().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should run unhinted only when the server reports a bad hint")
+    void shouldFallBackOnBadHint() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ExecutableFindOperation.ExecutableFind<UserETagService.UserVersion> versions = versions(mongoTemplate);
+        MongoQueryException badHint = new MongoQueryException(BsonDocument.parse("{ok: 0, code: 2, codeName: 'BadValue',"
+                + " errmsg: 'planner returned error :: caused by :: hint provided does not correspond to an existing index'}"),
+                new ServerAddress());
+        when(versions.oneValue())
+                .thenThrow(new UncategorizedMongoDbException(badHint.getMessage(), badHint))
+                .thenReturn(new UserETagService.UserVersion("u1", LocalDateTime.of(2025, 3, 1, 10, 15, 30)));
+        UserETagService lookups = new UserETagService(mongoTemplate);
+
+        assertTrue(lookups.findValidators("u1").isPresent());
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(versions, times(2)).matching(queries.capture());
+        assertEquals(UserETagService.ID_UPDATED_AT_INDEX, queries.getAllValues().get(0).getHint());
+        assertNull(queries.getAllValues().get(1).getHint());
+
+        // Any other failure is not papered over
+        when(versions.oneValue()).thenThrow(new UncategorizedMongoDbException("timeout",
+                new MongoQueryException(BsonDocument.parse("{ok: 0, code: 50, errmsg: 'operation exceeded time limit'}"),
+                        new ServerAddress())));
+        assertThrows(UncategorizedMongoDbException.class, () -> new UserETagService(mongoTemplate).findValidators("u1"));
+        verify(versions, times(3)).matching(any(Query.class));
+    }
+}
@@ -0,0 +1,121 @@
+package com.EduLift.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Write-Behind Journal Tests")
+class WriteBehindJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should replay appended records after reopening")
+    void shouldReplayAppendedRecordsAfterReopening() throws Exception {
+        Path path = tempDir.resolve("wb.journal");
+        Date seen = new Date(1_700_000_000_000L);
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 4096, false)) {
+            journal.replay();
+            assertTrue(journal.append("u1", "preferences.emailNotifications", false));
+            assertTrue(journal.append("u1", "preferences.language", "es"));
+            assertTrue(journal.append("u2", "lastSeenAt", seen));
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 4096, false)) {
+            List<WriteBehindJournal.Entry> entries = journal.replay();
+
+            assertEquals(3, entries.size());
+            assertEquals(new WriteBehindJournal.Entry("u1", "preferences.emailNotifications", false), entries.get(0));
+            assertEquals(new WriteBehindJournal.Entry("u1", "preferences.language", "es"), entries.get(1));
+            assertEquals(seen, entries.get(2).value());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep only surviving entries after reset")
+    void shouldKeepOnlySurvivingEntriesAfterReset() throws Exception {
+        Path path = tempDir.resolve("wb.journal");
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 4096, false)) {
+            journal.replay();
+            journal.append("u1", "preferences.language", "fr");
+            journal.append("u2", "preferences.language", "de");
+            journal.reset(Arrays.asList(new WriteBehindJournal.Entry("u2", "preferences.language", "de")));
+            journal.append("u3", "preferences.pushNotifications", true);
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 4096, false)) {
+            List<WriteBehindJournal.Entry> entries = journal.replay();
+
+            assertEquals(2, entries.size());
+            assertEquals("u2", entries.get(0).userId());
+            assertEquals("u3", entries.get(1).userId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a full journal instead of overflowing")
+    void shouldReportFullJournal() throws Exception {
+        try (WriteBehindJournal journal = new WriteBehindJournal(tempDir.resolve("small.journal"), 64, false)) {
+            journal.replay();
+            assertTrue(journal.append("u1", "preferences.language", "en"));
+            assertFalse(journal.append("u2", "preferences.timezone", "America/New_York"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should journal all fields of an update or none of them")
+    void shouldRollBackPartialAppend() throws Exception {
+        Path path = tempDir.resolve("small.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 96, false)) {
+            journal.replay();
+            assertTrue(journal.append("u1", "preferences.language", "en"));
+            int size = journal.size();
+
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("preferences.smsNotifications", true);
+            fields.put("preferences.timezone", "America/New_York");
+            assertFalse(journal.appendAll("u2", fields));
+            assertEquals(size, journal.size());
+        }
+
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 96, false)) {
+            assertEquals(List.of(new WriteBehindJournal.Entry("u1", "preferences.language", "en")), journal.replay());
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the journal untouched when a reset cannot complete")
+    void shouldKeepJournalWhenResetFails() throws Exception {
+        Path path = tempDir.resolve("small.journal");
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 128, false)) {
+            journal.replay();
+            assertTrue(journal.append("u1", "preferences.language", "en"));
+
+            List<WriteBehindJournal.Entry> survivors = List.of(
+                    new WriteBehindJournal.Entry("u2", "preferences.timezone", "America/New_York"),
+                    new WriteBehindJournal.Entry("u3", "preferences.timezone", "Europe/Amsterdam"),
+                    new WriteBehindJournal.Entry("u5", "preferences.timezone", "Africa/Johannesburg"));
+            assertThrows(IOException.class, () -> journal.reset(survivors));
+            assertTrue(journal.append("u4", "preferences.smsNotifications", true));
+        }
+
+        assertFalse(Files.exists(tempDir.resolve("small.journal.next")));
+        try (WriteBehindJournal journal = new WriteBehindJournal(path, 128, false)) {
+            assertEquals(List.of("u1", "u4"), journal.replay().stream().map(WriteBehindJournal.Entry::userId).toList());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.EduLift.backend.snapshot;
+
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@DisplayName("User Snapshot Service Tests")
+class UserSnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private UserSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        service = new UserSnapshotService(mongoTemplate, new SimpleMeterRegistry(), true, directory.toString(),
+                Duration.ofDays(1), 3, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static Document user(int i) {
+        Document user = new Document("_id", new ObjectId())
+                .append("email", "u" + i + "@example.com")
+                .append("groupHomeId", "gh_" + i % 2)
+                .append("roles", List.of("STUDENT"))
+                .append("profile", new Document("firstName", "First" + i).append("phoneNumber", "+15550000000"))
+                .append("preferences", new Document("language", "es").append("emailNotifications", true))
+                .append("consentFlags", new Document("dataProcessingConsent", i % 2 == 0))
+                .append("mentorIds", List.of("m1", "m2"))
+                .append("createdAt", new Date(1_700_000_000_000L + i))
+                .append("updatedAt", new Date(1_700_000_000_000L + i));
+        if (i == 0) {
+            user.append("riskFlags", List.of("academic_risk", "family_risk"));
+        }
+        return user;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubUsers(List<Document> users) {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("users")))
+                .thenAnswer(invocation -> users.stream());
+    }
+
+    private List<String> readColumn(Path file, String column) throws IOException {
+        List<String> values = new ArrayList<>();
+        try (RootAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(file);
+             ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    Object value = root.getVector(column).getObject(row);
+                    values.add(value == null ? null : value.toString());
+                }
+            }
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("Should write flattened columns across several record batches")
+    void shouldWriteFlattenedColumns() throws IOException {
+        List<Document> users = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            users.add(user(i));
+        }
+        stubUsers(users);
+
+        UserSnapshotService.SnapshotResult result = service.export(false);
+
+        assertTrue(result.full());
+        assertEquals(7, result.rows());
+        Path file = Path.of(result.file());
+        assertEquals(List.of("es", "es", "es", "es", "es", "es", "es"), readColumn(file, "preferencesLanguage"));
+        assertEquals("First6", readColumn(file, "profileFirstName").get(6));
+        assertEquals("2", readColumn(file, "mentorCount").get(0));
+        assertEquals("[\"academic_risk\",\"family_risk\"]", readColumn(file, "riskFlags").get(0));
+        assertNull(readColumn(file, "riskFlags").get(1));
+        assertEquals(List.of("true", "false"), readColumn(file, "consentDataProcessing").subList(0, 2));
+        assertFalse(UserSnapshotWriter.SCHEMA.getFields().stream().anyMatch(field -> field.getName().contains("phone")));
+    }
+
+    @Test
+    @DisplayName("Should export only changes since the watermark between fulls")
+    void shouldExportIncrementally() throws IOException {
+        stubUsers(List.of(user(0), user(1)));
+        UserSnapshotService.SnapshotResult full = service.export(false);
+        stubUsers(List.of(user(2)));
+
+        UserSnapshotService.SnapshotResult delta = service.export(false);
+
+        assertFalse(delta.full());
+        assertEquals(1, delta.rows());
+        assertTrue(Path.of(delta.file()).getFileName().toString().startsWith("users-delta-"));
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).stream(queries.capture(), eq(Document.class), eq("users"));
+        assertTrue(queries.getAllValues().get(0).getQueryObject().isEmpty());
+        Document updatedAt = (Document) queries.getAllValues().get(1).getQueryObject().get("updatedAt");
+        assertEquals(new Date(full.watermark()), updatedAt.get("$gte"));
+    }
+
+    @Test
+    @DisplayName("Should keep only the configured number of fulls")
+    void shouldPruneOldSnapshots() throws IOException {
+        stubUsers(List.of(user(0)));
+        Files.createFile(directory.resolve("users-full-20200101T000000Z.arrow"));
+        Files.createFile(directory.resolve("users-delta-20200101T010000Z.arrow"));
+        Files.createFile(directory.resolve("users-full-20200102T000000Z.arrow"));
+
+        service.export(true);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("snapshot.state", "users-full-20200102T000000Z.arrow"),
+                    files.map(file -> file.getFileName().toString())
+                            .filter(name -> !name.startsWith("users-full-2") || name.startsWith("users-full-2020"))
+                            .sorted().toList());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.EduLift.backend.validation;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Documents with the verdict MongoDB gives them under mongodb-schema-validation.json.
+ * Shared by the in-process validator test and the server-side parity check in
+ * MongoDBSchemaIntegrationTest, so both validators are held to the same cases.
+ */
+public final class UserSchemaCases {
+
+    private UserSchemaCases() {
+    }
+
+    /**
+     * A document that satisfies every rule, shaped like the mapping converter writes a User
+     */
+    public static Document valid() {
+        return new Document("_id", new ObjectId())
+                .append("roles", List.of("STUDENT", "MENTOR"))
+                .append("groupHomeId", "gh_001")
+                .append("profile", new Document("firstName", "Ana").append("lastName", "Silva")
+                        .append("phoneNumber", "+15551234567").append("dateOfBirth", "2009-04-12")
+                        .append("additionalInfo", new Document("grade", 10)))
+                .append("consentFlags", new Document("dataProcessingConsent", true)
+                        .append("consentTimestamp", new Date()))
+                .append("preferences", new Document("language", "pt").append("timezone", "America/Sao_Paulo")
+                        .append("emailNotifications", true).append("smsNotifications", false)
+                        .append("pushNotifications", true))
+                .append("mentorIds", List.of("m1"))
+                .append("riskFlags", List.of("academic_risk"))
+                .append("createdAt", new Date())
+                .append("updatedAt", new Date())
+                .append("email", "ana.silva@example.com")
+                .append("_class", "com.EduLift.backend.model.User");
+    }
+
+    /**
+     * Case name to document and whether MongoDB accepts it
+     */
+    public static Map<String, Case> all() {
+        Map<String, Case> cases = new LinkedHashMap<>();
+        cases.put("valid", new Case(valid(), true));
+        cases.put("minimal", new Case(new Document("roles", List.of("ADMIN")).append("email", "a@example.org")
+                .append("createdAt", new Date()), true));
+        cases.put("missing email", invalid(document -> document.remove("email")));
+        cases.put("missing createdAt", invalid(document -> document.remove("createdAt")));
+        cases.put("empty roles", invalid(document -> document.put("roles", List.of())));
+        cases.put("duplicate roles", invalid(document -> document.put("roles", List.of("MENTOR", "MENTOR"))));
+        cases.put("lowercase role", invalid(document -> document.put("roles", List.of("student"))));
+        cases.put("string createdAt", invalid(document -> document.put("createdAt", "2025-01-01")));
+        cases.put("bad email", invalid(document -> document.put("email", "ana.silva@example")));
+        cases.put("long email", invalid(document -> document.put("email", "a".repeat(250) + "@example.com")));
+        cases.put("empty groupHomeId", invalid(document -> document.put("groupHomeId", "")));
+        cases.put("bad phone", invalid(document -> profile(document).put("phoneNumber", "555-1234")));
+        cases.put("bad date of birth", invalid(document -> profile(document).put("dateOfBirth", "12/04/2009")));
+        cases.put("long first name", invalid(document -> profile(document).put("firstName", "x".repeat(51))));
+        cases.put("unknown language", invalid(document -> preferences(document).put("language", "xx")));
+        cases.put("string consent", invalid(document ->
+                ((Document) document.get("consentFlags")).put("dataProcessingConsent", "yes")));
+        cases.put("unknown risk flag", invalid(document -> document.put("riskFlags", List.of("weather_risk"))));
+        cases.put("numeric mentor id", invalid(document -> document.put("mentorIds", List.of(42))));
+        cases.put("null groupHomeId", invalid(document -> document.put("groupHomeId", null)));
+        cases.put("unlisted field", valid(document -> document.put("nickname", "Ana")));
+        cases.put("accented name at limit", valid(document -> profile(document).put("lastName", "é".repeat(50))));
+        return cases;
+    }
+
+    public record Case(Document document, boolean accepted) {}
+
+    private static Case invalid(Consumer<Document> change) {
+        Document document = valid();
+        change.accept(document);
+        return new Case(document, false);
+    }
+
+    private static Case valid(Consumer<Document> change) {
+        Document document = valid();
+        change.accept(document);
+        return new Case(document, true);
+    }
+
+    private static Document profile(Document document) {
+        return (Document) document.get("profile");
+    }
+
+    private static Document preferences(Document document) {
+        return (Document) document.get("preferences");
+    }
+}
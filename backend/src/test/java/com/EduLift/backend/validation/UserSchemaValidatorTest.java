@@ -0,0 +1,89 @@
+package com.EduLift.backend.validation;
+
+import com.EduLift.backend.datagen.SyntheticUserGenerator;
+import com.EduLift.backend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("User Schema Validator Tests")
+class UserSchemaValidatorTest {
+
+    private UserSchemaValidator validator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        validator = new UserSchemaValidator(UserSchemaValidator.loadSchema(), new SimpleMeterRegistry(), true);
+    }
+
+    @Test
+    @DisplayName("Should give the same verdict as MongoDB for every shared case")
+    void shouldMatchServerVerdicts() {
+        for (Map.Entry<String, UserSchemaCases.Case> entry : UserSchemaCases.all().entrySet()) {
+            List<String> violations = validator.validate(entry.getValue().document());
+            assertEquals(entry.getValue().accepted(), violations.isEmpty(), entry.getKey() + ": " + violations);
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept users as the mapping converter writes them")
+    void shouldAcceptMappedUsers() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        SyntheticUserGenerator generator = new SyntheticUserGenerator(7, 40, LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        for (long i = 0; i < 500; i++) {
+            Document document = new Document();
+            converter.write(generator.generate(i), document);
+            assertEquals(List.of(), validator.validate(document), "user " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid users before they are saved")
+    void shouldRejectBeforeSave() {
+        Document document = UserSchemaCases.valid();
+        document.put("email", "not-an-email");
+
+        SchemaViolationException e = assertThrows(SchemaViolationException.class,
+                () -> validator.onBeforeSave(new BeforeSaveEvent<>(new User(), document, "users")));
+        assertEquals(1, e.getViolations().size());
+        assertTrue(e.getViolations().get(0).startsWith("email:"));
+    }
+
+    @Test
+    @DisplayName("Should validate single $set values by path")
+    void shouldValidateFields() {
+        assertEquals(List.of(), validator.validateField("preferences.language", "es"));
+        assertEquals(1, validator.validateField("preferences.language", "xx").size());
+        assertEquals(1, validator.validateField("preferences.timezone", "x".repeat(51)).size());
+        assertEquals(List.of(), validator.validateField("preferences.unknown", "anything"));
+    }
+
+    @Test
+    @DisplayName("Should accept everything when disabled")
+    void shouldAcceptEverythingWhenDisabled() throws IOException {
+        UserSchemaValidator disabled = new UserSchemaValidator(UserSchemaValidator.loadSchema(), new SimpleMeterRegistry(), false);
+
+        assertEquals(List.of(), disabled.validate(new Document("roles", List.of())));
+        assertEquals(List.of(), disabled.validateField("preferences.language", "xx"));
+    }
+}